@@ -12,6 +12,7 @@ import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,8 +23,11 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractResourceCache implements ResourceCache {
     private final HexFormat hexFormat;
     private final Logger logger = LoggerFactory.getLogger(getClass());
-
-    private MessageDigest messageDigest;
+    /**
+     * {@link MessageDigest} is not thread-safe.<br>
+     * Created lazy by {@link #getMessageDigest()}, the overridable {@link #createMessageDigest()} is not called while Construction.
+     */
+    private final ThreadLocal<MessageDigest> messageDigest = new ThreadLocal<>();
 
     protected AbstractResourceCache() {
         super();
@@ -112,15 +116,27 @@ public abstract class AbstractResourceCache implements ResourceCache {
     }
 
     protected MessageDigest getMessageDigest() {
-        if (messageDigest == null) {
-            messageDigest = createMessageDigest();
+        MessageDigest digest = messageDigest.get();
+
+        if (digest == null) {
+            digest = createMessageDigest();
+            messageDigest.set(digest);
+        }
+        else {
+            digest.reset();
         }
 
-        return messageDigest;
+        return digest;
     }
 
-    protected InputStream toInputStream(final URI uri) throws Exception {
+    /**
+     * Opens the Connection and follows HTTP-Redirects.<br>
+     * The Request-Properties, like 'If-None-Match' or 'If-Modified-Since', are also applied to the redirected Connection.<br>
+     * For HTTP the Response-Code is already received.
+     */
+    protected URLConnection openConnection(final URI uri, final Map<String, String> requestProperties) throws IOException {
         final URLConnection connection = uri.toURL().openConnection();
+        requestProperties.forEach(connection::setRequestProperty);
 
         try {
             if (connection instanceof HttpURLConnection httpURLConnection) {
@@ -142,11 +158,28 @@ public abstract class AbstractResourceCache implements ResourceCache {
 
                     httpURLConnection = (HttpURLConnection) URI.create(newUrl).toURL().openConnection();
                     httpURLConnection.setRequestProperty("Cookie", cookies);
+                    requestProperties.forEach(httpURLConnection::setRequestProperty);
+                    httpURLConnection.getResponseCode();
                 }
 
-                return httpURLConnection.getInputStream();
+                return httpURLConnection;
             }
 
+            return connection;
+        }
+        catch (IOException ex) {
+            if (connection instanceof HttpURLConnection httpURLConnection) {
+                httpURLConnection.disconnect();
+            }
+
+            throw ex;
+        }
+    }
+
+    protected InputStream toInputStream(final URI uri) throws Exception {
+        final URLConnection connection = openConnection(uri, Map.of());
+
+        try {
             return connection.getInputStream();
         }
         catch (IOException ex) {
@@ -0,0 +1,525 @@
+// Created: 18.10.2026
+package de.freese.base.core.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link FileResourceCache} with a Budget in Bytes.<br>
+ * If the Budget is exceeded, the least recently used Resources are evicted.<br>
+ * <br>
+ * The Index is kept in Memory and backed by an append-only Journal in the Cache-Directory:
+ * <ul>
+ *     <li>the Startup only replays the Journal and does not walk the Directory-Tree,
+ *     the Journal is replayed by the first Access and not by the Constructor</li>
+ *     <li>{@link #clear()} only deletes the indexed Files and does not need a recursive Delete</li>
+ *     <li>the Journal is compacted if it contains too many redundant Lines</li>
+ *     <li>Cache-Hits are buffered and written with the next Change, the Compaction or {@link #close()},
+ *     after a Crash the LRU-Order is only approximately restored</li>
+ * </ul>
+ *
+ * @author Thomas Freese
+ */
+public class BoundedFileResourceCache extends FileResourceCache implements AutoCloseable {
+    static final String JOURNAL_FILE = "journal";
+    static final String JOURNAL_HEADER = "de.freese.base.core.cache.journal.v1";
+
+    private static final String OP_DELETE = "DEL";
+    private static final String OP_GET = "GET";
+    private static final String OP_PUT = "PUT";
+    private static final int REDUNDANT_OPS_COMPACT_THRESHOLD = 2000;
+
+    /**
+     * Key = CacheKey, Value = Size in Bytes; Access-Order = LRU.
+     */
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(256, 0.75F, true);
+    private final Path journalFile;
+    private final Lock lock = new ReentrantLock();
+    private final long maxBytes;
+
+    private boolean closed;
+    private Writer journalWriter;
+    private boolean opened;
+    private int redundantOps;
+    private long size;
+
+    public BoundedFileResourceCache(final Path cacheDirectory, final long maxBytes) {
+        this(cacheDirectory, maxBytes, null);
+    }
+
+    /**
+     * @param maxBytes long; Budget of the Cache in Bytes
+     * @param timeToLive {@link Duration}; null = Resources never expire and are never revalidated
+     */
+    public BoundedFileResourceCache(final Path cacheDirectory, final long maxBytes, final Duration timeToLive) {
+        super(cacheDirectory, timeToLive);
+
+        if (maxBytes < 1L) {
+            throw new IllegalArgumentException("maxBytes < 1: " + maxBytes);
+        }
+
+        this.maxBytes = maxBytes;
+        this.journalFile = cacheDirectory.resolve(JOURNAL_FILE);
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+
+        try {
+            if (closed) {
+                // The Journal is not written again.
+                return;
+            }
+
+            open();
+
+            for (String key : index.keySet()) {
+                deleteFiles(resolvePath(key));
+            }
+
+            index.clear();
+            size = 0L;
+
+            rebuildJournal();
+        }
+        catch (final Exception ex) {
+            getLogger().error(ex.getMessage(), ex);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+
+        try {
+            closed = true;
+
+            if (journalWriter != null) {
+                journalWriter.close();
+                journalWriter = null;
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int getEntryCount() {
+        lock.lock();
+
+        try {
+            open();
+
+            return index.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public InputStream getResource(final URI uri) throws Exception {
+        lock.lock();
+
+        try {
+            // No Hits and no Downloads after close.
+            checkNotClosed();
+        }
+        finally {
+            lock.unlock();
+        }
+
+        final String key = generateKey(uri);
+        InputStream inputStream;
+
+        try {
+            inputStream = super.getResource(uri);
+        }
+        catch (NoSuchFileException _) {
+            // Evicted by another Thread between the Lookup and the Open.
+            inputStream = super.getResource(uri);
+        }
+
+        try {
+            recordAccess(key);
+        }
+        catch (IOException | RuntimeException ex) {
+            try {
+                inputStream.close();
+            }
+            catch (IOException closeEx) {
+                ex.addSuppressed(closeEx);
+            }
+
+            throw ex;
+        }
+
+        return inputStream;
+    }
+
+    /**
+     * Current Size of the Cache in Bytes.
+     */
+    public long getSize() {
+        lock.lock();
+
+        try {
+            open();
+
+            return size;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void download(final URI uri, final Path path) throws Exception {
+        lock.lock();
+
+        try {
+            // No orphan Files outside the Index.
+            checkNotClosed();
+        }
+        finally {
+            lock.unlock();
+        }
+
+        super.download(uri, path);
+
+        final String key = path.getFileName().toString();
+        final long fileSize = Files.size(path);
+
+        lock.lock();
+
+        try {
+            if (closed) {
+                // Closed while downloading.
+                deleteFiles(path);
+            }
+
+            checkNotClosed();
+
+            final Long oldSize = index.put(key, fileSize);
+
+            if (oldSize != null) {
+                size -= oldSize;
+                redundantOps++;
+            }
+
+            size += fileSize;
+
+            appendJournal(OP_PUT, key, fileSize);
+
+            trimToSize(key);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected boolean isFresh(final Path path) throws IOException {
+        lock.lock();
+
+        try {
+            open();
+
+            if (!index.containsKey(path.getFileName().toString())) {
+                return false;
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+
+        return super.isFresh(path);
+    }
+
+    private void appendJournal(final String op, final String key, final long fileSize) throws IOException {
+        if (journalWriter == null) {
+            throw new IllegalStateException("cache is closed");
+        }
+
+        journalWriter.write(op);
+        journalWriter.write(' ');
+        journalWriter.write(key);
+
+        if (OP_PUT.equals(op)) {
+            journalWriter.write(' ');
+            journalWriter.write(Long.toString(fileSize));
+        }
+
+        journalWriter.write('\n');
+
+        if (!OP_GET.equals(op)) {
+            journalWriter.flush();
+        }
+
+        if (isCompactRequired()) {
+            rebuildJournal();
+        }
+    }
+
+    /**
+     * Must be called with the Lock.
+     */
+    private void checkNotClosed() {
+        open();
+
+        if (closed) {
+            throw new IllegalStateException("cache is closed");
+        }
+    }
+
+    private void deleteFiles(final Path path) throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(resolveMetadataPath(path));
+    }
+
+    private boolean isCompactRequired() {
+        return redundantOps >= REDUNDANT_OPS_COMPACT_THRESHOLD && redundantOps >= index.size();
+    }
+
+    /**
+     * Replays the Journal by the first Access, must be called with the Lock.<br>
+     * The Constructor does not call the overridable Methods used by the Replay.<br>
+     * A failed Replay is discarded and repeated by the next Access.
+     */
+    private void open() {
+        if (opened || closed) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(getCacheDirectory());
+
+            if (!readJournal() || isCompactRequired()) {
+                rebuildJournal();
+            }
+            else {
+                journalWriter = openJournalWriter();
+            }
+
+            trimToSize(null);
+
+            opened = true;
+        }
+        catch (IOException ex) {
+            index.clear();
+            size = 0L;
+            redundantOps = 0;
+
+            if (journalWriter != null) {
+                try {
+                    journalWriter.close();
+                }
+                catch (IOException closeEx) {
+                    ex.addSuppressed(closeEx);
+                }
+
+                journalWriter = null;
+            }
+
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Writer openJournalWriter() throws IOException {
+        return Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * @return boolean; false if the Journal not exist or has an unknown Format
+     */
+    private boolean readJournal() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return false;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            final String header = reader.readLine();
+
+            if (!JOURNAL_HEADER.equals(header)) {
+                getLogger().warn("unknown journal format, ignoring journal: {}", journalFile);
+
+                return false;
+            }
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                replayJournalLine(line);
+            }
+        }
+
+        getLogger().debug("journal replayed: {} entries, {} bytes", index.size(), size);
+
+        return true;
+    }
+
+    /**
+     * Writes the current Index into a new Journal, the Order of the Lines keeps the LRU-Order.
+     */
+    private void rebuildJournal() throws IOException {
+        if (journalWriter != null) {
+            journalWriter.close();
+        }
+
+        final Path tempFile = Files.createTempFile(getCacheDirectory(), JOURNAL_FILE, ".tmp");
+
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write(JOURNAL_HEADER);
+                writer.write('\n');
+
+                for (Map.Entry<String, Long> entry : index.entrySet()) {
+                    writer.write(OP_PUT);
+                    writer.write(' ');
+                    writer.write(entry.getKey());
+                    writer.write(' ');
+                    writer.write(Long.toString(entry.getValue()));
+                    writer.write('\n');
+                }
+            }
+
+            moveAtomic(tempFile, journalFile);
+        }
+        finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        redundantOps = 0;
+        journalWriter = openJournalWriter();
+    }
+
+    private void recordAccess(final String key) throws IOException {
+        lock.lock();
+
+        try {
+            open();
+
+            // Closed while opening the Resource, the Hit is not journaled anymore.
+            if (closed) {
+                return;
+            }
+
+            if (index.get(key) != null) {
+                redundantOps++;
+                appendJournal(OP_GET, key, 0L);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void replayJournalLine(final String line) {
+        final String[] parts = line.split(" ");
+
+        if (parts.length < 2) {
+            // Incomplete Line, maybe by a Crash.
+            return;
+        }
+
+        final String key = parts[1];
+
+        switch (parts[0]) {
+            case OP_PUT -> {
+                if (parts.length != 3) {
+                    return;
+                }
+
+                final long fileSize;
+
+                try {
+                    fileSize = Long.parseLong(parts[2]);
+                }
+                catch (NumberFormatException _) {
+                    return;
+                }
+
+                final Long oldSize = index.put(key, fileSize);
+
+                if (oldSize != null) {
+                    size -= oldSize;
+                    redundantOps++;
+                }
+
+                size += fileSize;
+            }
+            case OP_GET -> {
+                index.get(key);
+                redundantOps++;
+            }
+            case OP_DELETE -> {
+                final Long oldSize = index.remove(key);
+
+                if (oldSize != null) {
+                    size -= oldSize;
+                }
+
+                redundantOps += 2;
+            }
+            default -> {
+                // Unknown Operation.
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used Entries until the Size is within the Budget.
+     *
+     * @param protectedKey String; Entry which is not evicted, can be null
+     */
+    private void trimToSize(final String protectedKey) throws IOException {
+        final Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+
+        while (size > maxBytes && iterator.hasNext()) {
+            final Map.Entry<String, Long> entry = iterator.next();
+            final String key = entry.getKey();
+
+            if (key.equals(protectedKey)) {
+                continue;
+            }
+
+            final long fileSize = entry.getValue();
+            iterator.remove();
+            size -= fileSize;
+
+            deleteFiles(resolvePath(key));
+
+            getLogger().debug("Eviction: {} - {}kB", key, fileSize / 1024);
+
+            redundantOps += 2;
+
+            if (journalWriter != null) {
+                appendJournal(OP_DELETE, key, 0L);
+            }
+        }
+    }
+}
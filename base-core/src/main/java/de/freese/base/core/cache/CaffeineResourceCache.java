@@ -1,28 +1,61 @@
 package de.freese.base.core.cache;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.Weigher;
 
+import de.freese.base.core.nio.ByteBufferInputStream;
+
 /**
+ * The Content is kept in Memory as read-only {@link ByteBuffer}, the Callers get independent Views without copying.<br>
+ * <br>
+ * Off-Heap: the Content is stored in a {@link MemorySegment} outside the Java-Heap, the Cache only holds the small Handles.<br>
+ * The native Memory is released by the GC, when the evicted Entry is no longer referenced by any Reader;
+ * like for direct Buffers, the Limit is set by '-XX:MaxDirectMemorySize'.
+ *
  * @author Thomas Freese
  */
 public class CaffeineResourceCache extends FileResourceCache {
-    private final LoadingCache<URI, byte[]> cache;
+    private final LoadingCache<URI, ByteBuffer> cache;
+    private final boolean offHeap;
 
     /**
      * @param keepBytesInMemory int; Disable Caching = 0
      */
     public CaffeineResourceCache(final Path cacheDirectory, final int keepBytesInMemory) {
-        super(cacheDirectory);
+        this(cacheDirectory, keepBytesInMemory, null);
+    }
+
+    /**
+     * @param keepBytesInMemory int; Disable Caching = 0
+     * @param timeToLive {@link Duration}; null = Resources never expire and are never revalidated
+     */
+    public CaffeineResourceCache(final Path cacheDirectory, final int keepBytesInMemory, final Duration timeToLive) {
+        this(cacheDirectory, keepBytesInMemory, timeToLive, false);
+    }
+
+    /**
+     * @param keepBytesInMemory long; Disable Caching = 0
+     * @param timeToLive {@link Duration}; null = Resources never expire and are never revalidated
+     * @param offHeap boolean; true = the Content is stored outside the Java-Heap
+     */
+    public CaffeineResourceCache(final Path cacheDirectory, final long keepBytesInMemory, final Duration timeToLive, final boolean offHeap) {
+        super(cacheDirectory, timeToLive);
 
+        this.offHeap = offHeap;
         this.cache = createCache(keepBytesInMemory);
     }
 
@@ -36,45 +69,95 @@ public class CaffeineResourceCache extends FileResourceCache {
 
     @Override
     public InputStream getResource(final URI uri) throws Exception {
-        final byte[] content = cache.get(uri);
+        final ByteBuffer content = getResourceAsBuffer(uri);
 
-        if (content == null || content.length == 0) {
+        if (content == null) {
             return null;
         }
 
-        return new ByteArrayInputStream(content);
+        return new ByteBufferInputStream(content);
     }
 
     /**
-     * @param keepBytesInMemory int; Disable Caching = 0
+     * @return {@link ByteBuffer}; read-only View of the Content without copying, null if the Content is empty
      */
-    private LoadingCache<URI, byte[]> createCache(final int keepBytesInMemory) {
-        // Größe der Datei = Gewicht
-        final Weigher<URI, byte[]> weigher = (key, value) -> value.length;
+    public ByteBuffer getResourceAsBuffer(final URI uri) throws Exception {
+        final ByteBuffer content = cache.get(uri);
 
-        final CacheLoader<URI, byte[]> cacheLoader = key -> {
-            byte[] content = {};
+        if (content == null || content.capacity() == 0) {
+            return null;
+        }
 
-            // final int size = (int) getContentLength(key);
-            final int size = 1024;
+        // Own Position and Limit for each Caller.
+        return content.duplicate();
+    }
 
-            try (InputStream inputStream = super.getResource(key);
-                 ByteArrayOutputStream baos = new ByteArrayOutputStream(size)) {
-                inputStream.transferTo(baos);
+    public boolean isOffHeap() {
+        return offHeap;
+    }
 
-                baos.flush();
-                content = baos.toByteArray();
+    /**
+     * @param keepBytesInMemory long; Disable Caching = 0
+     */
+    private LoadingCache<URI, ByteBuffer> createCache(final long keepBytesInMemory) {
+        // Größe der Datei = Gewicht
+        final Weigher<URI, ByteBuffer> weigher = (key, value) -> value.capacity();
+
+        final CacheLoader<URI, ByteBuffer> cacheLoader = key -> {
+            if (offHeap) {
+                // Read the cached File directly into the native Memory, the File is opened only once.
+                return readOffHeap(loadPath(key));
             }
 
-            return content;
+            try (InputStream inputStream = super.getResource(key)) {
+                // final int size = (int) getContentLength(key);
+                final int size = 1024;
+
+                try (ByteArrayOutputStream baos = new ByteArrayOutputStream(size)) {
+                    inputStream.transferTo(baos);
+
+                    baos.flush();
+
+                    return ByteBuffer.wrap(baos.toByteArray()).asReadOnlyBuffer();
+                }
+            }
         };
 
-        return Caffeine.newBuilder()
+        final Caffeine<URI, ByteBuffer> caffeine = Caffeine.newBuilder()
                 .maximumWeight(keepBytesInMemory)
                 .weigher(weigher)
-                .evictionListener((key, value, cause) -> getLogger().info("Eviction: {} - {} - {}kB", cause, key, value.length / 1024))
-                .removalListener((key, value, cause) -> getLogger().info("Removal: {} - {} - {}kB", cause, key, value.length / 1024))
-                .build(cacheLoader)
-                ;
+                .evictionListener((key, value, cause) -> getLogger().info("Eviction: {} - {} - {}kB", cause, key, value.capacity() / 1024))
+                .removalListener((key, value, cause) -> getLogger().info("Removal: {} - {} - {}kB", cause, key, value.capacity() / 1024));
+
+        if (getTimeToLive() != null) {
+            // Expired Entries are reloaded from the FileCache, which revalidates them.
+            caffeine.expireAfterWrite(getTimeToLive());
+        }
+
+        return caffeine.build(cacheLoader);
+    }
+
+    private ByteBuffer readOffHeap(final Path path) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = fileChannel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("resource too large for the memory cache: " + size);
+            }
+
+            // Auto-Arena: the Memory is released by the GC, if no View is referenced anymore.
+            final MemorySegment segment = Arena.ofAuto().allocate(size);
+            final ByteBuffer buffer = segment.asByteBuffer();
+
+            while (buffer.hasRemaining()) {
+                if (fileChannel.read(buffer) < 0) {
+                    break;
+                }
+            }
+
+            buffer.flip();
+
+            return buffer.asReadOnlyBuffer();
+        }
     }
 }
@@ -3,7 +3,14 @@ package de.freese.base.core.cache;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
 import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -11,18 +18,50 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
 
 /**
+ * Thread-safe: only one Thread per Resource downloads the Content, concurrent Callers wait for this Download.<br>
+ * The Content is written to a temporary File and then atomically moved to its final Place,
+ * so Readers never see partially written Files.<br>
+ * <br>
+ * With a TimeToLive the Resources are revalidated after Expiration by a conditional GET ('If-None-Match', 'If-Modified-Since').<br>
+ * The {@link ResourceMetadata} are stored in a Sidecar-File next to the Resource.
+ *
  * @author Thomas Freese
  */
 public class FileResourceCache extends AbstractResourceCache {
+    private static final String METADATA_SUFFIX = ".meta";
+
     private final Path cacheDirectory;
+    private final SingleFlight<String, Path> singleFlight = new SingleFlight<>();
+    private final Duration timeToLive;
 
     public FileResourceCache(final Path cacheDirectory) {
+        this(cacheDirectory, null);
+    }
+
+    /**
+     * @param timeToLive {@link Duration}; null = Resources never expire and are never revalidated
+     */
+    public FileResourceCache(final Path cacheDirectory, final Duration timeToLive) {
         super();
 
         this.cacheDirectory = Objects.requireNonNull(cacheDirectory, "cacheDirectory required");
+
+        if (timeToLive != null && timeToLive.isNegative()) {
+            throw new IllegalArgumentException("timeToLive is negative: " + timeToLive);
+        }
+
+        this.timeToLive = timeToLive;
     }
 
     @Override
@@ -55,29 +94,187 @@ public class FileResourceCache extends AbstractResourceCache {
 
     @Override
     public InputStream getResource(final URI uri) throws Exception {
-        final String key = generateKey(uri);
+        return Files.newInputStream(loadPath(uri), StandardOpenOption.READ);
+    }
 
-        Path path = getCacheDirectory();
+    /**
+     * Writes the Content into a temporary File and moves it atomically to the target.<br>
+     * An existing expired Resource is revalidated by a conditional GET, 'HTTP 304 Not Modified' only updates the Metadata.
+     */
+    protected void download(final URI uri, final Path path) throws Exception {
+        Files.createDirectories(path.getParent());
 
-        // Build Structure in the Cache-Directory.
-        for (int i = 0; i < 3; i++) {
-            path = path.resolve(key.substring(i * 2, (i * 2) + 2));
+        final ResourceMetadata metadata = Files.exists(path) ? readMetadata(path) : null;
+        final URLConnection connection = openConnection(uri, createConditionalRequestProperties(metadata));
+        final long now = System.currentTimeMillis();
+
+        if (metadata != null && connection instanceof HttpURLConnection httpURLConnection
+                && httpURLConnection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            getLogger().debug("Not modified: {}", uri);
+
+            // Empty Body: closing the Stream returns the Connection into the Keep-Alive Cache.
+            try (InputStream inputStream = httpURLConnection.getInputStream()) {
+                inputStream.transferTo(OutputStream.nullOutputStream());
+            }
+            catch (IOException _) {
+                httpURLConnection.disconnect();
+            }
+
+            writeMetadata(path, metadata.revalidated(connection, timeToLive, now));
+
+            return;
         }
 
-        path = path.resolve(key);
+        final Path tempFile = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
 
-        if (!Files.exists(path)) {
-            Files.createDirectories(path.getParent());
+        try {
+            try (InputStream inputStream = connection.getInputStream()) {
+                Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (IOException ex) {
+                if (connection instanceof HttpURLConnection httpURLConnection) {
+                    httpURLConnection.disconnect();
+                }
 
-            try (InputStream inputStream = toInputStream(uri)) {
-                Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+                throw ex;
             }
+
+            moveAtomic(tempFile, path);
+        }
+        finally {
+            Files.deleteIfExists(tempFile);
         }
 
-        return Files.newInputStream(path, StandardOpenOption.READ);
+        if (timeToLive != null) {
+            writeMetadata(path, ResourceMetadata.of(connection, timeToLive, now));
+        }
+    }
+
+    protected Map<String, String> createConditionalRequestProperties(final ResourceMetadata metadata) {
+        if (metadata == null) {
+            return Map.of();
+        }
+
+        final Map<String, String> requestProperties = new HashMap<>();
+
+        if (metadata.eTag() != null) {
+            requestProperties.put("If-None-Match", metadata.eTag());
+        }
+
+        if (metadata.lastModified() > 0L) {
+            final ZonedDateTime lastModified = Instant.ofEpochMilli(metadata.lastModified()).atZone(ZoneOffset.UTC);
+            requestProperties.put("If-Modified-Since", DateTimeFormatter.RFC_1123_DATE_TIME.format(lastModified));
+        }
+
+        return requestProperties;
     }
 
     protected Path getCacheDirectory() {
         return cacheDirectory;
     }
+
+    protected Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Without TimeToLive an existing Resource is always fresh.
+     */
+    protected boolean isFresh(final Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+
+        if (timeToLive == null) {
+            return true;
+        }
+
+        final ResourceMetadata metadata = readMetadata(path);
+
+        return metadata != null && !metadata.isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Downloads or revalidates the Resource if necessary, without opening it.
+     *
+     * @return {@link Path}; the fresh cached File
+     */
+    protected Path loadPath(final URI uri) throws Exception {
+        final String key = generateKey(uri);
+        final Path path = resolvePath(key);
+
+        if (!isFresh(path)) {
+            singleFlight.load(key, () -> {
+                // Another Thread may have finished the Download in the meantime.
+                if (!isFresh(path)) {
+                    download(uri, path);
+                }
+
+                return path;
+            });
+        }
+
+        return path;
+    }
+
+    protected void moveAtomic(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException _) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @return {@link ResourceMetadata}; null if not exist
+     */
+    protected ResourceMetadata readMetadata(final Path path) throws IOException {
+        final Path metadataPath = resolveMetadataPath(path);
+
+        if (!Files.exists(metadataPath)) {
+            return null;
+        }
+
+        final Properties properties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(metadataPath, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        return ResourceMetadata.fromProperties(properties);
+    }
+
+    protected Path resolveMetadataPath(final Path path) {
+        return path.resolveSibling(path.getFileName().toString() + METADATA_SUFFIX);
+    }
+
+    /**
+     * Build Structure in the Cache-Directory: 3 Levels with 2 Characters of the Key.
+     */
+    protected Path resolvePath(final String key) {
+        Path path = getCacheDirectory();
+
+        for (int i = 0; i < 3; i++) {
+            path = path.resolve(key.substring(i * 2, (i * 2) + 2));
+        }
+
+        return path.resolve(key);
+    }
+
+    protected void writeMetadata(final Path path, final ResourceMetadata metadata) throws IOException {
+        final Path metadataPath = resolveMetadataPath(path);
+        final Path tempFile = Files.createTempFile(metadataPath.getParent(), metadataPath.getFileName().toString(), ".tmp");
+
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                metadata.toProperties().store(writer, null);
+            }
+
+            moveAtomic(tempFile, metadataPath);
+        }
+        finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
 }
@@ -6,18 +6,21 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Thread-safe: only one Thread per Resource loads the Content, concurrent Callers wait for this Load.
+ *
  * @author Thomas Freese
  */
 public class MemoryResourceCache extends AbstractResourceCache {
     private final Map<URI, byte[]> map;
+    private final SingleFlight<URI, byte[]> singleFlight = new SingleFlight<>();
 
     public MemoryResourceCache() {
         super();
 
-        this.map = new TreeMap<>();
+        this.map = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -30,29 +33,34 @@ public class MemoryResourceCache extends AbstractResourceCache {
         byte[] content = map.get(uri);
 
         if (content == null) {
-            // final int size = (int) getContentLength(uri);
-            final int size = 1024;
-
-            try (InputStream inputStream = toInputStream(uri);
-                 ByteArrayOutputStream baos = new ByteArrayOutputStream(size)) {
-                inputStream.transferTo(baos);
-                // final byte[] buffer = new byte[4096];
-                // // long count = 0;
-                // int n = 0;
-                //
-                // while ((n = inputStream.read(buffer)) != -1) {
-                // baos.write(buffer, 0, n);
-                // // count += n;
-                // }
-
-                baos.flush();
-
-                content = baos.toByteArray();
-
-                map.put(uri, content);
-            }
+            content = singleFlight.load(uri, () -> {
+                final byte[] loaded = map.get(uri);
+
+                if (loaded != null) {
+                    return loaded;
+                }
+
+                final byte[] bytes = load(uri);
+                map.put(uri, bytes);
+
+                return bytes;
+            });
         }
 
         return new ByteArrayInputStream(content);
     }
+
+    private byte[] load(final URI uri) throws Exception {
+        // final int size = (int) getContentLength(uri);
+        final int size = 1024;
+
+        try (InputStream inputStream = toInputStream(uri);
+             ByteArrayOutputStream baos = new ByteArrayOutputStream(size)) {
+            inputStream.transferTo(baos);
+
+            baos.flush();
+
+            return baos.toByteArray();
+        }
+    }
 }
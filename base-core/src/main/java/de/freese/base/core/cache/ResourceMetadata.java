@@ -0,0 +1,119 @@
+// Created: 18.10.2026
+package de.freese.base.core.cache;
+
+import java.net.URLConnection;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Metadata of a cached Resource for the HTTP-Revalidation.
+ *
+ * @param eTag String; Value of the 'ETag' Header, can be null
+ * @param lastModified long; Value of the 'Last-Modified' Header in Millis, 0 = unknown
+ * @param expires long; Timestamp in Millis when the Resource must be revalidated, {@link Long#MAX_VALUE} = never
+ *
+ * @author Thomas Freese
+ */
+public record ResourceMetadata(String eTag, long lastModified, long expires) {
+    private static final String KEY_ETAG = "etag";
+    private static final String KEY_EXPIRES = "expires";
+    private static final String KEY_LAST_MODIFIED = "lastModified";
+    private static final Pattern PATTERN_MAX_AGE = Pattern.compile("max-age\\s*=\\s*(\\d+)");
+
+    /**
+     * Creates the Metadata from the Response-Headers.<br>
+     * A 'Cache-Control: max-age' Header overrides the default TimeToLive, 'no-cache' or 'no-store' expire immediately.<br>
+     * An unparsable 'max-age' is ignored, the Expiration saturates at {@link Long#MAX_VALUE}.
+     *
+     * @param timeToLive {@link Duration}; null = never expires
+     */
+    public static ResourceMetadata of(final URLConnection connection, final Duration timeToLive, final long now) {
+        return new ResourceMetadata(connection.getHeaderField("ETag"), connection.getLastModified(),
+                computeExpires(connection.getHeaderField("Cache-Control"), timeToLive, now));
+    }
+
+    public static ResourceMetadata fromProperties(final Properties properties) {
+        final String eTag = properties.getProperty(KEY_ETAG);
+        final long lastModified = Long.parseLong(properties.getProperty(KEY_LAST_MODIFIED, "0"));
+        final long expires = Long.parseLong(properties.getProperty(KEY_EXPIRES, Long.toString(Long.MAX_VALUE)));
+
+        return new ResourceMetadata(eTag, lastModified, expires);
+    }
+
+    static long computeExpires(final String cacheControl, final Duration timeToLive, final long now) {
+        if (cacheControl != null) {
+            final String value = cacheControl.toLowerCase(Locale.ROOT);
+
+            if (value.contains("no-cache") || value.contains("no-store")) {
+                return now;
+            }
+
+            final Matcher matcher = PATTERN_MAX_AGE.matcher(value);
+
+            if (matcher.find()) {
+                try {
+                    final long maxAge = Long.parseLong(matcher.group(1));
+
+                    return saturatedAdd(now, Math.multiplyExact(maxAge, 1000L));
+                }
+                catch (NumberFormatException _) {
+                    // Too many Digits: like a missing 'max-age'.
+                }
+                catch (ArithmeticException _) {
+                    return Long.MAX_VALUE;
+                }
+            }
+        }
+
+        if (timeToLive == null) {
+            return Long.MAX_VALUE;
+        }
+
+        try {
+            return saturatedAdd(now, timeToLive.toMillis());
+        }
+        catch (ArithmeticException _) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long saturatedAdd(final long now, final long millis) {
+        try {
+            return Math.addExact(now, millis);
+        }
+        catch (ArithmeticException _) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    public boolean isExpired(final long now) {
+        return expires <= now;
+    }
+
+    /**
+     * Same Validators with a new Expiration, used after a 'HTTP 304 Not Modified'.
+     */
+    public ResourceMetadata revalidated(final URLConnection connection, final Duration timeToLive, final long now) {
+        final String newETag = connection.getHeaderField("ETag");
+        final long newLastModified = connection.getLastModified();
+
+        return new ResourceMetadata(newETag != null ? newETag : eTag, newLastModified > 0 ? newLastModified : lastModified,
+                computeExpires(connection.getHeaderField("Cache-Control"), timeToLive, now));
+    }
+
+    public Properties toProperties() {
+        final Properties properties = new Properties();
+
+        if (eTag != null) {
+            properties.setProperty(KEY_ETAG, eTag);
+        }
+
+        properties.setProperty(KEY_LAST_MODIFIED, Long.toString(lastModified));
+        properties.setProperty(KEY_EXPIRES, Long.toString(expires));
+
+        return properties;
+    }
+}
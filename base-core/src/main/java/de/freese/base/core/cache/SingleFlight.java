@@ -0,0 +1,86 @@
+// Created: 18.10.2026
+package de.freese.base.core.cache;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import de.freese.base.core.function.ThrowingSupplier;
+
+/**
+ * Ensures that only one Loader per Key is running at the same Time.<br>
+ * Concurrent Callers for the same Key wait for the running Load and receive its Result or Exception.
+ *
+ * @author Thomas Freese
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V load(final K key, final ThrowingSupplier<V, Exception> loader) throws Exception {
+        Objects.requireNonNull(key, "key required");
+        Objects.requireNonNull(loader, "loader required");
+
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            final V value = loader.get();
+            future.complete(value);
+
+            return value;
+        }
+        catch (final Exception ex) {
+            future.completeExceptionally(ex);
+
+            throw ex;
+        }
+        catch (final Error ex) {
+            future.completeExceptionally(ex);
+
+            throw ex;
+        }
+        finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Number of currently running Loads.
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private V await(final CompletableFuture<V> future) throws Exception {
+        try {
+            return future.get();
+        }
+        catch (final InterruptedException ex) {
+            // Restore interrupted state.
+            Thread.currentThread().interrupt();
+
+            throw ex;
+        }
+        catch (final CancellationException ex) {
+            throw new IllegalStateException(ex);
+        }
+        catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw ex;
+        }
+    }
+}
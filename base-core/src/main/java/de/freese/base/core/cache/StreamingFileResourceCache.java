@@ -0,0 +1,360 @@
+// Created: 18.10.2026
+package de.freese.base.core.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link FileResourceCache} with a streaming Read-Through for Cache-Misses.<br>
+ * The Download runs in the Background and writes into a temporary File,
+ * the returned {@link InputStream} delivers the Bytes as soon as they are written.<br>
+ * Concurrent Callers of the same Resource follow the growing File, the Resource is downloaded only once.<br>
+ * After the Download the File is moved atomically to its final Place.<br>
+ * <br>
+ * Expired Resources are revalidated like in the {@link FileResourceCache}.
+ *
+ * @author Thomas Freese
+ */
+public class StreamingFileResourceCache extends FileResourceCache {
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * State of a running Download, shared by all Readers.
+     *
+     * @author Thomas Freese
+     */
+    private static final class InFlightDownload {
+        private final Condition changed;
+        private final Lock lock = new ReentrantLock();
+        private final Path tempFile;
+
+        private Path currentFile;
+        private boolean done;
+        private Throwable failure;
+        private long written;
+
+        InFlightDownload(final Path tempFile) {
+            super();
+
+            this.tempFile = tempFile;
+            this.currentFile = tempFile;
+            this.changed = lock.newCondition();
+        }
+
+        /**
+         * @return long; Number of available Bytes, blocks until more than the Position are available or the Download is finished.
+         */
+        long awaitAvailable(final long position) throws IOException {
+            lock.lock();
+
+            try {
+                while (written <= position && !done) {
+                    changed.await();
+                }
+
+                if (failure != null) {
+                    throw new IOException("download failed", failure);
+                }
+
+                return written;
+            }
+            catch (InterruptedException ex) {
+                // Restore interrupted state.
+                Thread.currentThread().interrupt();
+
+                final InterruptedIOException exception = new InterruptedIOException();
+                exception.initCause(ex);
+
+                throw exception;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        void fail(final Throwable exception) {
+            lock.lock();
+
+            try {
+                failure = exception;
+                done = true;
+                changed.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Opens the File of the Download, after the Move this is the final File.
+         */
+        FileChannel open() throws IOException {
+            lock.lock();
+
+            try {
+                if (failure != null) {
+                    throw new IOException("download failed", failure);
+                }
+
+                return FileChannel.open(currentFile, StandardOpenOption.READ);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        void progress(final long bytes) {
+            lock.lock();
+
+            try {
+                written += bytes;
+                changed.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Moving under the Lock prevents Readers from opening the temporary File while it is moved.
+         */
+        void succeed(final StreamingFileResourceCache resourceCache, final Path path) throws IOException {
+            lock.lock();
+
+            try {
+                resourceCache.moveAtomic(tempFile, path);
+
+                currentFile = path;
+                done = true;
+                changed.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Reads the growing File of a running Download.
+     *
+     * @author Thomas Freese
+     */
+    private static final class FollowingInputStream extends InputStream {
+        private final FileChannel channel;
+        private final InFlightDownload download;
+
+        private long position;
+
+        FollowingInputStream(final InFlightDownload download) throws IOException {
+            super();
+
+            this.download = download;
+            this.channel = download.open();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            final int n = read(b, 0, 1);
+
+            return n == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+
+            if (len == 0) {
+                return 0;
+            }
+
+            final long available = download.awaitAvailable(position);
+
+            if (available <= position) {
+                return -1;
+            }
+
+            final int toRead = (int) Math.min(len, available - position);
+            final int n = channel.read(ByteBuffer.wrap(b, off, toRead), position);
+
+            if (n > 0) {
+                position += n;
+            }
+
+            return n;
+        }
+    }
+
+    private final Executor executor;
+    private final ConcurrentMap<String, InFlightDownload> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * The Downloads are running in Virtual-Threads.
+     */
+    public StreamingFileResourceCache(final Path cacheDirectory) {
+        this(cacheDirectory, null, runnable -> Thread.ofVirtual().name("resource-cache-download").start(runnable));
+    }
+
+    /**
+     * @param timeToLive {@link Duration}; null = Resources never expire and are never revalidated
+     * @param executor {@link Executor}; runs the Downloads
+     */
+    public StreamingFileResourceCache(final Path cacheDirectory, final Duration timeToLive, final Executor executor) {
+        super(cacheDirectory, timeToLive);
+
+        this.executor = Objects.requireNonNull(executor, "executor required");
+    }
+
+    @Override
+    public InputStream getResource(final URI uri) throws Exception {
+        final String key = generateKey(uri);
+        final Path path = resolvePath(key);
+
+        InFlightDownload download = inFlight.get(key);
+
+        if (download == null) {
+            if (Files.exists(path)) {
+                // Cached or expired -> Revalidation.
+                return super.getResource(uri);
+            }
+
+            Files.createDirectories(path.getParent());
+
+            final InFlightDownload newDownload = new InFlightDownload(Files.createTempFile(path.getParent(), key, ".tmp"));
+            download = inFlight.putIfAbsent(key, newDownload);
+
+            if (download == null) {
+                if (Files.exists(path)) {
+                    // Another Thread has finished the Download in the meantime.
+                    inFlight.remove(key, newDownload);
+                    Files.deleteIfExists(newDownload.tempFile);
+
+                    return super.getResource(uri);
+                }
+
+                download = newDownload;
+                startDownload(uri, key, path, newDownload);
+            }
+            else {
+                Files.deleteIfExists(newDownload.tempFile);
+            }
+        }
+
+        return new FollowingInputStream(download);
+    }
+
+    private void copy(final URLConnection connection, final InputStream inputStream, final Path path, final InFlightDownload download) throws Exception {
+        final long now = System.currentTimeMillis();
+
+        try (inputStream;
+             FileChannel fileChannel = FileChannel.open(download.tempFile, StandardOpenOption.WRITE)) {
+            final byte[] bytes = new byte[BUFFER_SIZE];
+            int n;
+
+            while ((n = inputStream.read(bytes)) != -1) {
+                final ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, n);
+
+                while (buffer.hasRemaining()) {
+                    fileChannel.write(buffer);
+                }
+
+                download.progress(n);
+            }
+        }
+
+        if (getTimeToLive() != null) {
+            writeMetadata(path, ResourceMetadata.of(connection, getTimeToLive(), now));
+        }
+
+        download.succeed(this, path);
+    }
+
+    /**
+     * The Connection is opened by the calling Thread, so Connection-Errors are thrown directly to the Caller.
+     */
+    private void startDownload(final URI uri, final String key, final Path path, final InFlightDownload download) throws Exception {
+        final URLConnection connection;
+        final InputStream inputStream;
+
+        try {
+            connection = openConnection(uri, Map.of());
+
+            try {
+                inputStream = connection.getInputStream();
+            }
+            catch (IOException ex) {
+                if (connection instanceof HttpURLConnection httpURLConnection) {
+                    httpURLConnection.disconnect();
+                }
+
+                throw ex;
+            }
+        }
+        catch (Exception | Error ex) {
+            download.fail(ex);
+            inFlight.remove(key, download);
+            Files.deleteIfExists(download.tempFile);
+
+            throw ex;
+        }
+
+        final Runnable task = () -> {
+            try {
+                copy(connection, inputStream, path, download);
+            }
+            catch (Exception ex) {
+                getLogger().error(ex.getMessage(), ex);
+
+                download.fail(ex);
+            }
+            catch (Error ex) {
+                // The waiting Readers are released, the Error is passed on.
+                download.fail(ex);
+
+                throw ex;
+            }
+            finally {
+                inFlight.remove(key, download);
+
+                try {
+                    Files.deleteIfExists(download.tempFile);
+                }
+                catch (IOException ex) {
+                    getLogger().warn(ex.getMessage());
+                }
+            }
+        };
+
+        try {
+            executor.execute(task);
+        }
+        catch (RejectedExecutionException _) {
+            // Fallback: Download in the calling Thread.
+            task.run();
+        }
+    }
+}
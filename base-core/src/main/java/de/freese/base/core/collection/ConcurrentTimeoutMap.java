@@ -0,0 +1,648 @@
+// Created: 18.10.2026
+package de.freese.base.core.collection;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Thread-safe {@link Map} with a Timeout for each Entry.<br>
+ * The Expiration is managed by a hierarchical Timing-Wheel based on {@link System#nanoTime()}:
+ * <ul>
+ *     <li>Reads are lock-free and only compare the Expiration-Time of the Entry</li>
+ *     <li>Writes are buffered and applied to the Timing-Wheel by the Thread which gets the Lock, amortized O(1)</li>
+ *     <li>the Expiration happens lazy by Writes or {@link #cleanUp()}, optional by a Background-Ticker: {@link #scheduleCleanUp(ScheduledExecutorService, Duration)}</li>
+ * </ul>
+ * The Resolution of the Timing-Wheel is about 1 ms.<br>
+ * Null Keys and Values are not supported.<br>
+ * {@link #replace(Object, Object)} keeps the Expiration-Time of the Entry, {@link #put(Object, Object)} starts a new Timeout.
+ *
+ * @author Thomas Freese
+ */
+public final class ConcurrentTimeoutMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, AutoCloseable {
+    /**
+     * Level 0: 2^20 ns (~1 ms) per Bucket, each Level is 64 times larger.
+     */
+    private static final int BASE_SHIFT = 20;
+    private static final int BUCKETS = 64;
+    private static final int BUCKET_BITS = 6;
+    private static final int LEVELS = 6;
+
+    /**
+     * @author Thomas Freese
+     */
+    private static final class Node<K, V> {
+        private final long expiresAt;
+        private final K key;
+        private final V value;
+
+        private Node<K, V> next;
+        private Node<K, V> prev;
+        private volatile boolean retired;
+
+        Node(final K key, final V value, final long expiresAt) {
+            super();
+
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(final long now) {
+            return expiresAt - now <= 0L;
+        }
+    }
+
+    private static long ticks(final long time, final int level) {
+        return time >>> (BASE_SHIFT + (BUCKET_BITS * level));
+    }
+
+    private final Map<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final Set<Map.Entry<K, V>> entrySet = new EntrySet();
+    private final BiConsumer<K, V> expirationListener;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long origin = System.nanoTime();
+    /**
+     * New and removed Nodes, applied to the Timing-Wheel under the Lock.
+     */
+    private final Queue<Node<K, V>> pending = new ConcurrentLinkedQueue<>();
+    private final long timeToLive;
+    private final Node<K, V>[][] wheel;
+
+    /**
+     * Time of the last Wheel-Advance, guarded by the Lock.
+     */
+    private long currentTime;
+    private volatile ScheduledFuture<?> scheduledCleanUp;
+
+    public ConcurrentTimeoutMap(final Duration timeToLive) {
+        this(timeToLive, null);
+    }
+
+    /**
+     * @param timeToLive {@link Duration}; default Timeout for the Entries
+     * @param expirationListener {@link BiConsumer}; optional, called for expired Entries, must be fast
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentTimeoutMap(final Duration timeToLive, final BiConsumer<K, V> expirationListener) {
+        super();
+
+        this.timeToLive = toNanos(timeToLive);
+        this.expirationListener = expirationListener;
+
+        wheel = new Node[LEVELS][BUCKETS];
+
+        for (Node<K, V>[] buckets : wheel) {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = createSentinel();
+            }
+        }
+    }
+
+    /**
+     * Removes all expired Entries.
+     */
+    public void cleanUp() {
+        lock.lock();
+
+        try {
+            maintenance();
+        }
+        finally {
+            lock.unlock();
+        }
+
+        tryMaintenance();
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+
+        try {
+            data.clear();
+
+            for (Node<K, V>[] buckets : wheel) {
+                for (Node<K, V> sentinel : buckets) {
+                    Node<K, V> node = sentinel.next;
+
+                    while (node != sentinel) {
+                        final Node<K, V> next = node.next;
+                        node.prev = null;
+                        node.next = null;
+                        node = next;
+                    }
+
+                    sentinel.prev = sentinel;
+                    sentinel.next = sentinel;
+                }
+            }
+
+            // Nodes of concurrent Writes, which are not in the Map anymore, are dropped by their Expiration.
+            drainPending();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the Background-Ticker.
+     */
+    @Override
+    public void close() {
+        final ScheduledFuture<?> future = scheduledCleanUp;
+
+        if (future != null) {
+            future.cancel(false);
+            scheduledCleanUp = null;
+        }
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final Node<K, V> node = data.get(key);
+
+        if (node == null) {
+            return null;
+        }
+
+        if (node.isExpired(now())) {
+            expire(node);
+
+            return null;
+        }
+
+        return node.value;
+    }
+
+    /**
+     * @return {@link Duration}; remaining Time of the Entry, null if not exist
+     */
+    public Duration getRemainingTime(final K key) {
+        final Node<K, V> node = data.get(key);
+
+        if (node == null) {
+            return null;
+        }
+
+        final long remaining = node.expiresAt - now();
+
+        return remaining <= 0L ? null : Duration.ofNanos(remaining);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        return put(key, value, timeToLive);
+    }
+
+    /**
+     * @param timeToLive {@link Duration}; Timeout of this Entry
+     */
+    public V put(final K key, final V value, final Duration timeToLive) {
+        return put(key, value, toNanos(timeToLive));
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        Objects.requireNonNull(value, "value required");
+
+        final long now = now();
+        final Node<K, V> node = new Node<>(key, value, now + timeToLive);
+
+        while (true) {
+            final Node<K, V> existing = data.putIfAbsent(key, node);
+
+            if (existing == null) {
+                schedule(node);
+
+                return null;
+            }
+
+            if (!existing.isExpired(now)) {
+                return existing.value;
+            }
+
+            if (data.replace(key, existing, node)) {
+                onExpired(existing);
+                retire(existing);
+                schedule(node);
+
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final Node<K, V> node = data.remove(key);
+
+        if (node == null) {
+            return null;
+        }
+
+        retire(node);
+
+        return node.isExpired(now()) ? null : node.value;
+    }
+
+    @Override
+    public boolean remove(final Object key, final Object value) {
+        final Node<K, V> node = data.get(key);
+
+        if (node == null || node.isExpired(now()) || !node.value.equals(value)) {
+            return false;
+        }
+
+        if (data.remove(key, node)) {
+            retire(node);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public V replace(final K key, final V value) {
+        Objects.requireNonNull(value, "value required");
+
+        while (true) {
+            final Node<K, V> node = data.get(key);
+
+            if (node == null || node.isExpired(now())) {
+                return null;
+            }
+
+            final Node<K, V> newNode = new Node<>(key, value, node.expiresAt);
+
+            if (data.replace(key, node, newNode)) {
+                retire(node);
+                schedule(newNode);
+
+                return node.value;
+            }
+        }
+    }
+
+    @Override
+    public boolean replace(final K key, final V oldValue, final V newValue) {
+        Objects.requireNonNull(oldValue, "oldValue required");
+        Objects.requireNonNull(newValue, "newValue required");
+
+        final Node<K, V> node = data.get(key);
+
+        if (node == null || node.isExpired(now()) || !node.value.equals(oldValue)) {
+            return false;
+        }
+
+        final Node<K, V> newNode = new Node<>(key, newValue, node.expiresAt);
+
+        if (data.replace(key, node, newNode)) {
+            retire(node);
+            schedule(newNode);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Starts a Background-Ticker which removes the expired Entries, stopped by {@link #close()}.
+     */
+    public ConcurrentTimeoutMap<K, V> scheduleCleanUp(final ScheduledExecutorService scheduledExecutorService, final Duration period) {
+        Objects.requireNonNull(scheduledExecutorService, "scheduledExecutorService required");
+        final long periodNanos = toNanos(period);
+
+        close();
+
+        scheduledCleanUp = scheduledExecutorService.scheduleAtFixedRate(this::cleanUp, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+
+        return this;
+    }
+
+    /**
+     * The Size may contain expired Entries, which are not yet removed by the Timing-Wheel Resolution.
+     */
+    @Override
+    public int size() {
+        cleanUp();
+
+        return data.size();
+    }
+
+    /**
+     * Moves the Timing-Wheel forward and expires the Entries of the passed Buckets.<br>
+     * Not expired Entries are rescheduled into a lower Level.
+     */
+    private void advance(final long now) {
+        final long previousTime = currentTime;
+        currentTime = now;
+
+        for (int level = 0; level < LEVELS; level++) {
+            final long previousTicks = ticks(previousTime, level);
+            final long delta = ticks(now, level) - previousTicks;
+
+            if (delta <= 0L) {
+                break;
+            }
+
+            final Node<K, V>[] buckets = wheel[level];
+            final int steps = (int) Math.min(delta + 1, BUCKETS);
+
+            for (int i = 0; i < steps; i++) {
+                expireBucket(buckets[(int) ((previousTicks + i) & (BUCKETS - 1))], now);
+            }
+        }
+    }
+
+    private Node<K, V> createSentinel() {
+        final Node<K, V> sentinel = new Node<>(null, null, 0L);
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+
+        return sentinel;
+    }
+
+    private void drainPending() {
+        Node<K, V> node;
+
+        while ((node = pending.poll()) != null) {
+            if (node.retired) {
+                unlink(node);
+            }
+            else if (node.next == null) {
+                link(node);
+            }
+        }
+    }
+
+    private void expire(final Node<K, V> node) {
+        if (data.remove(node.key, node)) {
+            onExpired(node);
+            retire(node);
+        }
+    }
+
+    private void expireBucket(final Node<K, V> sentinel, final long now) {
+        // Detach the whole Bucket, rescheduled Nodes are linked into the emptied Buckets.
+        Node<K, V> node = sentinel.next;
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+
+        while (node != sentinel) {
+            final Node<K, V> next = node.next;
+            node.prev = null;
+            node.next = null;
+
+            if (!node.retired) {
+                if (node.isExpired(now)) {
+                    if (data.remove(node.key, node)) {
+                        onExpired(node);
+                    }
+
+                    node.retired = true;
+                }
+                else {
+                    link(node);
+                }
+            }
+
+            node = next;
+        }
+    }
+
+    private void link(final Node<K, V> node) {
+        final Node<K, V> sentinel = findBucket(node.expiresAt);
+
+        node.next = sentinel;
+        node.prev = sentinel.prev;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    private Node<K, V> findBucket(final long expiresAt) {
+        // Already expired Nodes are placed into the current Bucket.
+        final long time = Math.max(expiresAt, currentTime);
+        final long duration = time - currentTime;
+
+        for (int level = 0; level < LEVELS - 1; level++) {
+            if (duration < (1L << (BASE_SHIFT + (BUCKET_BITS * (level + 1))))) {
+                return wheel[level][(int) (ticks(time, level) & (BUCKETS - 1))];
+            }
+        }
+
+        // Very long Timeouts are rescheduled when their Bucket is reached.
+        return wheel[LEVELS - 1][(int) (ticks(time, LEVELS - 1) & (BUCKETS - 1))];
+    }
+
+    /**
+     * Must be called with the Lock.
+     */
+    private void maintenance() {
+        drainPending();
+        advance(now());
+    }
+
+    /**
+     * Time since the Creation of the Map, always positive.
+     */
+    private long now() {
+        return System.nanoTime() - origin;
+    }
+
+    private void onExpired(final Node<K, V> node) {
+        if (expirationListener != null) {
+            expirationListener.accept(node.key, node.value);
+        }
+    }
+
+    private V put(final K key, final V value, final long timeToLiveNanos) {
+        Objects.requireNonNull(value, "value required");
+
+        final long now = now();
+        final Node<K, V> node = new Node<>(key, value, now + timeToLiveNanos);
+        final Node<K, V> old = data.put(key, node);
+
+        if (old == null) {
+            schedule(node);
+
+            return null;
+        }
+
+        final boolean expired = old.isExpired(now);
+
+        if (expired) {
+            onExpired(old);
+        }
+
+        retire(old);
+        schedule(node);
+
+        return expired ? null : old.value;
+    }
+
+    private void retire(final Node<K, V> node) {
+        node.retired = true;
+        pending.add(node);
+
+        tryMaintenance();
+    }
+
+    private void schedule(final Node<K, V> node) {
+        pending.add(node);
+
+        tryMaintenance();
+    }
+
+    private long toNanos(final Duration duration) {
+        Objects.requireNonNull(duration, "duration required");
+
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive: " + duration);
+        }
+
+        return duration.toNanos();
+    }
+
+    /**
+     * Only one Thread maintains the Timing-Wheel, the others continue without waiting.<br>
+     * After the Unlock the Queue is checked again, so no pending Node gets lost.
+     */
+    private void tryMaintenance() {
+        while (lock.tryLock()) {
+            try {
+                maintenance();
+            }
+            finally {
+                lock.unlock();
+            }
+
+            if (pending.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private void unlink(final Node<K, V> node) {
+        if (node.next == null) {
+            return;
+        }
+
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * @author Thomas Freese
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+        @Override
+        public void clear() {
+            ConcurrentTimeoutMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(final Object object) {
+            if (!(object instanceof Map.Entry<?, ?> entry)) {
+                return false;
+            }
+
+            final V value = get(entry.getKey());
+
+            return value != null && value.equals(entry.getValue());
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            final Iterator<Node<K, V>> iterator = data.values().iterator();
+            final long now = now();
+
+            return new Iterator<>() {
+                private K lastKey;
+                private Node<K, V> nextNode = findNext();
+
+                @Override
+                public boolean hasNext() {
+                    return nextNode != null;
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    if (nextNode == null) {
+                        throw new NoSuchElementException();
+                    }
+
+                    final Node<K, V> node = nextNode;
+                    lastKey = node.key;
+                    nextNode = findNext();
+
+                    return new AbstractMap.SimpleImmutableEntry<>(node.key, node.value);
+                }
+
+                @Override
+                public void remove() {
+                    if (lastKey == null) {
+                        throw new IllegalStateException();
+                    }
+
+                    ConcurrentTimeoutMap.this.remove(lastKey);
+                    lastKey = null;
+                }
+
+                private Node<K, V> findNext() {
+                    while (iterator.hasNext()) {
+                        final Node<K, V> node = iterator.next();
+
+                        if (!node.isExpired(now)) {
+                            return node;
+                        }
+                    }
+
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public boolean remove(final Object object) {
+            if (!(object instanceof Map.Entry<?, ?> entry)) {
+                return false;
+            }
+
+            return ConcurrentTimeoutMap.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentTimeoutMap.this.size();
+        }
+    }
+}
@@ -14,6 +14,8 @@ import java.util.Objects;
 import java.util.stream.StreamSupport;
 
 /**
+ * Materializes all Partitions, for lazy Partitioning see {@link PartitionSpliterators}.
+ *
  * @author Thomas Freese
  */
 public final class PartitionIterable<T> implements Iterable<List<T>> {
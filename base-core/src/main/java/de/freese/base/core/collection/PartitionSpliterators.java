@@ -0,0 +1,343 @@
+// Created: 18.10.2026
+package de.freese.base.core.collection;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy Partitioning as {@link Spliterator}, the Partitions are created on Demand.<br>
+ * In contrast to the {@link PartitionIterable} the Source is not materialized.<br>
+ * <br>
+ * {@link List} with {@link RandomAccess}: the Partitions are Views of the List, no Element is copied.<br>
+ * {@link Iterator}, {@link Iterable}, {@link Stream}: the Size can be unknown, only the current Partitions are buffered.<br>
+ * {@link Spliterator#trySplit()} hands out whole Partitions, so parallel Streams get balanced Work.
+ *
+ * @author Thomas Freese
+ */
+public final class PartitionSpliterators {
+    /**
+     * Partitions of a {@link RandomAccess} List by Index, split in Halves.
+     *
+     * @author Thomas Freese
+     */
+    private static final class IndexedPartitionSpliterator<T> implements Spliterator<List<T>> {
+        private final int fence;
+        private final IntFunction<List<T>> partitionAt;
+
+        private int index;
+
+        IndexedPartitionSpliterator(final IntFunction<List<T>> partitionAt, final int origin, final int fence) {
+            super();
+
+            this.partitionAt = partitionAt;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        @Override
+        public long estimateSize() {
+            return (long) fence - index;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super List<T>> action) {
+            Objects.requireNonNull(action, "action required");
+
+            while (index < fence) {
+                action.accept(partitionAt.apply(index++));
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super List<T>> action) {
+            Objects.requireNonNull(action, "action required");
+
+            if (index >= fence) {
+                return false;
+            }
+
+            action.accept(partitionAt.apply(index++));
+
+            return true;
+        }
+
+        @Override
+        public Spliterator<List<T>> trySplit() {
+            final int lo = index;
+            final int mid = (lo + fence) >>> 1;
+
+            if (lo >= mid) {
+                return null;
+            }
+
+            index = mid;
+
+            return new IndexedPartitionSpliterator<>(partitionAt, lo, mid);
+        }
+    }
+
+    /**
+     * Partitions of an {@link Iterator} with unknown Size.<br>
+     * {@link #trySplit()} hands out an increasing Number of Partitions.
+     *
+     * @author Thomas Freese
+     */
+    private static final class IteratorPartitionSpliterator<T> implements Spliterator<List<T>> {
+        private static final int MAX_BATCH = 1 << 10;
+
+        private final Iterator<T> iterator;
+        private final int partitionLength;
+
+        private int batch;
+        private long estimatedSize;
+
+        IteratorPartitionSpliterator(final Iterator<T> iterator, final int partitionLength, final long estimatedSize) {
+            super();
+
+            this.iterator = iterator;
+            this.partitionLength = partitionLength;
+            this.estimatedSize = estimatedSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimatedSize;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super List<T>> action) {
+            Objects.requireNonNull(action, "action required");
+
+            while (iterator.hasNext()) {
+                action.accept(nextPartition());
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super List<T>> action) {
+            Objects.requireNonNull(action, "action required");
+
+            if (!iterator.hasNext()) {
+                return false;
+            }
+
+            action.accept(nextPartition());
+
+            return true;
+        }
+
+        @Override
+        public Spliterator<List<T>> trySplit() {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+
+            batch = Math.min(batch + 1, MAX_BATCH);
+
+            final Object[] partitions = new Object[batch];
+            int count = 0;
+
+            while (count < batch && iterator.hasNext()) {
+                partitions[count++] = nextPartition();
+            }
+
+            return Spliterators.spliterator(partitions, 0, count, ORDERED | NONNULL);
+        }
+
+        private List<T> nextPartition() {
+            final List<T> partition = new ArrayList<>(partitionLength);
+
+            while (partition.size() < partitionLength && iterator.hasNext()) {
+                partition.add(iterator.next());
+            }
+
+            if (estimatedSize != Long.MAX_VALUE && estimatedSize > 0) {
+                estimatedSize--;
+            }
+
+            return partition;
+        }
+    }
+
+    /**
+     * View of every n-th Element of a {@link RandomAccess} List.
+     *
+     * @author Thomas Freese
+     */
+    private static final class ModuloView<T> extends AbstractList<T> implements RandomAccess {
+        private final List<T> origin;
+        private final int size;
+        private final int start;
+        private final int step;
+
+        ModuloView(final List<T> origin, final int start, final int step) {
+            super();
+
+            this.origin = origin;
+            this.start = start;
+            this.step = step;
+            this.size = (origin.size() - start + step - 1) / step;
+        }
+
+        @Override
+        public T get(final int index) {
+            Objects.checkIndex(index, size);
+
+            return origin.get(start + (index * step));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Partitions by the Number of Partitions, the Order of the Elements is preserved.<br>
+     * The first Partitions can contain one Element more than the others.<br>
+     * Depending on the Size of the List the effective Number of Partitions can be smaller than requested.
+     */
+    public static <T> Spliterator<List<T>> ofPartitionCount(final List<T> origin, final int partitionCount) {
+        requirePositive(partitionCount, "partitionCount");
+
+        final List<T> list = toRandomAccess(origin);
+
+        if (list.isEmpty()) {
+            return Spliterators.emptySpliterator();
+        }
+
+        final int effectiveCount = Math.min(list.size(), partitionCount);
+        final int length = list.size() / effectiveCount;
+        final int remainder = list.size() % effectiveCount;
+
+        return new IndexedPartitionSpliterator<>(index -> {
+            final int fromIndex = (index * length) + Math.min(index, remainder);
+            final int toIndex = fromIndex + length + (index < remainder ? 1 : 0);
+
+            return list.subList(fromIndex, toIndex);
+        }, 0, effectiveCount);
+    }
+
+    /**
+     * Partitions by the Number of Partitions, the Element i is in the Partition 'i % partitionCount'.<br>
+     * The Partitions are Views and not copied.
+     */
+    public static <T> Spliterator<List<T>> ofPartitionCountModulo(final List<T> origin, final int partitionCount) {
+        requirePositive(partitionCount, "partitionCount");
+
+        final List<T> list = toRandomAccess(origin);
+
+        if (list.isEmpty()) {
+            return Spliterators.emptySpliterator();
+        }
+
+        final int effectiveCount = Math.min(list.size(), partitionCount);
+
+        return new IndexedPartitionSpliterator<>(index -> new ModuloView<>(list, index, effectiveCount), 0, effectiveCount);
+    }
+
+    /**
+     * Partitions by the Length of a Partition, the last Partition can be smaller.
+     */
+    public static <T> Spliterator<List<T>> ofPartitionLength(final Iterable<T> origin, final int partitionLength) {
+        requirePositive(partitionLength, "partitionLength");
+
+        if (origin == null) {
+            return Spliterators.emptySpliterator();
+        }
+
+        if (origin instanceof List<T> list && origin instanceof RandomAccess) {
+            final int count = (int) ((list.size() + (long) partitionLength - 1) / partitionLength);
+
+            return new IndexedPartitionSpliterator<>(index -> {
+                final int fromIndex = index * partitionLength;
+
+                return list.subList(fromIndex, Math.min(list.size(), fromIndex + partitionLength));
+            }, 0, count);
+        }
+
+        long estimatedSize = Long.MAX_VALUE;
+
+        if (origin instanceof Collection<T> collection) {
+            estimatedSize = (collection.size() + (long) partitionLength - 1) / partitionLength;
+        }
+
+        return new IteratorPartitionSpliterator<>(origin.iterator(), partitionLength, estimatedSize);
+    }
+
+    /**
+     * Partitions by the Length of a Partition, the last Partition can be smaller.<br>
+     * The Size of the Iterator can be unknown.
+     */
+    public static <T> Spliterator<List<T>> ofPartitionLength(final Iterator<T> origin, final int partitionLength) {
+        requirePositive(partitionLength, "partitionLength");
+
+        if (origin == null) {
+            return Spliterators.emptySpliterator();
+        }
+
+        return new IteratorPartitionSpliterator<>(origin, partitionLength, Long.MAX_VALUE);
+    }
+
+    /**
+     * Partitions by the Length of a Partition, the last Partition can be smaller.
+     *
+     * @param parallel boolean; true = parallel Stream
+     */
+    public static <T> Stream<List<T>> stream(final Iterable<T> origin, final int partitionLength, final boolean parallel) {
+        return StreamSupport.stream(ofPartitionLength(origin, partitionLength), parallel);
+    }
+
+    /**
+     * Partitions by the Length of a Partition, the last Partition can be smaller.<br>
+     * The Stream is consumed lazily, the returned Stream keeps the Parallel-Mode and closes the Source.
+     */
+    public static <T> Stream<List<T>> stream(final Stream<T> origin, final int partitionLength) {
+        Objects.requireNonNull(origin, "origin required");
+
+        return StreamSupport.stream(ofPartitionLength(origin.iterator(), partitionLength), origin.isParallel()).onClose(origin::close);
+    }
+
+    private static void requirePositive(final int value, final String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " < 1: " + value);
+        }
+    }
+
+    private static <T> List<T> toRandomAccess(final List<T> origin) {
+        if (origin == null) {
+            return List.of();
+        }
+
+        if (origin instanceof RandomAccess) {
+            return origin;
+        }
+
+        return new ArrayList<>(origin);
+    }
+
+    private PartitionSpliterators() {
+        super();
+    }
+}
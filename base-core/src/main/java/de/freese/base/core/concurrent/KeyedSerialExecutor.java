@@ -0,0 +1,220 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link Executor} which runs the Tasks with the same Key strictly in Order, Tasks with different Keys concurrently.<br>
+ * Replacement for Constructs like 'Map&lt;Key, SerialExecutor&gt;'.<br>
+ * <br>
+ * Every Key has its own lock-free Queue, only one Thread of the Delegate drains a Queue at the same Time.<br>
+ * A Dispatch runs up to 'maxBatchSize' Tasks before it is rescheduled, so other Keys are not starved.<br>
+ * Empty Queues are removed automatically.<br>
+ * <br>
+ * Exceptions of the Tasks are logged and do not interrupt the Order, Errors are thrown to the Delegate after the remaining Tasks of the Key are dispatched again.
+ *
+ * @author Thomas Freese
+ */
+public class KeyedSerialExecutor<K> {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 16;
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyedSerialExecutor.class);
+    private static final int RETIRED = -1;
+
+    /**
+     * Queue of a Key.<br>
+     * 'size' counts the Tasks including the in-flight Offers, {@link #RETIRED} marks a removed Queue.
+     *
+     * @author Thomas Freese
+     */
+    private final class KeyQueue implements Runnable {
+        private final K key;
+        private final AtomicInteger size = new AtomicInteger();
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        KeyQueue(final K key) {
+            super();
+
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            if (runBatch()) {
+                dispatch(this);
+            }
+        }
+
+        /**
+         * @return boolean; true if Tasks are remaining and the Queue must be dispatched again
+         */
+        private boolean release(final int processed) {
+            final int remaining = size.addAndGet(-processed);
+
+            if (remaining > 0) {
+                return true;
+            }
+
+            if (size.compareAndSet(0, RETIRED)) {
+                queues.remove(key, this);
+            }
+
+            // else: a Producer has added a Task after the Decrement and has dispatched a new Run.
+            return false;
+        }
+
+        /**
+         * Runs up to 'maxBatchSize' Tasks.
+         *
+         * @return boolean; true if Tasks are remaining and the Queue must be dispatched again
+         */
+        private boolean runBatch() {
+            int processed = 0;
+
+            try {
+                while (processed < maxBatchSize) {
+                    final Runnable task = tasks.poll();
+
+                    if (task == null) {
+                        // Empty or a Producer is between Increment and Offer.
+                        break;
+                    }
+
+                    processed++;
+
+                    try {
+                        task.run();
+                    }
+                    catch (RuntimeException ex) {
+                        LOGGER.error("Task failed for key {}: {}", key, ex.getMessage(), ex);
+                    }
+                }
+            }
+            catch (Error error) {
+                // Also for an Error of a Task, otherwise the Key is blocked forever.
+                if (release(processed)) {
+                    dispatch(this);
+                }
+
+                throw error;
+            }
+
+            return release(processed);
+        }
+    }
+
+    private final Executor delegate;
+    private final int maxBatchSize;
+    private final ConcurrentMap<K, KeyQueue> queues = new ConcurrentHashMap<>();
+
+    public KeyedSerialExecutor(final Executor delegate) {
+        this(delegate, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * @param maxBatchSize int; maximum Number of Tasks of a Key per Dispatch
+     */
+    public KeyedSerialExecutor(final Executor delegate, final int maxBatchSize) {
+        super();
+
+        this.delegate = Objects.requireNonNull(delegate, "delegate required");
+
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize < 1: " + maxBatchSize);
+        }
+
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public void execute(final K key, final Runnable runnable) {
+        Objects.requireNonNull(key, "key required");
+
+        if (runnable == null) {
+            throw new NullPointerException();
+        }
+
+        while (true) {
+            final KeyQueue keyQueue = queues.computeIfAbsent(key, KeyQueue::new);
+            final int oldSize = keyQueue.size.getAndUpdate(s -> s == RETIRED ? RETIRED : s + 1);
+
+            if (oldSize == RETIRED) {
+                // Queue was removed concurrently.
+                queues.remove(key, keyQueue);
+
+                continue;
+            }
+
+            keyQueue.tasks.offer(runnable);
+
+            if (oldSize == 0) {
+                dispatch(keyQueue);
+            }
+
+            return;
+        }
+    }
+
+    /**
+     * {@link Executor} for one Key.
+     */
+    public Executor forKey(final K key) {
+        Objects.requireNonNull(key, "key required");
+
+        return runnable -> execute(key, runnable);
+    }
+
+    /**
+     * Number of Keys with waiting or running Tasks.
+     */
+    public int getKeyCount() {
+        return queues.size();
+    }
+
+    /**
+     * Number of waiting or running Tasks of the Key.
+     */
+    public int getQueueSize(final K key) {
+        final KeyQueue keyQueue = queues.get(key);
+
+        if (keyQueue == null) {
+            return 0;
+        }
+
+        return Math.max(0, keyQueue.size.get());
+    }
+
+    /**
+     * If the Delegate rejects the Queue, it is drained by the calling Thread, otherwise the Key would be blocked forever.<br>
+     * The Batches are drained in a Loop and not recursive, a long Queue would overflow the Stack.
+     */
+    private void dispatch(final KeyQueue keyQueue) {
+        boolean logged = false;
+
+        while (true) {
+            try {
+                delegate.execute(keyQueue);
+
+                return;
+            }
+            catch (RejectedExecutionException ex) {
+                if (!logged) {
+                    LOGGER.warn("Delegate rejected key {}, running in calling thread: {}", keyQueue.key, ex.getMessage());
+                    logged = true;
+                }
+            }
+
+            if (!keyQueue.runBatch()) {
+                return;
+            }
+        }
+    }
+}
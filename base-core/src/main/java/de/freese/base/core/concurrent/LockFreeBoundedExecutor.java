@@ -0,0 +1,466 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import de.freese.base.core.concurrent.limit.ConcurrencyLimit;
+import de.freese.base.core.concurrent.limit.FixedLimit;
+
+/**
+ * {@link Executor} who is using only n Threads from the Delegate, without Locks and without an additional Scheduler-Thread.<br>
+ * <br>
+ * The Tasks are parked in a lock-free Queue, the Permits are counted by CAS.<br>
+ * A Thread of the Delegate which has finished a Task takes the next Task directly from the Queue,
+ * only if the Queue is empty the Permit is released.<br>
+ * If the Queue is full, the {@link SaturationPolicy} decides what happens with the Task.<br>
+ * <br>
+ * The Number of Threads is defined by a {@link ConcurrencyLimit}, an adaptive Limit gets the Run-Time of every Task as Sample.
+ * If the Limit shrinks, the surplus Threads are released after their current Task,
+ * if it grows, the Workers start additional Threads for the waiting Tasks.<br>
+ * <br>
+ * Counters for Queue-Wait, Run-Time and Rejections are available by {@link #getStatistics()}.
+ *
+ * @author Thomas Freese
+ */
+public class LockFreeBoundedExecutor implements Executor {
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * What happens with a Task, if the Queue is full.
+     *
+     * @author Thomas Freese
+     */
+    public enum SaturationPolicy {
+        /**
+         * Throws a {@link RejectedExecutionException}.
+         */
+        ABORT,
+        /**
+         * Blocks the calling Thread until the Queue has Space.<br>
+         * No Lock and no Condition: the Thread polls the Queue in a Park-Loop, the Park-Time is doubled up to 1 ms.<br>
+         * An Interrupt rejects the Task with a {@link RejectedExecutionException}.
+         */
+        BLOCK,
+        /**
+         * Runs the Task in the calling Thread, the Task is counted in the {@link Statistics} without Queue-Wait.
+         */
+        CALLER_RUNS,
+        /**
+         * Drops the Task.
+         */
+        DISCARD,
+        /**
+         * Drops the oldest Task of the Queue and enqueues the new Task.
+         */
+        DISCARD_OLDEST
+    }
+
+    /**
+     * Snapshot of the Counters.
+     *
+     * @param submitted long; Number of accepted Tasks
+     * @param completed long; Number of finished Tasks, also with Exception
+     * @param rejected long; Number of rejected or discarded Tasks
+     * @param queueWait {@link Duration}; summarized Time in the Queue
+     * @param maxQueueWait {@link Duration}; longest Time in the Queue
+     * @param runTime {@link Duration}; summarized Run-Time
+     *
+     * @author Thomas Freese
+     */
+    public record Statistics(long submitted, long completed, long rejected, Duration queueWait, Duration maxQueueWait, Duration runTime) {
+        public Duration averageQueueWait() {
+            return completed == 0L ? Duration.ZERO : queueWait.dividedBy(completed);
+        }
+
+        public Duration averageRunTime() {
+            return completed == 0L ? Duration.ZERO : runTime.dividedBy(completed);
+        }
+    }
+
+    /**
+     * @author Thomas Freese
+     */
+    private record Task(Runnable runnable, long enqueuedNanos) {
+    }
+
+    /**
+     * Runs the Tasks of the Queue as long as available, holds one Permit.
+     *
+     * @author Thomas Freese
+     */
+    private final class Worker implements Runnable {
+        @Override
+        public void run() {
+            boolean drained = false;
+
+            try {
+                drain();
+                drained = true;
+            }
+            finally {
+                if (!drained) {
+                    // A Task has thrown an Exception, the Permit is still held -> continue in a new Thread of the Delegate.
+                    try {
+                        startWorker();
+                    }
+                    catch (RejectedExecutionException _) {
+                        restartOrDrain();
+                    }
+                }
+            }
+        }
+    }
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final LongAdder completedCount = new LongAdder();
+    private final Executor delegate;
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0L);
+    private final ConcurrencyLimit limit;
+    private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+    private final int queueCapacity;
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final SaturationPolicy saturationPolicy;
+    private final LongAdder submittedCount = new LongAdder();
+
+    /**
+     * Unbounded Queue.
+     *
+     * @param parallelism int; Number of Threads to use from the Delegate
+     */
+    public LockFreeBoundedExecutor(final Executor delegate, final int parallelism) {
+        this(delegate, parallelism, Integer.MAX_VALUE, SaturationPolicy.ABORT);
+    }
+
+    /**
+     * @param parallelism int; Number of Threads to use from the Delegate
+     * @param queueCapacity int; Number of waiting Tasks
+     * @param saturationPolicy {@link SaturationPolicy}; what happens if the Queue is full
+     */
+    public LockFreeBoundedExecutor(final Executor delegate, final int parallelism, final int queueCapacity, final SaturationPolicy saturationPolicy) {
+        this(delegate, new FixedLimit(parallelism), queueCapacity, saturationPolicy);
+    }
+
+    /**
+     * Unbounded Queue.
+     *
+     * @param limit {@link ConcurrencyLimit}; Number of Threads to use from the Delegate
+     */
+    public LockFreeBoundedExecutor(final Executor delegate, final ConcurrencyLimit limit) {
+        this(delegate, limit, Integer.MAX_VALUE, SaturationPolicy.ABORT);
+    }
+
+    /**
+     * @param limit {@link ConcurrencyLimit}; Number of Threads to use from the Delegate
+     * @param queueCapacity int; Number of waiting Tasks
+     * @param saturationPolicy {@link SaturationPolicy}; what happens if the Queue is full
+     */
+    public LockFreeBoundedExecutor(final Executor delegate, final ConcurrencyLimit limit, final int queueCapacity, final SaturationPolicy saturationPolicy) {
+        super();
+
+        this.delegate = Objects.requireNonNull(delegate, "delegate required");
+        this.limit = Objects.requireNonNull(limit, "limit required");
+        this.saturationPolicy = Objects.requireNonNull(saturationPolicy, "saturationPolicy required");
+
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity < 1: " + queueCapacity);
+        }
+
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void execute(final Runnable runnable) {
+        if (runnable == null) {
+            throw new NullPointerException();
+        }
+
+        final Task task = new Task(runnable, System.nanoTime());
+
+        if (!offer(task)) {
+            return;
+        }
+
+        submittedCount.increment();
+
+        if (tryAcquirePermit()) {
+            try {
+                startWorker();
+            }
+            catch (RejectedExecutionException ex) {
+                final boolean removed = queue.remove(task);
+
+                if (removed) {
+                    queueSize.decrementAndGet();
+                    submittedCount.decrement();
+                    rejectedCount.increment();
+                }
+
+                // Otherwise the Task is already taken by another Worker.
+
+                restartOrDrain();
+
+                if (removed) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of Threads of the Delegate currently used.
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public ConcurrencyLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * Current Limit of Threads to use from the Delegate.
+     */
+    public int getParallelism() {
+        return limit.getLimit();
+    }
+
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(submittedCount.sum(), completedCount.sum(), rejectedCount.sum(), Duration.ofNanos(queueWaitNanos.sum()),
+                Duration.ofNanos(maxQueueWaitNanos.get()), Duration.ofNanos(runNanos.sum()));
+    }
+
+    /**
+     * Runs the Tasks until the Queue is empty, then the Permit is released.
+     */
+    private void drain() {
+        while (true) {
+            final Task task = queue.poll();
+
+            if (task == null) {
+                activeCount.decrementAndGet();
+
+                // A Producer can have enqueued a Task after the poll, but failed to get a Permit.
+                if (queue.isEmpty() || !tryAcquirePermit()) {
+                    return;
+                }
+
+                continue;
+            }
+
+            queueSize.decrementAndGet();
+
+            final int inFlight = activeCount.get();
+            final long start = System.nanoTime();
+            final long waitNanos = start - task.enqueuedNanos();
+            queueWaitNanos.add(waitNanos);
+            maxQueueWaitNanos.accumulate(waitNanos);
+
+            boolean dropped = true;
+
+            try {
+                task.runnable().run();
+                dropped = false;
+            }
+            finally {
+                final long rttNanos = System.nanoTime() - start;
+                runNanos.add(rttNanos);
+                completedCount.increment();
+                limit.onSample(rttNanos, inFlight, dropped);
+            }
+
+            if (activeCount.get() > limit.getLimit() && releaseSurplusPermit()) {
+                return;
+            }
+
+            startAdditionalWorkers();
+        }
+    }
+
+    /**
+     * @return boolean; true if the Task was enqueued
+     */
+    private boolean offer(final Task task) {
+        int parkNanos = 1_000;
+
+        while (true) {
+            if (tryReserveQueueSlot()) {
+                queue.offer(task);
+
+                return true;
+            }
+
+            switch (saturationPolicy) {
+                case ABORT -> {
+                    rejectedCount.increment();
+
+                    throw new RejectedExecutionException("queue is full: capacity = " + queueCapacity);
+                }
+                case BLOCK -> {
+                    if (Thread.interrupted()) {
+                        // Restore interrupted state.
+                        Thread.currentThread().interrupt();
+                        rejectedCount.increment();
+
+                        throw new RejectedExecutionException("interrupted while waiting for queue space");
+                    }
+
+                    parkNanos = park(parkNanos);
+                }
+                case CALLER_RUNS -> {
+                    runInCaller(task);
+
+                    return false;
+                }
+                case DISCARD -> {
+                    rejectedCount.increment();
+
+                    return false;
+                }
+                case DISCARD_OLDEST -> {
+                    if (queue.poll() != null) {
+                        queueSize.decrementAndGet();
+                        rejectedCount.increment();
+                    }
+                    else {
+                        // The Slots are reserved, but the Tasks are not yet enqueued by the other Producers.
+                        parkNanos = park(parkNanos);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return int; next Park-Time, doubled up to {@link #MAX_PARK_NANOS}
+     */
+    private int park(final int parkNanos) {
+        LockSupport.parkNanos(this, parkNanos);
+
+        return (int) Math.min(MAX_PARK_NANOS, parkNanos * 2L);
+    }
+
+    /**
+     * The Limit has shrunk, the Permit is released without Check of the Queue, the other Workers are draining it.
+     */
+    private boolean releaseSurplusPermit() {
+        int current;
+
+        do {
+            current = activeCount.get();
+
+            if (current <= limit.getLimit()) {
+                return false;
+            }
+        }
+        while (!activeCount.compareAndSet(current, current - 1));
+
+        return true;
+    }
+
+    /**
+     * After a Rejection of the Delegate no Worker may be left for the Tasks, which other Producers enqueued in the meantime,
+     * because they found no free Permit: a new Worker is started, if the Delegate rejects it again, the calling Thread drains the Queue.<br>
+     * Like {@link SaturationPolicy#CALLER_RUNS} an Exception of a Task is thrown to the calling Thread.
+     */
+    private void restartOrDrain() {
+        if (activeCount.get() > 0 || queue.isEmpty() || !tryAcquirePermit()) {
+            return;
+        }
+
+        try {
+            startWorker();
+        }
+        catch (RejectedExecutionException _) {
+            if (tryAcquirePermit()) {
+                new Worker().run();
+            }
+        }
+    }
+
+    private void runInCaller(final Task task) {
+        submittedCount.increment();
+
+        final long start = System.nanoTime();
+
+        try {
+            task.runnable().run();
+        }
+        finally {
+            runNanos.add(System.nanoTime() - start);
+            completedCount.increment();
+        }
+    }
+
+    /**
+     * The Limit has grown, the waiting Tasks get new Workers without waiting for the next {@link #execute(Runnable)}.
+     */
+    private void startAdditionalWorkers() {
+        while (activeCount.get() < limit.getLimit() && !queue.isEmpty() && tryAcquirePermit()) {
+            try {
+                startWorker();
+            }
+            catch (RejectedExecutionException _) {
+                // The Delegate is saturated, the existing Workers continue draining the Queue.
+                return;
+            }
+        }
+    }
+
+    private void startWorker() {
+        try {
+            delegate.execute(new Worker());
+        }
+        catch (RejectedExecutionException ex) {
+            activeCount.decrementAndGet();
+
+            throw ex;
+        }
+    }
+
+    private boolean tryAcquirePermit() {
+        int current;
+
+        do {
+            current = activeCount.get();
+
+            if (current >= limit.getLimit()) {
+                return false;
+            }
+        }
+        while (!activeCount.compareAndSet(current, current + 1));
+
+        return true;
+    }
+
+    private boolean tryReserveQueueSlot() {
+        int current;
+
+        do {
+            current = queueSize.get();
+
+            if (current >= queueCapacity) {
+                return false;
+            }
+        }
+        while (!queueSize.compareAndSet(current, current + 1));
+
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * One Daemon-Thread for the short Housekeeping-Tasks of the Library, like Timers and Leak-Reporters.<br>
+ * The Tasks must not block, expensive Work is handed over to another {@link java.util.concurrent.Executor}.<br>
+ * Tasks calling User-Code which can block, like the Validation of pooled Connections, use an own Thread.<br>
+ * The Scheduler is created on the first Access and must not be shut down.
+ *
+ * @author Thomas Freese
+ */
+public final class SharedScheduler {
+    /**
+     * Lazy Holder of the Scheduler.
+     *
+     * @author Thomas Freese
+     */
+    private static final class SchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER;
+
+        static {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("shared-scheduler-%d"));
+            executor.setRemoveOnCancelPolicy(true);
+
+            SCHEDULER = executor;
+        }
+    }
+
+    public static ScheduledExecutorService get() {
+        return SchedulerHolder.SCHEDULER;
+    }
+
+    private SharedScheduler() {
+        super();
+    }
+}
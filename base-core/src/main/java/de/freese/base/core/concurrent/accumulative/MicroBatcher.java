@@ -0,0 +1,381 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.accumulative;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.freese.base.core.concurrent.SharedScheduler;
+
+/**
+ * Collects Items and delivers them as Batches to a {@link Consumer}.<br>
+ * A Batch is delivered, if 'maxBatchSize' Items are collected or 'maxDelay' has elapsed after the first Item.<br>
+ * <br>
+ * The Items are collected in a lock-free Buffer, the Batches are delivered by one Task of the {@link Executor} at the same Time,
+ * so the Order of the Items is kept and the Consumer is never called concurrently.<br>
+ * {@link #close()} delivers the remaining Items in the calling Thread.<br>
+ * If the Buffer is full, the {@link BackpressurePolicy} decides what happens with the Item.<br>
+ * <br>
+ * In contrast to the {@link AbstractAccumulativeRunnable} and the {@link AbstractAccumulativeSink} a Burst of Items is delivered in Batches
+ * of predictable Size.
+ *
+ * @author Thomas Freese
+ */
+public class MicroBatcher<T> implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MicroBatcher.class);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * What happens with an Item, if the Buffer is full.
+     *
+     * @author Thomas Freese
+     */
+    public enum BackpressurePolicy {
+        /**
+         * Blocks the calling Thread until the Buffer has Space.
+         */
+        BLOCK,
+        /**
+         * Drops the oldest Item of the Buffer.
+         */
+        DROP_OLDEST,
+        /**
+         * {@link #offer(Object)} returns false.
+         */
+        REJECT
+    }
+
+    private final BackpressurePolicy backpressurePolicy;
+    private final Queue<T> buffer = new ConcurrentLinkedQueue<>();
+    private final int capacity;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Consumer<List<T>> consumer;
+    /**
+     * Held by the Thread calling the Consumer: the Drain-Task or {@link #close()}.
+     */
+    private final AtomicBoolean delivering = new AtomicBoolean();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder droppedCount = new LongAdder();
+    private final Executor executor;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final LongAdder rejectedCount = new LongAdder();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ScheduledExecutorService timer;
+    private final AtomicBoolean timerScheduled = new AtomicBoolean();
+
+    /**
+     * Capacity = maxBatchSize * 8, {@link BackpressurePolicy#BLOCK}, Batches are delivered in the {@link ForkJoinPool#commonPool()}.
+     */
+    public MicroBatcher(final Consumer<List<T>> consumer, final int maxBatchSize, final Duration maxDelay) {
+        this(consumer, maxBatchSize, maxDelay, maxBatchSize * 8, BackpressurePolicy.BLOCK, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * The Time is measured by a shared Timer-Thread.
+     */
+    public MicroBatcher(final Consumer<List<T>> consumer, final int maxBatchSize, final Duration maxDelay, final int capacity,
+                        final BackpressurePolicy backpressurePolicy, final Executor executor) {
+        this(consumer, maxBatchSize, maxDelay, capacity, backpressurePolicy, executor, SharedScheduler.get());
+    }
+
+    /**
+     * @param maxBatchSize int; maximum Size of a Batch
+     * @param maxDelay {@link Duration}; maximum Time between the first Item and the Delivery of its Batch
+     * @param capacity int; maximum Number of Items in the Buffer
+     * @param executor {@link Executor}; delivers the Batches, e.g. Virtual-Threads
+     * @param timer {@link ScheduledExecutorService}; triggers the time-based Delivery
+     */
+    public MicroBatcher(final Consumer<List<T>> consumer, final int maxBatchSize, final Duration maxDelay, final int capacity,
+                        final BackpressurePolicy backpressurePolicy, final Executor executor, final ScheduledExecutorService timer) {
+        super();
+
+        this.consumer = Objects.requireNonNull(consumer, "consumer required");
+        this.backpressurePolicy = Objects.requireNonNull(backpressurePolicy, "backpressurePolicy required");
+        this.executor = Objects.requireNonNull(executor, "executor required");
+        this.timer = Objects.requireNonNull(timer, "timer required");
+
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize < 1: " + maxBatchSize);
+        }
+
+        if (capacity < maxBatchSize) {
+            throw new IllegalArgumentException("capacity < maxBatchSize: " + capacity);
+        }
+
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = Objects.requireNonNull(maxDelay, "maxDelay required").toNanos();
+        this.capacity = capacity;
+    }
+
+    /**
+     * Delivers the remaining Items in the calling Thread, further Items are rejected.<br>
+     * A running Delivery is finished before, so the Consumer is never called concurrently; must not be called by the Consumer.<br>
+     * An Item of a Producer racing with the Close is delivered by the {@link Executor}.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        long parkNanos = 1_000L;
+
+        while (!delivering.compareAndSet(false, true)) {
+            LockSupport.parkNanos(this, parkNanos);
+            parkNanos = Math.min(MAX_PARK_NANOS, parkNanos * 2L);
+        }
+
+        try {
+            while (true) {
+                final int available = size.get();
+
+                if (available == 0) {
+                    break;
+                }
+
+                deliver(Math.min(available, maxBatchSize));
+            }
+        }
+        finally {
+            delivering.set(false);
+        }
+
+        // Items of Producers racing with the Close.
+        if (size.get() > 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Delivers the collected Items without waiting for the Batch-Size or the Delay.
+     */
+    public void flush() {
+        flushRequested.set(true);
+        scheduleDrain();
+    }
+
+    /**
+     * Number of Items dropped by {@link BackpressurePolicy#DROP_OLDEST}.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Number of Items rejected by {@link BackpressurePolicy#REJECT}, a closed Batcher or an Interrupt.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Number of Items in the Buffer.
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * @return boolean; false if the Item was rejected
+     */
+    public boolean offer(final T item) {
+        Objects.requireNonNull(item, "item required");
+
+        if (closed.get()) {
+            rejectedCount.increment();
+
+            return false;
+        }
+
+        final int newSize = reserveSlot();
+
+        if (newSize < 0) {
+            rejectedCount.increment();
+
+            return false;
+        }
+
+        buffer.offer(item);
+
+        if (closed.get()) {
+            // Raced with close.
+            flush();
+        }
+        else if (newSize >= maxBatchSize) {
+            scheduleDrain();
+        }
+        else {
+            scheduleTimer();
+        }
+
+        return true;
+    }
+
+    /**
+     * Delivers one Batch, only one Thread at the same Time.
+     *
+     * @return int; Number of delivered Items, less than 'count' if a Producer is between the Reservation and the Offer
+     */
+    private int deliver(final int count) {
+        final List<T> batch = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final T item = buffer.poll();
+
+            if (item == null) {
+                // A Producer is between the Reservation and the Offer.
+                break;
+            }
+
+            batch.add(item);
+        }
+
+        if (batch.isEmpty()) {
+            Thread.onSpinWait();
+
+            return 0;
+        }
+
+        size.addAndGet(-batch.size());
+
+        try {
+            consumer.accept(batch);
+        }
+        catch (RuntimeException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+        }
+
+        return batch.size();
+    }
+
+    private void drain() {
+        try {
+            if (!delivering.compareAndSet(false, true)) {
+                // close delivers the remaining Items.
+                return;
+            }
+
+            try {
+                while (true) {
+                    final int available = size.get();
+
+                    if (available >= maxBatchSize) {
+                        deliver(maxBatchSize);
+                    }
+                    else if (flushRequested.getAndSet(false)) {
+                        if (available > 0 && deliver(available) < available) {
+                            // Kept for the Items of the Producers between the Reservation and the Offer.
+                            flushRequested.set(true);
+                        }
+                    }
+                    else {
+                        break;
+                    }
+                }
+            }
+            finally {
+                delivering.set(false);
+            }
+        }
+        finally {
+            draining.set(false);
+        }
+
+        // Items added while the Drain-Flag was set.
+        if (size.get() >= maxBatchSize || flushRequested.get()) {
+            scheduleDrain();
+        }
+        else if (size.get() > 0) {
+            scheduleTimer();
+        }
+    }
+
+    /**
+     * @return int; new Size of the Buffer or -1 if the Item is rejected
+     */
+    private int reserveSlot() {
+        long parkNanos = 1_000L;
+
+        while (true) {
+            final int current = size.get();
+
+            if (current < capacity) {
+                if (size.compareAndSet(current, current + 1)) {
+                    return current + 1;
+                }
+
+                continue;
+            }
+
+            switch (backpressurePolicy) {
+                case BLOCK -> {
+                    if (Thread.currentThread().isInterrupted() || closed.get()) {
+                        return -1;
+                    }
+
+                    scheduleDrain();
+                    LockSupport.parkNanos(this, parkNanos);
+                    parkNanos = Math.min(MAX_PARK_NANOS, parkNanos * 2L);
+                }
+                case DROP_OLDEST -> {
+                    if (buffer.poll() != null) {
+                        size.decrementAndGet();
+                        droppedCount.increment();
+                    }
+                    else {
+                        // The Slots are reserved, but the Items are not offered yet.
+                        LockSupport.parkNanos(this, parkNanos);
+                        parkNanos = Math.min(MAX_PARK_NANOS, parkNanos * 2L);
+                    }
+                }
+                case REJECT -> {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.get() || !draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(this::drain);
+        }
+        catch (RejectedExecutionException ex) {
+            draining.set(false);
+
+            LOGGER.warn("Executor rejected delivery: {}", ex.getMessage());
+        }
+    }
+
+    private void scheduleTimer() {
+        if (timerScheduled.get() || !timerScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        timer.schedule(() -> {
+            timerScheduled.set(false);
+            flush();
+        }, maxDelayNanos, TimeUnit.NANOSECONDS);
+    }
+}
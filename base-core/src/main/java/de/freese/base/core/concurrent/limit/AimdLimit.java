@@ -0,0 +1,62 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive-Increase / Multiplicative-Decrease.<br>
+ * The Limit grows by 1 for every successful Sample, if the Limit is used by at least the Half.<br>
+ * For a dropped Sample or a Run-Time above the Timeout the Limit is multiplied with the Backoff-Ratio.<br>
+ * The Limit is updated by CAS, the Samples of concurrent Tasks do not block each other.
+ *
+ * @author Thomas Freese
+ */
+public final class AimdLimit implements ConcurrencyLimit {
+    private final double backoffRatio;
+    private final int maxLimit;
+    private final int minLimit;
+    private final AtomicInteger limit;
+    private final long timeoutNanos;
+
+    /**
+     * @param timeout {@link Duration}; Run-Time which is interpreted as Overload
+     */
+    public AimdLimit(final int initialLimit, final int minLimit, final int maxLimit, final double backoffRatio, final Duration timeout) {
+        super();
+
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("invalid limits: initial=%d, min=%d, max=%d".formatted(initialLimit, minLimit, maxLimit));
+        }
+
+        if (backoffRatio <= 0D || backoffRatio >= 1D) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1: " + backoffRatio);
+        }
+
+        this.limit = new AtomicInteger(initialLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public int getLimit() {
+        return limit.get();
+    }
+
+    @Override
+    public void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        if (dropped || rttNanos > timeoutNanos) {
+            limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+        }
+        else {
+            limit.updateAndGet(current -> inFlight * 2 >= current ? Math.min(maxLimit, current + 1) : current);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AimdLimit[limit=" + getLimit() + "]";
+    }
+}
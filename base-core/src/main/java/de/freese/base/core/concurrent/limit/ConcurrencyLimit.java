@@ -0,0 +1,24 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.limit;
+
+/**
+ * Limit for the Number of concurrent Tasks.<br>
+ * Adaptive Implementations adjust the Limit by the measured Latency of the Tasks.
+ *
+ * @author Thomas Freese
+ */
+public interface ConcurrencyLimit {
+    /**
+     * Current Limit, always &gt;= 1.
+     */
+    int getLimit();
+
+    /**
+     * Measured Sample of a finished Task, is called concurrently.
+     *
+     * @param rttNanos long; Run-Time of the Task
+     * @param inFlight int; Number of running Tasks when the Task was started
+     * @param dropped boolean; true if the Task has failed, this is interpreted as Overload
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+}
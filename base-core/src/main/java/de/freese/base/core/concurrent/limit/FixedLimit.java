@@ -0,0 +1,36 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.limit;
+
+/**
+ * Not adaptive {@link ConcurrencyLimit}.
+ *
+ * @author Thomas Freese
+ */
+public final class FixedLimit implements ConcurrencyLimit {
+    private final int limit;
+
+    public FixedLimit(final int limit) {
+        super();
+
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit < 1: " + limit);
+        }
+
+        this.limit = limit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        // Empty
+    }
+
+    @Override
+    public String toString() {
+        return "FixedLimit[limit=" + limit + "]";
+    }
+}
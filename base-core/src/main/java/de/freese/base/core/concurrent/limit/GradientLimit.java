@@ -0,0 +1,135 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Limit by the Gradient of the long-term and short-term Run-Time.<br>
+ * gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1.0)<br>
+ * newLimit = limit * gradient + sqrt(limit)<br>
+ * If the short-term Run-Time rises above the tolerated long-term Run-Time, the Limit shrinks,
+ * otherwise the Limit grows by sqrt(limit), the tolerated Queue of the Downstream.<br>
+ * Both Run-Times are exponential moving Averages, the long-term Run-Time ignores Samples above the Tolerance.<br>
+ * Limit and Run-Times are an immutable State, which is replaced by CAS.
+ *
+ * @author Thomas Freese
+ */
+public final class GradientLimit implements ConcurrencyLimit {
+    private static final double LONG_WINDOW_FACTOR = 2D / (600 + 1);
+    private static final double SHORT_WINDOW_FACTOR = 2D / (10 + 1);
+
+    /**
+     * @author Thomas Freese
+     */
+    private record State(double estimatedLimit, double longRtt, double shortRtt) {
+    }
+
+    private final int maxLimit;
+    private final int minLimit;
+    private final double smoothing;
+    private final AtomicReference<State> state;
+    private final double tolerance;
+
+    public GradientLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, 1.5D, 0.2D);
+    }
+
+    /**
+     * @param tolerance double; &gt;= 1, tolerated Ratio of the short-term to the long-term Run-Time
+     * @param smoothing double; 0 &lt; smoothing &lt;= 1, Weight of the new Limit
+     */
+    public GradientLimit(final int initialLimit, final int minLimit, final int maxLimit, final double tolerance, final double smoothing) {
+        super();
+
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("invalid limits: initial=%d, min=%d, max=%d".formatted(initialLimit, minLimit, maxLimit));
+        }
+
+        if (tolerance < 1D) {
+            throw new IllegalArgumentException("tolerance < 1: " + tolerance);
+        }
+
+        if (smoothing <= 0D || smoothing > 1D) {
+            throw new IllegalArgumentException("smoothing must be between 0 and 1: " + smoothing);
+        }
+
+        this.state = new AtomicReference<>(new State(initialLimit, 0D, 0D));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public int getLimit() {
+        return (int) state.get().estimatedLimit();
+    }
+
+    /**
+     * Long-term Average of the Run-Time.
+     */
+    public Duration getLongRtt() {
+        return Duration.ofNanos((long) state.get().longRtt());
+    }
+
+    /**
+     * Short-term Average of the Run-Time.
+     */
+    public Duration getShortRtt() {
+        return Duration.ofNanos((long) state.get().shortRtt());
+    }
+
+    @Override
+    public void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        if (rttNanos <= 0L) {
+            return;
+        }
+
+        while (true) {
+            final State current = state.get();
+
+            if (state.compareAndSet(current, nextState(current, rttNanos, inFlight, dropped))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GradientLimit[limit=%d, longRtt=%s, shortRtt=%s]".formatted(getLimit(), getLongRtt(), getShortRtt());
+    }
+
+    private State nextState(final State current, final long rttNanos, final int inFlight, final boolean dropped) {
+        if (current.longRtt() == 0D) {
+            return new State(current.estimatedLimit(), rttNanos, rttNanos);
+        }
+
+        final double shortRtt = current.shortRtt() + ((rttNanos - current.shortRtt()) * SHORT_WINDOW_FACTOR);
+        double longRtt = current.longRtt();
+
+        // Samples of a queueing Downstream would pull the Baseline up, then the Limit never shrinks.
+        // On the minimal Limit there is no Queue, a slower Downstream becomes the new Baseline.
+        if (rttNanos <= tolerance * longRtt || current.estimatedLimit() <= minLimit) {
+            longRtt += (rttNanos - longRtt) * LONG_WINDOW_FACTOR;
+        }
+
+        // The long-term Run-Time has drifted far above the current Run-Time, let it recover faster.
+        if (longRtt / shortRtt > 2D) {
+            longRtt *= 0.95D;
+        }
+
+        final double limit = current.estimatedLimit();
+
+        if (!dropped && inFlight * 2 < limit) {
+            // Limit is not used, no Information about the Downstream.
+            return new State(limit, longRtt, shortRtt);
+        }
+
+        final double gradient = dropped ? 0.5D : Math.clamp((tolerance * longRtt) / shortRtt, 0.5D, 1D);
+        final double newLimit = (limit * gradient) + Math.sqrt(limit);
+        final double smoothed = (limit * (1D - smoothing)) + (newLimit * smoothing);
+
+        return new State(Math.clamp(smoothed, minLimit, maxLimit), longRtt, shortRtt);
+    }
+}
@@ -0,0 +1,139 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Limit like TCP-Vegas.<br>
+ * The Queue of the Downstream is estimated by the minimal Run-Time (No-Load) and the current Run-Time:<br>
+ * queueSize = limit * (1 - rttNoLoad / rtt)<br>
+ * Small Queue: the Limit grows, big Queue: the Limit shrinks.<br>
+ * The No-Load Run-Time is measured again after a Number of Samples, to follow a changing Downstream.<br>
+ * Limit and Run-Time are an immutable State, which is replaced by CAS.
+ *
+ * @author Thomas Freese
+ */
+public final class VegasLimit implements ConcurrencyLimit {
+    private static final int PROBE_INTERVAL = 1_000;
+
+    /**
+     * @author Thomas Freese
+     */
+    private record State(double estimatedLimit, long rttNoLoad, int samplesSinceProbe) {
+    }
+
+    private static double log10(final double value) {
+        return Math.max(1D, Math.log10(value));
+    }
+
+    private final int maxLimit;
+    private final int minLimit;
+    private final double smoothing;
+    private final AtomicReference<State> state;
+
+    public VegasLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, 1D);
+    }
+
+    /**
+     * @param smoothing double; 0 &lt; smoothing &lt;= 1, Weight of the new Limit
+     */
+    public VegasLimit(final int initialLimit, final int minLimit, final int maxLimit, final double smoothing) {
+        super();
+
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("invalid limits: initial=%d, min=%d, max=%d".formatted(initialLimit, minLimit, maxLimit));
+        }
+
+        if (smoothing <= 0D || smoothing > 1D) {
+            throw new IllegalArgumentException("smoothing must be between 0 and 1: " + smoothing);
+        }
+
+        this.state = new AtomicReference<>(new State(initialLimit, 0L, 0));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public int getLimit() {
+        return (int) state.get().estimatedLimit();
+    }
+
+    /**
+     * Estimated Run-Time without Load.
+     */
+    public Duration getRttNoLoad() {
+        return Duration.ofNanos(state.get().rttNoLoad());
+    }
+
+    @Override
+    public void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        if (rttNanos <= 0L) {
+            return;
+        }
+
+        while (true) {
+            final State current = state.get();
+
+            if (state.compareAndSet(current, nextState(current, rttNanos, inFlight, dropped))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "VegasLimit[limit=%d, rttNoLoad=%s]".formatted(getLimit(), getRttNoLoad());
+    }
+
+    private State nextState(final State current, final long rttNanos, final int inFlight, final boolean dropped) {
+        int samplesSinceProbe = current.samplesSinceProbe() + 1;
+        long rttNoLoad = current.rttNoLoad();
+
+        if (samplesSinceProbe >= PROBE_INTERVAL) {
+            samplesSinceProbe = 0;
+            rttNoLoad = 0L;
+        }
+
+        final double limit = current.estimatedLimit();
+
+        if (rttNoLoad == 0L || rttNanos < rttNoLoad) {
+            return new State(limit, rttNanos, samplesSinceProbe);
+        }
+
+        final double newLimit;
+
+        if (dropped) {
+            newLimit = limit - log10(limit);
+        }
+        else if (inFlight * 2 < limit) {
+            // Limit is not used, no Information about the Downstream.
+            return new State(limit, rttNoLoad, samplesSinceProbe);
+        }
+        else {
+            final double queueSize = Math.ceil(limit * (1D - ((double) rttNoLoad / rttNanos)));
+            final double threshold = log10(limit);
+            final double alpha = 3D * threshold;
+            final double beta = 6D * threshold;
+
+            if (queueSize <= threshold) {
+                newLimit = limit + beta;
+            }
+            else if (queueSize < alpha) {
+                newLimit = limit + threshold;
+            }
+            else if (queueSize > beta) {
+                newLimit = limit - threshold;
+            }
+            else {
+                return new State(limit, rttNoLoad, samplesSinceProbe);
+            }
+        }
+
+        final double smoothed = (limit * (1D - smoothing)) + (newLimit * smoothing);
+
+        return new State(Math.clamp(smoothed, minLimit, maxLimit), rttNoLoad, samplesSinceProbe);
+    }
+}
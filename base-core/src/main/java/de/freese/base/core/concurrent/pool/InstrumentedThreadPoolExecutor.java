@@ -0,0 +1,339 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.pool;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.freese.base.core.metrics.HistogramSnapshot;
+import de.freese.base.core.metrics.RollingHistogram;
+
+/**
+ * {@link ThreadPoolExecutor} which measures the Time of the Tasks in the Queue and their Run-Time.<br>
+ * <br>
+ * Every Task is wrapped for the Enqueue-Timestamp, therefore {@link #getQueue()} and {@link #shutdownNow()} contain the wrapped Tasks,
+ * {@link #remove(Runnable)} accepts the original Task.<br>
+ * The Metrics are available by {@link #getMetrics()} and optional as JMX-MBean by {@link #registerMBean(String)}.<br>
+ * With a {@link TunedLinkedBlockingQueue} the forced Growths of the Pool are counted,
+ * the Queue is wired with the Pool by {@link #create(int, int, long, TimeUnit, BlockingQueue, ThreadFactory, RejectedExecutionHandler)}.
+ *
+ * @author Thomas Freese
+ */
+public class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InstrumentedThreadPoolExecutor.class);
+
+    /**
+     * Counts the Rejections.
+     *
+     * @author Thomas Freese
+     */
+    private record CountingRejectedExecutionHandler(RejectedExecutionHandler delegate, LongAdder rejectedCount) implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(final Runnable r, final ThreadPoolExecutor executor) {
+            rejectedCount.increment();
+
+            delegate.rejectedExecution(r, executor);
+        }
+    }
+
+    /**
+     * JMX-View of the Metrics.
+     *
+     * @author Thomas Freese
+     */
+    private static final class MetricsMXBean implements ThreadPoolMetricsMXBean {
+        private static double toMillis(final double nanos) {
+            return nanos / 1_000_000D;
+        }
+
+        private final InstrumentedThreadPoolExecutor executor;
+
+        MetricsMXBean(final InstrumentedThreadPoolExecutor executor) {
+            super();
+
+            this.executor = executor;
+        }
+
+        @Override
+        public int getActiveCount() {
+            return executor.getActiveCount();
+        }
+
+        @Override
+        public long getCompletedTaskCount() {
+            return executor.getCompletedTaskCount();
+        }
+
+        @Override
+        public double getExecutionMeanMillis() {
+            return toMillis(executor.executionHistogram.snapshot().mean());
+        }
+
+        @Override
+        public double getExecutionP99Millis() {
+            return toMillis(executor.executionHistogram.snapshot().p99());
+        }
+
+        @Override
+        public long getForcedGrowthCount() {
+            return executor.getForcedGrowthCount();
+        }
+
+        @Override
+        public int getLargestPoolSize() {
+            return executor.getLargestPoolSize();
+        }
+
+        @Override
+        public int getMaximumPoolSize() {
+            return executor.getMaximumPoolSize();
+        }
+
+        @Override
+        public int getPoolSize() {
+            return executor.getPoolSize();
+        }
+
+        @Override
+        public int getQueueSize() {
+            return executor.getQueue().size();
+        }
+
+        @Override
+        public double getQueueWaitMeanMillis() {
+            return toMillis(executor.queueWaitHistogram.snapshot().mean());
+        }
+
+        @Override
+        public double getQueueWaitP99Millis() {
+            return toMillis(executor.queueWaitHistogram.snapshot().p99());
+        }
+
+        @Override
+        public long getRejectedCount() {
+            return executor.rejectedCount.sum();
+        }
+
+        @Override
+        public double getThroughputPerSecond() {
+            return executor.executionHistogram.snapshot().ratePerSecond();
+        }
+    }
+
+    /**
+     * Task with Timestamps.
+     *
+     * @author Thomas Freese
+     */
+    private static final class TimedRunnable implements Runnable {
+        private final Runnable delegate;
+        private final long enqueuedNanos = System.nanoTime();
+
+        private long startNanos;
+
+        TimedRunnable(final Runnable delegate) {
+            super();
+
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    /**
+     * Creates the Executor and wires a {@link TunedLinkedBlockingQueue} with the Size of the Pool.
+     */
+    public static InstrumentedThreadPoolExecutor create(final int corePoolSize, final int maximumPoolSize, final long keepAliveTime, final TimeUnit unit,
+                                                        final BlockingQueue<Runnable> workQueue, final ThreadFactory threadFactory,
+                                                        final RejectedExecutionHandler handler) {
+        final InstrumentedThreadPoolExecutor executor = new InstrumentedThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue,
+                threadFactory, handler);
+
+        if (workQueue instanceof TunedLinkedBlockingQueue<?> q) {
+            q.setPoolCurrentSize(executor::getPoolSize);
+            q.setPoolMaxSize(executor::getMaximumPoolSize);
+        }
+
+        return executor;
+    }
+
+    private final RollingHistogram executionHistogram = new RollingHistogram();
+    private final RollingHistogram queueWaitHistogram = new RollingHistogram();
+    private final LongAdder rejectedCount;
+
+    private @Nullable ObjectName objectName;
+
+    /**
+     * A {@link TunedLinkedBlockingQueue} is not wired with the Pool,
+     * see {@link #create(int, int, long, TimeUnit, BlockingQueue, ThreadFactory, RejectedExecutionHandler)}.
+     */
+    protected InstrumentedThreadPoolExecutor(final int corePoolSize, final int maximumPoolSize, final long keepAliveTime, final TimeUnit unit,
+                                          final BlockingQueue<Runnable> workQueue, final ThreadFactory threadFactory, final RejectedExecutionHandler handler) {
+        this(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler, new LongAdder());
+    }
+
+    private InstrumentedThreadPoolExecutor(final int corePoolSize, final int maximumPoolSize, final long keepAliveTime, final TimeUnit unit,
+                                           final BlockingQueue<Runnable> workQueue, final ThreadFactory threadFactory, final RejectedExecutionHandler handler,
+                                           final LongAdder rejectedCount) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory,
+                new CountingRejectedExecutionHandler(Objects.requireNonNull(handler, "handler required"), rejectedCount));
+
+        this.rejectedCount = rejectedCount;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Objects.requireNonNull(command, "command required");
+
+        super.execute(new TimedRunnable(command));
+    }
+
+    /**
+     * Number of refused Offers of the {@link TunedLinkedBlockingQueue}, 0 for other Queues.
+     */
+    public long getForcedGrowthCount() {
+        if (getQueue() instanceof TunedLinkedBlockingQueue<?> q) {
+            return q.getForcedGrowthCount();
+        }
+
+        return 0L;
+    }
+
+    public ThreadPoolMetrics getMetrics() {
+        final HistogramSnapshot queueWait = queueWaitHistogram.snapshot();
+        final HistogramSnapshot execution = executionHistogram.snapshot();
+        final BlockingQueue<Runnable> queue = getQueue();
+
+        return new ThreadPoolMetrics(getActiveCount(), getPoolSize(), getLargestPoolSize(), getMaximumPoolSize(), queue.size(), queue.remainingCapacity(),
+                getCompletedTaskCount(), rejectedCount.sum(), getForcedGrowthCount(), queueWait, execution);
+    }
+
+    @Override
+    public RejectedExecutionHandler getRejectedExecutionHandler() {
+        if (super.getRejectedExecutionHandler() instanceof CountingRejectedExecutionHandler handler) {
+            return handler.delegate();
+        }
+
+        return super.getRejectedExecutionHandler();
+    }
+
+    /**
+     * Removes the Task from the Queue, also if it is wrapped.
+     */
+    @Override
+    public boolean remove(final Runnable task) {
+        if (super.remove(task)) {
+            return true;
+        }
+
+        for (Runnable queued : getQueue()) {
+            if (queued instanceof TimedRunnable timedRunnable && timedRunnable.delegate.equals(task)) {
+                return super.remove(queued);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Registers the Metrics in the Platform-MBeanServer as 'de.freese.base:type=ThreadPool,name=...'.<br>
+     * The MBean is unregistered, if the Executor is terminated.<br>
+     * A failed Registration, e.g. for an already registered Name, is logged and the Executor works without MBean.
+     *
+     * @return {@link ObjectName}; null if the Registration failed
+     */
+    public synchronized @Nullable ObjectName registerMBean(final String name) {
+        if (objectName != null) {
+            return objectName;
+        }
+
+        try {
+            objectName = new ObjectName("de.freese.base:type=ThreadPool,name=" + ObjectName.quote(name));
+
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMXBean(this), objectName);
+
+            return objectName;
+        }
+        catch (JMException ex) {
+            objectName = null;
+
+            LOGGER.warn("MBean registration failed for thread pool {}: {}", name, ex.getMessage());
+
+            return null;
+        }
+    }
+
+    @Override
+    public void setRejectedExecutionHandler(final RejectedExecutionHandler handler) {
+        super.setRejectedExecutionHandler(new CountingRejectedExecutionHandler(Objects.requireNonNull(handler, "handler required"), rejectedCount));
+    }
+
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        }
+        catch (JMException ex) {
+            LOGGER.warn(ex.getMessage());
+        }
+        finally {
+            objectName = null;
+        }
+    }
+
+    @Override
+    protected void afterExecute(final Runnable r, final Throwable t) {
+        if (r instanceof TimedRunnable timedRunnable) {
+            executionHistogram.record(System.nanoTime() - timedRunnable.startNanos);
+        }
+
+        super.afterExecute(r, t);
+    }
+
+    @Override
+    protected void beforeExecute(final Thread t, final Runnable r) {
+        super.beforeExecute(t, r);
+
+        if (r instanceof TimedRunnable timedRunnable) {
+            final long now = System.nanoTime();
+            timedRunnable.startNanos = now;
+
+            queueWaitHistogram.record(now - timedRunnable.enqueuedNanos);
+        }
+    }
+
+    @Override
+    protected void terminated() {
+        super.terminated();
+
+        unregisterMBean();
+    }
+}
@@ -0,0 +1,25 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.pool;
+
+import de.freese.base.core.metrics.HistogramSnapshot;
+
+/**
+ * Snapshot of an {@link InstrumentedThreadPoolExecutor}.
+ *
+ * @param activeCount int; Number of Threads running a Task
+ * @param poolSize int; current Number of Threads
+ * @param largestPoolSize int; highest Number of Threads
+ * @param maximumPoolSize int; configured Maximum of Threads
+ * @param queueSize int; Number of waiting Tasks
+ * @param queueRemainingCapacity int; free Space in the Queue
+ * @param completedTaskCount long; Number of finished Tasks
+ * @param rejectedCount long; Number of rejected Tasks
+ * @param forcedGrowthCount long; Number of refused Offers of the {@link TunedLinkedBlockingQueue} to force the Creation of a Thread
+ * @param queueWait {@link HistogramSnapshot}; Time in the Queue in Nanoseconds
+ * @param execution {@link HistogramSnapshot}; Run-Time in Nanoseconds
+ *
+ * @author Thomas Freese
+ */
+public record ThreadPoolMetrics(int activeCount, int poolSize, int largestPoolSize, int maximumPoolSize, int queueSize, int queueRemainingCapacity,
+                                long completedTaskCount, long rejectedCount, long forcedGrowthCount, HistogramSnapshot queueWait, HistogramSnapshot execution) {
+}
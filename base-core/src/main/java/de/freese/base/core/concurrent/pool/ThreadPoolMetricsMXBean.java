@@ -0,0 +1,38 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.pool;
+
+/**
+ * JMX-View of the {@link ThreadPoolMetrics}, the Times are in Milliseconds.
+ *
+ * @author Thomas Freese
+ */
+public interface ThreadPoolMetricsMXBean {
+    int getActiveCount();
+
+    long getCompletedTaskCount();
+
+    double getExecutionMeanMillis();
+
+    double getExecutionP99Millis();
+
+    long getForcedGrowthCount();
+
+    int getLargestPoolSize();
+
+    int getMaximumPoolSize();
+
+    int getPoolSize();
+
+    int getQueueSize();
+
+    double getQueueWaitMeanMillis();
+
+    double getQueueWaitP99Millis();
+
+    long getRejectedCount();
+
+    /**
+     * Finished Tasks per Second in the Window of the Histograms.
+     */
+    double getThroughputPerSecond();
+}
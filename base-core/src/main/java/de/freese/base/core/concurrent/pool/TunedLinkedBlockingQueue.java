@@ -5,6 +5,7 @@ import java.io.Serial;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.IntSupplier;
 
 /**
@@ -41,6 +42,8 @@ public class TunedLinkedBlockingQueue<T> extends LinkedBlockingQueue<T> {
     @Serial
     private static final long serialVersionUID = 6374300294609033461L;
 
+    private final LongAdder forcedGrowthCount = new LongAdder();
+
     private transient IntSupplier poolCurrentSize;
     private transient IntSupplier poolMaxSize;
 
@@ -48,10 +51,19 @@ public class TunedLinkedBlockingQueue<T> extends LinkedBlockingQueue<T> {
         super(capacity);
     }
 
+    /**
+     * Anzahl der abgelehnten Offers, welche den {@link ThreadPoolExecutor} zur Erzeugung eines neuen Threads gezwungen haben.
+     */
+    public long getForcedGrowthCount() {
+        return forcedGrowthCount.sum();
+    }
+
     @Override
     public boolean offer(final T e) {
         if (poolCurrentSize.getAsInt() < poolMaxSize.getAsInt()) {
             // FALSE triggert den ThreadPoolExecutor neue Threads zu erzeugen.
+            forcedGrowthCount.increment();
+
             return false;
         }
 
@@ -62,6 +74,8 @@ public class TunedLinkedBlockingQueue<T> extends LinkedBlockingQueue<T> {
     public boolean offer(final T e, final long timeout, final TimeUnit unit) throws InterruptedException {
         if (poolCurrentSize.getAsInt() < poolMaxSize.getAsInt()) {
             // FALSE triggert den ThreadPoolExecutor neue Threads zu erzeugen.
+            forcedGrowthCount.increment();
+
             return false;
         }
 
@@ -30,6 +30,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
  * erreicht ist.<br>
  * Dies zwingt den {@link ThreadPoolExecutor} dazu neue Threads zu erzeugen, auch wenn die Queue noch nicht voll ist.<br>
  * <br>
+ * Mit {@link #setInstrumented(boolean)} wird ein {@link InstrumentedThreadPoolExecutor} erzeugt und dessen Metriken als JMX-MBean unter dem Bean-Namen registriert.
  *
  * @author Thomas Freese
  */
@@ -37,9 +38,50 @@ public class TunedThreadPoolExecutorFactoryBean extends ThreadPoolExecutorFactor
     @Serial
     private static final long serialVersionUID = 4992566896817015389L;
 
+    private String beanName;
+    private boolean instrumented;
+    private transient InstrumentedThreadPoolExecutor instrumentedExecutor;
+
+    @Override
+    public void destroy() {
+        super.destroy();
+
+        if (instrumentedExecutor != null) {
+            // Nicht auf terminated() warten.
+            instrumentedExecutor.unregisterMBean();
+        }
+    }
+
+    @Override
+    public void setBeanName(final String name) {
+        super.setBeanName(name);
+
+        this.beanName = name;
+    }
+
+    /**
+     * Erzeugt einen {@link InstrumentedThreadPoolExecutor}.
+     */
+    public void setInstrumented(final boolean instrumented) {
+        this.instrumented = instrumented;
+    }
+
     @Override
     protected ThreadPoolExecutor createExecutor(final int corePoolSize, final int maxPoolSize, final int keepAliveSeconds, final BlockingQueue<Runnable> queue,
                                                 final ThreadFactory threadFactory, final RejectedExecutionHandler rejectedExecutionHandler) {
+        if (instrumented) {
+            final InstrumentedThreadPoolExecutor tpe = InstrumentedThreadPoolExecutor.create(corePoolSize, maxPoolSize, keepAliveSeconds, TimeUnit.SECONDS, queue,
+                    threadFactory, rejectedExecutionHandler);
+
+            if (beanName != null) {
+                tpe.registerMBean(beanName);
+            }
+
+            instrumentedExecutor = tpe;
+
+            return tpe;
+        }
+
         final ThreadPoolExecutor tpe = new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveSeconds, TimeUnit.SECONDS, queue, threadFactory, rejectedExecutionHandler);
 
         if (queue instanceof TunedLinkedBlockingQueue<?> q) {
@@ -0,0 +1,154 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.synchronisation;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Fixed Number of Locks, the Lock of a Key is chosen by its spread Hash.<br>
+ * In contrast to the {@link MutexFactory} the Lookup needs no Allocation and does not depend on the Garbage-Collector,
+ * the Locks support Timeouts and do not pin Virtual-Threads.<br>
+ * Different Keys can share the same Lock, the Number of Stripes is rounded up to a Power of Two.<br>
+ * <br>
+ * Example:
+ * <pre>{@code
+ * private final StripedLocks<ReentrantLock> locks = StripedLocks.reentrantLocks(64);
+ *
+ * public Session getSession(String userId) throws InterruptedException {
+ *      if (!locks.tryLock(userId, Duration.ofSeconds(1))) {
+ *          throw new IllegalStateException("timeout");
+ *      }
+ *
+ *      try {
+ *          // Create session. If one is already present, return that one.
+ *      }
+ *      finally {
+ *          locks.unlock(userId);
+ *      }
+ * }
+ * }</pre>
+ *
+ * @author Thomas Freese
+ */
+public final class StripedLocks<L> {
+    private static final int MAX_STRIPES = 1 << 30;
+
+    public static StripedLocks<ReentrantReadWriteLock> readWriteLocks(final int stripes) {
+        return new StripedLocks<>(stripes, _ -> new ReentrantReadWriteLock(), ReentrantReadWriteLock::writeLock, ReentrantReadWriteLock::readLock);
+    }
+
+    public static StripedLocks<ReentrantLock> reentrantLocks(final int stripes) {
+        return reentrantLocks(stripes, false);
+    }
+
+    public static StripedLocks<ReentrantLock> reentrantLocks(final int stripes, final boolean fair) {
+        return new StripedLocks<>(stripes, _ -> new ReentrantLock(fair), lock -> lock, lock -> lock);
+    }
+
+    /**
+     * The {@link StampedLock} is not reentrant.
+     */
+    public static StripedLocks<StampedLock> stampedLocks(final int stripes) {
+        return new StripedLocks<>(stripes, _ -> new StampedLock(), StampedLock::asWriteLock, StampedLock::asReadLock);
+    }
+
+    /**
+     * Murmur3 Finalizer, distributes bad Hash-Codes over all Stripes.
+     */
+    static int spread(final int hashCode) {
+        int h = hashCode;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+
+        return h;
+    }
+
+    private final Lock[] exclusiveLocks;
+    private final Object[] locks;
+    private final int mask;
+    private final Lock[] sharedLocks;
+
+    private StripedLocks(final int stripes, final IntFunction<L> lockFactory, final Function<L, Lock> exclusiveView, final Function<L, Lock> sharedView) {
+        super();
+
+        if (stripes < 1 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("stripes must be between 1 and " + MAX_STRIPES + ": " + stripes);
+        }
+
+        final int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+
+        this.mask = size - 1;
+        this.locks = new Object[size];
+        this.exclusiveLocks = new Lock[size];
+        this.sharedLocks = new Lock[size];
+
+        for (int i = 0; i < size; i++) {
+            final L lock = lockFactory.apply(i);
+
+            locks[i] = lock;
+            exclusiveLocks[i] = exclusiveView.apply(lock);
+            sharedLocks[i] = sharedView.apply(lock);
+        }
+    }
+
+    /**
+     * {@link Lock} for exclusive Access: the Lock itself, the Write-Lock of a {@link ReentrantReadWriteLock} or {@link StampedLock#asWriteLock()}.
+     */
+    public Lock exclusive(final Object key) {
+        return exclusiveLocks[indexFor(key)];
+    }
+
+    @SuppressWarnings("unchecked")
+    public L get(final Object key) {
+        return (L) locks[indexFor(key)];
+    }
+
+    @SuppressWarnings("unchecked")
+    public L getAt(final int index) {
+        return (L) locks[index];
+    }
+
+    public int getStripes() {
+        return locks.length;
+    }
+
+    /**
+     * Index of the Stripe for the Key, e.g. to lock several Keys in ascending Order without Deadlock.
+     */
+    public int indexFor(final Object key) {
+        return spread(Objects.requireNonNull(key, "key required").hashCode()) & mask;
+    }
+
+    /**
+     * {@link Lock} for shared Access: the Lock itself, the Read-Lock of a {@link ReentrantReadWriteLock} or {@link StampedLock#asReadLock()}.
+     */
+    public Lock shared(final Object key) {
+        return sharedLocks[indexFor(key)];
+    }
+
+    /**
+     * Acquires the exclusive Lock of the Key.
+     *
+     * @return boolean; false if the Timeout has elapsed
+     */
+    public boolean tryLock(final Object key, final Duration timeout) throws InterruptedException {
+        return exclusive(key).tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Releases the exclusive Lock of the Key.
+     */
+    public void unlock(final Object key) {
+        exclusive(key).unlock();
+    }
+}
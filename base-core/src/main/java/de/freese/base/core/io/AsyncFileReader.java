@@ -11,18 +11,30 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * Einlesen einer Datei über ein {@link AsynchronousFileChannel}.<br>
  * Der Inhalt wird einem {@link CompletableFuture} übergeben und kann z.B. mit<br>
  * {@link CompletableFuture#thenAccept(java.util.function.Consumer)} weiterverarbeitet werden.<br>
- * <a href="https://github.com/oheger/JavaMagReact">https://github.com/oheger/JavaMagReact (JavaMagazin 02/2018 )</a>
+ * <a href="https://github.com/oheger/JavaMagReact">https://github.com/oheger/JavaMagReact (JavaMagazin 02/2018 )</a><br>
+ * <br>
+ * {@link #readFileChunks(Path, BiConsumer, boolean)} liest ohne Kopie in wiederverwendete Direct-{@link ByteBuffer},
+ * mehrere Blöcke werden parallel gelesen (siehe {@link #setParallelism(int)}).
  *
  * @param <CH> Typ des ContentHolders
  *
@@ -69,6 +81,252 @@ public final class AsyncFileReader<CH> {
         }
     }
 
+    /**
+     * Gelesener Block einer Datei als Read-Only View auf einen gepoolten Direct-{@link ByteBuffer}.<br>
+     * Der Block muss nach der Verarbeitung mit {@link #release()} freigegeben werden, erst dann wird der Buffer für weitere Lese-Operationen verwendet.
+     *
+     * @author Thomas Freese
+     */
+    public static final class Chunk implements AutoCloseable {
+        private final ByteBuffer buffer;
+        private final long offset;
+        private final Consumer<ByteBuffer> onRelease;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final ByteBuffer view;
+
+        private Chunk(final Consumer<ByteBuffer> onRelease, final ByteBuffer buffer, final long offset) {
+            super();
+
+            this.onRelease = onRelease;
+            this.buffer = buffer;
+            this.offset = offset;
+            this.view = buffer.asReadOnlyBuffer();
+        }
+
+        /**
+         * Siehe {@link #release()}.
+         */
+        @Override
+        public void close() {
+            release();
+        }
+
+        /**
+         * Read-Only View auf den Block, nur bis zum {@link #release()} gültig.
+         */
+        public ByteBuffer getBuffer() {
+            return view;
+        }
+
+        public int getLength() {
+            return buffer.limit();
+        }
+
+        /**
+         * Position des Blocks in der Datei.
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * Gibt den Buffer für die nächste Lese-Operation frei, mehrfacher Aufruf ist erlaubt.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                onRelease.accept(buffer);
+            }
+        }
+    }
+
+    /**
+     * Lesen der Blöcke einer Datei, maximal 'parallelism' Blöcke sind gleichzeitig in Arbeit oder beim Consumer.
+     *
+     * @author Thomas Freese
+     */
+    private final class ChunkReadContext<C> implements CompletionHandler<Integer, ChunkReadContext.Region> {
+        /**
+         * Bereich einer Lese-Operation.
+         */
+        private record Region(long index, long offset, int length, ByteBuffer buffer) {
+        }
+
+        private final AsynchronousFileChannel channel;
+        private final long chunkCount;
+        private final BiConsumer<C, Chunk> chunkConsumer;
+        private final int chunkSize;
+        private final C contentHolder;
+        private final AtomicLong deliveredCount = new AtomicLong();
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private final long fileSize;
+        private final CompletableFuture<C> future;
+        private final AtomicLong nextIndex = new AtomicLong();
+        private final boolean ordered;
+        /**
+         * Fertige Blöcke, die auf ihre Vorgänger warten; nur im Modus 'ordered'.
+         */
+        private final Map<Long, Chunk> pending = new TreeMap<>();
+        private final AtomicInteger permits;
+
+        private long nextDeliverIndex;
+
+        private ChunkReadContext(final AsynchronousFileChannel channel, final CompletableFuture<C> future, final C contentHolder,
+                                 final BiConsumer<C, Chunk> chunkConsumer, final boolean ordered) throws IOException {
+            super();
+
+            this.channel = channel;
+            this.future = future;
+            this.contentHolder = contentHolder;
+            this.chunkConsumer = chunkConsumer;
+            this.ordered = ordered;
+            this.chunkSize = getByteBufferSize();
+            this.permits = new AtomicInteger(getParallelism());
+            this.fileSize = channel.size();
+            this.chunkCount = (fileSize + chunkSize - 1) / chunkSize;
+        }
+
+        @Override
+        public void completed(final Integer count, final Region region) {
+            final ByteBuffer buffer = region.buffer();
+
+            if (count >= 0 && buffer.position() < region.length()) {
+                // Teilweise gelesen.
+                try {
+                    channel.read(buffer, region.offset() + buffer.position(), region, this);
+                }
+                catch (RuntimeException ex) {
+                    // z.B. ClosedChannelException oder ShutdownChannelGroupException.
+                    failed(ex, region);
+                }
+
+                return;
+            }
+
+            buffer.flip();
+
+            deliver(region.index(), new Chunk(this::release, buffer, region.offset()));
+        }
+
+        @Override
+        public void failed(final Throwable exc, final Region region) {
+            releaseBuffer(region.buffer());
+            fail(exc);
+        }
+
+        private void accept(final Chunk chunk) {
+            if (failed.get()) {
+                chunk.release();
+
+                return;
+            }
+
+            try {
+                chunkConsumer.accept(contentHolder, chunk);
+            }
+            catch (RuntimeException ex) {
+                chunk.release();
+                fail(ex);
+
+                return;
+            }
+
+            if (deliveredCount.incrementAndGet() == chunkCount) {
+                closeChannel();
+                future.complete(contentHolder);
+            }
+        }
+
+        private void closeChannel() {
+            try {
+                channel.close();
+            }
+            catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void deliver(final long index, final Chunk chunk) {
+            if (!ordered) {
+                accept(chunk);
+
+                return;
+            }
+
+            synchronized (this) {
+                pending.put(index, chunk);
+
+                Chunk next;
+
+                while ((next = pending.remove(nextDeliverIndex)) != null) {
+                    nextDeliverIndex++;
+                    accept(next);
+                }
+            }
+        }
+
+        private void fail(final Throwable ex) {
+            if (failed.compareAndSet(false, true)) {
+                synchronized (this) {
+                    pending.values().forEach(Chunk::release);
+                    pending.clear();
+                }
+
+                future.completeExceptionally(ex);
+
+                try {
+                    closeChannel();
+                }
+                catch (UncheckedIOException _) {
+                    // Ignore, the first Exception is reported.
+                }
+            }
+        }
+
+        /**
+         * Startet Lese-Operationen, solange Buffer frei sind.
+         */
+        private void issueReads() {
+            while (!failed.get()) {
+                final int available = permits.get();
+
+                if (available == 0) {
+                    return;
+                }
+
+                if (!permits.compareAndSet(available, available - 1)) {
+                    continue;
+                }
+
+                final long index = nextIndex.getAndIncrement();
+
+                if (index >= chunkCount) {
+                    permits.incrementAndGet();
+
+                    return;
+                }
+
+                final long offset = index * chunkSize;
+                final int length = (int) Math.min(chunkSize, fileSize - offset);
+                final ByteBuffer buffer = acquireBuffer(chunkSize);
+                buffer.limit(length);
+
+                try {
+                    channel.read(buffer, offset, new Region(index, offset, length, buffer), this);
+                }
+                catch (RuntimeException ex) {
+                    releaseBuffer(buffer);
+                    fail(ex);
+                }
+            }
+        }
+
+        private void release(final ByteBuffer buffer) {
+            releaseBuffer(buffer);
+            permits.incrementAndGet();
+            issueReads();
+        }
+    }
+
     /**
      * Blockgröße pro Lese-Operation.
      */
@@ -81,10 +339,18 @@ public final class AsyncFileReader<CH> {
      * Nimmt die gelesenen Daten entgegen.
      */
     private BiConsumer<CH, byte[]> dataConsumer;
+    /**
+     * Wiederverwendete Direct-Buffer für {@link #readFileChunks(Path, BiConsumer, boolean)}.
+     */
+    private final Queue<ByteBuffer> bufferPool = new ConcurrentLinkedQueue<>();
     /**
      * Führt die parallelen Lese-Operationen aus.
      */
     private ExecutorService executorService = ForkJoinPool.commonPool();
+    /**
+     * Anzahl gleichzeitiger Lese-Operationen für {@link #readFileChunks(Path, BiConsumer, boolean)}.
+     */
+    private int parallelism = 1;
 
     /**
      * Einlesen der Datei.<br>
@@ -115,12 +381,53 @@ public final class AsyncFileReader<CH> {
         return future;
     }
 
+    /**
+     * Einlesen der Datei in Blöcken ohne Kopie der Daten.<br>
+     * Die Blöcke sind Read-Only Views auf gepoolte Direct-Buffer mit der Größe von {@link #setByteBufferSize(int)}
+     * und müssen nach der Verarbeitung mit {@link Chunk#release()} freigegeben werden.<br>
+     * Es werden max. {@link #setParallelism(int)} Bereiche gleichzeitig gelesen, bzw. gehalten, bevor sie freigegeben werden.<br>
+     * <br>
+     * ordered = true: Die Blöcke werden in der Reihenfolge der Datei nacheinander übergeben.<br>
+     * Der Consumer läuft dabei unter einem Lock in den Threads des {@link #setExecutorService(ExecutorService)},
+     * ein langsamer Consumer hält alle Lese-Operationen auf, die auf die Übergabe warten.<br>
+     * ordered = false: Die Blöcke werden sofort nach dem Lesen übergeben, der Consumer wird ggf. parallel aufgerufen,
+     * die Position liefert {@link Chunk#getOffset()}.
+     */
+    public CompletableFuture<CH> readFileChunks(final Path path, final BiConsumer<CH, Chunk> chunkConsumer, final boolean ordered) {
+        Objects.requireNonNull(path, "path required");
+        Objects.requireNonNull(chunkConsumer, "chunkConsumer required");
+
+        if (Files.isDirectory(path) || !Files.isReadable(path)) {
+            throw new IllegalArgumentException("path is a directory or not readable: " + path);
+        }
+
+        final CompletableFuture<CH> future = new CompletableFuture<>();
+
+        try {
+            final AsynchronousFileChannel channel = AsynchronousFileChannel.open(path, Set.of(StandardOpenOption.READ), getExecutorService());
+            final ChunkReadContext<CH> context = new ChunkReadContext<>(channel, future, getContentHolderSupplier().get(), chunkConsumer, ordered);
+
+            if (context.chunkCount == 0L) {
+                context.closeChannel();
+                future.complete(context.contentHolder);
+            }
+            else {
+                context.issueReads();
+            }
+        }
+        catch (IOException ex) {
+            future.completeExceptionally(ex);
+        }
+
+        return future;
+    }
+
     /**
      * Blockgröße pro Lese-Operation.
      */
     public void setByteBufferSize(final int byteBufferSize) {
-        if (byteBufferSize < 0) {
-            throw new IllegalArgumentException("byteBufferSize < 0: " + byteBufferSize);
+        if (byteBufferSize < 1) {
+            throw new IllegalArgumentException("byteBufferSize < 1: " + byteBufferSize);
         }
 
         this.byteBufferSize = byteBufferSize;
@@ -147,6 +454,29 @@ public final class AsyncFileReader<CH> {
         this.executorService = Objects.requireNonNull(executorService, "executorService required");
     }
 
+    /**
+     * Anzahl gleichzeitiger Lese-Operationen über disjunkte Bereiche der Datei für {@link #readFileChunks(Path, BiConsumer, boolean)}.<br>
+     * Default: 1
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism < 1: " + parallelism);
+        }
+
+        this.parallelism = parallelism;
+    }
+
+    private ByteBuffer acquireBuffer(final int size) {
+        ByteBuffer buffer = bufferPool.poll();
+
+        while (buffer != null && buffer.capacity() != size) {
+            // Blockgröße wurde geändert.
+            buffer = bufferPool.poll();
+        }
+
+        return buffer != null ? buffer.clear() : ByteBuffer.allocateDirect(size);
+    }
+
     /**
      * Erzeugt den Handler für die {@link AsynchronousFileChannel#read(ByteBuffer, long, Object, CompletionHandler)} Operation.
      *
@@ -218,6 +548,14 @@ public final class AsyncFileReader<CH> {
         return executorService;
     }
 
+    /**
+     * Anzahl gleichzeitiger Lese-Operationen.<br>
+     * Default: 1
+     */
+    private int getParallelism() {
+        return parallelism;
+    }
+
     /**
      * Liest den nächsten Datenblock.
      */
@@ -225,4 +563,10 @@ public final class AsyncFileReader<CH> {
         context.buffer.clear();
         context.channel.read(context.buffer, context.position, context, context.handler);
     }
+
+    private void releaseBuffer(final ByteBuffer buffer) {
+        if (buffer.capacity() == getByteBufferSize()) {
+            bufferPool.offer(buffer);
+        }
+    }
 }
@@ -2,54 +2,425 @@
 package de.freese.base.core.io;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
 
 /**
+ * Writes into all {@link OutputStream}s.<br>
+ * <br>
+ * Synchronous Mode: each Write goes into the Streams one after another on the calling Thread.<br>
+ * Asynchronous Mode: each Stream has its own bounded Queue and a virtual Thread as Writer,
+ * the Streams are written in parallel, the slowest Stream does not limit the others.<br>
+ * The {@link SlowSinkPolicy} defines what happens with a full Queue.
+ * A failed Stream is excluded, the others continue; see {@link #getFailures()}.<br>
+ * {@link #flush()} waits until all Streams have written and flushed the Data.<br>
+ * In the asynchronous Mode each Write copies the Data, single Bytes should be buffered before, e.g. by a {@link java.io.BufferedOutputStream}.
+ *
  * @author Thomas Freese
  */
 public final class MultiplexOutputStream extends OutputStream {
+    /**
+     * Behaviour of a Stream in the asynchronous Mode, if its Queue is full.
+     *
+     * @author Thomas Freese
+     */
+    public enum SlowSinkPolicy {
+        /**
+         * The Writer waits for free Space in the Queue.
+         */
+        BLOCK,
+        /**
+         * The Data is not written into this Stream, see {@link #getDroppedCount()}.
+         */
+        DROP,
+        /**
+         * This Stream fails and is excluded, the others continue.
+         */
+        FAIL
+    }
+
+    /**
+     * Queue and virtual Writer-Thread of one Stream.
+     *
+     * @author Thomas Freese
+     */
+    private static final class Sink {
+        private static final Object CLOSE = new Object();
+
+        private final OutputStream outputStream;
+        private final BlockingQueue<Object> queue;
+        private final Thread writer;
+
+        private volatile @Nullable Throwable closeFailure;
+        private volatile @Nullable Throwable failure;
+
+        private Sink(final OutputStream outputStream, final int queueCapacity, final int index) {
+            super();
+
+            this.outputStream = Objects.requireNonNull(outputStream, "outputStream required");
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.writer = Thread.ofVirtual().name("multiplex-sink-" + index).start(this::run);
+        }
+
+        private void fail(final Throwable throwable) {
+            if (failure == null) {
+                failure = throwable;
+            }
+
+            // Free the Queue for the Producer, but keep the Flush-Requests.
+            final List<Object> commands = new ArrayList<>();
+            queue.drainTo(commands);
+
+            for (Object command : commands) {
+                if (command instanceof CompletableFuture<?> flushRequest) {
+                    flushRequest.complete(null);
+                }
+                else if (command == CLOSE) {
+                    queue.offer(CLOSE);
+                }
+            }
+        }
+
+        private boolean isFailed() {
+            return failure != null;
+        }
+
+        private void run() {
+            boolean closeReceived = false;
+            Throwable cause = null;
+
+            try {
+                while (true) {
+                    final Object command = queue.take();
+
+                    if (command == CLOSE) {
+                        closeReceived = true;
+                        break;
+                    }
+
+                    if (command instanceof CompletableFuture<?> flushRequest) {
+                        try {
+                            if (!isFailed()) {
+                                outputStream.flush();
+                            }
+                        }
+                        catch (IOException | RuntimeException ex) {
+                            fail(ex);
+                        }
+                        finally {
+                            flushRequest.complete(null);
+                        }
+                    }
+                    else if (!isFailed()) {
+                        try {
+                            outputStream.write((byte[]) command);
+                        }
+                        catch (IOException | RuntimeException ex) {
+                            fail(ex);
+                        }
+                    }
+                }
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cause = ex;
+            }
+            catch (Error error) {
+                cause = error;
+
+                throw error;
+            }
+            finally {
+                if (!closeReceived) {
+                    // Nobody drains the Queue anymore: complete the Flush-Requests, the later Writes skip this Sink.
+                    fail(cause != null ? cause : new IOException("writer terminated"));
+                }
+
+                try {
+                    outputStream.close();
+                }
+                catch (IOException | RuntimeException ex) {
+                    closeFailure = ex;
+                }
+            }
+        }
+    }
+
+    private final LongAdder droppedCount = new LongAdder();
     private final List<OutputStream> outputStreams;
+    private final @Nullable SlowSinkPolicy slowSinkPolicy;
+    private final @Nullable List<Sink> sinks;
+
+    private boolean closed;
 
+    /**
+     * Synchronous Mode.
+     */
     public MultiplexOutputStream(final List<OutputStream> outputStreams) {
         super();
 
         this.outputStreams = Objects.requireNonNull(outputStreams, "outputStreams required");
+        this.slowSinkPolicy = null;
+        this.sinks = null;
+    }
+
+    /**
+     * Asynchronous Mode.
+     *
+     * @param queueCapacity int; Number of Writes in the Queue per Stream
+     */
+    public MultiplexOutputStream(final List<OutputStream> outputStreams, final int queueCapacity, final SlowSinkPolicy slowSinkPolicy) {
+        super();
+
+        this.outputStreams = List.copyOf(Objects.requireNonNull(outputStreams, "outputStreams required"));
+        this.slowSinkPolicy = Objects.requireNonNull(slowSinkPolicy, "slowSinkPolicy required");
+
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity < 1: " + queueCapacity);
+        }
+
+        final List<Sink> list = new ArrayList<>(this.outputStreams.size());
+
+        for (int i = 0; i < this.outputStreams.size(); i++) {
+            list.add(new Sink(this.outputStreams.get(i), queueCapacity, i));
+        }
+
+        this.sinks = List.copyOf(list);
     }
 
     @Override
     public void close() throws IOException {
-        for (OutputStream outputStream : outputStreams) {
-            outputStream.close();
+        if (sinks == null) {
+            for (OutputStream outputStream : outputStreams) {
+                outputStream.close();
+            }
+
+            return;
+        }
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            for (Sink sink : sinks) {
+                sink.queue.put(Sink.CLOSE);
+            }
+
+            for (Sink sink : sinks) {
+                sink.writer.join();
+            }
+        }
+        catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("close interrupted");
+        }
+
+        IOException exception = null;
+
+        for (Sink sink : sinks) {
+            final Throwable closeFailure = sink.closeFailure;
+
+            if (closeFailure == null) {
+                continue;
+            }
+
+            if (exception == null) {
+                exception = new IOException("close failed", closeFailure);
+            }
+            else {
+                exception.addSuppressed(closeFailure);
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
         }
     }
 
+    /**
+     * In the asynchronous Mode: waits until all previous Writes are written and flushed by all Streams.
+     */
     @Override
     public void flush() throws IOException {
-        for (OutputStream outputStream : outputStreams) {
-            outputStream.flush();
+        if (sinks == null) {
+            for (OutputStream outputStream : outputStreams) {
+                outputStream.flush();
+            }
+
+            return;
+        }
+
+        ensureOpen();
+
+        final List<CompletableFuture<Void>> flushRequests = new ArrayList<>(sinks.size());
+
+        try {
+            for (Sink sink : sinks) {
+                if (sink.isFailed()) {
+                    continue;
+                }
+
+                final CompletableFuture<Void> flushRequest = new CompletableFuture<>();
+                flushRequests.add(flushRequest);
+
+                // Flush-Requests are never dropped.
+                sink.queue.put(flushRequest);
+
+                if (sink.isFailed()) {
+                    // The Sink has failed concurrently, the Queue may be drained already.
+                    flushRequest.complete(null);
+                }
+            }
+
+            CompletableFuture.allOf(flushRequests.toArray(CompletableFuture[]::new)).get();
+        }
+        catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("flush interrupted");
+        }
+        catch (ExecutionException ex) {
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    /**
+     * Number of Writes not written into a Stream by the {@link SlowSinkPolicy#DROP}.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * The failed Streams of the asynchronous Mode with their Cause.
+     */
+    public Map<OutputStream, Throwable> getFailures() {
+        if (sinks == null) {
+            return Map.of();
+        }
+
+        final Map<OutputStream, Throwable> failures = new IdentityHashMap<>();
+
+        for (Sink sink : sinks) {
+            final Throwable failure = sink.failure;
+
+            if (failure != null) {
+                failures.put(sink.outputStream, failure);
+            }
         }
+
+        return failures;
     }
 
     @Override
     public void write(final int b) throws IOException {
-        for (OutputStream outputStream : outputStreams) {
-            outputStream.write(b);
+        if (sinks == null) {
+            for (OutputStream outputStream : outputStreams) {
+                outputStream.write(b);
+            }
+
+            return;
         }
+
+        enqueue(new byte[]{(byte) b});
     }
 
     @Override
     public void write(final byte[] b) throws IOException {
-        for (OutputStream outputStream : outputStreams) {
-            outputStream.write(b);
+        if (sinks == null) {
+            for (OutputStream outputStream : outputStreams) {
+                outputStream.write(b);
+            }
+
+            return;
         }
+
+        enqueue(b.clone());
     }
 
     @Override
     public void write(final byte[] b, final int off, final int len) throws IOException {
-        for (OutputStream outputStream : outputStreams) {
-            outputStream.write(b, off, len);
+        if (sinks == null) {
+            for (OutputStream outputStream : outputStreams) {
+                outputStream.write(b, off, len);
+            }
+
+            return;
+        }
+
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        if (len == 0) {
+            return;
+        }
+
+        enqueue(Arrays.copyOfRange(b, off, off + len));
+    }
+
+    /**
+     * The Copy of the Data is shared by all Streams.
+     */
+    private void enqueue(final byte[] data) throws IOException {
+        ensureOpen();
+
+        boolean written = false;
+
+        try {
+            for (Sink sink : sinks) {
+                if (sink.isFailed()) {
+                    continue;
+                }
+
+                switch (slowSinkPolicy) {
+                    case BLOCK -> sink.queue.put(data);
+                    case DROP -> {
+                        if (!sink.queue.offer(data)) {
+                            droppedCount.increment();
+                        }
+                    }
+                    case FAIL -> {
+                        if (!sink.queue.offer(data)) {
+                            sink.fail(new IOException("sink too slow: queue full"));
+
+                            continue;
+                        }
+                    }
+                }
+
+                written = true;
+            }
+        }
+        catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("write interrupted");
+        }
+
+        if (!written && !sinks.isEmpty()) {
+            throw new IOException("all sinks failed");
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
         }
     }
 }
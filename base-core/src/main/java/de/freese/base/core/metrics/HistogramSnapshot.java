@@ -0,0 +1,30 @@
+// Created: 18.10.2026
+package de.freese.base.core.metrics;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of a {@link RollingHistogram}.<br>
+ * The Percentiles are the upper Bounds of their Buckets.
+ *
+ * @param count long; Number of Values in the Window
+ * @param mean double; exact Average
+ * @param max long; exact Maximum
+ * @param window {@link Duration}; Time-Window of the Values
+ *
+ * @author Thomas Freese
+ */
+public record HistogramSnapshot(long count, double mean, long p50, long p90, long p99, long p999, long max, Duration window) {
+    public static HistogramSnapshot empty(final Duration window) {
+        return new HistogramSnapshot(0L, 0D, 0L, 0L, 0L, 0L, 0L, window);
+    }
+
+    /**
+     * Values per Second in the Window.
+     */
+    public double ratePerSecond() {
+        final long windowNanos = window.toNanos();
+
+        return windowNanos == 0L ? 0D : (count * 1_000_000_000D) / windowNanos;
+    }
+}
@@ -0,0 +1,208 @@
+// Created: 18.10.2026
+package de.freese.base.core.metrics;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free Histogram of the Values of a rolling Time-Window, e.g. Latencies in Nanoseconds.<br>
+ * <br>
+ * The Window is divided in Slots, a Slot older than the Window is reset by the next Recording.<br>
+ * The Buckets are log-linear: every Power of Two is divided in {@value #SUB_BUCKET_COUNT} Sub-Buckets,
+ * so a Percentile has a relative Error of max. 1 / {@value #SUB_BUCKET_COUNT}.<br>
+ * <br>
+ * A Recording concurrent to the Reset of its Slot can get lost, for Metrics this is accepted.
+ *
+ * @author Thomas Freese
+ */
+public final class RollingHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = ((63 - SUB_BUCKET_BITS) + 1) * SUB_BUCKET_COUNT;
+
+    /**
+     * One Part of the Window.
+     *
+     * @author Thomas Freese
+     */
+    private static final class Slot {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong epoch = new AtomicLong(-1L);
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+    }
+
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) Math.max(0L, value);
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+
+        return ((exponent - SUB_BUCKET_BITS) + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Highest Value of the Bucket.
+     */
+    static long bucketUpperBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int exponent = ((index / SUB_BUCKET_COUNT) - 1) + SUB_BUCKET_BITS;
+        final long subBucket = index % SUB_BUCKET_COUNT;
+        final long lowerBound = (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1L;
+    }
+
+    private final LongSupplier nanoClock;
+    /**
+     * {@link System#nanoTime()} can be negative, the Epochs are counted from the Creation and are never negative.
+     */
+    private final long origin;
+    private final long slotNanos;
+    private final Slot[] slots;
+    private final Duration window;
+
+    /**
+     * Window of 1 Minute with 12 Slots.
+     */
+    public RollingHistogram() {
+        this(Duration.ofMinutes(1), 12);
+    }
+
+    public RollingHistogram(final Duration window, final int slotCount) {
+        this(window, slotCount, System::nanoTime);
+    }
+
+    RollingHistogram(final Duration window, final int slotCount, final LongSupplier nanoClock) {
+        super();
+
+        this.window = Objects.requireNonNull(window, "window required");
+        this.nanoClock = Objects.requireNonNull(nanoClock, "nanoClock required");
+        this.origin = nanoClock.getAsLong();
+
+        if (slotCount < 1) {
+            throw new IllegalArgumentException("slotCount < 1: " + slotCount);
+        }
+
+        this.slotNanos = Math.max(1L, window.toNanos() / slotCount);
+        this.slots = new Slot[slotCount];
+
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * @param value long; negative Values are recorded as 0
+     */
+    public void record(final long value) {
+        final long currentEpoch = currentEpoch();
+        final Slot slot = slots[Math.floorMod(currentEpoch, slots.length)];
+        final long slotEpoch = slot.epoch.get();
+
+        if (slotEpoch != currentEpoch && slot.epoch.compareAndSet(slotEpoch, currentEpoch)) {
+            // Slot is outdated.
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                if (slot.counts.get(i) != 0L) {
+                    slot.counts.set(i, 0L);
+                }
+            }
+
+            slot.sum.set(0L);
+            slot.max.set(0L);
+        }
+
+        final long v = Math.max(0L, value);
+
+        slot.counts.incrementAndGet(bucketIndex(v));
+        slot.sum.addAndGet(v);
+        slot.max.accumulateAndGet(v, Math::max);
+    }
+
+    public void record(final Duration duration) {
+        record(duration.toNanos());
+    }
+
+    /**
+     * Resets all Slots.
+     */
+    public void reset() {
+        for (Slot slot : slots) {
+            slot.epoch.set(-1L);
+        }
+    }
+
+    /**
+     * Merges the Slots of the current Window.
+     */
+    public HistogramSnapshot snapshot() {
+        final long currentEpoch = currentEpoch();
+        final long[] counts = new long[BUCKET_COUNT];
+        long count = 0L;
+        long sum = 0L;
+        long max = 0L;
+
+        for (Slot slot : slots) {
+            final long slotEpoch = slot.epoch.get();
+
+            if (slotEpoch < 0L || currentEpoch - slotEpoch >= slots.length) {
+                continue;
+            }
+
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                final long c = slot.counts.get(i);
+
+                if (c != 0L) {
+                    counts[i] += c;
+                    count += c;
+                }
+            }
+
+            sum += slot.sum.get();
+            max = Math.max(max, slot.max.get());
+        }
+
+        if (count == 0L) {
+            return HistogramSnapshot.empty(window);
+        }
+
+        final double mean = (double) sum / count;
+
+        return new HistogramSnapshot(count, mean, percentile(counts, count, 0.5D), percentile(counts, count, 0.9D), percentile(counts, count, 0.99D),
+                percentile(counts, count, 0.999D), max, window);
+    }
+
+    /**
+     * Number of the Slot since the Creation, -1 is reserved for empty Slots.
+     */
+    private long currentEpoch() {
+        return (nanoClock.getAsLong() - origin) / slotNanos;
+    }
+
+    private long percentile(final long[] counts, final long count, final double percentile) {
+        final long rank = Math.max(1L, (long) Math.ceil(count * percentile));
+        long seen = 0L;
+
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+
+            if (seen >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+
+        return bucketUpperBound(counts.length - 1);
+    }
+}
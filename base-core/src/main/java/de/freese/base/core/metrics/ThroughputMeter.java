@@ -0,0 +1,190 @@
+// Created: 18.10.2026
+package de.freese.base.core.metrics;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free Meter of the Throughput of I/O-Operations:<br>
+ * - exponentially weighted moving Average (EWMA) of the Bytes per Second<br>
+ * - highest Rate of a Tick in the rolling Peak-Window<br>
+ * - Percentiles of the Latency per Operation by a {@link RollingHistogram}<br>
+ * <br>
+ * The Bytes are summed in a {@link LongAdder}, the Rates are updated once per Tick by the Thread winning the CAS of the Tick.
+ *
+ * @author Thomas Freese
+ * @see "com.codahale.metrics.Meter"
+ */
+public final class ThroughputMeter {
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    private final double alpha;
+    private final LongAdder countOperations = new LongAdder();
+    private final LongAdder countTotal = new LongAdder();
+    private final LongAdder countUncounted = new LongAdder();
+    private final AtomicLong lastTick;
+    private final RollingHistogram latency;
+    private final LongSupplier nanoClock;
+    /**
+     * Tick-Number per Slot of the Peak-Window.
+     */
+    private final AtomicLongArray peakEpochs;
+    /**
+     * Double-Bits of the Rate per Slot of the Peak-Window.
+     */
+    private final AtomicLongArray peakRates;
+    private final long startNanos;
+    private final long tickNanos;
+
+    private volatile boolean initialized;
+    private volatile double rate;
+
+    /**
+     * Tick of 1 Second, EWMA and Peak over 1 Minute.
+     */
+    public ThroughputMeter() {
+        this(Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    /**
+     * @param tick {@link Duration}; Interval of the Rate-Updates
+     * @param averagingWindow {@link Duration}; Time-Constant of the EWMA
+     * @param peakWindow {@link Duration}; Window of the Peak-Rate and the Latency-Percentiles
+     */
+    public ThroughputMeter(final Duration tick, final Duration averagingWindow, final Duration peakWindow) {
+        this(tick, averagingWindow, peakWindow, System::nanoTime);
+    }
+
+    ThroughputMeter(final Duration tick, final Duration averagingWindow, final Duration peakWindow, final LongSupplier nanoClock) {
+        super();
+
+        Objects.requireNonNull(tick, "tick required");
+        Objects.requireNonNull(averagingWindow, "averagingWindow required");
+        Objects.requireNonNull(peakWindow, "peakWindow required");
+        this.nanoClock = Objects.requireNonNull(nanoClock, "nanoClock required");
+
+        if (!tick.isPositive()) {
+            throw new IllegalArgumentException("tick must be positive: " + tick);
+        }
+
+        if (averagingWindow.compareTo(tick) < 0 || peakWindow.compareTo(tick) < 0) {
+            throw new IllegalArgumentException("windows must not be smaller than the tick: " + tick);
+        }
+
+        this.tickNanos = tick.toNanos();
+        this.alpha = 1D - Math.exp(-(double) tickNanos / averagingWindow.toNanos());
+
+        final int peakSlots = (int) Math.min(1024L, peakWindow.toNanos() / tickNanos);
+        this.peakEpochs = new AtomicLongArray(peakSlots);
+        this.peakRates = new AtomicLongArray(peakSlots);
+
+        for (int i = 0; i < peakSlots; i++) {
+            peakEpochs.set(i, -1L);
+        }
+
+        this.latency = new RollingHistogram(peakWindow, Math.min(12, peakSlots), nanoClock);
+        this.startNanos = nanoClock.getAsLong();
+        this.lastTick = new AtomicLong(startNanos);
+    }
+
+    /**
+     * EWMA of the Bytes per Second.
+     */
+    public double getBytesPerSecond() {
+        tickIfNecessary();
+
+        return rate;
+    }
+
+    /**
+     * Highest Rate of a Tick in the Peak-Window.
+     */
+    public double getPeakBytesPerSecond() {
+        tickIfNecessary();
+
+        final long currentEpoch = (lastTick.get() - startNanos) / tickNanos;
+        double peak = 0D;
+
+        for (int i = 0; i < peakEpochs.length(); i++) {
+            final long epoch = peakEpochs.get(i);
+
+            if (epoch >= 0L && currentEpoch - epoch < peakEpochs.length()) {
+                peak = Math.max(peak, Double.longBitsToDouble(peakRates.get(i)));
+            }
+        }
+
+        return peak;
+    }
+
+    public long getTotalBytes() {
+        return countTotal.sum();
+    }
+
+    /**
+     * Transferred Bytes without Latency.
+     */
+    public void mark(final long bytes) {
+        if (bytes <= 0L) {
+            return;
+        }
+
+        tickIfNecessary();
+
+        countTotal.add(bytes);
+        countUncounted.add(bytes);
+    }
+
+    /**
+     * One Operation with its transferred Bytes and Latency.
+     */
+    public void record(final long bytes, final long latencyNanos) {
+        mark(bytes);
+
+        countOperations.increment();
+        latency.record(latencyNanos);
+    }
+
+    public ThroughputSnapshot snapshot() {
+        return new ThroughputSnapshot(countTotal.sum(), countOperations.sum(), getBytesPerSecond(), getPeakBytesPerSecond(), latency.snapshot());
+    }
+
+    private void tickIfNecessary() {
+        final long oldTick = lastTick.get();
+        final long age = nanoClock.getAsLong() - oldTick;
+
+        if (age < tickNanos) {
+            return;
+        }
+
+        final long newTick = oldTick + ((age / tickNanos) * tickNanos);
+
+        if (!lastTick.compareAndSet(oldTick, newTick)) {
+            // Another Thread does the Tick.
+            return;
+        }
+
+        final long ticks = age / tickNanos;
+
+        // The Bytes since the last Tick are counted for the first elapsed Tick, the others are idle.
+        final double instantRate = (countUncounted.sumThenReset() * NANOS_PER_SECOND) / tickNanos;
+
+        double newRate = initialized ? rate + (alpha * (instantRate - rate)) : instantRate;
+        initialized = true;
+
+        if (ticks > 1L) {
+            newRate *= Math.pow(1D - alpha, ticks - 1L);
+        }
+
+        rate = newRate;
+
+        final long epoch = ((oldTick - startNanos) / tickNanos) + 1L;
+        final int slot = (int) Math.floorMod(epoch, (long) peakEpochs.length());
+
+        peakRates.set(slot, Double.doubleToRawLongBits(instantRate));
+        peakEpochs.set(slot, epoch);
+    }
+}
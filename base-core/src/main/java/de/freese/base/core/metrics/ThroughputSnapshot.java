@@ -0,0 +1,16 @@
+// Created: 18.10.2026
+package de.freese.base.core.metrics;
+
+/**
+ * Snapshot of a {@link ThroughputMeter}.
+ *
+ * @param totalBytes long; all transferred Bytes
+ * @param operations long; Number of recorded Operations
+ * @param bytesPerSecond double; EWMA of the Bytes per Second
+ * @param peakBytesPerSecond double; highest Rate of a Tick in the Peak-Window
+ * @param latency {@link HistogramSnapshot}; Latency per Operation in Nanoseconds
+ *
+ * @author Thomas Freese
+ */
+public record ThroughputSnapshot(long totalBytes, long operations, double bytesPerSecond, double peakBytesPerSecond, HistogramSnapshot latency) {
+}
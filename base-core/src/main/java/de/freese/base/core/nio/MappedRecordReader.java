@@ -0,0 +1,250 @@
+// Created: 18.10.2026
+package de.freese.base.core.nio;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the delimited Records of a File by a {@link MemorySegment} mapped over the whole File, also Files larger than 2 GB.<br>
+ * The Records are read-only {@link ByteBuffer} Slices or {@link CharSequence} Views of the mapped Memory,
+ * no Bytes are copied and no String per Record is created.<br>
+ * The {@link Spliterator} splits at Record-Boundaries, so a parallel Stream processes the File on all Cores.<br>
+ * <br>
+ * The Slices are only valid until the Reader is closed.
+ *
+ * <pre>{@code
+ * try (MappedRecordReader reader = MappedRecordReader.lines(path)) {
+ *      long errors = reader.lineStream(true).filter(line -> CharSequence.compare(line, "ERROR") == 0).count();
+ * }
+ * }</pre>
+ *
+ * @author Thomas Freese
+ */
+public final class MappedRecordReader implements AutoCloseable {
+    /**
+     * {@link CharSequence} View of a Record, each Byte is one Character (ISO-8859-1, exact for ASCII).<br>
+     * Use {@link #toString(Charset)} for other Encodings.
+     *
+     * @author Thomas Freese
+     */
+    public static final class ByteCharSequence implements CharSequence {
+        private final ByteBuffer buffer;
+
+        private ByteCharSequence(final ByteBuffer buffer) {
+            super();
+
+            this.buffer = buffer;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) (buffer.get(buffer.position() + Objects.checkIndex(index, length())) & 0xFF);
+        }
+
+        /**
+         * Read-only Slice of the Record.
+         */
+        public ByteBuffer getBuffer() {
+            return buffer.duplicate();
+        }
+
+        @Override
+        public int length() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            Objects.checkFromToIndex(start, end, length());
+
+            return new ByteCharSequence(buffer.slice(buffer.position() + start, end - start));
+        }
+
+        @Override
+        public String toString() {
+            return toString(StandardCharsets.ISO_8859_1);
+        }
+
+        public String toString(final Charset charset) {
+            return charset.decode(buffer.duplicate()).toString();
+        }
+    }
+
+    /**
+     * Splits at Record-Boundaries: the Half of the remaining Range is moved to the next Delimiter.
+     *
+     * @author Thomas Freese
+     */
+    private final class RecordSpliterator implements Spliterator<ByteBuffer> {
+        private static final long MIN_SPLIT_SIZE = 64L * 1024L;
+
+        private final long end;
+
+        private long position;
+
+        private RecordSpliterator(final long position, final long end) {
+            super();
+
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        /**
+         * Number of remaining Bytes.
+         */
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super ByteBuffer> action) {
+            while (tryAdvance(action)) {
+                // Empty
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super ByteBuffer> action) {
+            if (position >= end) {
+                return false;
+            }
+
+            final long delimiterIndex = indexOfDelimiter(position, end);
+            final long recordEnd = delimiterIndex < 0L ? end : delimiterIndex;
+
+            action.accept(slice(position, recordEnd));
+
+            position = delimiterIndex < 0L ? end : delimiterIndex + 1L;
+
+            return true;
+        }
+
+        @Override
+        public Spliterator<ByteBuffer> trySplit() {
+            if (end - position < MIN_SPLIT_SIZE) {
+                return null;
+            }
+
+            final long delimiterIndex = indexOfDelimiter(position + ((end - position) >>> 1), end);
+
+            if (delimiterIndex < 0L) {
+                return null;
+            }
+
+            final RecordSpliterator prefix = new RecordSpliterator(position, delimiterIndex + 1L);
+            position = delimiterIndex + 1L;
+
+            return prefix;
+        }
+    }
+
+    /**
+     * Records separated by '\n', a trailing '\r' is removed.
+     */
+    public static MappedRecordReader lines(final Path path) throws IOException {
+        return new MappedRecordReader(path, (byte) '\n', true);
+    }
+
+    public static MappedRecordReader records(final Path path, final byte delimiter) throws IOException {
+        return new MappedRecordReader(path, delimiter, false);
+    }
+
+    private final Arena arena;
+    private final byte delimiter;
+    private final MemorySegment segment;
+    private final boolean stripCarriageReturn;
+
+    private MappedRecordReader(final Path path, final byte delimiter, final boolean stripCarriageReturn) throws IOException {
+        super();
+
+        Objects.requireNonNull(path, "path required");
+
+        this.delimiter = delimiter;
+        this.stripCarriageReturn = stripCarriageReturn;
+
+        // Shared: the Slices are used by the Threads of parallel Streams.
+        this.arena = Arena.ofShared();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.segment = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size(), arena);
+        }
+        catch (IOException | RuntimeException ex) {
+            arena.close();
+
+            throw ex;
+        }
+    }
+
+    /**
+     * Unmaps the File, the Slices are invalid afterwards.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    public long getSize() {
+        return segment.byteSize();
+    }
+
+    /**
+     * The Lines or Records as {@link CharSequence} Views.
+     */
+    public Stream<ByteCharSequence> lineStream(final boolean parallel) {
+        return recordStream(parallel).map(ByteCharSequence::new);
+    }
+
+    /**
+     * The Records as read-only {@link ByteBuffer} Slices without Delimiter.
+     */
+    public Stream<ByteBuffer> recordStream(final boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    public Spliterator<ByteBuffer> spliterator() {
+        return new RecordSpliterator(0L, segment.byteSize());
+    }
+
+    /**
+     * @return long; Index of the next Delimiter or -1
+     */
+    private long indexOfDelimiter(final long from, final long to) {
+        for (long i = from; i < to; i++) {
+            if (segment.get(ValueLayout.JAVA_BYTE, i) == delimiter) {
+                return i;
+            }
+        }
+
+        return -1L;
+    }
+
+    private ByteBuffer slice(final long start, final long end) {
+        long recordEnd = end;
+
+        if (stripCarriageReturn && recordEnd > start && segment.get(ValueLayout.JAVA_BYTE, recordEnd - 1L) == '\r') {
+            recordEnd--;
+        }
+
+        // Read-only, because the Segment is mapped read-only.
+        return segment.asSlice(start, recordEnd - start).asByteBuffer();
+    }
+}
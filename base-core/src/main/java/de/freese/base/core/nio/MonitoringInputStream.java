@@ -10,6 +10,10 @@ import java.util.function.LongConsumer;
 
 import javax.swing.ProgressMonitorInputStream;
 
+import org.jspecify.annotations.Nullable;
+
+import de.freese.base.core.metrics.ThroughputMeter;
+
 /**
  * {@link ProgressMonitorInputStream}
  *
@@ -18,6 +22,7 @@ import javax.swing.ProgressMonitorInputStream;
 public class MonitoringInputStream extends FilterInputStream {
     private final LongConsumer bytesReadConsumer;
     private final boolean closeDelegate;
+    private final @Nullable ThroughputMeter throughputMeter;
 
     private long bytesRead;
 
@@ -29,9 +34,17 @@ public class MonitoringInputStream extends FilterInputStream {
     }
 
     public MonitoringInputStream(final InputStream delegate, final LongConsumer bytesReadConsumer, final boolean closeDelegate) {
+        this(delegate, bytesReadConsumer, null, closeDelegate);
+    }
+
+    /**
+     * @param throughputMeter {@link ThroughputMeter}; optional, measures each Read
+     */
+    public MonitoringInputStream(final InputStream delegate, final LongConsumer bytesReadConsumer, @Nullable final ThroughputMeter throughputMeter, final boolean closeDelegate) {
         super(delegate);
 
         this.bytesReadConsumer = Objects.requireNonNull(bytesReadConsumer, "bytesReadConsumer required");
+        this.throughputMeter = throughputMeter;
         this.closeDelegate = closeDelegate;
     }
 
@@ -44,7 +57,13 @@ public class MonitoringInputStream extends FilterInputStream {
 
     @Override
     public int read() throws IOException {
+        final long startNanos = ThroughputRecorder.start(throughputMeter);
         final int read = super.read();
+        ThroughputRecorder.record(throughputMeter, startNanos, read < 0 ? 0L : 1L);
+
+        if (read < 0) {
+            return read;
+        }
 
         bytesRead++;
 
@@ -55,7 +74,9 @@ public class MonitoringInputStream extends FilterInputStream {
 
     @Override
     public int read(final byte[] b, final int off, final int len) throws IOException {
+        final long startNanos = ThroughputRecorder.start(throughputMeter);
         final int readCount = super.read(b, off, len);
+        ThroughputRecorder.record(throughputMeter, startNanos, readCount);
 
         if (readCount > 0) {
             bytesRead += readCount;
@@ -8,12 +8,17 @@ import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.LongConsumer;
 
+import org.jspecify.annotations.Nullable;
+
+import de.freese.base.core.metrics.ThroughputMeter;
+
 /**
  * @author Thomas Freese
  */
 public class MonitoringOutputStream extends FilterOutputStream {
     private final LongConsumer bytesWrittenConsumer;
     private final boolean closeDelegate;
+    private final @Nullable ThroughputMeter throughputMeter;
 
     private long bytesWritten;
 
@@ -25,9 +30,17 @@ public class MonitoringOutputStream extends FilterOutputStream {
     }
 
     public MonitoringOutputStream(final OutputStream delegate, final LongConsumer bytesWrittenConsumer, final boolean closeDelegate) {
+        this(delegate, bytesWrittenConsumer, null, closeDelegate);
+    }
+
+    /**
+     * @param throughputMeter {@link ThroughputMeter}; optional, measures each Write
+     */
+    public MonitoringOutputStream(final OutputStream delegate, final LongConsumer bytesWrittenConsumer, @Nullable final ThroughputMeter throughputMeter, final boolean closeDelegate) {
         super(delegate);
 
         this.bytesWrittenConsumer = Objects.requireNonNull(bytesWrittenConsumer, "bytesWrittenConsumer required");
+        this.throughputMeter = throughputMeter;
         this.closeDelegate = closeDelegate;
     }
 
@@ -40,7 +53,10 @@ public class MonitoringOutputStream extends FilterOutputStream {
 
     @Override
     public void write(final byte[] b, final int off, final int len) throws IOException {
-        super.write(b, off, len);
+        // Not super.write: FilterOutputStream writes each Byte by write(int), the Bytes would be counted twice.
+        final long startNanos = ThroughputRecorder.start(throughputMeter);
+        out.write(b, off, len);
+        ThroughputRecorder.record(throughputMeter, startNanos, len);
 
         bytesWritten += len;
 
@@ -49,7 +65,9 @@ public class MonitoringOutputStream extends FilterOutputStream {
 
     @Override
     public void write(final int b) throws IOException {
+        final long startNanos = ThroughputRecorder.start(throughputMeter);
         super.write(b);
+        ThroughputRecorder.record(throughputMeter, startNanos, 1L);
 
         bytesWritten++;
 
@@ -8,6 +8,10 @@ import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.LongConsumer;
 
+import org.jspecify.annotations.Nullable;
+
+import de.freese.base.core.metrics.ThroughputMeter;
+
 /**
  * @author Thomas Freese
  */
@@ -15,6 +19,7 @@ public class MonitoringReadableByteChannel implements ReadableByteChannel {
     private final LongConsumer bytesReadConsumer;
     private final boolean closeDelegate;
     private final ReadableByteChannel delegate;
+    private final @Nullable ThroughputMeter throughputMeter;
 
     private long bytesRead;
 
@@ -26,10 +31,18 @@ public class MonitoringReadableByteChannel implements ReadableByteChannel {
     }
 
     public MonitoringReadableByteChannel(final ReadableByteChannel delegate, final LongConsumer bytesReadConsumer, final boolean closeDelegate) {
+        this(delegate, bytesReadConsumer, null, closeDelegate);
+    }
+
+    /**
+     * @param throughputMeter {@link ThroughputMeter}; optional, measures each Read of the Channel
+     */
+    public MonitoringReadableByteChannel(final ReadableByteChannel delegate, final LongConsumer bytesReadConsumer, @Nullable final ThroughputMeter throughputMeter, final boolean closeDelegate) {
         super();
 
         this.delegate = Objects.requireNonNull(delegate, "delegate required");
         this.bytesReadConsumer = Objects.requireNonNull(bytesReadConsumer, "bytesReadConsumer required");
+        this.throughputMeter = throughputMeter;
         this.closeDelegate = closeDelegate;
     }
 
@@ -47,7 +60,9 @@ public class MonitoringReadableByteChannel implements ReadableByteChannel {
 
     @Override
     public int read(final ByteBuffer dst) throws IOException {
+        final long startNanos = ThroughputRecorder.start(throughputMeter);
         final int readCount = delegate.read(dst);
+        ThroughputRecorder.record(throughputMeter, startNanos, readCount);
 
         if (readCount > 0) {
             bytesRead += readCount;
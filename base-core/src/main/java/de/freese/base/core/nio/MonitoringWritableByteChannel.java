@@ -8,6 +8,10 @@ import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.LongConsumer;
 
+import org.jspecify.annotations.Nullable;
+
+import de.freese.base.core.metrics.ThroughputMeter;
+
 /**
  * @author Thomas Freese
  */
@@ -15,6 +19,7 @@ public class MonitoringWritableByteChannel implements WritableByteChannel {
     private final LongConsumer bytesWrittenConsumer;
     private final boolean closeDelegate;
     private final WritableByteChannel delegate;
+    private final @Nullable ThroughputMeter throughputMeter;
 
     private long bytesWritten;
 
@@ -26,10 +31,18 @@ public class MonitoringWritableByteChannel implements WritableByteChannel {
     }
 
     public MonitoringWritableByteChannel(final WritableByteChannel delegate, final LongConsumer bytesWrittenConsumer, final boolean closeDelegate) {
+        this(delegate, bytesWrittenConsumer, null, closeDelegate);
+    }
+
+    /**
+     * @param throughputMeter {@link ThroughputMeter}; optional, measures each Write to the Channel
+     */
+    public MonitoringWritableByteChannel(final WritableByteChannel delegate, final LongConsumer bytesWrittenConsumer, @Nullable final ThroughputMeter throughputMeter, final boolean closeDelegate) {
         super();
 
         this.delegate = Objects.requireNonNull(delegate, "delegate required");
         this.bytesWrittenConsumer = Objects.requireNonNull(bytesWrittenConsumer, "bytesWrittenConsumer required");
+        this.throughputMeter = throughputMeter;
         this.closeDelegate = closeDelegate;
     }
 
@@ -47,7 +60,9 @@ public class MonitoringWritableByteChannel implements WritableByteChannel {
 
     @Override
     public int write(final ByteBuffer src) throws IOException {
+        final long startNanos = ThroughputRecorder.start(throughputMeter);
         final int writeCount = delegate.write(src);
+        ThroughputRecorder.record(throughputMeter, startNanos, writeCount);
 
         if (writeCount > 0) {
             bytesWritten += writeCount;
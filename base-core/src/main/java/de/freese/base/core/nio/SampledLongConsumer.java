@@ -0,0 +1,87 @@
+// Created: 18.10.2026
+package de.freese.base.core.nio;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Forwards a Value only if the Interval is elapsed or the Value has changed by the Threshold since the last Forwarding,
+ * e.g. for Progress-Callbacks of the Monitoring-Streams and -Channels.<br>
+ * Lock-free: concurrent Calls decide by a CAS, which one forwards.
+ *
+ * <pre>{@code
+ * LongConsumer progress = new SampledLongConsumer(bytesRead -> publish(bytesRead), Duration.ofMillis(100), 1024 * 1024);
+ * InputStream inputStream = new MonitoringInputStream(delegate, progress, true);
+ * }</pre>
+ *
+ * @author Thomas Freese
+ */
+public final class SampledLongConsumer implements LongConsumer {
+    private final LongConsumer delegate;
+    private final long intervalNanos;
+    private final AtomicLong lastNanos;
+    private final LongSupplier nanoClock;
+    private final long threshold;
+
+    private volatile long lastValue;
+
+    /**
+     * @param interval {@link Duration}; minimal Time between two Forwardings
+     * @param threshold long; minimal Change of the Value, e.g. Bytes, which is forwarded immediately
+     */
+    public SampledLongConsumer(final LongConsumer delegate, final Duration interval, final long threshold) {
+        this(delegate, interval, threshold, System::nanoTime);
+    }
+
+    SampledLongConsumer(final LongConsumer delegate, final Duration interval, final long threshold, final LongSupplier nanoClock) {
+        super();
+
+        this.delegate = Objects.requireNonNull(delegate, "delegate required");
+        this.nanoClock = Objects.requireNonNull(nanoClock, "nanoClock required");
+        Objects.requireNonNull(interval, "interval required");
+
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("interval must not be negative: " + interval);
+        }
+
+        if (threshold < 1L) {
+            throw new IllegalArgumentException("threshold < 1: " + threshold);
+        }
+
+        this.intervalNanos = interval.toNanos();
+        this.threshold = threshold;
+        this.lastNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    @Override
+    public void accept(final long value) {
+        final long previousNanos = lastNanos.get();
+        final long now = nanoClock.getAsLong();
+
+        if (now - previousNanos < intervalNanos && Math.abs(value - lastValue) < threshold) {
+            return;
+        }
+
+        if (lastNanos.compareAndSet(previousNanos, now)) {
+            forward(value);
+        }
+    }
+
+    /**
+     * Forwards the Value without Sampling, e.g. the final Value at the End of a Transfer.
+     */
+    public void acceptNow(final long value) {
+        lastNanos.set(nanoClock.getAsLong());
+
+        forward(value);
+    }
+
+    private void forward(final long value) {
+        lastValue = value;
+
+        delegate.accept(value);
+    }
+}
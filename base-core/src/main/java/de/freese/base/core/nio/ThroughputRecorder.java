@@ -0,0 +1,33 @@
+// Created: 18.10.2026
+package de.freese.base.core.nio;
+
+import org.jspecify.annotations.Nullable;
+
+import de.freese.base.core.metrics.ThroughputMeter;
+
+/**
+ * Times the Operations of the Monitoring-Streams and -Channels for their optional {@link ThroughputMeter}.
+ *
+ * @author Thomas Freese
+ */
+final class ThroughputRecorder {
+    /**
+     * Records the transferred Bytes and the Latency since {@link #start(ThroughputMeter)}, a negative Count, e.g. End of Stream, records 0 Bytes.
+     */
+    static void record(@Nullable final ThroughputMeter throughputMeter, final long startNanos, final long bytes) {
+        if (throughputMeter != null) {
+            throughputMeter.record(Math.max(0L, bytes), System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * @return long; Start of the Operation, without a Meter the Clock is not read
+     */
+    static long start(@Nullable final ThroughputMeter throughputMeter) {
+        return throughputMeter == null ? 0L : System.nanoTime();
+    }
+
+    private ThroughputRecorder() {
+        super();
+    }
+}
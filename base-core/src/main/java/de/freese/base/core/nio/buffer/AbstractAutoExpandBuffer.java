@@ -5,7 +5,8 @@ import java.nio.Buffer;
 import java.util.Objects;
 
 /**
- * Adapter for the {@link Buffer} with AutoExpand-Function.
+ * Adapter for the {@link Buffer} with AutoExpand-Function.<br>
+ * The Buffer grows by Copy into a larger Buffer, for large Payloads see {@link CompositeByteBuffer}.
  *
  * @author Thomas Freese
  * @see "org.springframework.core.io.buffer.DataBuffer"
@@ -82,6 +83,8 @@ public abstract class AbstractAutoExpandBuffer<B extends Buffer> {
     }
 
     public final AbstractAutoExpandBuffer<B> clear() {
+        onClear();
+
         getBuffer().clear();
 
         mark = -1;
@@ -203,4 +206,19 @@ public abstract class AbstractAutoExpandBuffer<B extends Buffer> {
 
     protected abstract B createNewBuffer(B buffer, int newCapacity);
 
+    /**
+     * Called before the Buffer is cleared, pooled Buffers can replace a grown Buffer here.
+     */
+    protected void onClear() {
+        // Empty
+    }
+
+    /**
+     * Replaces the Buffer without Copy, the Mark is discarded.
+     */
+    protected final void replaceBuffer(final B newBuffer) {
+        buffer = Objects.requireNonNull(newBuffer, "newBuffer required");
+        mark = -1;
+    }
+
 }
@@ -9,6 +9,9 @@ import java.nio.ByteOrder;
 import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.CharsetDecoder;
+import java.util.Objects;
+
+import org.jspecify.annotations.Nullable;
 
 /**
  * Adapter for the {@link Buffer} with AutoExpand-Function.
@@ -16,7 +19,7 @@ import java.nio.charset.CharsetDecoder;
  * @author Thomas Freese
  * @see "org.springframework.core.io.buffer.DataBuffer"
  */
-public final class AutoExpandByteBuffer extends AbstractAutoExpandBuffer<ByteBuffer> {
+public final class AutoExpandByteBuffer extends AbstractAutoExpandBuffer<ByteBuffer> implements AutoCloseable {
     /**
      * Default:<br>
      * - direct = true<br>
@@ -29,17 +32,35 @@ public final class AutoExpandByteBuffer extends AbstractAutoExpandBuffer<ByteBuf
     public static AutoExpandByteBuffer of(final int capacity, final boolean direct) {
         final ByteBuffer byteBuffer = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
 
-        return new AutoExpandByteBuffer(byteBuffer);
+        return new AutoExpandByteBuffer(byteBuffer, null);
+    }
+
+    /**
+     * Direct Buffer from the {@link ByteBufferPool}, the Capacity is rounded up to the next Size-Class.<br>
+     * The Growth and {@link #clear()} return the replaced Buffers into the Pool, {@link #release()} the current Buffer.
+     */
+    public static AutoExpandByteBuffer of(final int capacity, final ByteBufferPool pool) {
+        Objects.requireNonNull(pool, "pool required");
+
+        return new AutoExpandByteBuffer(pool.acquire(capacity), pool);
     }
 
+    private final int initialCapacity;
+    private final @Nullable ByteBufferPool pool;
+
+    private boolean released;
+
     /**
      * <pre>
      * ByteBuffer byteBuffer = idDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
      * return new AutoExpandByteBuffer(byteBuffer);
      * </pre>
      */
-    private AutoExpandByteBuffer(final ByteBuffer buffer) {
+    private AutoExpandByteBuffer(final ByteBuffer buffer, @Nullable final ByteBufferPool pool) {
         super(buffer);
+
+        this.pool = pool;
+        this.initialCapacity = buffer.capacity();
     }
 
     public InputStream asInputStream() {
@@ -119,6 +140,14 @@ public final class AutoExpandByteBuffer extends AbstractAutoExpandBuffer<ByteBuf
         };
     }
 
+    /**
+     * See {@link #release()}.
+     */
+    @Override
+    public void close() {
+        release();
+    }
+
     public CharBuffer decode(final CharsetDecoder decoder) throws CharacterCodingException {
         return decoder.reset().decode(getBuffer());
     }
@@ -244,6 +273,21 @@ public final class AutoExpandByteBuffer extends AbstractAutoExpandBuffer<ByteBuf
         return getBuffer().getShort(index);
     }
 
+    /**
+     * Returns the Buffer into the {@link ByteBufferPool}, without Pool nothing happens.<br>
+     * The Buffer is empty afterwards, the next Put acquires a new Buffer from the Pool.
+     */
+    public void release() {
+        if (pool == null || released) {
+            return;
+        }
+
+        pool.release(getBuffer());
+        replaceBuffer(ByteBuffer.allocate(0));
+
+        released = true;
+    }
+
     public AutoExpandByteBuffer put(final byte b) {
         autoExpand(1);
 
@@ -324,13 +368,43 @@ public final class AutoExpandByteBuffer extends AbstractAutoExpandBuffer<ByteBuf
     protected ByteBuffer createNewBuffer(final ByteBuffer buffer, final int newCapacity) {
         final ByteOrder bo = buffer.order();
 
-        final ByteBuffer newBuffer = buffer.isDirect() ? ByteBuffer.allocateDirect(newCapacity) : ByteBuffer.allocate(newCapacity);
+        final ByteBuffer newBuffer;
+
+        if (pool != null) {
+            newBuffer = pool.acquire(newCapacity);
+        }
+        else {
+            newBuffer = buffer.isDirect() ? ByteBuffer.allocateDirect(newCapacity) : ByteBuffer.allocate(newCapacity);
+        }
 
         buffer.flip();
         newBuffer.put(buffer);
 
         newBuffer.order(bo);
 
+        if (pool != null) {
+            if (!released) {
+                pool.release(buffer);
+            }
+
+            released = false;
+        }
+
         return newBuffer;
     }
+
+    /**
+     * A grown pooled Buffer is returned into the Pool and replaced by one with the initial Capacity.
+     */
+    @Override
+    protected void onClear() {
+        if (pool == null || released || capacity() <= initialCapacity) {
+            return;
+        }
+
+        final ByteBuffer newBuffer = pool.acquire(initialCapacity).order(getBuffer().order());
+
+        pool.release(getBuffer());
+        replaceBuffer(newBuffer);
+    }
 }
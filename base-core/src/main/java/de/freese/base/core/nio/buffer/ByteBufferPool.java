@@ -0,0 +1,335 @@
+// Created: 18.10.2026
+package de.freese.base.core.nio.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+
+import de.freese.base.core.pool.LeakDetection;
+import de.freese.base.core.pool.LeakTracker;
+import de.freese.base.core.pool.PoolLeak;
+
+/**
+ * Pool for direct {@link ByteBuffer}s with Size-Classes in "power of 2" Steps, started by 64 Bytes.<br>
+ * Released Buffers are cached per Thread first, the Overflow goes into a shared Arena limited by its Memory.<br>
+ * Only Buffers up to {@value #MAX_THREAD_CACHED_CAPACITY} Bytes are cached per Thread, like 'maxCachedBufferCapacity' of Netty:
+ * the Thread-Caches are not counted in the Arena-Memory and are not freed by {@link #close()},
+ * so a Thread holds max. 'threadCacheSize' * 64 KB of direct Memory.<br>
+ * Virtual Threads use only the shared Arena, a Cache per virtual Thread would never be reused.<br>
+ * Requests larger than the 'maxPooledCapacity' are allocated and released without Pooling.<br>
+ * <br>
+ * Each {@link #acquire(int)} needs exactly one {@link #release(ByteBuffer)}, the Buffer must not be used afterwards.<br>
+ * With a {@link LeakDetection} the acquired Buffers are tracked: Buffers held longer than the Threshold are logged once,
+ * a second Release throws an {@link IllegalStateException}.
+ *
+ * <pre>{@code
+ * ByteBuffer buffer = pool.acquire(8192);
+ *
+ * try {
+ *      channel.read(buffer);
+ * }
+ * finally {
+ *      pool.release(buffer);
+ * }
+ * }</pre>
+ *
+ * @author Thomas Freese
+ * @see "io.netty.buffer.PooledByteBufAllocator"
+ */
+public final class ByteBufferPool implements AutoCloseable {
+    private static final int MAX_THREAD_CACHED_CAPACITY = 32 * 1024;
+    private static final int MIN_SIZE_CLASS_SHIFT = 6;
+
+    /**
+     * Stacks of free Buffers per Size-Class of one Thread.
+     *
+     * @author Thomas Freese
+     */
+    private static final class ThreadCache {
+        private final ByteBuffer[][] stacks;
+        private final int[] sizes;
+
+        private ThreadCache(final int sizeClasses, final int threadCacheSize) {
+            super();
+
+            stacks = new ByteBuffer[sizeClasses][threadCacheSize];
+            sizes = new int[sizeClasses];
+        }
+
+        private boolean offer(final int sizeClass, final ByteBuffer buffer) {
+            final ByteBuffer[] stack = stacks[sizeClass];
+
+            if (sizes[sizeClass] == stack.length) {
+                return false;
+            }
+
+            stack[sizes[sizeClass]++] = buffer;
+
+            return true;
+        }
+
+        private @Nullable ByteBuffer poll(final int sizeClass) {
+            if (sizes[sizeClass] == 0) {
+                return null;
+            }
+
+            final ByteBuffer[] stack = stacks[sizeClass];
+            final int index = --sizes[sizeClass];
+
+            final ByteBuffer buffer = stack[index];
+            stack[index] = null;
+
+            return buffer;
+        }
+    }
+
+    /**
+     * Default:<br>
+     * - maxPooledCapacity = 4 MB<br>
+     * - threadCacheSize = 8 Buffers per Size-Class<br>
+     * - maxArenaMemory = 64 MB<br>
+     * - no Leak-Detection
+     */
+    public static ByteBufferPool of(final String name) {
+        return new ByteBufferPool(name, 4 * 1024 * 1024, 8, 64L * 1024L * 1024L, null);
+    }
+
+    /**
+     * @return int; Capacity of the Size-Class for the Capacity, minimum 64
+     */
+    static int sizeClassCapacity(final int capacity) {
+        return 1 << (sizeClass(capacity) + MIN_SIZE_CLASS_SHIFT);
+    }
+
+    private static int sizeClass(final int capacity) {
+        final int shift = 32 - Integer.numberOfLeadingZeros(Math.max(capacity, 1) - 1);
+
+        return Math.max(shift, MIN_SIZE_CLASS_SHIFT) - MIN_SIZE_CLASS_SHIFT;
+    }
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder allocationCount = new LongAdder();
+    private final AtomicLong arenaMemory = new AtomicLong();
+    private final List<Queue<ByteBuffer>> arenas;
+    private final @Nullable LeakTracker<ByteBuffer> leakTracker;
+    private final long maxArenaMemory;
+    private final int maxPooledCapacity;
+    private final String name;
+    private final LongAdder releaseCount = new LongAdder();
+    private final @Nullable ThreadLocal<ThreadCache> threadCaches;
+    /**
+     * Size-Classes above are not cached per Thread.
+     */
+    private final int threadCachedSizeClasses;
+
+    /**
+     * @param maxPooledCapacity int; larger Buffers are not pooled, is rounded up to the next Size-Class
+     * @param threadCacheSize int; free Buffers per Size-Class and Thread, 0 = only the shared Arena
+     * @param maxArenaMemory long; maximum Bytes of the free Buffers in the shared Arena
+     * @param leakDetection {@link LeakDetection}; optional
+     */
+    public ByteBufferPool(final String name, final int maxPooledCapacity, final int threadCacheSize, final long maxArenaMemory,
+                          @Nullable final LeakDetection leakDetection) {
+        super();
+
+        this.name = Objects.requireNonNull(name, "name required");
+
+        if (maxPooledCapacity < 1 || maxPooledCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("maxPooledCapacity must be between 1 and 2^30: " + maxPooledCapacity);
+        }
+
+        if (threadCacheSize < 0) {
+            throw new IllegalArgumentException("threadCacheSize < 0: " + threadCacheSize);
+        }
+
+        if (maxArenaMemory < 0L) {
+            throw new IllegalArgumentException("maxArenaMemory < 0: " + maxArenaMemory);
+        }
+
+        this.maxPooledCapacity = sizeClassCapacity(maxPooledCapacity);
+        this.maxArenaMemory = maxArenaMemory;
+
+        final int sizeClasses = sizeClass(this.maxPooledCapacity) + 1;
+
+        arenas = new ArrayList<>(sizeClasses);
+
+        for (int i = 0; i < sizeClasses; i++) {
+            arenas.add(new ConcurrentLinkedQueue<>());
+        }
+
+        threadCachedSizeClasses = sizeClass(Math.min(this.maxPooledCapacity, MAX_THREAD_CACHED_CAPACITY)) + 1;
+        threadCaches = threadCacheSize == 0 ? null : ThreadLocal.withInitial(() -> new ThreadCache(threadCachedSizeClasses, threadCacheSize));
+        leakTracker = leakDetection == null ? null : new LeakTracker<>(name, leakDetection, buffer -> "ByteBuffer[capacity=" + buffer.capacity() + "]");
+    }
+
+    /**
+     * Returns a cleared direct Buffer in {@link ByteOrder#BIG_ENDIAN}, the Capacity is rounded up to the next Size-Class.
+     */
+    public ByteBuffer acquire(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity < 1: " + capacity);
+        }
+
+        acquireCount.increment();
+
+        ByteBuffer buffer = null;
+
+        if (capacity <= maxPooledCapacity) {
+            final int sizeClass = sizeClass(capacity);
+            final ThreadCache threadCache = getThreadCache(sizeClass);
+
+            if (threadCache != null) {
+                buffer = threadCache.poll(sizeClass);
+            }
+
+            if (buffer == null) {
+                buffer = arenas.get(sizeClass).poll();
+
+                if (buffer != null) {
+                    arenaMemory.addAndGet(-buffer.capacity());
+                }
+            }
+
+            if (buffer == null) {
+                buffer = allocate(sizeClassCapacity(capacity));
+            }
+            else {
+                buffer.clear().order(ByteOrder.BIG_ENDIAN);
+            }
+        }
+        else {
+            buffer = allocate(capacity);
+        }
+
+        if (leakTracker != null) {
+            leakTracker.track(buffer);
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Frees the shared Arena and stops the Leak-Reporter.<br>
+     * The Thread-Caches are freed by the Garbage-Collector with their Threads.
+     */
+    @Override
+    public void close() {
+        if (leakTracker != null) {
+            leakTracker.close();
+        }
+
+        for (Queue<ByteBuffer> arena : arenas) {
+            arena.clear();
+        }
+
+        arenaMemory.set(0L);
+    }
+
+    /**
+     * Buffers held longer than the Threshold of the {@link LeakDetection}, empty without Leak-Detection.
+     */
+    public List<PoolLeak> findLeaks() {
+        return leakTracker == null ? List.of() : leakTracker.findLeaks();
+    }
+
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    /**
+     * Number of new allocated direct Buffers.
+     */
+    public long getAllocationCount() {
+        return allocationCount.sum();
+    }
+
+    /**
+     * Bytes of the free Buffers in the shared Arena.
+     */
+    public long getArenaMemory() {
+        return arenaMemory.get();
+    }
+
+    public int getMaxPooledCapacity() {
+        return maxPooledCapacity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Number of acquired and not released Buffers.
+     */
+    public long getOutstandingCount() {
+        return acquireCount.sum() - releaseCount.sum();
+    }
+
+    /**
+     * Returns the Buffer into the Pool, <code>null</code> is ignored.<br>
+     * Buffers without Size-Class, like heap Buffers or Slices, are not pooled.
+     */
+    public void release(@Nullable final ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+
+        if (leakTracker != null && leakTracker.untrack(buffer) < 0L) {
+            throw new IllegalStateException("buffer not acquired from pool '" + name + "' or already released");
+        }
+
+        releaseCount.increment();
+
+        final int capacity = buffer.capacity();
+
+        if (!buffer.isDirect() || buffer.isReadOnly() || capacity > maxPooledCapacity || capacity != sizeClassCapacity(capacity)) {
+            return;
+        }
+
+        final int sizeClass = sizeClass(capacity);
+        final ThreadCache threadCache = getThreadCache(sizeClass);
+
+        if (threadCache != null && threadCache.offer(sizeClass, buffer)) {
+            return;
+        }
+
+        if (arenaMemory.addAndGet(capacity) <= maxArenaMemory) {
+            arenas.get(sizeClass).offer(buffer);
+        }
+        else {
+            // Arena is full: the Buffer is freed by the Garbage-Collector.
+            arenaMemory.addAndGet(-capacity);
+        }
+    }
+
+    /**
+     * Logs each Leak once.
+     */
+    public void reportLeaks() {
+        if (leakTracker != null) {
+            leakTracker.reportLeaks();
+        }
+    }
+
+    private ByteBuffer allocate(final int capacity) {
+        allocationCount.increment();
+
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    private @Nullable ThreadCache getThreadCache(final int sizeClass) {
+        if (threadCaches == null || sizeClass >= threadCachedSizeClasses || Thread.currentThread().isVirtual()) {
+            return null;
+        }
+
+        return threadCaches.get();
+    }
+}
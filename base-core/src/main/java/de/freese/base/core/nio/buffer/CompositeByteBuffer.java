@@ -0,0 +1,623 @@
+// Created: 18.10.2026
+package de.freese.base.core.nio.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.InvalidMarkException;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ScatteringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Composite Variant of the {@link AutoExpandByteBuffer}:<br>
+ * the Buffer grows by appending Segments of a fixed Size, existing Bytes are never copied.<br>
+ * For large Payloads this avoids the repeated Copies and the doubled Peak-Memory of {@link AbstractAutoExpandBuffer#calculateNewCapacity(int)}.<br>
+ * Position, Limit and Capacity are long, so the Buffer can be larger than 2 GB.<br>
+ * <br>
+ * The Content between Position and Limit can be written to a {@link GatheringByteChannel} without Copies,
+ * {@link #read(ScatteringByteChannel, int)} fills the Segments directly from a {@link ScatteringByteChannel}.<br>
+ * Multibyte Values are stored in {@link java.nio.ByteOrder#BIG_ENDIAN} and may span Segment-Boundaries.<br>
+ * <br>
+ * This Class is not thread-safe.
+ *
+ * @author Thomas Freese
+ * @see "io.netty.buffer.CompositeByteBuf"
+ */
+public final class CompositeByteBuffer {
+    /**
+     * Default:<br>
+     * - segmentSize = 64 KB<br>
+     * - direct = true
+     */
+    public static CompositeByteBuffer of() {
+        return of(64 * 1024, true);
+    }
+
+    public static CompositeByteBuffer of(final int segmentSize, final boolean direct) {
+        if (segmentSize < 8) {
+            throw new IllegalArgumentException("segmentSize < 8: " + segmentSize);
+        }
+
+        return new CompositeByteBuffer(segmentSize, direct);
+    }
+
+    private final boolean direct;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final int segmentSize;
+
+    private long limit;
+    private long mark = -1L;
+    private long position;
+
+    private CompositeByteBuffer(final int segmentSize, final boolean direct) {
+        super();
+
+        this.segmentSize = segmentSize;
+        this.direct = direct;
+
+        addSegment();
+        limit = capacity();
+    }
+
+    public InputStream asInputStream() {
+        return new InputStream() {
+            @Override
+            public int available() {
+                return (int) Math.min(Integer.MAX_VALUE, CompositeByteBuffer.this.remaining());
+            }
+
+            @Override
+            public synchronized void mark(final int readLimit) {
+                CompositeByteBuffer.this.mark();
+            }
+
+            @Override
+            public boolean markSupported() {
+                return true;
+            }
+
+            @Override
+            public int read() {
+                if (CompositeByteBuffer.this.hasRemaining()) {
+                    return CompositeByteBuffer.this.get() & 0xff;
+                }
+
+                return -1;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) {
+                final long remaining = CompositeByteBuffer.this.remaining();
+
+                if (remaining > 0) {
+                    final int readBytes = (int) Math.min(remaining, len);
+                    CompositeByteBuffer.this.get(b, off, readBytes);
+
+                    return readBytes;
+                }
+
+                return -1;
+            }
+
+            @Override
+            public synchronized void reset() {
+                CompositeByteBuffer.this.reset();
+            }
+
+            @Override
+            public long skip(final long n) {
+                final long bytes = Math.max(0L, Math.min(CompositeByteBuffer.this.remaining(), n));
+
+                CompositeByteBuffer.this.skip(bytes);
+
+                return bytes;
+            }
+        };
+    }
+
+    public OutputStream asOutputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                CompositeByteBuffer.this.put(b, off, len);
+            }
+
+            @Override
+            public void write(final int b) {
+                CompositeByteBuffer.this.put((byte) b);
+            }
+        };
+    }
+
+    public long capacity() {
+        return (long) segments.size() * segmentSize;
+    }
+
+    /**
+     * The Segments are kept for the Reuse.
+     */
+    public CompositeByteBuffer clear() {
+        position = 0L;
+        limit = capacity();
+        mark = -1L;
+
+        return this;
+    }
+
+    public CompositeByteBuffer flip() {
+        limit = position;
+        position = 0L;
+        mark = -1L;
+
+        return this;
+    }
+
+    public byte get() {
+        checkRemaining(1);
+
+        final byte value = get(position);
+        position++;
+
+        return value;
+    }
+
+    public void get(final byte[] dst) {
+        get(dst, 0, dst.length);
+    }
+
+    public void get(final byte[] dst, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        checkRemaining(length);
+
+        int dstOffset = offset;
+        int bytesLeft = length;
+
+        while (bytesLeft > 0) {
+            final ByteBuffer segment = segment(position);
+            final int segmentOffset = segmentOffset(position);
+            final int bytes = Math.min(bytesLeft, segmentSize - segmentOffset);
+
+            segment.get(segmentOffset, dst, dstOffset, bytes);
+
+            position += bytes;
+            dstOffset += bytes;
+            bytesLeft -= bytes;
+        }
+    }
+
+    public byte get(final long index) {
+        Objects.checkIndex(index, limit);
+
+        return segment(index).get(segmentOffset(index));
+    }
+
+    /**
+     * Duplicates of the Segments between Position and Limit, usable for Gathering-Writes.<br>
+     * Position and Limit of this Buffer are not changed.
+     */
+    public ByteBuffer[] getBuffers() {
+        return views(position, limit);
+    }
+
+    public char getChar() {
+        return (char) getNumber(2);
+    }
+
+    public char getChar(final long index) {
+        return (char) getNumber(index, 2);
+    }
+
+    public double getDouble() {
+        return Double.longBitsToDouble(getNumber(8));
+    }
+
+    public double getDouble(final long index) {
+        return Double.longBitsToDouble(getNumber(index, 8));
+    }
+
+    public float getFloat() {
+        return Float.intBitsToFloat((int) getNumber(4));
+    }
+
+    public float getFloat(final long index) {
+        return Float.intBitsToFloat((int) getNumber(index, 4));
+    }
+
+    public String getHexDump() {
+        return getHexDump(Integer.MAX_VALUE);
+    }
+
+    public String getHexDump(final int lengthLimit) {
+        if (lengthLimit == 0) {
+            throw new IllegalArgumentException("lengthLimit: " + lengthLimit + " (expected: 1+)");
+        }
+
+        final boolean truncate = remaining() > lengthLimit;
+        final int size = truncate ? lengthLimit : (int) remaining();
+
+        if (size == 0) {
+            return "empty";
+        }
+
+        final char[] hexCode = "0123456789ABCDEF".toCharArray();
+
+        final StringBuilder sb = new StringBuilder(size * 2);
+
+        for (long index = position; index < position + size; index++) {
+            final int byteValue = get(index) & 0xFF;
+
+            sb.append(hexCode[byteValue >> 4]);
+            sb.append(hexCode[byteValue & 0xF]);
+        }
+
+        if (truncate) {
+            sb.append("...");
+        }
+
+        return sb.toString();
+    }
+
+    public int getInt() {
+        return (int) getNumber(4);
+    }
+
+    public int getInt(final long index) {
+        return (int) getNumber(index, 4);
+    }
+
+    public long getLong() {
+        return getNumber(8);
+    }
+
+    public long getLong(final long index) {
+        return getNumber(index, 8);
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public short getShort() {
+        return (short) getNumber(2);
+    }
+
+    public short getShort(final long index) {
+        return (short) getNumber(index, 2);
+    }
+
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    public long limit() {
+        return limit;
+    }
+
+    public CompositeByteBuffer limit(final long newLimit) {
+        if (newLimit < 0L) {
+            throw new IllegalArgumentException("newLimit < 0: " + newLimit);
+        }
+
+        ensureCapacity(newLimit);
+        limit = newLimit;
+
+        if (position > newLimit) {
+            position = newLimit;
+        }
+
+        if (mark > newLimit) {
+            mark = -1L;
+        }
+
+        return this;
+    }
+
+    public CompositeByteBuffer mark() {
+        mark = position;
+
+        return this;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public CompositeByteBuffer position(final long newPosition) {
+        if (newPosition < 0L) {
+            throw new IllegalArgumentException("newPosition < 0: " + newPosition);
+        }
+
+        autoExpand(newPosition, 0L);
+        position = newPosition;
+
+        if (mark > newPosition) {
+            mark = -1L;
+        }
+
+        return this;
+    }
+
+    public CompositeByteBuffer put(final byte b) {
+        autoExpand(1L);
+
+        segment(position).put(segmentOffset(position), b);
+        position++;
+
+        return this;
+    }
+
+    public CompositeByteBuffer put(final byte[] src) {
+        return put(src, 0, src.length);
+    }
+
+    public CompositeByteBuffer put(final byte[] src, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        autoExpand(length);
+
+        int srcOffset = offset;
+        int bytesLeft = length;
+
+        while (bytesLeft > 0) {
+            final ByteBuffer segment = segment(position);
+            final int segmentOffset = segmentOffset(position);
+            final int bytes = Math.min(bytesLeft, segmentSize - segmentOffset);
+
+            segment.put(segmentOffset, src, srcOffset, bytes);
+
+            position += bytes;
+            srcOffset += bytes;
+            bytesLeft -= bytes;
+        }
+
+        return this;
+    }
+
+    public CompositeByteBuffer put(final ByteBuffer src) {
+        autoExpand(src.remaining());
+
+        while (src.hasRemaining()) {
+            final ByteBuffer segment = segment(position);
+            final int segmentOffset = segmentOffset(position);
+            final int bytes = Math.min(src.remaining(), segmentSize - segmentOffset);
+
+            segment.put(segmentOffset, src, src.position(), bytes);
+
+            src.position(src.position() + bytes);
+            position += bytes;
+        }
+
+        return this;
+    }
+
+    public CompositeByteBuffer putChar(final char value) {
+        return putNumber(value, 2);
+    }
+
+    public CompositeByteBuffer putDouble(final double value) {
+        return putNumber(Double.doubleToRawLongBits(value), 8);
+    }
+
+    public CompositeByteBuffer putFloat(final float value) {
+        return putNumber(Float.floatToRawIntBits(value), 4);
+    }
+
+    public CompositeByteBuffer putInt(final int value) {
+        return putNumber(value, 4);
+    }
+
+    public CompositeByteBuffer putLong(final long value) {
+        return putNumber(value, 8);
+    }
+
+    public CompositeByteBuffer putShort(final short value) {
+        return putNumber(value, 2);
+    }
+
+    /**
+     * Scattering-Read of maximal <code>length</code> Bytes at the Position, the Buffer is expanded if necessary.
+     *
+     * @return long; Number of read Bytes, -1 at the End of the Channel
+     */
+    public long read(final ScatteringByteChannel channel, final int length) throws IOException {
+        Objects.requireNonNull(channel, "channel required");
+
+        if (length < 1) {
+            throw new IllegalArgumentException("length < 1: " + length);
+        }
+
+        autoExpand(length);
+
+        final long bytesRead = channel.read(views(position, position + length));
+
+        if (bytesRead > 0L) {
+            position += bytesRead;
+        }
+
+        return bytesRead;
+    }
+
+    public long remaining() {
+        return limit - position;
+    }
+
+    public CompositeByteBuffer reset() {
+        if (mark < 0L) {
+            throw new InvalidMarkException();
+        }
+
+        position = mark;
+
+        return this;
+    }
+
+    /**
+     * Forwards the position of this buffer as the specified <code>size</code> bytes.
+     */
+    public CompositeByteBuffer skip(final long size) {
+        return position(position + size);
+    }
+
+    /**
+     * Gathering-Write of the Bytes between Position and Limit, the Position is moved by the written Bytes.<br>
+     * Non-blocking Channels may write less Bytes, then call this Method again while {@link #hasRemaining()}.
+     *
+     * @return long; Number of written Bytes
+     */
+    public long write(final GatheringByteChannel channel) throws IOException {
+        Objects.requireNonNull(channel, "channel required");
+
+        if (!hasRemaining()) {
+            return 0L;
+        }
+
+        final long bytesWritten = channel.write(getBuffers());
+
+        position += bytesWritten;
+
+        return bytesWritten;
+    }
+
+    private void addSegment() {
+        if (capacity() + segmentSize < 0L) {
+            throw new BufferOverflowException();
+        }
+
+        segments.add(direct ? ByteBuffer.allocateDirect(segmentSize) : ByteBuffer.allocate(segmentSize));
+    }
+
+    private void autoExpand(final long expectedRemaining) {
+        autoExpand(position, expectedRemaining);
+    }
+
+    private void autoExpand(final long position, final long expectedRemaining) {
+        final long newLimit = position + expectedRemaining;
+
+        if (newLimit > capacity()) {
+            // Append Segments, the existing Bytes are not touched.
+            ensureCapacity(newLimit);
+
+            limit = capacity();
+        }
+
+        if (newLimit > limit) {
+            limit = newLimit;
+        }
+    }
+
+    private void checkRemaining(final int length) {
+        if (remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+    }
+
+    private void ensureCapacity(final long newCapacity) {
+        while (capacity() < newCapacity) {
+            addSegment();
+        }
+    }
+
+    private long getNumber(final int bytes) {
+        checkRemaining(bytes);
+
+        final long value = getNumber(position, bytes);
+        position += bytes;
+
+        return value;
+    }
+
+    private long getNumber(final long index, final int bytes) {
+        Objects.checkFromIndexSize(index, bytes, limit);
+
+        final ByteBuffer segment = segment(index);
+        final int segmentOffset = segmentOffset(index);
+
+        // Fast Path: the Value is inside one Segment.
+        if (segmentOffset + bytes <= segmentSize) {
+            return switch (bytes) {
+                case 2 -> segment.getShort(segmentOffset);
+                case 4 -> segment.getInt(segmentOffset);
+                default -> segment.getLong(segmentOffset);
+            };
+        }
+
+        long value = 0L;
+
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | (get(index + i) & 0xFFL);
+        }
+
+        // Sign-Extension for short and int.
+        final int shift = 64 - (bytes * 8);
+
+        return (value << shift) >> shift;
+    }
+
+    private CompositeByteBuffer putNumber(final long value, final int bytes) {
+        autoExpand(bytes);
+
+        final ByteBuffer segment = segment(position);
+        final int segmentOffset = segmentOffset(position);
+
+        // Fast Path: the Value fits into one Segment.
+        if (segmentOffset + bytes <= segmentSize) {
+            switch (bytes) {
+                case 2 -> segment.putShort(segmentOffset, (short) value);
+                case 4 -> segment.putInt(segmentOffset, (int) value);
+                default -> segment.putLong(segmentOffset, value);
+            }
+
+            position += bytes;
+
+            return this;
+        }
+
+        for (int i = bytes - 1; i >= 0; i--) {
+            put((byte) (value >>> (i * 8)));
+        }
+
+        return this;
+    }
+
+    private ByteBuffer segment(final long index) {
+        return segments.get((int) (index / segmentSize));
+    }
+
+    private int segmentOffset(final long index) {
+        return (int) (index % segmentSize);
+    }
+
+    private ByteBuffer[] views(final long from, final long to) {
+        if (from >= to) {
+            return new ByteBuffer[0];
+        }
+
+        final int firstSegment = (int) (from / segmentSize);
+        final int lastSegment = (int) ((to - 1L) / segmentSize);
+
+        final ByteBuffer[] views = new ByteBuffer[lastSegment - firstSegment + 1];
+
+        for (int i = 0; i < views.length; i++) {
+            final long segmentStart = (long) (firstSegment + i) * segmentSize;
+            final int start = (int) Math.max(0L, from - segmentStart);
+            final int end = (int) Math.min(segmentSize, to - segmentStart);
+
+            views[i] = segments.get(firstSegment + i).slice(start, end - start);
+        }
+
+        return views;
+    }
+}
@@ -0,0 +1,290 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorator of the {@link Pool}s registered by the {@link PoolManager}, records the Borrows and Returns in the {@link PoolTelemetry}
+ * and detects Leaks with an optional {@link LeakDetection}.<br>
+ * Only with Leak-Detection every borrowed Object is tracked, otherwise the Hold-Time is measured for every n-th Borrow
+ * in a Slot of the borrowing Thread and the other Borrows do not allocate.<br>
+ * The Slot holds one Sample per Thread, Objects returned by another Thread or never returned are not measured.
+ *
+ * @author Thomas Freese
+ */
+final class InstrumentedPool<T> implements Pool<T> {
+    private static final int HOLD_SAMPLING_INTERVAL = 16;
+    private static final Logger LOGGER = LoggerFactory.getLogger(InstrumentedPool.class);
+
+    /**
+     * Sampled Borrow of the current Thread.
+     *
+     * @author Thomas Freese
+     */
+    private static final class HoldSample {
+        private long borrowNanos;
+        private @Nullable Object object;
+    }
+
+    /**
+     * JMX-View of the Metrics.
+     *
+     * @author Thomas Freese
+     */
+    private static final class MetricsMXBean implements PoolMetricsMXBean {
+        private static double toMillis(final double nanos) {
+            return nanos / 1_000_000D;
+        }
+
+        private final InstrumentedPool<?> pool;
+
+        MetricsMXBean(final InstrumentedPool<?> pool) {
+            super();
+
+            this.pool = pool;
+        }
+
+        @Override
+        public int getActive() {
+            return pool.telemetry.getActive();
+        }
+
+        @Override
+        public long getBorrowedCount() {
+            return pool.telemetry.snapshot().borrowedCount();
+        }
+
+        @Override
+        public double getBorrowMeanMillis() {
+            return toMillis(pool.telemetry.snapshot().borrow().mean());
+        }
+
+        @Override
+        public double getBorrowP99Millis() {
+            return toMillis(pool.telemetry.snapshot().borrow().p99());
+        }
+
+        @Override
+        public int getCapacity() {
+            return pool.telemetry.snapshot().capacity();
+        }
+
+        @Override
+        public long getCreatedCount() {
+            return pool.telemetry.snapshot().createdCount();
+        }
+
+        @Override
+        public long getDestroyedCount() {
+            return pool.telemetry.snapshot().destroyedCount();
+        }
+
+        @Override
+        public int getHighWaterMark() {
+            return pool.telemetry.getHighWaterMark();
+        }
+
+        @Override
+        public double getHoldP99Millis() {
+            return toMillis(pool.telemetry.snapshot().hold().p99());
+        }
+
+        @Override
+        public String[] getLeaks() {
+            return pool.findLeaks().stream().map(PoolLeak::toString).toArray(String[]::new);
+        }
+
+        @Override
+        public long getTimeoutCount() {
+            return pool.telemetry.snapshot().timeoutCount();
+        }
+
+        @Override
+        public double getUtilization() {
+            return pool.telemetry.snapshot().utilization();
+        }
+
+        @Override
+        public double getWaitMeanMillis() {
+            return toMillis(pool.telemetry.snapshot().waiting().mean());
+        }
+
+        @Override
+        public double getWaitP99Millis() {
+            return toMillis(pool.telemetry.snapshot().waiting().p99());
+        }
+    }
+
+    private final Pool<T> delegate;
+    private final ThreadLocal<HoldSample> holdSample = ThreadLocal.withInitial(HoldSample::new);
+    private final boolean leakDetection;
+    private final LeakTracker<T> leakTracker;
+    private final String name;
+    private final PoolTelemetry telemetry;
+
+    private @Nullable ObjectName objectName;
+
+    InstrumentedPool(final String name, final Pool<T> delegate, final PoolTelemetry telemetry, @Nullable final LeakDetection leakDetection) {
+        super();
+
+        this.name = Objects.requireNonNull(name, "name required");
+        this.delegate = Objects.requireNonNull(delegate, "delegate required");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry required");
+        this.leakDetection = leakDetection != null;
+        this.leakTracker = new LeakTracker<>(name, leakDetection, String::valueOf);
+    }
+
+    @Override
+    public void close() {
+        leakTracker.close();
+
+        unregisterMBean();
+
+        delegate.close();
+    }
+
+    /**
+     * Objects held longer than the Threshold of the {@link LeakDetection}, empty without Leak-Detection.
+     */
+    public List<PoolLeak> findLeaks() {
+        return leakTracker.findLeaks();
+    }
+
+    @Override
+    public T getObject() throws Exception {
+        final long start = System.nanoTime();
+
+        return onBorrow(delegate.getObject(), start);
+    }
+
+    @Override
+    public T getObject(final Duration timeout) throws Exception {
+        final long start = System.nanoTime();
+
+        return onBorrow(delegate.getObject(timeout), start);
+    }
+
+    public PoolTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iFace) {
+        return iFace.isInstance(delegate) || delegate.isWrapperFor(iFace);
+    }
+
+    /**
+     * Registers the Metrics as MXBean 'de.freese.base:type=Pool,name=...'.
+     */
+    public synchronized void registerMBean() {
+        if (objectName != null) {
+            return;
+        }
+
+        try {
+            objectName = new ObjectName("de.freese.base:type=Pool,name=" + ObjectName.quote(name));
+
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMXBean(this), objectName);
+        }
+        catch (JMException ex) {
+            objectName = null;
+
+            LOGGER.warn("MBean registration failed for pool {}: {}", name, ex.getMessage());
+        }
+    }
+
+    /**
+     * Logs each Leak once.
+     */
+    public void reportLeaks() {
+        leakTracker.reportLeaks();
+    }
+
+    @Override
+    public void returnObject(@Nullable final T object) {
+        if (object != null) {
+            final long holdNanos = leakDetection ? leakTracker.untrack(object) : untrackSample(object);
+
+            if (holdNanos >= 0L) {
+                telemetry.onReturn(holdNanos);
+            }
+            else {
+                telemetry.onReturn();
+            }
+        }
+
+        delegate.returnObject(object);
+    }
+
+    @Override
+    public <C> C unwrap(final Class<C> iFace) throws UnsupportedOperationException {
+        if (iFace.isInstance(delegate)) {
+            return iFace.cast(delegate);
+        }
+
+        return delegate.unwrap(iFace);
+    }
+
+    synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        }
+        catch (JMException ex) {
+            LOGGER.warn(ex.getMessage());
+        }
+        finally {
+            objectName = null;
+        }
+    }
+
+    private T onBorrow(final T object, final long start) {
+        telemetry.onBorrow(System.nanoTime() - start);
+
+        if (leakDetection) {
+            leakTracker.track(object);
+        }
+        else if (ThreadLocalRandom.current().nextInt(HOLD_SAMPLING_INTERVAL) == 0) {
+            // Without Leak-Detection only a Sample for the Hold-Time, overwrites the previous Sample of the Thread.
+            final HoldSample sample = holdSample.get();
+            sample.object = object;
+            sample.borrowNanos = System.nanoTime();
+        }
+
+        return object;
+    }
+
+    /**
+     * @return long; Nanos since the sampled Borrow, -1 if the Object is not the Sample of the current Thread
+     */
+    private long untrackSample(final T object) {
+        final HoldSample sample = holdSample.get();
+
+        if (sample.object != object) {
+            return -1L;
+        }
+
+        sample.object = null;
+
+        return System.nanoTime() - sample.borrowNanos;
+    }
+}
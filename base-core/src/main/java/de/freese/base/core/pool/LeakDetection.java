@@ -0,0 +1,28 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Settings of the Leak-Detection of a {@link Pool} registered by the {@link PoolManager}.<br>
+ * Capturing the Stack of a Borrow is expensive, therefore only every n-th Borrow is sampled.
+ *
+ * @param threshold {@link Duration}; Objects held longer are reported as Leak, also the Interval of the Check
+ * @param samplingInterval int; every n-th Borrow captures its Stack, 1 = every Borrow
+ *
+ * @author Thomas Freese
+ */
+public record LeakDetection(Duration threshold, int samplingInterval) {
+    public LeakDetection {
+        Objects.requireNonNull(threshold, "threshold required");
+
+        if (!threshold.isPositive()) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+
+        if (samplingInterval < 1) {
+            throw new IllegalArgumentException("samplingInterval < 1: " + samplingInterval);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.freese.base.core.concurrent.SharedScheduler;
+
+/**
+ * Tracks the borrowed Objects of a Pool by Identity.<br>
+ * With a {@link LeakDetection} the Stack of every n-th Borrow is captured and a shared Daemon-Thread logs each Leak once,
+ * without only the Hold-Time is measured.
+ *
+ * @author Thomas Freese
+ */
+public final class LeakTracker<T> implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeakTracker.class);
+
+    /**
+     * @author Thomas Freese
+     */
+    private static final class Borrow<T> {
+        private final long borrowNanos;
+        private final T object;
+        private final @Nullable Throwable site;
+        private final String threadName = Thread.currentThread().getName();
+
+        private volatile boolean reported;
+
+        private Borrow(final T object, final long borrowNanos, @Nullable final Throwable site) {
+            super();
+
+            this.object = object;
+            this.borrowNanos = borrowNanos;
+            this.site = site;
+        }
+    }
+
+    /**
+     * Key with Identity-Semantic, pooled Objects can be equal.
+     *
+     * @author Thomas Freese
+     */
+    private record IdentityKey(Object object) {
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof IdentityKey(Object other) && other == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+
+    private final AtomicLong borrowCounter = new AtomicLong();
+    private final Map<IdentityKey, Borrow<T>> borrowed = new ConcurrentHashMap<>();
+    private final Function<? super T, String> describer;
+    private final @Nullable LeakDetection leakDetection;
+    private final @Nullable ScheduledFuture<?> leakReportTask;
+    private final String poolName;
+
+    /**
+     * @param leakDetection {@link LeakDetection}; optional, without no Stacks are captured and no Leaks are reported
+     * @param describer {@link Function}; Description of a leaked Object
+     */
+    public LeakTracker(final String poolName, @Nullable final LeakDetection leakDetection, final Function<? super T, String> describer) {
+        super();
+
+        this.poolName = Objects.requireNonNull(poolName, "poolName required");
+        this.describer = Objects.requireNonNull(describer, "describer required");
+        this.leakDetection = leakDetection;
+
+        if (leakDetection != null) {
+            final long intervalNanos = leakDetection.threshold().toNanos();
+
+            leakReportTask = SharedScheduler.get().scheduleWithFixedDelay(this::reportLeaks, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+        else {
+            leakReportTask = null;
+        }
+    }
+
+    /**
+     * Stops the Leak-Reporter.
+     */
+    @Override
+    public void close() {
+        if (leakReportTask != null) {
+            leakReportTask.cancel(false);
+        }
+    }
+
+    /**
+     * Objects held longer than the Threshold of the {@link LeakDetection}, empty without Leak-Detection.
+     */
+    public List<PoolLeak> findLeaks() {
+        if (leakDetection == null) {
+            return List.of();
+        }
+
+        final long now = System.nanoTime();
+        final long thresholdNanos = leakDetection.threshold().toNanos();
+        final List<PoolLeak> leaks = new ArrayList<>();
+
+        for (Borrow<T> borrow : borrowed.values()) {
+            final long heldNanos = now - borrow.borrowNanos;
+
+            if (heldNanos > thresholdNanos) {
+                leaks.add(new PoolLeak(poolName, describer.apply(borrow.object), borrow.threadName, Duration.ofNanos(heldNanos),
+                        borrow.site == null ? new StackTraceElement[0] : borrow.site.getStackTrace()));
+            }
+        }
+
+        return leaks;
+    }
+
+    /**
+     * Logs each Leak once.
+     */
+    public void reportLeaks() {
+        if (leakDetection == null) {
+            return;
+        }
+
+        final long thresholdNanos = leakDetection.threshold().toNanos();
+        final long now = System.nanoTime();
+
+        for (Borrow<T> borrow : borrowed.values()) {
+            if (!borrow.reported && now - borrow.borrowNanos > thresholdNanos) {
+                borrow.reported = true;
+
+                LOGGER.warn("Possible leak in pool {}: {} held for {} by {}", poolName, describer.apply(borrow.object),
+                        Duration.ofNanos(now - borrow.borrowNanos), borrow.threadName, borrow.site);
+            }
+        }
+    }
+
+    /**
+     * Tracks a borrowed Object, the Stack is captured by the Sampling-Interval of the {@link LeakDetection}.
+     */
+    public void track(final T object) {
+        Throwable site = null;
+
+        if (leakDetection != null && borrowCounter.getAndIncrement() % leakDetection.samplingInterval() == 0L) {
+            site = new Throwable("Borrow-Site");
+        }
+
+        borrowed.put(new IdentityKey(object), new Borrow<>(object, System.nanoTime(), site));
+    }
+
+    /**
+     * @return long; Nanos since {@link #track(Object)}, -1 if the Object is not tracked
+     */
+    public long untrack(final T object) {
+        if (borrowed.isEmpty()) {
+            return -1L;
+        }
+
+        final Borrow<T> borrow = borrowed.remove(new IdentityKey(object));
+
+        return borrow == null ? -1L : System.nanoTime() - borrow.borrowNanos;
+    }
+}
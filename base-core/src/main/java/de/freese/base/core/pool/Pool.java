@@ -1,6 +1,8 @@
 // Created: 04 Feb. 2026
 package de.freese.base.core.pool;
 
+import java.time.Duration;
+
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -11,6 +13,13 @@ public interface Pool<T> {
 
     T getObject() throws Exception;
 
+    /**
+     * Waits max. the Timeout for a free Object, Pools without Limit ignore the Timeout.
+     */
+    default T getObject(final Duration timeout) throws Exception {
+        return getObject();
+    }
+
     default PooledObject<T> getPooledObject() throws Exception {
         return new PooledObject<>(this, getObject());
     }
@@ -18,4 +18,11 @@ public interface PoolFactory<T> {
     PoolFactory<T> minSize(int minSize);
 
     PoolFactory<T> objectSupplier(FailableSupplier<T, Exception> objectSupplier);
+
+    /**
+     * The built Pool reports Creations, Destructions and Wait-Times, if supported.
+     */
+    default PoolFactory<T> telemetry(final PoolTelemetry telemetry) {
+        return this;
+    }
 }
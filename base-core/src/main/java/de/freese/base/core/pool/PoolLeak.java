@@ -0,0 +1,29 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool;
+
+import java.time.Duration;
+
+/**
+ * Object held longer than the Threshold of the {@link LeakDetection}.
+ *
+ * @param poolName String; Name of the Pool
+ * @param object String; Description of the Object
+ * @param threadName String; Thread of the Borrow
+ * @param heldFor {@link Duration}; Time since the Borrow
+ * @param borrowSite {@link StackTraceElement}[]; Stack of the Borrow, empty if not sampled
+ *
+ * @author Thomas Freese
+ */
+public record PoolLeak(String poolName, String object, String threadName, Duration heldFor, StackTraceElement[] borrowSite) {
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(poolName).append(": ").append(object).append(" held for ").append(heldFor).append(" by ").append(threadName);
+
+        for (StackTraceElement element : borrowSite) {
+            sb.append(System.lineSeparator()).append("\tat ").append(element);
+        }
+
+        return sb.toString();
+    }
+}
@@ -1,21 +1,27 @@
 // Created: 04 Feb. 2026
 package de.freese.base.core.pool;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.BiConsumer;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Registry of named {@link Pool}s.<br>
+ * Each registered Pool records its {@link PoolMetrics}, which are also available by JMX as 'de.freese.base:type=Pool,name=...'.<br>
+ * With a {@link LeakDetection} the Objects held longer than the Threshold are logged and available by {@link #findLeaks(String)}.
+ *
  * @author Thomas Freese
  */
 @SuppressWarnings("unchecked")
 public final class PoolManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(PoolManager.class);
 
-    private static final Map<String, Pool<?>> POOLS = new ConcurrentSkipListMap<>();
+    private static final Map<String, InstrumentedPool<?>> POOLS = new ConcurrentSkipListMap<>();
 
     public static void close() {
         LOGGER.info("Closing all pools");
@@ -32,26 +38,46 @@ public final class PoolManager {
         POOLS.clear();
     }
 
-    public static synchronized <T> Pool<T> createPool(final String name, final PoolFactory<T> poolFactory) {
-        Pool<?> pool = POOLS.get(name);
+    public static <T> Pool<T> createPool(final String name, final PoolFactory<T> poolFactory) {
+        return createPool(name, poolFactory, null);
+    }
 
-        if (pool != null) {
+    public static synchronized <T> Pool<T> createPool(final String name, final PoolFactory<T> poolFactory, @Nullable final LeakDetection leakDetection) {
+        if (POOLS.containsKey(name)) {
             throw new IllegalStateException("Pool already exists: " + name);
         }
 
-        pool = poolFactory.build();
+        final PoolTelemetry telemetry = new PoolTelemetry();
+
+        final InstrumentedPool<T> pool = new InstrumentedPool<>(name, poolFactory.telemetry(telemetry).build(), telemetry, leakDetection);
+        pool.registerMBean();
 
         POOLS.put(name, pool);
 
-        return (Pool<T>) pool;
+        return pool;
+    }
+
+    /**
+     * Objects held longer than the Threshold of the {@link LeakDetection}, empty without Leak-Detection.
+     */
+    public static List<PoolLeak> findLeaks(final String name) {
+        return getInstrumentedPool(name).findLeaks();
     }
 
     public static void forEach(final BiConsumer<String, Pool<?>> consumer) {
         POOLS.forEach(consumer);
     }
 
+    public static PoolMetrics getMetrics(final String name) {
+        return getInstrumentedPool(name).getTelemetry().snapshot();
+    }
+
     public static <T> Pool<T> getPool(final String name) {
-        final Pool<T> pool = (Pool<T>) POOLS.get(name);
+        return getInstrumentedPool(name);
+    }
+
+    private static <T> InstrumentedPool<T> getInstrumentedPool(final String name) {
+        final InstrumentedPool<T> pool = (InstrumentedPool<T>) POOLS.get(name);
 
         if (pool == null) {
             throw new IllegalStateException("Pool not found: " + name);
@@ -0,0 +1,30 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool;
+
+import de.freese.base.core.metrics.HistogramSnapshot;
+
+/**
+ * Snapshot of a {@link PoolTelemetry}.
+ *
+ * @param active int; Number of borrowed Objects
+ * @param highWaterMark int; highest Number of borrowed Objects
+ * @param capacity int; Maximum Number of Objects, 0 for unbounded Pools
+ * @param borrowedCount long; Number of Borrows
+ * @param createdCount long; Number of created Objects
+ * @param destroyedCount long; Number of destroyed Objects
+ * @param timeoutCount long; Number of Borrows failed by a Timeout
+ * @param borrow {@link HistogramSnapshot}; Duration of the Borrows in Nanoseconds
+ * @param waiting {@link HistogramSnapshot}; Time waiting for a free Object in Nanoseconds
+ * @param hold {@link HistogramSnapshot}; Time between Borrow and Return in Nanoseconds
+ *
+ * @author Thomas Freese
+ */
+public record PoolMetrics(int active, int highWaterMark, int capacity, long borrowedCount, long createdCount, long destroyedCount, long timeoutCount,
+                          HistogramSnapshot borrow, HistogramSnapshot waiting, HistogramSnapshot hold) {
+    /**
+     * Borrowed Objects in Relation to the Capacity, NaN for unbounded Pools.
+     */
+    public double utilization() {
+        return capacity <= 0 ? Double.NaN : (double) active / capacity;
+    }
+}
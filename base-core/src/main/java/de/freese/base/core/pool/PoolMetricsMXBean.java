@@ -0,0 +1,43 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool;
+
+/**
+ * JMX-View of the {@link PoolMetrics} and Leaks, the Times are in Milliseconds.
+ *
+ * @author Thomas Freese
+ */
+public interface PoolMetricsMXBean {
+    int getActive();
+
+    long getBorrowedCount();
+
+    double getBorrowMeanMillis();
+
+    double getBorrowP99Millis();
+
+    int getCapacity();
+
+    long getCreatedCount();
+
+    long getDestroyedCount();
+
+    int getHighWaterMark();
+
+    double getHoldP99Millis();
+
+    /**
+     * Objects held longer than the Threshold of the Leak-Detection.
+     */
+    String[] getLeaks();
+
+    long getTimeoutCount();
+
+    /**
+     * Borrowed Objects in Relation to the Capacity, NaN for unbounded Pools.
+     */
+    double getUtilization();
+
+    double getWaitMeanMillis();
+
+    double getWaitP99Millis();
+}
@@ -0,0 +1,121 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.function.FailableSupplier;
+
+import de.freese.base.core.metrics.RollingHistogram;
+
+/**
+ * Collects the Metrics of a {@link Pool}, the Times are in Nanoseconds.<br>
+ * Borrows and Returns are recorded by the {@link PoolManager},
+ * Creations, Destructions, Wait-Times and Timeouts by the Pool-Implementations if a {@link PoolFactory} supports it.
+ *
+ * @author Thomas Freese
+ */
+public final class PoolTelemetry {
+    private final AtomicInteger active = new AtomicInteger();
+    private final RollingHistogram borrowHistogram = new RollingHistogram();
+    private final LongAdder borrowedCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder destroyedCount = new LongAdder();
+    private final AtomicInteger highWaterMark = new AtomicInteger();
+    private final RollingHistogram holdHistogram = new RollingHistogram();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final RollingHistogram waitHistogram = new RollingHistogram();
+
+    private volatile int capacity;
+
+    /**
+     * Counts the created Objects.
+     */
+    public <T> FailableSupplier<T, Exception> countCreations(final FailableSupplier<T, Exception> objectSupplier) {
+        return () -> {
+            final T object = objectSupplier.get();
+            createdCount.increment();
+
+            return object;
+        };
+    }
+
+    /**
+     * Counts the destroyed Objects.
+     */
+    public <T> Consumer<T> countDestructions(final Consumer<T> doOnClose) {
+        return object -> {
+            destroyedCount.increment();
+            doOnClose.accept(object);
+        };
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    /**
+     * @param borrowNanos long; Duration of the Borrow inclusive Waiting and Creation
+     */
+    public void onBorrow(final long borrowNanos) {
+        borrowHistogram.record(borrowNanos);
+        borrowedCount.increment();
+
+        final int current = active.incrementAndGet();
+
+        if (current > highWaterMark.get()) {
+            highWaterMark.accumulateAndGet(current, Math::max);
+        }
+    }
+
+    public void onCreate() {
+        createdCount.increment();
+    }
+
+    public void onDestroy() {
+        destroyedCount.increment();
+    }
+
+    /**
+     * Return without measured Hold-Time.
+     */
+    public void onReturn() {
+        active.decrementAndGet();
+    }
+
+    /**
+     * @param holdNanos long; Time between Borrow and Return
+     */
+    public void onReturn(final long holdNanos) {
+        onReturn();
+        holdHistogram.record(holdNanos);
+    }
+
+    public void onTimeout() {
+        timeoutCount.increment();
+    }
+
+    /**
+     * @param waitNanos long; Time waiting for a free Object of a bounded Pool
+     */
+    public void onWait(final long waitNanos) {
+        waitHistogram.record(waitNanos);
+    }
+
+    /**
+     * Maximum Number of Objects, 0 for unbounded Pools.
+     */
+    public void setCapacity(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    public PoolMetrics snapshot() {
+        return new PoolMetrics(active.get(), highWaterMark.get(), capacity, borrowedCount.sum(), createdCount.sum(), destroyedCount.sum(), timeoutCount.sum(),
+                borrowHistogram.snapshot(), waitHistogram.snapshot(), holdHistogram.snapshot());
+    }
+}
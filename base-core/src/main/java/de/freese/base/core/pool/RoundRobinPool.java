@@ -4,21 +4,65 @@ package de.freese.base.core.pool;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
 
 import org.apache.commons.lang3.function.FailableSupplier;
 
 /**
+ * Shares a fixed Number of Members, e.g. Connections or Clients.<br>
+ * The Member is chosen lock-free by a {@link SelectionStrategy}, default is {@link SelectionStrategy#roundRobin()}.<br>
+ * {@link #acquire()} tracks the In-Flight Usages per Member until the {@link Lease} is closed,
+ * so load-aware Strategies send less Traffic to slow Members.
+ *
  * @author Thomas Freese
  */
 public final class RoundRobinPool<T> implements AutoCloseable {
+    /**
+     * Usage of a Member, must be closed after the Usage.
+     *
+     * @author Thomas Freese
+     */
+    public static final class Lease<T> implements AutoCloseable {
+        private final int index;
+        private final T object;
+        private final RoundRobinPool<T> pool;
+
+        private boolean released;
+
+        private Lease(final RoundRobinPool<T> pool, final int index, final T object) {
+            super();
+
+            this.pool = pool;
+            this.index = index;
+            this.object = object;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                pool.inFlight.decrementAndGet(index);
+            }
+        }
 
-    // private static final AtomicIntegerFieldUpdater<RoundRobinPool> NEXT_INDEX = AtomicIntegerFieldUpdater.newUpdater(RoundRobinPool.class, "nextIndex");
+        public int getIndex() {
+            return index;
+        }
+
+        public T getObject() {
+            return object;
+        }
+    }
 
     private final Consumer<T> doOnClose;
-    private final List<T> queue;
+    private final AtomicIntegerArray inFlight;
+    private final IntUnaryOperator inFlightView;
+    private final List<T> members;
+    private final SelectionStrategy selectionStrategy;
 
-    private volatile int nextIndex;
+    private volatile boolean closed;
 
     public RoundRobinPool(final int size, final FailableSupplier<T, Exception> creator) throws Exception {
         this(size, creator, v -> {
@@ -26,6 +70,11 @@ public final class RoundRobinPool<T> implements AutoCloseable {
     }
 
     public RoundRobinPool(final int size, final FailableSupplier<T, Exception> creator, final Consumer<T> doOnClose) throws Exception {
+        this(size, creator, doOnClose, SelectionStrategy.roundRobin());
+    }
+
+    public RoundRobinPool(final int size, final FailableSupplier<T, Exception> creator, final Consumer<T> doOnClose, final SelectionStrategy selectionStrategy)
+            throws Exception {
         super();
 
         if (size < 1) {
@@ -33,39 +82,63 @@ public final class RoundRobinPool<T> implements AutoCloseable {
         }
 
         Objects.requireNonNull(creator, "creator required");
-        Objects.requireNonNull(doOnClose, "doOnClose required");
+        this.doOnClose = Objects.requireNonNull(doOnClose, "doOnClose required");
+        this.selectionStrategy = Objects.requireNonNull(selectionStrategy, "selectionStrategy required");
 
-        queue = new ArrayList<>(size);
-        this.doOnClose = doOnClose;
+        final List<T> list = new ArrayList<>(size);
 
         for (int i = 0; i < size; i++) {
-            queue.add(creator.get());
+            list.add(creator.get());
         }
+
+        members = list;
+        inFlight = new AtomicIntegerArray(size);
+        inFlightView = inFlight::get;
+    }
+
+    /**
+     * Chooses a Member and counts its Usage until the {@link Lease} is closed.
+     */
+    public Lease<T> acquire() {
+        final int index = select();
+        inFlight.incrementAndGet(index);
+
+        return new Lease<>(this, index, members.get(index));
     }
 
     @Override
     public void close() {
-        queue.forEach(doOnClose);
-        queue.clear();
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        members.forEach(doOnClose);
     }
 
-    public synchronized T get() {
-        // if (NEXT_INDEX.get(this) == queue.size()) {
-        //     NEXT_INDEX.set(this, 0);
-        // }
-        //
-        // final T object = queue.get(NEXT_INDEX.get(this));
-        //
-        // NEXT_INDEX.incrementAndGet(this);
-
-        if (nextIndex == queue.size()) {
-            nextIndex = 0;
-        }
+    /**
+     * Chooses a Member without counting its Usage.
+     */
+    public T get() {
+        return members.get(select());
+    }
 
-        final T object = queue.get(nextIndex);
+    /**
+     * Number of open {@link Lease}s of the Member.
+     */
+    public int getInFlight(final int index) {
+        return inFlight.get(index);
+    }
 
-        nextIndex += 1;
+    public int getSize() {
+        return members.size();
+    }
+
+    private int select() {
+        if (closed) {
+            throw new IllegalStateException("pool is closed");
+        }
 
-        return object;
+        return selectionStrategy.select(members.size(), inFlightView);
     }
 }
@@ -0,0 +1,155 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Chooses the Member of a {@link RoundRobinPool}, the Implementations are lock-free.<br>
+ * The Strategies have a State, each Pool needs its own Instance.
+ *
+ * @author Thomas Freese
+ */
+@FunctionalInterface
+public interface SelectionStrategy {
+    /**
+     * Maximum Length of the precalculated Sequence of {@link #weightedRoundRobin(int...)}.
+     */
+    int MAX_WEIGHTED_SEQUENCE_LENGTH = 1 << 16;
+
+    /**
+     * The Member with the fewest In-Flight Usages, Ties are resolved in Rotation.<br>
+     * Scans all Members, for small Pools.
+     */
+    static SelectionStrategy leastOutstanding() {
+        final AtomicInteger cursor = new AtomicInteger();
+
+        return (size, inFlight) -> {
+            final int start = Math.floorMod(cursor.getAndIncrement(), size);
+            int selected = start;
+            int min = Integer.MAX_VALUE;
+
+            for (int i = 0; i < size; i++) {
+                final int index = (start + i) % size;
+                final int usage = inFlight.applyAsInt(index);
+
+                if (usage < min) {
+                    min = usage;
+                    selected = index;
+
+                    if (usage == 0) {
+                        break;
+                    }
+                }
+            }
+
+            return selected;
+        };
+    }
+
+    /**
+     * The less used of two random Members, nearly as good as {@link #leastOutstanding()} without scanning all Members.
+     */
+    static SelectionStrategy powerOfTwoChoices() {
+        return (size, inFlight) -> {
+            if (size == 1) {
+                return 0;
+            }
+
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int first = random.nextInt(size);
+            // Second Member is always different from the first.
+            final int second = (first + 1 + random.nextInt(size - 1)) % size;
+
+            return inFlight.applyAsInt(second) < inFlight.applyAsInt(first) ? second : first;
+        };
+    }
+
+    static SelectionStrategy roundRobin() {
+        final AtomicInteger cursor = new AtomicInteger();
+
+        return (size, _) -> Math.floorMod(cursor.getAndIncrement(), size);
+    }
+
+    /**
+     * Each Member is chosen according to its Weight, the Sequence is interleaved (smooth weighted Round Robin).<br>
+     * The Sequence is calculated once, the Selection only moves a Cursor.<br>
+     * The Weights are reduced by their greatest common Divisor, the reduced Sum must not exceed {@link #MAX_WEIGHTED_SEQUENCE_LENGTH}.
+     *
+     * @param weights int[]; one Weight per Member
+     */
+    static SelectionStrategy weightedRoundRobin(final int... weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("weights required");
+        }
+
+        int gcd = 0;
+
+        for (int weight : weights) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("weight < 1: " + weight);
+            }
+
+            gcd = gcd(gcd, weight);
+        }
+
+        final int[] reducedWeights = new int[weights.length];
+        int totalWeight = 0;
+
+        for (int i = 0; i < weights.length; i++) {
+            reducedWeights[i] = weights[i] / gcd;
+
+            try {
+                totalWeight = Math.addExact(totalWeight, reducedWeights[i]);
+            }
+            catch (ArithmeticException ex) {
+                throw new IllegalArgumentException("sum of weights overflows", ex);
+            }
+        }
+
+        if (totalWeight > MAX_WEIGHTED_SEQUENCE_LENGTH) {
+            throw new IllegalArgumentException("sum of reduced weights > " + MAX_WEIGHTED_SEQUENCE_LENGTH + ": " + totalWeight);
+        }
+
+        final int[] sequence = new int[totalWeight];
+        final int[] currentWeights = new int[weights.length];
+
+        for (int s = 0; s < totalWeight; s++) {
+            int selected = 0;
+
+            for (int i = 0; i < weights.length; i++) {
+                currentWeights[i] += reducedWeights[i];
+
+                if (currentWeights[i] > currentWeights[selected]) {
+                    selected = i;
+                }
+            }
+
+            currentWeights[selected] -= totalWeight;
+            sequence[s] = selected;
+        }
+
+        final AtomicInteger cursor = new AtomicInteger();
+
+        return (size, _) -> {
+            if (size != weights.length) {
+                throw new IllegalStateException("weights do not match pool size: " + weights.length + " != " + size);
+            }
+
+            return sequence[Math.floorMod(cursor.getAndIncrement(), sequence.length)];
+        };
+    }
+
+    private static int gcd(final int a, final int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * @param size int; Number of Members, always greater than 0
+     * @param inFlight {@link IntUnaryOperator}; Number of In-Flight Usages of the Member with the Index
+     *
+     * @return int; Index of the Member
+     */
+    int select(int size, IntUnaryOperator inFlight);
+}
@@ -8,9 +8,11 @@ import org.apache.commons.lang3.function.FailableSupplier;
 import org.apache.commons.pool2.PooledObjectFactory;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.jspecify.annotations.Nullable;
 
 import de.freese.base.core.pool.Pool;
 import de.freese.base.core.pool.PoolFactory;
+import de.freese.base.core.pool.PoolTelemetry;
 
 /**
  * @author Thomas Freese
@@ -20,6 +22,7 @@ public final class ApachePoolFactory<T> implements PoolFactory<T> {
     private int maxSize = Integer.MAX_VALUE - 1;
     private int minSize = 1;
     private FailableSupplier<T, Exception> objectSupplier;
+    private @Nullable PoolTelemetry telemetry;
 
     @Override
     public Pool<T> build() {
@@ -29,7 +32,11 @@ public final class ApachePoolFactory<T> implements PoolFactory<T> {
             throw new IllegalArgumentException("minSize > maxSize: " + minSize + " > " + maxSize);
         }
 
-        final PooledObjectFactory<T> objectFactory = new ExpiryObjectFactory<>(expiry, objectSupplier);
+        final PooledObjectFactory<T> objectFactory = new ExpiryObjectFactory<>(expiry, objectSupplier, telemetry);
+
+        if (telemetry != null) {
+            telemetry.setCapacity(maxSize);
+        }
 
         final GenericObjectPoolConfig<T> config = new GenericObjectPoolConfig<>();
         config.setMaxTotal(maxSize);
@@ -79,4 +86,11 @@ public final class ApachePoolFactory<T> implements PoolFactory<T> {
 
         return this;
     }
+
+    @Override
+    public PoolFactory<T> telemetry(final PoolTelemetry telemetry) {
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry required");
+
+        return this;
+    }
 }
@@ -10,9 +10,12 @@ import org.apache.commons.lang3.function.FailableSupplier;
 import org.apache.commons.pool2.BasePooledObjectFactory;
 import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.freese.base.core.pool.PoolTelemetry;
+
 /**
  * @author Thomas Freese
  */
@@ -22,18 +25,24 @@ final class ExpiryObjectFactory<T> extends BasePooledObjectFactory<T> {
     private final Duration expiry;
     private final FailableSupplier<T, Exception> objectSupplier;
     private final Clock systemClock = Clock.systemUTC();
+    private final @Nullable PoolTelemetry telemetry;
 
-    ExpiryObjectFactory(final Duration expiry, final FailableSupplier<T, Exception> objectSupplier) {
+    ExpiryObjectFactory(final Duration expiry, final FailableSupplier<T, Exception> objectSupplier, @Nullable final PoolTelemetry telemetry) {
         super();
 
         this.expiry = Objects.requireNonNull(expiry, "expiry required");
         this.objectSupplier = Objects.requireNonNull(objectSupplier, "objectSupplier required");
+        this.telemetry = telemetry;
     }
 
     @Override
     public T create() throws Exception {
         final T object = objectSupplier.get();
 
+        if (telemetry != null) {
+            telemetry.onCreate();
+        }
+
         LOGGER.debug("Object created for pool: {} / {}", object.getClass().getName(), object);
 
         return object;
@@ -43,6 +52,10 @@ final class ExpiryObjectFactory<T> extends BasePooledObjectFactory<T> {
     public void destroyObject(final PooledObject<T> p) throws Exception {
         final T object = p.getObject();
 
+        if (telemetry != null) {
+            telemetry.onDestroy();
+        }
+
         if (object instanceof final AutoCloseable ac) {
             LOGGER.debug("Closing object from pool: {}", object.getClass().getName());
 
@@ -0,0 +1,681 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool.bounded;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.function.FailableSupplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.freese.base.core.concurrent.NamedThreadFactory;
+import de.freese.base.core.pool.Pool;
+import de.freese.base.core.pool.PoolTelemetry;
+
+/**
+ * Pool with a Limit of Objects.<br>
+ * If all Objects are borrowed, the Callers wait in FIFO Order, a returned Object is handed over directly to the longest waiting Caller.<br>
+ * Idle Objects are evicted by a shared Background-Thread, if they are expired, idle too long or invalid.<br>
+ * The Evictor-Thread is shared only by the Pools: Validation, Close and Creation of Objects can block, e.g. for Connections,
+ * so the Eviction does not run on the {@link de.freese.base.core.concurrent.SharedScheduler}.
+ *
+ * @author Thomas Freese
+ */
+final class BoundedPool<T> implements Pool<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoundedPool.class);
+
+    /**
+     * Lazy Holder of the shared Evictor.
+     *
+     * @author Thomas Freese
+     */
+    private static final class EvictorHolder {
+        private static final ScheduledExecutorService EVICTOR;
+
+        static {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("bounded-pool-evictor-%d"));
+            executor.setRemoveOnCancelPolicy(true);
+
+            EVICTOR = executor;
+        }
+    }
+
+    /**
+     * @author Thomas Freese
+     */
+    private static final class Entry<T> {
+        private final long createdNanos = System.nanoTime();
+        private final T object;
+
+        private long idleSinceNanos;
+
+        private Entry(final T object) {
+            super();
+
+            this.object = object;
+        }
+    }
+
+    /**
+     * Waiting Caller, gets an Object or the Permit to create one.
+     *
+     * @author Thomas Freese
+     */
+    private static final class Waiter<T> {
+        private final Condition condition;
+
+        private boolean closed;
+        private boolean createPermit;
+        private @Nullable Entry<T> entry;
+        /**
+         * Object handed over before an Interrupt, which can not be passed on.
+         */
+        private @Nullable Entry<T> toDestroy;
+
+        private Waiter(final Condition condition) {
+            super();
+
+            this.condition = condition;
+        }
+
+        private boolean isSatisfied() {
+            return closed || createPermit || entry != null;
+        }
+    }
+
+    private final Map<T, Entry<T>> active = new IdentityHashMap<>();
+    private final Duration borrowTimeout;
+    private final Consumer<T> doOnClose;
+    private final @Nullable ScheduledFuture<?> evictionTask;
+    private final long expiryNanos;
+    /**
+     * The most recently returned Object is at the Head.
+     */
+    private final Deque<Entry<T>> idle = new ArrayDeque<>();
+    private final long idleTimeoutNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxIdle;
+    private final int maxTotal;
+    private final int minIdle;
+    private final FailableSupplier<T, Exception> objectSupplier;
+    private final boolean testOnBorrow;
+    private final boolean testWhileIdle;
+    private final @Nullable PoolTelemetry telemetry;
+    private final Predicate<T> validator;
+    private final Deque<Waiter<T>> waiters = new ArrayDeque<>();
+
+    private boolean closed;
+    /**
+     * Number of active, idle and currently created Objects.
+     */
+    private int total;
+
+    BoundedPool(final BoundedPoolFactory<T> factory) {
+        super();
+
+        this.objectSupplier = Objects.requireNonNull(factory.getObjectSupplier(), "objectSupplier required");
+        this.validator = factory.getValidator();
+        this.doOnClose = factory.getDoOnClose();
+        this.borrowTimeout = factory.getBorrowTimeout();
+        this.expiryNanos = factory.getExpiry() == null ? 0L : factory.getExpiry().toNanos();
+        this.idleTimeoutNanos = factory.getIdleTimeout() == null ? 0L : factory.getIdleTimeout().toNanos();
+        this.maxTotal = factory.getMaxSize();
+        this.maxIdle = factory.getMaxIdle();
+        this.minIdle = factory.getMinSize();
+        this.testOnBorrow = factory.isTestOnBorrow();
+        this.testWhileIdle = factory.isTestWhileIdle();
+        this.telemetry = factory.getTelemetry();
+
+        ensureMinIdle();
+
+        final Duration evictionInterval = factory.getEvictionInterval();
+
+        if (evictionInterval != null && evictionInterval.isPositive()) {
+            final long intervalNanos = evictionInterval.toNanos();
+
+            this.evictionTask = EvictorHolder.EVICTOR.scheduleWithFixedDelay(this::evict, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+        else {
+            this.evictionTask = null;
+        }
+    }
+
+    /**
+     * Destroys the idle Objects and wakes up the waiting Callers, borrowed Objects are destroyed on Return.
+     */
+    @Override
+    public void close() {
+        if (evictionTask != null) {
+            evictionTask.cancel(false);
+        }
+
+        final List<Entry<T>> toDestroy;
+
+        lock.lock();
+
+        try {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            LOGGER.info("Closing Pool: Size={}, NumActive={}, NumIdle={}, NumWaiters={}", total, active.size(), idle.size(), waiters.size());
+
+            toDestroy = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+
+            for (Waiter<T> waiter : waiters) {
+                waiter.closed = true;
+                waiter.condition.signal();
+            }
+
+            waiters.clear();
+        }
+        finally {
+            lock.unlock();
+        }
+
+        toDestroy.forEach(this::destroy);
+    }
+
+    /**
+     * Validates the idle Objects and evicts the expired, too long idle or invalid Objects, the Pool is filled up to the Minimum of idle Objects.
+     */
+    public void evict() {
+        final List<Entry<T>> toDestroy = new ArrayList<>();
+        final List<Entry<T>> toTest = new ArrayList<>();
+
+        lock.lock();
+
+        try {
+            if (closed) {
+                return;
+            }
+
+            final long now = System.nanoTime();
+
+            // Beginning with the longest idle Object.
+            for (Iterator<Entry<T>> iterator = idle.descendingIterator(); iterator.hasNext(); ) {
+                final Entry<T> entry = iterator.next();
+
+                if (isExpired(entry, now) || idleTimeoutNanos > 0L && now - entry.idleSinceNanos > idleTimeoutNanos && idle.size() > minIdle) {
+                    iterator.remove();
+                    total--;
+                    toDestroy.add(entry);
+                }
+            }
+
+            if (testWhileIdle) {
+                // The Objects are borrowed during the Test.
+                for (Entry<T> entry : idle) {
+                    active.put(entry.object, entry);
+                    toTest.add(entry);
+                }
+
+                idle.clear();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+
+        toDestroy.forEach(this::destroy);
+
+        final List<Entry<T>> passed = new ArrayList<>(toTest.size());
+
+        for (Entry<T> entry : toTest) {
+            if (isValid(entry.object)) {
+                passed.add(entry);
+            }
+            else {
+                invalidate(entry);
+            }
+        }
+
+        if (!passed.isEmpty()) {
+            restoreIdle(passed);
+        }
+
+        ensureMinIdle();
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public int getNumActive() {
+        lock.lock();
+
+        try {
+            return active.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int getNumIdle() {
+        lock.lock();
+
+        try {
+            return idle.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int getNumWaiters() {
+        lock.lock();
+
+        try {
+            return waiters.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits max. the configured Borrow-Timeout.
+     */
+    @Override
+    public T getObject() throws Exception {
+        return getObject(borrowTimeout);
+    }
+
+    /**
+     * @throws TimeoutException if no Object is free after the Timeout
+     * @throws IllegalStateException if the Pool is closed
+     */
+    @Override
+    public T getObject(final Duration timeout) throws Exception {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (true) {
+            Entry<T> entry = null;
+            Waiter<T> waiter = null;
+
+            lock.lockInterruptibly();
+
+            try {
+                checkOpen();
+
+                if (waiters.isEmpty()) {
+                    entry = idle.pollFirst();
+
+                    if (entry != null) {
+                        active.put(entry.object, entry);
+                    }
+                    else if (total < maxTotal) {
+                        total++;
+                    }
+                    else {
+                        waiter = new Waiter<>(lock.newCondition());
+                    }
+                }
+                else {
+                    // FIFO: older Callers first.
+                    waiter = new Waiter<>(lock.newCondition());
+                }
+
+                if (waiter != null) {
+                    entry = await(waiter, deadline);
+                }
+            }
+            finally {
+                lock.unlock();
+
+                if (waiter != null && waiter.toDestroy != null) {
+                    destroy(waiter.toDestroy);
+                }
+            }
+
+            if (entry == null) {
+                return create().object;
+            }
+
+            if (isExpired(entry, System.nanoTime()) || testOnBorrow && !isValid(entry.object)) {
+                invalidate(entry);
+
+                continue;
+            }
+
+            return entry.object;
+        }
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iFace) {
+        return iFace.isInstance(this);
+    }
+
+    @Override
+    public void returnObject(@Nullable final T object) {
+        if (object == null) {
+            return;
+        }
+
+        Entry<T> toDestroy = null;
+
+        lock.lock();
+
+        try {
+            final Entry<T> entry = active.remove(object);
+
+            if (entry == null) {
+                LOGGER.warn("Object is not borrowed from this pool: {}", object);
+
+                return;
+            }
+
+            if (isExpired(entry, System.nanoTime())) {
+                total--;
+                grantCreatePermit();
+                toDestroy = entry;
+            }
+            else {
+                toDestroy = release(entry);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+
+        if (toDestroy != null) {
+            destroy(toDestroy);
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+
+        try {
+            return getClass().getSimpleName() + "[maxTotal=" + maxTotal + ", active=" + active.size() + ", idle=" + idle.size() + ", waiters=" + waiters.size() + "]";
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public <C> C unwrap(final Class<C> iFace) throws UnsupportedOperationException {
+        if (iFace.isInstance(this)) {
+            return iFace.cast(this);
+        }
+
+        throw new UnsupportedOperationException("Pool is not an instance of " + iFace);
+    }
+
+    /**
+     * Parks the Caller in the FIFO-Queue, must hold the Lock.<br>
+     * An Object, which can not be passed on after an Interrupt, is kept in the {@link Waiter} and destroyed by the Caller after the Unlock.
+     *
+     * @return {@link Entry}; null if the Caller got the Permit to create a new Object
+     */
+    private @Nullable Entry<T> await(final Waiter<T> waiter, final long deadline) throws InterruptedException, TimeoutException {
+        waiters.addLast(waiter);
+
+        final long start = System.nanoTime();
+
+        try {
+            long remaining = deadline - start;
+
+            while (!waiter.isSatisfied()) {
+                if (remaining <= 0L) {
+                    waiters.remove(waiter);
+
+                    if (telemetry != null) {
+                        telemetry.onTimeout();
+                    }
+
+                    throw new TimeoutException("Timeout waiting for pooled object, maxTotal=" + maxTotal);
+                }
+
+                remaining = waiter.condition.awaitNanos(remaining);
+            }
+
+            if (telemetry != null) {
+                telemetry.onWait(System.nanoTime() - start);
+            }
+        }
+        catch (InterruptedException ex) {
+            waiters.remove(waiter);
+
+            // Pass on what was already handed over.
+            if (waiter.entry != null) {
+                active.remove(waiter.entry.object);
+
+                waiter.toDestroy = release(waiter.entry);
+            }
+            else if (waiter.createPermit) {
+                total--;
+                grantCreatePermit();
+            }
+
+            throw ex;
+        }
+
+        if (waiter.closed) {
+            throw new IllegalStateException("pool is closed");
+        }
+
+        return waiter.entry;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("pool is closed");
+        }
+    }
+
+    /**
+     * The Slot must be already reserved by incrementing the Total.
+     */
+    private Entry<T> create() throws Exception {
+        final Entry<T> entry;
+
+        try {
+            entry = new Entry<>(Objects.requireNonNull(objectSupplier.get(), "created object required"));
+        }
+        catch (Exception ex) {
+            lock.lock();
+
+            try {
+                total--;
+                grantCreatePermit();
+            }
+            finally {
+                lock.unlock();
+            }
+
+            throw ex;
+        }
+
+        lock.lock();
+
+        try {
+            active.put(entry.object, entry);
+        }
+        finally {
+            lock.unlock();
+        }
+
+        return entry;
+    }
+
+    private void destroy(final Entry<T> entry) {
+        try {
+            doOnClose.accept(entry.object);
+        }
+        catch (RuntimeException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Pre-Warming of the idle Objects.
+     */
+    private void ensureMinIdle() {
+        while (true) {
+            lock.lock();
+
+            try {
+                if (closed || idle.size() >= minIdle || total >= maxTotal || !waiters.isEmpty()) {
+                    return;
+                }
+
+                total++;
+            }
+            finally {
+                lock.unlock();
+            }
+
+            try {
+                returnObject(create().object);
+            }
+            catch (Exception ex) {
+                LOGGER.warn("Pre-warming failed: {}", ex.getMessage());
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * The longest waiting Caller may create a new Object, must hold the Lock.
+     */
+    private void grantCreatePermit() {
+        if (total < maxTotal && !waiters.isEmpty()) {
+            final Waiter<T> waiter = waiters.pollFirst();
+            total++;
+            waiter.createPermit = true;
+            waiter.condition.signal();
+        }
+    }
+
+    /**
+     * Hands the Object over to the longest waiting Caller, must hold the Lock.
+     *
+     * @return boolean; true if a Caller was waiting
+     */
+    private boolean handOver(final Entry<T> entry) {
+        if (waiters.isEmpty()) {
+            return false;
+        }
+
+        final Waiter<T> waiter = waiters.pollFirst();
+        active.put(entry.object, entry);
+        waiter.entry = entry;
+        waiter.condition.signal();
+
+        return true;
+    }
+
+    private void invalidate(final Entry<T> entry) {
+        lock.lock();
+
+        try {
+            if (active.remove(entry.object) == null) {
+                return;
+            }
+
+            total--;
+            grantCreatePermit();
+        }
+        finally {
+            lock.unlock();
+        }
+
+        destroy(entry);
+    }
+
+    private boolean isExpired(final Entry<T> entry, final long now) {
+        return expiryNanos > 0L && now - entry.createdNanos > expiryNanos;
+    }
+
+    private boolean isValid(final T object) {
+        try {
+            return validator.test(object);
+        }
+        catch (RuntimeException ex) {
+            LOGGER.warn("Validation failed: {}", ex.getMessage());
+
+            return false;
+        }
+    }
+
+    /**
+     * Hands the Object over to the longest waiting Caller or puts it into the idle Objects, must hold the Lock.
+     *
+     * @return {@link Entry}; not null if the Object must be destroyed
+     */
+    private @Nullable Entry<T> release(final Entry<T> entry) {
+        if (handOver(entry)) {
+            return null;
+        }
+
+        if (closed || idle.size() >= maxIdle) {
+            total--;
+
+            return entry;
+        }
+
+        entry.idleSinceNanos = System.nanoTime();
+        idle.addFirst(entry);
+
+        return null;
+    }
+
+    /**
+     * Puts the tested Objects back with their Idle-Time behind the Objects returned during the Test, so the LIFO-Order is kept.
+     *
+     * @param entries {@link List}; in the Order of the idle Objects, beginning with the most recently returned
+     */
+    private void restoreIdle(final List<Entry<T>> entries) {
+        final List<Entry<T>> toDestroy = new ArrayList<>();
+
+        lock.lock();
+
+        try {
+            for (Entry<T> entry : entries) {
+                if (active.remove(entry.object) == null || handOver(entry)) {
+                    continue;
+                }
+
+                if (closed || idle.size() >= maxIdle) {
+                    total--;
+                    toDestroy.add(entry);
+                }
+                else {
+                    idle.addLast(entry);
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+
+        toDestroy.forEach(this::destroy);
+    }
+}
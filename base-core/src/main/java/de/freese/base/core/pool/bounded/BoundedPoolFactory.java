@@ -0,0 +1,248 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool.bounded;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.function.FailableSupplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.freese.base.core.pool.Pool;
+import de.freese.base.core.pool.PoolFactory;
+import de.freese.base.core.pool.PoolTelemetry;
+
+/**
+ * Builds a Pool with a Limit of Objects, blocking Borrow, Validation and idle Eviction.<br>
+ * Defaults: maxSize = 8, maxIdle = maxSize, minSize = 0, borrowTimeout = 30 Seconds, no Expiry,
+ * idleTimeout = 10 Minutes, evictionInterval = 30 Seconds, testOnBorrow = true, testWhileIdle = false.<br>
+ * Destroyed {@link AutoCloseable} Objects are closed.
+ *
+ * @author Thomas Freese
+ */
+public final class BoundedPoolFactory<T> implements PoolFactory<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoundedPoolFactory.class);
+
+    private static void closeIfAutoCloseable(final Object object) {
+        if (object instanceof final AutoCloseable ac) {
+            LOGGER.debug("Closing object from pool: {}", object.getClass().getName());
+
+            try {
+                ac.close();
+            }
+            catch (Exception ex) {
+                LOGGER.warn("Closing failed: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private Duration borrowTimeout = Duration.ofSeconds(30L);
+    private Consumer<T> doOnClose = BoundedPoolFactory::closeIfAutoCloseable;
+    private @Nullable Duration evictionInterval = Duration.ofSeconds(30L);
+    private @Nullable Duration expiry;
+    private @Nullable Duration idleTimeout = Duration.ofMinutes(10L);
+    private int maxIdle = -1;
+    private int maxSize = 8;
+    private int minSize;
+    private FailableSupplier<T, Exception> objectSupplier;
+    private @Nullable PoolTelemetry telemetry;
+    private boolean testOnBorrow = true;
+    private boolean testWhileIdle;
+    private Predicate<T> validator = _ -> true;
+
+    /**
+     * Default Timeout of {@link Pool#getObject()}.
+     */
+    public BoundedPoolFactory<T> borrowTimeout(final Duration borrowTimeout) {
+        this.borrowTimeout = Objects.requireNonNull(borrowTimeout, "borrowTimeout required");
+
+        return this;
+    }
+
+    @Override
+    public Pool<T> build() {
+        Objects.requireNonNull(objectSupplier, "objectSupplier required");
+
+        if (minSize > getMaxIdle()) {
+            throw new IllegalArgumentException("minSize > maxIdle: " + minSize + " > " + getMaxIdle());
+        }
+
+        if (getMaxIdle() > maxSize) {
+            throw new IllegalArgumentException("maxIdle > maxSize: " + getMaxIdle() + " > " + maxSize);
+        }
+
+        if (telemetry != null) {
+            telemetry.setCapacity(maxSize);
+        }
+
+        return new BoundedPool<>(this);
+    }
+
+    /**
+     * Called for each destroyed Object, default closes {@link AutoCloseable} Objects.
+     */
+    public BoundedPoolFactory<T> doOnClose(final Consumer<T> doOnClose) {
+        this.doOnClose = Objects.requireNonNull(doOnClose, "doOnClose required");
+
+        return this;
+    }
+
+    /**
+     * Interval of the Background-Eviction, null or zero disables the Eviction.
+     */
+    public BoundedPoolFactory<T> evictionInterval(@Nullable final Duration evictionInterval) {
+        this.evictionInterval = evictionInterval;
+
+        return this;
+    }
+
+    /**
+     * Maximum Lifetime of an Object.
+     */
+    @Override
+    public BoundedPoolFactory<T> expiry(final Duration expiry) {
+        this.expiry = Objects.requireNonNull(expiry, "expiry required");
+
+        return this;
+    }
+
+    /**
+     * Maximum Time an Object may be idle, if more than 'minSize' Objects are idle; null disables it.
+     */
+    public BoundedPoolFactory<T> idleTimeout(@Nullable final Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+
+        return this;
+    }
+
+    /**
+     * Maximum Number of idle Objects, further returned Objects are destroyed.
+     */
+    public BoundedPoolFactory<T> maxIdle(final int maxIdle) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("maxIdle < 0: " + maxIdle);
+        }
+
+        this.maxIdle = maxIdle;
+
+        return this;
+    }
+
+    /**
+     * Maximum Number of active and idle Objects.
+     */
+    @Override
+    public BoundedPoolFactory<T> maxSize(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0: " + maxSize);
+        }
+
+        this.maxSize = maxSize;
+
+        return this;
+    }
+
+    /**
+     * Minimum Number of idle Objects, created while building the Pool and by the Eviction.
+     */
+    @Override
+    public BoundedPoolFactory<T> minSize(final int minSize) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("minSize < 0: " + minSize);
+        }
+
+        this.minSize = minSize;
+
+        return this;
+    }
+
+    @Override
+    public BoundedPoolFactory<T> objectSupplier(final FailableSupplier<T, Exception> objectSupplier) {
+        this.objectSupplier = Objects.requireNonNull(objectSupplier, "objectSupplier required");
+
+        return this;
+    }
+
+    @Override
+    public BoundedPoolFactory<T> telemetry(final PoolTelemetry telemetry) {
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry required");
+
+        return this;
+    }
+
+    public BoundedPoolFactory<T> testOnBorrow(final boolean testOnBorrow) {
+        this.testOnBorrow = testOnBorrow;
+
+        return this;
+    }
+
+    /**
+     * Validates the idle Objects in the Background-Eviction.
+     */
+    public BoundedPoolFactory<T> testWhileIdle(final boolean testWhileIdle) {
+        this.testWhileIdle = testWhileIdle;
+
+        return this;
+    }
+
+    public BoundedPoolFactory<T> validator(final Predicate<T> validator) {
+        this.validator = Objects.requireNonNull(validator, "validator required");
+
+        return this;
+    }
+
+    Duration getBorrowTimeout() {
+        return borrowTimeout;
+    }
+
+    Consumer<T> getDoOnClose() {
+        return telemetry == null ? doOnClose : telemetry.countDestructions(doOnClose);
+    }
+
+    @Nullable Duration getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    @Nullable Duration getExpiry() {
+        return expiry;
+    }
+
+    @Nullable Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    int getMaxIdle() {
+        return maxIdle < 0 ? maxSize : maxIdle;
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    int getMinSize() {
+        return minSize;
+    }
+
+    FailableSupplier<T, Exception> getObjectSupplier() {
+        return telemetry == null ? objectSupplier : telemetry.countCreations(objectSupplier);
+    }
+
+    @Nullable PoolTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    Predicate<T> getValidator() {
+        return validator;
+    }
+
+    boolean isTestOnBorrow() {
+        return testOnBorrow;
+    }
+
+    boolean isTestWhileIdle() {
+        return testWhileIdle;
+    }
+}
@@ -0,0 +1,221 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool.recycler;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.function.FailableSupplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.freese.base.core.pool.Pool;
+
+/**
+ * Unbounded Pool like the SimplePool with a Fast-Path for the Reuse in the same Thread.<br>
+ * Each Thread has a small Magazine of idle Objects, Borrow and Return within the same Thread need no Synchronisation.<br>
+ * A full Magazine spills half of its Objects into a shared Overflow-Stack, an empty Magazine refills from it in Batches.<br>
+ * An Object returned by another Thread goes into the Magazine of the returning Thread.<br>
+ * Objects not fitting into the full Overflow-Stack are dropped.<br>
+ * <br>
+ * Virtual-Threads have their own Magazines too, so the Fast-Path pays off for long-living Threads.
+ *
+ * @author Thomas Freese
+ */
+final class RecyclerPool<T> implements Pool<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecyclerPool.class);
+
+    /**
+     * Idle Objects of one Thread, used only by the owning Thread.
+     *
+     * @author Thomas Freese
+     */
+    private static final class Magazine {
+        private final Object[] objects;
+
+        private int size;
+
+        private Magazine(final int capacity) {
+            super();
+
+            this.objects = new Object[capacity];
+        }
+    }
+
+    private final int batchSize;
+    private final ThreadLocal<Magazine> magazines;
+    private final FailableSupplier<T, Exception> objectSupplier;
+    private final Object[] shared;
+    private final ReentrantLock sharedLock = new ReentrantLock();
+
+    private volatile boolean closed;
+    private int sharedSize;
+
+    RecyclerPool(final FailableSupplier<T, Exception> objectSupplier, final int magazineSize, final int sharedCapacity) {
+        super();
+
+        this.objectSupplier = Objects.requireNonNull(objectSupplier, "objectSupplier required");
+
+        if (magazineSize < 2) {
+            throw new IllegalArgumentException("magazineSize < 2: " + magazineSize);
+        }
+
+        if (sharedCapacity < 0) {
+            throw new IllegalArgumentException("sharedCapacity < 0: " + sharedCapacity);
+        }
+
+        this.magazines = ThreadLocal.withInitial(() -> new Magazine(magazineSize));
+        this.batchSize = magazineSize / 2;
+        this.shared = new Object[sharedCapacity];
+    }
+
+    /**
+     * Clears the Overflow-Stack and the Magazine of the calling Thread.<br>
+     * The Magazines of the other Threads are not reachable, they are freed by the Garbage-Collector with their Threads;
+     * their Objects are not borrowed anymore, {@link #getObject()} throws an {@link IllegalStateException} after closing.<br>
+     * Returned Objects are dropped after closing.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        sharedLock.lock();
+
+        try {
+            LOGGER.info("Closing Pool: SharedSize={}", sharedSize);
+
+            Arrays.fill(shared, 0, sharedSize, null);
+            sharedSize = 0;
+        }
+        finally {
+            sharedLock.unlock();
+        }
+
+        magazines.remove();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getObject() throws Exception {
+        if (closed) {
+            throw new IllegalStateException("pool is closed");
+        }
+
+        final Magazine magazine = magazines.get();
+
+        if (magazine.size == 0) {
+            refill(magazine);
+        }
+
+        if (magazine.size > 0) {
+            final int index = --magazine.size;
+            final T object = (T) magazine.objects[index];
+            magazine.objects[index] = null;
+
+            return object;
+        }
+
+        return objectSupplier.get();
+    }
+
+    /**
+     * Number of idle Objects in the Magazine of the current Thread.
+     */
+    public int getLocalSize() {
+        return magazines.get().size;
+    }
+
+    /**
+     * Number of idle Objects in the Overflow-Stack.
+     */
+    public int getSharedSize() {
+        sharedLock.lock();
+
+        try {
+            return sharedSize;
+        }
+        finally {
+            sharedLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iFace) {
+        return iFace.isInstance(this);
+    }
+
+    @Override
+    public void returnObject(@Nullable final T object) {
+        if (object == null || closed) {
+            return;
+        }
+
+        final Magazine magazine = magazines.get();
+
+        if (magazine.size == magazine.objects.length) {
+            spill(magazine);
+        }
+
+        magazine.objects[magazine.size++] = object;
+    }
+
+    @Override
+    public <C> C unwrap(final Class<C> iFace) throws UnsupportedOperationException {
+        if (iFace.isInstance(this)) {
+            return iFace.cast(this);
+        }
+
+        throw new UnsupportedOperationException("Pool is not an instance of " + iFace);
+    }
+
+    /**
+     * Moves up to half a Magazine from the Overflow-Stack into the empty Magazine.
+     */
+    private void refill(final Magazine magazine) {
+        // Racy Read, saves the Lock if the Overflow-Stack is empty.
+        if (sharedSize == 0) {
+            return;
+        }
+
+        sharedLock.lock();
+
+        try {
+            final int count = Math.min(batchSize, sharedSize);
+            final int from = sharedSize - count;
+
+            System.arraycopy(shared, from, magazine.objects, 0, count);
+            Arrays.fill(shared, from, sharedSize, null);
+
+            sharedSize = from;
+            magazine.size = count;
+        }
+        finally {
+            sharedLock.unlock();
+        }
+    }
+
+    /**
+     * Moves the older half of the full Magazine into the Overflow-Stack, Objects without Space are dropped.
+     */
+    private void spill(final Magazine magazine) {
+        sharedLock.lock();
+
+        try {
+            final int count = Math.min(batchSize, shared.length - sharedSize);
+
+            System.arraycopy(magazine.objects, 0, shared, sharedSize, count);
+            sharedSize += count;
+        }
+        finally {
+            sharedLock.unlock();
+        }
+
+        // Keep the most recently returned Objects.
+        final int remaining = magazine.size - batchSize;
+        System.arraycopy(magazine.objects, batchSize, magazine.objects, 0, remaining);
+        Arrays.fill(magazine.objects, remaining, magazine.size, null);
+
+        magazine.size = remaining;
+    }
+}
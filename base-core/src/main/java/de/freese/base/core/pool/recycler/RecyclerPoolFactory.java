@@ -0,0 +1,80 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool.recycler;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.apache.commons.lang3.function.FailableSupplier;
+import org.jspecify.annotations.Nullable;
+
+import de.freese.base.core.pool.Pool;
+import de.freese.base.core.pool.PoolFactory;
+import de.freese.base.core.pool.PoolTelemetry;
+
+/**
+ * 'maxSize' is the Capacity of the shared Overflow-Stack (default 1024), 'magazineSize' the Capacity per Thread (default 32).
+ *
+ * @author Thomas Freese
+ */
+public final class RecyclerPoolFactory<T> implements PoolFactory<T> {
+    private int magazineSize = 32;
+    private int maxSize = 1024;
+    private FailableSupplier<T, Exception> objectSupplier;
+    private @Nullable PoolTelemetry telemetry;
+
+    @Override
+    public Pool<T> build() {
+        Objects.requireNonNull(objectSupplier, "objectSupplier required");
+
+        return new RecyclerPool<>(telemetry == null ? objectSupplier : telemetry.countCreations(objectSupplier), magazineSize, maxSize);
+    }
+
+    @Override
+    public PoolFactory<T> expiry(final Duration expiry) {
+        // Empty
+
+        return this;
+    }
+
+    public RecyclerPoolFactory<T> magazineSize(final int magazineSize) {
+        if (magazineSize < 2) {
+            throw new IllegalArgumentException("magazineSize < 2: " + magazineSize);
+        }
+
+        this.magazineSize = magazineSize;
+
+        return this;
+    }
+
+    @Override
+    public RecyclerPoolFactory<T> maxSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize < 0: " + maxSize);
+        }
+
+        this.maxSize = maxSize;
+
+        return this;
+    }
+
+    @Override
+    public PoolFactory<T> minSize(final int minSize) {
+        // Empty
+
+        return this;
+    }
+
+    @Override
+    public RecyclerPoolFactory<T> objectSupplier(final FailableSupplier<T, Exception> objectSupplier) {
+        this.objectSupplier = Objects.requireNonNull(objectSupplier, "objectSupplier required");
+
+        return this;
+    }
+
+    @Override
+    public RecyclerPoolFactory<T> telemetry(final PoolTelemetry telemetry) {
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry required");
+
+        return this;
+    }
+}
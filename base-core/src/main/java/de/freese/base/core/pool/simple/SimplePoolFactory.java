@@ -5,21 +5,24 @@ import java.time.Duration;
 import java.util.Objects;
 
 import org.apache.commons.lang3.function.FailableSupplier;
+import org.jspecify.annotations.Nullable;
 
 import de.freese.base.core.pool.Pool;
 import de.freese.base.core.pool.PoolFactory;
+import de.freese.base.core.pool.PoolTelemetry;
 
 /**
  * @author Thomas Freese
  */
 public final class SimplePoolFactory<T> implements PoolFactory<T> {
     private FailableSupplier<T, Exception> objectSupplier;
+    private @Nullable PoolTelemetry telemetry;
 
     @Override
     public Pool<T> build() {
         Objects.requireNonNull(objectSupplier, "objectSupplier required");
 
-        return new SimplePool<>(objectSupplier);
+        return new SimplePool<>(telemetry == null ? objectSupplier : telemetry.countCreations(objectSupplier));
     }
 
     @Override
@@ -49,4 +52,11 @@ public final class SimplePoolFactory<T> implements PoolFactory<T> {
 
         return this;
     }
+
+    @Override
+    public PoolFactory<T> telemetry(final PoolTelemetry telemetry) {
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry required");
+
+        return this;
+    }
 }
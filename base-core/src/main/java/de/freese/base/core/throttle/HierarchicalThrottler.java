@@ -0,0 +1,243 @@
+// Created: 18.10.2026
+package de.freese.base.core.throttle;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link Throttler} as Node of a Tree of shared Budgets, e.g. Bytes per Second:<br>
+ * a Reservation is booked in this Node and all Parents, the Caller waits for the slowest Level.
+ *
+ * <pre>{@code
+ * HierarchicalThrottler global = HierarchicalThrottler.create(100 * 1024 * 1024);  // 100 MB/s for the whole Process
+ * HierarchicalThrottler bulk = global.createChild(80 * 1024 * 1024);                // Bulk-Transfers max. 80 MB/s
+ * HierarchicalThrottler interactive = global.createChild();                         // only limited by the global Budget
+ *
+ * WritableByteChannel channel = new ThrottledWritableByteChannel(fileChannel, bulk.createChild());
+ * }</pre>
+ * <p>
+ * Fair Sharing: every Node with own Budget keeps a Calendar of the booked Time-Slots.
+ * A Reservation gets the earliest Time, where every Level has a free Gap for the Duration of the Permits,
+ * so the free Capacity of a Parent is given to whoever asks first and a Slot booked in the Future by a Child with a small Budget
+ * does not block the earlier Demand of its Siblings.
+ * Streams reserving in small Chunks, like the Throttled-Channels do, fit into the Gaps and are interleaved,
+ * so a Bulk-Transfer cannot starve the other Children of the same Budget.<br>
+ * <br>
+ * The Slot is booked in all Levels at the same Time, so every Level sends at the booked Time and no Budget is consumed in Advance.
+ * The Locks of the Nodes are always taken upwards the Tree.<br>
+ * A Node without own Budget only forwards the Reservations to its Parent.
+ * Idle Time is not accumulated as Burst.
+ *
+ * @author Thomas Freese
+ */
+public final class HierarchicalThrottler implements Throttler {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Root of a Tree.
+     *
+     * @param permitsPerSecond long; Budget of the whole Tree
+     */
+    public static HierarchicalThrottler create(final long permitsPerSecond) {
+        return create(permitsPerSecond, System::nanoTime);
+    }
+
+    static HierarchicalThrottler create(final long permitsPerSecond, final LongSupplier nanoClock) {
+        if (permitsPerSecond < 1L) {
+            throw new IllegalArgumentException("permitsPerSecond < 1: " + permitsPerSecond);
+        }
+
+        return new HierarchicalThrottler(null, permitsPerSecond, nanoClock);
+    }
+
+    /**
+     * Booked Slots of the Future, Key = Start, Value = End; adjacent Slots are merged.
+     */
+    private final NavigableMap<Long, Long> bookedSlots = new TreeMap<>();
+    private final LongSupplier nanoClock;
+    private final @Nullable HierarchicalThrottler parent;
+    private final long permitsPerSecond;
+
+    private HierarchicalThrottler(@Nullable final HierarchicalThrottler parent, final long permitsPerSecond, final LongSupplier nanoClock) {
+        super();
+
+        this.parent = parent;
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoClock = Objects.requireNonNull(nanoClock, "nanoClock required");
+    }
+
+    /**
+     * Child without own Budget, e.g. for one Stream sharing the Budget of this Node.
+     */
+    public HierarchicalThrottler createChild() {
+        return new HierarchicalThrottler(this, 0L, nanoClock);
+    }
+
+    /**
+     * Child with an own Budget, e.g. for a Group of Streams.<br>
+     * The Budget of the Child can be larger than the Budget of this Node, but is never exceeded in Sum.
+     */
+    public HierarchicalThrottler createChild(final long permitsPerSecond) {
+        if (permitsPerSecond < 1L) {
+            throw new IllegalArgumentException("permitsPerSecond < 1: " + permitsPerSecond);
+        }
+
+        return new HierarchicalThrottler(this, permitsPerSecond, nanoClock);
+    }
+
+    public @Nullable HierarchicalThrottler getParent() {
+        return parent;
+    }
+
+    /**
+     * @return long; 0 for a Node without own Budget
+     */
+    public long getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    @Override
+    public long reservePermits(final int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException(String.format("Requested permits (%s) must be positive", permits));
+        }
+
+        final HierarchicalThrottler budgetedNode = permitsPerSecond > 0L ? this : getBudgetedParent();
+
+        if (budgetedNode == null) {
+            return 0L;
+        }
+
+        final long nowNanos = nanoClock.getAsLong();
+
+        return budgetedNode.reserveSlot(this, permits, nowNanos) - nowNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " ["
+                + "permitsPerSecond=" + permitsPerSecond
+                + ", parent=" + parent
+                + "]";
+    }
+
+    /**
+     * Books the Slot in all Levels, must hold the Locks of all budgeted Nodes from the Origin upwards.
+     *
+     * @return long; Start of the Slot
+     */
+    private static long bookSlot(final HierarchicalThrottler origin, final int permits, final long nowNanos) {
+        final HierarchicalThrottler first = origin.permitsPerSecond > 0L ? origin : origin.getBudgetedParent();
+        long slotNanos = nowNanos;
+        boolean stable;
+
+        // Until every Level has a free Gap at the same Time.
+        do {
+            stable = true;
+
+            for (HierarchicalThrottler node = first; node != null; node = node.getBudgetedParent()) {
+                final long freeNanos = node.findFreeSlot(slotNanos, node.getDurationNanos(permits), nowNanos);
+
+                if (freeNanos != slotNanos) {
+                    slotNanos = freeNanos;
+                    stable = false;
+                }
+            }
+        }
+        while (!stable);
+
+        for (HierarchicalThrottler node = first; node != null; node = node.getBudgetedParent()) {
+            node.book(slotNanos, slotNanos + node.getDurationNanos(permits));
+        }
+
+        return slotNanos;
+    }
+
+    private void book(final long startNanos, final long endNanos) {
+        long start = startNanos;
+        long end = endNanos;
+
+        final Map.Entry<Long, Long> previous = bookedSlots.floorEntry(start);
+
+        if (previous != null && previous.getValue() == start) {
+            start = previous.getKey();
+        }
+
+        final Long next = bookedSlots.remove(end);
+
+        if (next != null) {
+            end = next;
+        }
+
+        bookedSlots.put(start, end);
+    }
+
+    /**
+     * Earliest Start not before 'notBeforeNanos' with a free Gap for the Duration, must hold the Lock.<br>
+     * Slots of the Past are removed, unused Slots are lost and no Burst is accumulated.
+     */
+    private long findFreeSlot(final long notBeforeNanos, final long durationNanos, final long nowNanos) {
+        for (Iterator<Long> iterator = bookedSlots.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next() > nowNanos) {
+                break;
+            }
+
+            iterator.remove();
+        }
+
+        long startNanos = notBeforeNanos;
+
+        final Map.Entry<Long, Long> previous = bookedSlots.floorEntry(startNanos);
+
+        if (previous != null && previous.getValue() > startNanos) {
+            startNanos = previous.getValue();
+        }
+
+        for (Map.Entry<Long, Long> entry : bookedSlots.tailMap(startNanos, true).entrySet()) {
+            if (entry.getKey() >= startNanos + durationNanos) {
+                break;
+            }
+
+            startNanos = entry.getValue();
+        }
+
+        return startNanos;
+    }
+
+    private @Nullable HierarchicalThrottler getBudgetedParent() {
+        HierarchicalThrottler node = parent;
+
+        while (node != null && node.permitsPerSecond == 0L) {
+            node = node.parent;
+        }
+
+        return node;
+    }
+
+    private long getDurationNanos(final int permits) {
+        return (permits * NANOS_PER_SECOND) / permitsPerSecond;
+    }
+
+    /**
+     * Takes the Locks of this Node and of all budgeted Parents upwards, the Slot is booked with all Locks.
+     *
+     * @return long; Start of the Slot granted by all Levels
+     */
+    private long reserveSlot(final HierarchicalThrottler origin, final int permits, final long nowNanos) {
+        synchronized (this) {
+            final HierarchicalThrottler budgetedParent = getBudgetedParent();
+
+            if (budgetedParent != null) {
+                return budgetedParent.reserveSlot(origin, permits, nowNanos);
+            }
+
+            return bookSlot(origin, permits, nowNanos);
+        }
+    }
+}
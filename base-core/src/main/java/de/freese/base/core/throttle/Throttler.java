@@ -1,8 +1,11 @@
 // Created: 01.04.2020
 package de.freese.base.core.throttle;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import de.freese.base.core.concurrent.SharedScheduler;
+
 /**
  * Inspired by dev.failsafe.RateLimiter.
  *
@@ -17,6 +20,13 @@ public interface Throttler {
         acquirePermits(1);
     }
 
+    /**
+     * See {@link #acquirePermitsAsync(int)}.
+     */
+    default CompletableFuture<Void> acquirePermitAsync() {
+        return acquirePermitsAsync(1);
+    }
+
     /**
      * Attempts to acquire the requested {@code permits} to perform executions against the rate limiter, waiting until they are available or the thread is interrupted.
      *
@@ -57,6 +67,28 @@ public interface Throttler {
         }
     }
 
+    /**
+     * Reserves the requested {@code permits} and returns a Future, which is completed when they are available.<br>
+     * No Thread is parked while waiting, the Futures are completed by a shared Daemon-Scheduler.<br>
+     * The Scheduler-Thread must not be blocked: use the *Async Methods of the Future for expensive Tasks.<br>
+     * A cancelled Future does not refund its reserved Permits.
+     *
+     * @throws IllegalArgumentException if {@code permits} is < 1
+     */
+    default CompletableFuture<Void> acquirePermitsAsync(final int permits) {
+        final long waitNanos = reservePermits(permits);
+
+        if (waitNanos <= 0L) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        SharedScheduler.get().schedule(() -> future.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+
+        return future;
+    }
+
     /**
      * Reserves a permit to perform an execution against the rate limiter, and returns the nanoseconds that the caller is expected to wait before acting on the permit.
      * Returns {@code 0} if the permit is immediately available and no waiting is needed.
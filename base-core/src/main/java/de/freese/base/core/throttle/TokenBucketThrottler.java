@@ -0,0 +1,140 @@
+// Created: 18.10.2026
+package de.freese.base.core.throttle;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free Token-Bucket as Generic Cell Rate Algorithm (GCRA):<br>
+ * the whole State is the theoretical Arrival-Time of the next Permit in one {@link AtomicLong}, updated by CAS.<br>
+ * The Bucket holds up to 'burst' Permits, after Idle Time they are available without Waiting.<br>
+ * <br>
+ * In contrast to the {@link SimpleThrottler} no Caller is blocked by a Monitor,
+ * {@link #tryAcquirePermits(int)} reserves nothing if the Permits are not available
+ * and {@link #acquirePermitsAsync(int)} waits without a parked Thread.
+ *
+ * @author Thomas Freese
+ * @see "https://en.wikipedia.org/wiki/Generic_cell_rate_algorithm"
+ */
+public final class TokenBucketThrottler implements Throttler {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Without Burst: the Permits are distributed evenly.
+     */
+    public static TokenBucketThrottler create(final long permitsPerSecond) {
+        return create(permitsPerSecond, 1);
+    }
+
+    /**
+     * @param burst int; Capacity of the Bucket, Permits available at once after Idle Time
+     */
+    public static TokenBucketThrottler create(final long permitsPerSecond, final int burst) {
+        return create(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    static TokenBucketThrottler create(final long permitsPerSecond, final int burst, final LongSupplier nanoClock) {
+        if (permitsPerSecond < 1L || permitsPerSecond > NANOS_PER_SECOND) {
+            throw new IllegalArgumentException("permitsPerSecond must be between 1 and 10^9: " + permitsPerSecond);
+        }
+
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst < 1: " + burst);
+        }
+
+        return new TokenBucketThrottler(permitsPerSecond, burst, nanoClock);
+    }
+
+    private final int burst;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final long permitsPerSecond;
+    /**
+     * Time, when all reserved Permits are paid and the Bucket is full again.
+     */
+    private final AtomicLong theoreticalArrival;
+
+    private TokenBucketThrottler(final long permitsPerSecond, final int burst, final LongSupplier nanoClock) {
+        super();
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.burstNanos = toNanos(burst);
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Permits available without Waiting.
+     */
+    public int getAvailablePermits() {
+        final long debtNanos = Math.max(0L, theoreticalArrival.get() - nanoClock.getAsLong());
+
+        return (int) Math.max(0L, ((burstNanos - debtNanos) * permitsPerSecond) / NANOS_PER_SECOND);
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    @Override
+    public long reservePermits(final int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException(String.format("Requested permits (%s) must be positive", permits));
+        }
+
+        final long incrementNanos = toNanos(permits);
+
+        while (true) {
+            final long tat = theoreticalArrival.get();
+            final long nowNanos = nanoClock.getAsLong();
+            final long newTat = Math.max(tat, nowNanos) + incrementNanos;
+
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return Math.max(0L, newTat - nowNanos - burstNanos);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " ["
+                + "permitsPerSecond=" + permitsPerSecond
+                + ", burst=" + burst
+                + "]";
+    }
+
+    /**
+     * Reserves nothing, if the Permits are not available immediately.
+     */
+    @Override
+    public boolean tryAcquirePermits(final int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException(String.format("Requested permits (%s) must be positive", permits));
+        }
+
+        final long incrementNanos = toNanos(permits);
+
+        while (true) {
+            final long tat = theoreticalArrival.get();
+            final long nowNanos = nanoClock.getAsLong();
+            final long newTat = Math.max(tat, nowNanos) + incrementNanos;
+
+            if (newTat - nowNanos > burstNanos) {
+                return false;
+            }
+
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return true;
+            }
+        }
+    }
+
+    private long toNanos(final int permits) {
+        return (permits * NANOS_PER_SECOND) / permitsPerSecond;
+    }
+}
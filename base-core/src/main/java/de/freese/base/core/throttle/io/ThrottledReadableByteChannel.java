@@ -0,0 +1,92 @@
+// Created: 18.10.2026
+package de.freese.base.core.throttle.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+import de.freese.base.core.throttle.Throttler;
+
+/**
+ * Reads maximal 'chunkSize' Bytes per Operation, the read Bytes are paid as Permits afterwards.<br>
+ * The small Chunks interleave the Reservations of concurrent Channels sharing a {@link Throttler}.
+ *
+ * @author Thomas Freese
+ */
+public class ThrottledReadableByteChannel implements ReadableByteChannel {
+    private final ReadableByteChannel delegate;
+    private final int chunkSize;
+    private final Throttler throttler;
+
+    private long bytesRead;
+
+    /**
+     * Chunks of 16 KB.
+     */
+    public ThrottledReadableByteChannel(final ReadableByteChannel delegate, final Throttler throttler) {
+        this(delegate, throttler, 16 * 1024);
+    }
+
+    public ThrottledReadableByteChannel(final ReadableByteChannel delegate, final Throttler throttler, final int chunkSize) {
+        super();
+
+        this.delegate = Objects.requireNonNull(delegate, "delegate required");
+        this.throttler = Objects.requireNonNull(throttler, "throttler required");
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize < 1: " + chunkSize);
+        }
+
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        final int limit = dst.limit();
+
+        final int readCount;
+
+        try {
+            dst.limit(dst.position() + Math.min(dst.remaining(), chunkSize));
+
+            readCount = delegate.read(dst);
+        }
+        finally {
+            dst.limit(limit);
+        }
+
+        if (readCount > 0) {
+            bytesRead += readCount;
+
+            throttler.acquirePermits(readCount);
+        }
+
+        return readCount;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName()).append(" [");
+        sb.append("throttle=").append(throttler);
+        sb.append(", bytesRead=").append(bytesRead);
+        sb.append("]");
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,95 @@
+// Created: 18.10.2026
+package de.freese.base.core.throttle.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+import de.freese.base.core.throttle.Throttler;
+
+/**
+ * Writes maximal 'chunkSize' Bytes per Operation, the Permits are paid before the Write.<br>
+ * The small Chunks interleave the Reservations of concurrent Channels sharing a {@link Throttler}.
+ *
+ * @author Thomas Freese
+ */
+public class ThrottledWritableByteChannel implements WritableByteChannel {
+    private final int chunkSize;
+    private final WritableByteChannel delegate;
+    private final Throttler throttler;
+
+    private long bytesWritten;
+
+    /**
+     * Chunks of 16 KB.
+     */
+    public ThrottledWritableByteChannel(final WritableByteChannel delegate, final Throttler throttler) {
+        this(delegate, throttler, 16 * 1024);
+    }
+
+    public ThrottledWritableByteChannel(final WritableByteChannel delegate, final Throttler throttler, final int chunkSize) {
+        super();
+
+        this.delegate = Objects.requireNonNull(delegate, "delegate required");
+        this.throttler = Objects.requireNonNull(throttler, "throttler required");
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize < 1: " + chunkSize);
+        }
+
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName()).append(" [");
+        sb.append("throttle=").append(throttler);
+        sb.append(", bytesWritten=").append(bytesWritten);
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        final int chunk = Math.min(src.remaining(), chunkSize);
+
+        if (chunk == 0) {
+            return 0;
+        }
+
+        throttler.acquirePermits(chunk);
+
+        final int limit = src.limit();
+        final int writeCount;
+
+        try {
+            src.limit(src.position() + chunk);
+
+            writeCount = delegate.write(src);
+        }
+        finally {
+            src.limit(limit);
+        }
+
+        bytesWritten += writeCount;
+
+        return writeCount;
+    }
+}
@@ -0,0 +1,37 @@
+// Created: 18.10.2026
+package de.freese.base.core.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Console:<br>
+ * - java -jar target/benchmarks.jar -h<br>
+ * - java -jar target/benchmarks.jar -rf csv -rff results.csv<br>
+ *
+ * @author Thomas Freese
+ */
+public final class BenchmarkRunnerMain {
+    static void main() throws Exception {
+        // Builder overwrites the Class-Annotations.
+        // Needs filled target\classes\META-INF\BenchmarkList -> Rebuild bevor execute
+        final Options options = new OptionsBuilder()
+                .include(TimeoutMapBenchmarks.class.getSimpleName())
+                .include(BoundedExecutorBenchmarks.class.getSimpleName())
+                .include(StripedLocksBenchmarks.class.getSimpleName())
+                .include(PoolBenchmarks.class.getSimpleName())
+                .include(ThrottlerBenchmarks.class.getSimpleName())
+                .shouldFailOnError(true)
+                //.addProfiler(GCProfiler.class)
+                //.threads(1) // Anzahl paralleler Ausführungen
+                .forks(1).warmupForks(0) // Zum Debuggen
+                .build();
+
+        new Runner(options).run();
+    }
+
+    private BenchmarkRunnerMain() {
+        super();
+    }
+}
@@ -0,0 +1,84 @@
+// Created: 18.10.2026
+package de.freese.base.core.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.freese.base.core.concurrent.BoundedExecutor;
+import de.freese.base.core.concurrent.BoundedExecutorQueued;
+import de.freese.base.core.concurrent.BoundedExecutorQueuedWithScheduler;
+import de.freese.base.core.concurrent.LockFreeBoundedExecutor;
+import de.freese.base.utils.ExecutorUtils;
+
+/**
+ * Measures the Time to run a Batch of small Tasks.<br>
+ * {@link BoundedExecutorQueued} is not thread-safe, therefore the Tasks are submitted by one Thread.
+ *
+ * @author Thomas Freese
+ */
+public class BoundedExecutorBenchmarks extends BenchmarkSettings {
+    private static final int TASK_COUNT = 1_000;
+
+    /**
+     * @author Thomas Freese
+     */
+    @State(Scope.Benchmark)
+    public static class ExecutorHolder {
+        private ExecutorService delegate;
+        private Executor executor;
+
+        @Param({"2", "4"})
+        private int parallelism;
+
+        @Param({"BoundedExecutor", "BoundedExecutorQueued", "BoundedExecutorQueuedWithScheduler", "LockFreeBoundedExecutor"})
+        private String type;
+
+        @Setup
+        public void setup() {
+            delegate = Executors.newCachedThreadPool();
+
+            executor = switch (type) {
+                case "BoundedExecutor" -> new BoundedExecutor(delegate, parallelism);
+                case "BoundedExecutorQueued" -> new BoundedExecutorQueued(delegate, parallelism);
+                case "BoundedExecutorQueuedWithScheduler" -> new BoundedExecutorQueuedWithScheduler(delegate, parallelism);
+                case "LockFreeBoundedExecutor" -> new LockFreeBoundedExecutor(delegate, parallelism);
+                default -> throw new IllegalStateException("Unknown Type: " + type);
+            };
+        }
+
+        @TearDown
+        public void tearDown() {
+            if (executor instanceof BoundedExecutorQueuedWithScheduler e) {
+                e.shutdown();
+            }
+
+            ExecutorUtils.shutdown(delegate);
+        }
+    }
+
+    @Benchmark
+    public void executeBatch(final ExecutorHolder executorHolder, final Blackhole blackhole) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(TASK_COUNT);
+
+        for (int i = 0; i < TASK_COUNT; i++) {
+            executorHolder.executor.execute(() -> {
+                Blackhole.consumeCPU(100);
+                latch.countDown();
+            });
+        }
+
+        latch.await();
+
+        blackhole.consume(latch);
+    }
+}
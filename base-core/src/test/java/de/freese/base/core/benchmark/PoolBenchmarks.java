@@ -0,0 +1,74 @@
+// Created: 18.10.2026
+package de.freese.base.core.benchmark;
+
+import java.nio.ByteBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.freese.base.core.pool.Pool;
+import de.freese.base.core.pool.apache.ApachePoolFactory;
+import de.freese.base.core.pool.recycler.RecyclerPoolFactory;
+import de.freese.base.core.pool.simple.SimplePoolFactory;
+
+/**
+ * Borrow and Return of a Buffer in the same Thread.
+ *
+ * @author Thomas Freese
+ */
+public class PoolBenchmarks extends BenchmarkSettings {
+    /**
+     * @author Thomas Freese
+     */
+    @State(Scope.Benchmark)
+    public static class PoolHolder {
+        private Pool<ByteBuffer> apachePool;
+        private Pool<ByteBuffer> recyclerPool;
+        private Pool<ByteBuffer> simplePool;
+
+        @Setup
+        public void setup() {
+            simplePool = new SimplePoolFactory<ByteBuffer>().objectSupplier(() -> ByteBuffer.allocate(1024)).build();
+            apachePool = new ApachePoolFactory<ByteBuffer>().maxSize(64).objectSupplier(() -> ByteBuffer.allocate(1024)).build();
+            recyclerPool = new RecyclerPoolFactory<ByteBuffer>().objectSupplier(() -> ByteBuffer.allocate(1024)).build();
+        }
+
+        @TearDown
+        public void tearDown() {
+            simplePool.close();
+            apachePool.close();
+            recyclerPool.close();
+        }
+    }
+
+    private static void borrowAndReturn(final Pool<ByteBuffer> pool, final Blackhole blackhole) throws Exception {
+        final ByteBuffer buffer = pool.getObject();
+
+        try {
+            buffer.clear().putLong(System.nanoTime());
+            blackhole.consume(buffer);
+        }
+        finally {
+            pool.returnObject(buffer);
+        }
+    }
+
+    @Benchmark
+    public void apachePool(final PoolHolder poolHolder, final Blackhole blackhole) throws Exception {
+        borrowAndReturn(poolHolder.apachePool, blackhole);
+    }
+
+    @Benchmark
+    public void recyclerPool(final PoolHolder poolHolder, final Blackhole blackhole) throws Exception {
+        borrowAndReturn(poolHolder.recyclerPool, blackhole);
+    }
+
+    @Benchmark
+    public void simplePool(final PoolHolder poolHolder, final Blackhole blackhole) throws Exception {
+        borrowAndReturn(poolHolder.simplePool, blackhole);
+    }
+}
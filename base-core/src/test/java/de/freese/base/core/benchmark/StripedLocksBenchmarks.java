@@ -0,0 +1,110 @@
+// Created: 18.10.2026
+package de.freese.base.core.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.freese.base.core.concurrent.synchronisation.Mutex;
+import de.freese.base.core.concurrent.synchronisation.MutexFactory;
+import de.freese.base.core.concurrent.synchronisation.StripedLocks;
+
+/**
+ * Lock and Unlock of random Keys with high Cardinality.
+ *
+ * @author Thomas Freese
+ */
+@Threads(4)
+public class StripedLocksBenchmarks extends BenchmarkSettings {
+    /**
+     * @author Thomas Freese
+     */
+    @State(Scope.Benchmark)
+    public static class LockHolder {
+        private String[] keys;
+        private MutexFactory<String> mutexFactory;
+        private StripedLocks<ReentrantReadWriteLock> readWriteLocks;
+        private StripedLocks<ReentrantLock> reentrantLocks;
+        private StripedLocks<StampedLock> stampedLocks;
+
+        @Param({"1000", "1000000"})
+        private int keyCount;
+
+        @Setup
+        public void setup() {
+            keys = new String[keyCount];
+
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = "key-" + i;
+            }
+
+            mutexFactory = new MutexFactory<>();
+            reentrantLocks = StripedLocks.reentrantLocks(1024);
+            readWriteLocks = StripedLocks.readWriteLocks(1024);
+            stampedLocks = StripedLocks.stampedLocks(1024);
+        }
+
+        String randomKey() {
+            return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        }
+    }
+
+    private static void lockAndWork(final Lock lock, final Blackhole blackhole) {
+        lock.lock();
+
+        try {
+            Blackhole.consumeCPU(10);
+        }
+        finally {
+            lock.unlock();
+        }
+
+        blackhole.consume(lock);
+    }
+
+    @Benchmark
+    public void mutexFactory(final LockHolder lockHolder, final Blackhole blackhole) {
+        final Mutex<String> mutex = lockHolder.mutexFactory.getMutex(lockHolder.randomKey());
+
+        synchronized (mutex) {
+            Blackhole.consumeCPU(10);
+        }
+
+        blackhole.consume(mutex);
+    }
+
+    @Benchmark
+    public void stripedReadWriteLock(final LockHolder lockHolder, final Blackhole blackhole) {
+        lockAndWork(lockHolder.readWriteLocks.exclusive(lockHolder.randomKey()), blackhole);
+    }
+
+    @Benchmark
+    public void stripedReentrantLock(final LockHolder lockHolder, final Blackhole blackhole) {
+        lockAndWork(lockHolder.reentrantLocks.exclusive(lockHolder.randomKey()), blackhole);
+    }
+
+    @Benchmark
+    public void stripedStampedLock(final LockHolder lockHolder, final Blackhole blackhole) {
+        final StampedLock lock = lockHolder.stampedLocks.get(lockHolder.randomKey());
+        final long stamp = lock.writeLock();
+
+        try {
+            Blackhole.consumeCPU(10);
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+
+        blackhole.consume(lock);
+    }
+}
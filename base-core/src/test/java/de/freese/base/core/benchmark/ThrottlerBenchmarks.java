@@ -0,0 +1,70 @@
+// Created: 18.10.2026
+package de.freese.base.core.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.freese.base.core.throttle.FailsafeThrottlerAdapter;
+import de.freese.base.core.throttle.Resilience4JThrottlerAdapter;
+import de.freese.base.core.throttle.Throttler;
+import de.freese.base.core.throttle.ThrottlerFixtures;
+import de.freese.base.core.throttle.TokenBucketThrottler;
+
+/**
+ * Reservation of single Permits by concurrent Threads.<br>
+ * The Rate is high enough that no Thread has to wait, only the Costs of the Reservation are measured.
+ *
+ * @author Thomas Freese
+ */
+@Threads(4)
+public class ThrottlerBenchmarks extends BenchmarkSettings {
+    /**
+     * @author Thomas Freese
+     */
+    @State(Scope.Benchmark)
+    public static class ThrottlerHolder {
+        private static final int PERMITS_PER_SECOND = 1_000_000_000;
+
+        private Throttler failsafeThrottler;
+        private Throttler resilience4JThrottler;
+        private Throttler simpleThrottler;
+        private Throttler tokenBucketThrottler;
+
+        @Setup
+        public void setup() {
+            simpleThrottler = ThrottlerFixtures.simpleThrottler(PERMITS_PER_SECOND);
+            failsafeThrottler = FailsafeThrottlerAdapter.create(PERMITS_PER_SECOND);
+            resilience4JThrottler = Resilience4JThrottlerAdapter.create(PERMITS_PER_SECOND);
+            tokenBucketThrottler = TokenBucketThrottler.create(PERMITS_PER_SECOND, 1_000);
+        }
+    }
+
+    @Benchmark
+    public void failsafe(final ThrottlerHolder throttlerHolder, final Blackhole blackhole) {
+        blackhole.consume(throttlerHolder.failsafeThrottler.reservePermit());
+    }
+
+    @Benchmark
+    public void resilience4J(final ThrottlerHolder throttlerHolder, final Blackhole blackhole) {
+        blackhole.consume(throttlerHolder.resilience4JThrottler.reservePermit());
+    }
+
+    @Benchmark
+    public void simple(final ThrottlerHolder throttlerHolder, final Blackhole blackhole) {
+        blackhole.consume(throttlerHolder.simpleThrottler.reservePermit());
+    }
+
+    @Benchmark
+    public void tokenBucket(final ThrottlerHolder throttlerHolder, final Blackhole blackhole) {
+        blackhole.consume(throttlerHolder.tokenBucketThrottler.reservePermit());
+    }
+
+    @Benchmark
+    public void tokenBucketTryAcquire(final ThrottlerHolder throttlerHolder, final Blackhole blackhole) {
+        blackhole.consume(throttlerHolder.tokenBucketThrottler.tryAcquirePermit());
+    }
+}
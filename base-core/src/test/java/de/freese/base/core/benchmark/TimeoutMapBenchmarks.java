@@ -0,0 +1,86 @@
+// Created: 18.10.2026
+package de.freese.base.core.benchmark;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.freese.base.core.collection.ConcurrentTimeoutMap;
+import de.freese.base.core.collection.TimeoutMap;
+
+/**
+ * {@link TimeoutMap} is not thread-safe, therefore all Benchmarks are single-threaded.
+ *
+ * @author Thomas Freese
+ */
+public class TimeoutMapBenchmarks extends BenchmarkSettings {
+    /**
+     * @author Thomas Freese
+     */
+    @State(Scope.Benchmark)
+    public static class MapHolder {
+        private Map<Integer, Integer> map;
+
+        @Param({"10000", "100000", "1000000", "10000000"})
+        private int size;
+
+        @Param({"TimeoutMap", "ConcurrentTimeoutMap"})
+        private String type;
+
+        @Setup
+        public void setup() {
+            // No Expiration while measuring.
+            final Duration timeToLive = Duration.ofHours(1);
+
+            map = switch (type) {
+                case "TimeoutMap" -> new TimeoutMap<>(timeToLive);
+                case "ConcurrentTimeoutMap" -> new ConcurrentTimeoutMap<>(timeToLive);
+                default -> throw new IllegalStateException("Unknown Type: " + type);
+            };
+
+            for (int i = 0; i < size; i++) {
+                map.put(i, i);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            map.clear();
+            map = null;
+        }
+
+        int randomKey() {
+            return ThreadLocalRandom.current().nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public void containsKey(final MapHolder mapHolder, final Blackhole blackhole) {
+        blackhole.consume(mapHolder.map.containsKey(mapHolder.randomKey()));
+    }
+
+    @Benchmark
+    public void get(final MapHolder mapHolder, final Blackhole blackhole) {
+        blackhole.consume(mapHolder.map.get(mapHolder.randomKey()));
+    }
+
+    @Benchmark
+    public void put(final MapHolder mapHolder, final Blackhole blackhole) {
+        final int key = mapHolder.randomKey();
+
+        blackhole.consume(mapHolder.map.put(key, key));
+    }
+
+    @Benchmark
+    public void size(final MapHolder mapHolder, final Blackhole blackhole) {
+        blackhole.consume(mapHolder.map.size());
+    }
+}
@@ -0,0 +1,299 @@
+// Created: 18.10.2026
+package de.freese.base.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @author Thomas Freese
+ */
+class TestBoundedFileResourceCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestBoundedFileResourceCache.class);
+
+    /**
+     * @author Thomas Freese
+     */
+    private static final class CountingCache extends BoundedFileResourceCache {
+        private final AtomicInteger loadCounter = new AtomicInteger(0);
+
+        CountingCache(final Path cacheDirectory, final long maxBytes) {
+            super(cacheDirectory, maxBytes);
+        }
+
+        @Override
+        protected URLConnection openConnection(final URI uri, final Map<String, String> requestProperties) throws IOException {
+            loadCounter.incrementAndGet();
+
+            return super.openConnection(uri, requestProperties);
+        }
+
+        int getLoadCount() {
+            return loadCounter.get();
+        }
+
+        boolean isCached(final URI uri) {
+            return Files.exists(resolvePath(generateKey(uri)));
+        }
+    }
+
+    private static List<URI> createResources(final Path directory, final int count, final int size) throws IOException {
+        Files.createDirectories(directory);
+
+        final List<URI> uris = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final Path path = directory.resolve("resource_" + i + ".bin");
+            Files.write(path, new byte[size]);
+
+            uris.add(path.toUri());
+        }
+
+        return uris;
+    }
+
+    private static void read(final ResourceCache resourceCache, final URI uri) throws Exception {
+        try (InputStream inputStream = resourceCache.getResource(uri)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Test
+    void testAccessIsBuffered(@TempDir final Path tempDir) throws Exception {
+        final List<URI> uris = createResources(tempDir.resolve("resources"), 3, 1024);
+        final Path journalFile = tempDir.resolve("cache").resolve(BoundedFileResourceCache.JOURNAL_FILE);
+
+        try (CountingCache resourceCache = new CountingCache(tempDir.resolve("cache"), 10L * 1024L)) {
+            for (URI uri : uris) {
+                read(resourceCache, uri);
+            }
+
+            // Hit -> uris[0] is now the most recently used, but nothing is written to the Disk.
+            final long journalSize = Files.size(journalFile);
+            read(resourceCache, uris.getFirst());
+            assertEquals(journalSize, Files.size(journalFile));
+        }
+
+        // The Access-Order is written by close().
+        try (CountingCache resourceCache = new CountingCache(tempDir.resolve("cache"), 2L * 1024L)) {
+            // The Journal is replayed and trimmed by the first Access.
+            assertEquals(2, resourceCache.getEntryCount());
+            assertTrue(resourceCache.isCached(uris.getFirst()));
+            assertFalse(resourceCache.isCached(uris.get(1)));
+        }
+    }
+
+    @Test
+    void testBudget(@TempDir final Path tempDir) throws Exception {
+        final List<URI> uris = createResources(tempDir.resolve("resources"), 10, 1024);
+
+        try (CountingCache resourceCache = new CountingCache(tempDir.resolve("cache"), 4L * 1024L)) {
+            for (URI uri : uris) {
+                read(resourceCache, uri);
+
+                assertTrue(resourceCache.getSize() <= resourceCache.getMaxBytes());
+            }
+
+            assertEquals(4, resourceCache.getEntryCount());
+            assertEquals(4L * 1024L, resourceCache.getSize());
+
+            for (int i = 0; i < uris.size(); i++) {
+                assertEquals(i >= 6, resourceCache.isCached(uris.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void testClear(@TempDir final Path tempDir) throws Exception {
+        final List<URI> uris = createResources(tempDir.resolve("resources"), 3, 1024);
+
+        try (CountingCache resourceCache = new CountingCache(tempDir.resolve("cache"), 10L * 1024L)) {
+            for (URI uri : uris) {
+                read(resourceCache, uri);
+            }
+
+            resourceCache.clear();
+
+            assertEquals(0, resourceCache.getEntryCount());
+            assertEquals(0L, resourceCache.getSize());
+
+            for (URI uri : uris) {
+                assertFalse(resourceCache.isCached(uri));
+            }
+
+            assertEquals(List.of(BoundedFileResourceCache.JOURNAL_HEADER),
+                    Files.readAllLines(tempDir.resolve("cache").resolve(BoundedFileResourceCache.JOURNAL_FILE)));
+        }
+    }
+
+    @Test
+    void testClosedCacheDoesNotDownload(@TempDir final Path tempDir) throws Exception {
+        final List<URI> uris = createResources(tempDir.resolve("resources"), 1, 1024);
+        final CountingCache resourceCache = new CountingCache(tempDir.resolve("cache"), 10L * 1024L);
+
+        resourceCache.close();
+
+        assertThrows(IllegalStateException.class, () -> read(resourceCache, uris.getFirst()));
+
+        // No orphan File outside the Index.
+        assertFalse(resourceCache.isCached(uris.getFirst()));
+        assertEquals(0, resourceCache.getLoadCount());
+    }
+
+    @Test
+    void testClosedCacheIgnoresClear(@TempDir final Path tempDir) throws Exception {
+        final List<URI> uris = createResources(tempDir.resolve("resources"), 1, 1024);
+        final Path cacheDirectory = tempDir.resolve("cache");
+        final CountingCache resourceCache = new CountingCache(cacheDirectory, 10L * 1024L);
+
+        read(resourceCache, uris.getFirst());
+        resourceCache.close();
+
+        final byte[] journal = Files.readAllBytes(cacheDirectory.resolve(BoundedFileResourceCache.JOURNAL_FILE));
+
+        resourceCache.clear();
+
+        // Neither the Files nor the Journal are touched by the closed Cache.
+        assertTrue(resourceCache.isCached(uris.getFirst()));
+        assertArrayEquals(journal, Files.readAllBytes(cacheDirectory.resolve(BoundedFileResourceCache.JOURNAL_FILE)));
+    }
+
+    @Test
+    void testClosedCacheRefusesHit(@TempDir final Path tempDir) throws Exception {
+        final List<URI> uris = createResources(tempDir.resolve("resources"), 1, 1024);
+        final CountingCache resourceCache = new CountingCache(tempDir.resolve("cache"), 10L * 1024L);
+
+        read(resourceCache, uris.getFirst());
+        assertTrue(resourceCache.isCached(uris.getFirst()));
+
+        resourceCache.close();
+
+        // Refused before the File is opened, no Stream is leaked.
+        assertThrows(IllegalStateException.class, () -> resourceCache.getResource(uris.getFirst()));
+
+        assertTrue(resourceCache.isCached(uris.getFirst()));
+        assertEquals(1, resourceCache.getLoadCount());
+    }
+
+    @Test
+    void testFailedReplayIsRepeated(@TempDir final Path tempDir) throws Exception {
+        final List<URI> uris = createResources(tempDir.resolve("resources"), 1, 1024);
+        final Path cacheDirectory = tempDir.resolve("cache");
+
+        // The Cache-Directory can not be created.
+        Files.createFile(cacheDirectory);
+
+        try (CountingCache resourceCache = new CountingCache(cacheDirectory, 10L * 1024L)) {
+            assertThrows(UncheckedIOException.class, resourceCache::getEntryCount);
+
+            Files.delete(cacheDirectory);
+
+            read(resourceCache, uris.getFirst());
+
+            assertEquals(1, resourceCache.getEntryCount());
+            assertTrue(resourceCache.isCached(uris.getFirst()));
+        }
+    }
+
+    @Test
+    void testJournalReplay(@TempDir final Path tempDir) throws Exception {
+        final List<URI> uris = createResources(tempDir.resolve("resources"), 3, 1024);
+
+        try (CountingCache resourceCache = new CountingCache(tempDir.resolve("cache"), 10L * 1024L)) {
+            for (URI uri : uris) {
+                read(resourceCache, uri);
+            }
+        }
+
+        try (CountingCache resourceCache = new CountingCache(tempDir.resolve("cache"), 10L * 1024L)) {
+            assertEquals(3, resourceCache.getEntryCount());
+            assertEquals(3L * 1024L, resourceCache.getSize());
+
+            for (URI uri : uris) {
+                read(resourceCache, uri);
+            }
+
+            assertEquals(0, resourceCache.getLoadCount());
+        }
+
+        // Smaller Budget after Restart.
+        try (CountingCache resourceCache = new CountingCache(tempDir.resolve("cache"), 2L * 1024L)) {
+            assertEquals(2, resourceCache.getEntryCount());
+            assertFalse(resourceCache.isCached(uris.getFirst()));
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsed(@TempDir final Path tempDir) throws Exception {
+        final List<URI> uris = createResources(tempDir.resolve("resources"), 4, 1024);
+
+        try (CountingCache resourceCache = new CountingCache(tempDir.resolve("cache"), 3L * 1024L)) {
+            read(resourceCache, uris.get(0));
+            read(resourceCache, uris.get(1));
+            read(resourceCache, uris.get(2));
+
+            // Access -> uris[1] is now the least recently used.
+            read(resourceCache, uris.get(0));
+
+            read(resourceCache, uris.get(3));
+
+            assertTrue(resourceCache.isCached(uris.get(0)));
+            assertFalse(resourceCache.isCached(uris.get(1)));
+            assertTrue(resourceCache.isCached(uris.get(2)));
+            assertTrue(resourceCache.isCached(uris.get(3)));
+            assertEquals(4, resourceCache.getLoadCount());
+        }
+    }
+
+    @Test
+    void testStartupWithMillionEntries(@TempDir final Path tempDir) throws Exception {
+        final int entries = 1_000_000;
+        final Path cacheDirectory = tempDir.resolve("cache");
+        Files.createDirectories(cacheDirectory);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(cacheDirectory.resolve(BoundedFileResourceCache.JOURNAL_FILE), StandardCharsets.UTF_8)) {
+            writer.write(BoundedFileResourceCache.JOURNAL_HEADER);
+            writer.write('\n');
+
+            for (int i = 0; i < entries; i++) {
+                writer.write("PUT %016X 1%n".formatted(i));
+            }
+        }
+
+        final long start = System.nanoTime();
+
+        try (BoundedFileResourceCache resourceCache = new BoundedFileResourceCache(cacheDirectory, Long.MAX_VALUE)) {
+            // The Journal is replayed by the first Access.
+            assertEquals(entries, resourceCache.getEntryCount());
+
+            final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            LOGGER.info("Startup with {} entries: {} ms", entries, duration.toMillis());
+
+            assertEquals(entries, resourceCache.getSize());
+            assertTrue(duration.compareTo(Duration.ofSeconds(10L)) < 0, () -> "startup too slow: " + duration);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+// Created: 18.10.2026
+package de.freese.base.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Revalidation of the {@link FileResourceCache} against a local {@link HttpServer}.
+ *
+ * @author Thomas Freese
+ */
+class TestFileResourceCacheRevalidation {
+    private static final AtomicReference<String> CONTENT = new AtomicReference<>();
+    private static final String LAST_MODIFIED = "Sat, 17 Oct 2026 10:00:00 GMT";
+    private static final Map<Integer, AtomicInteger> STATUS_COUNTER = new ConcurrentHashMap<>();
+
+    private static HttpServer httpServer;
+    private static URI uri;
+    private static URI uriRedirect;
+
+    @AfterAll
+    static void afterAll() {
+        httpServer.stop(0);
+    }
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+        httpServer.createContext("/resource", TestFileResourceCacheRevalidation::handleResource);
+        httpServer.createContext("/redirect", httpExchange -> {
+            httpExchange.getResponseHeaders().add("Location", uri.toString());
+            sendResponse(httpExchange, HttpURLConnection.HTTP_MOVED_TEMP, null);
+        });
+
+        httpServer.start();
+
+        final String baseUri = "http://localhost:" + httpServer.getAddress().getPort();
+        uri = URI.create(baseUri + "/resource");
+        uriRedirect = URI.create(baseUri + "/redirect");
+    }
+
+    private static String eTag() {
+        return "\"" + Integer.toHexString(CONTENT.get().hashCode()) + "\"";
+    }
+
+    private static void handleResource(final HttpExchange httpExchange) throws IOException {
+        final String ifNoneMatch = httpExchange.getRequestHeaders().getFirst("If-None-Match");
+        final String ifModifiedSince = httpExchange.getRequestHeaders().getFirst("If-Modified-Since");
+
+        httpExchange.getResponseHeaders().add("ETag", eTag());
+        httpExchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+
+        if (eTag().equals(ifNoneMatch) || (ifNoneMatch == null && ifModifiedSince != null)) {
+            sendResponse(httpExchange, HttpURLConnection.HTTP_NOT_MODIFIED, null);
+
+            return;
+        }
+
+        sendResponse(httpExchange, HttpURLConnection.HTTP_OK, CONTENT.get().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void sendResponse(final HttpExchange httpExchange, final int status, final byte[] body) throws IOException {
+        STATUS_COUNTER.computeIfAbsent(status, key -> new AtomicInteger()).incrementAndGet();
+
+        httpExchange.sendResponseHeaders(status, body == null ? -1 : body.length);
+
+        try (OutputStream outputStream = httpExchange.getResponseBody()) {
+            if (body != null) {
+                outputStream.write(body);
+            }
+
+            outputStream.flush();
+        }
+    }
+
+    private static int statusCount(final int status) {
+        return STATUS_COUNTER.computeIfAbsent(status, key -> new AtomicInteger()).get();
+    }
+
+    private static String toString(final InputStream inputStream) throws IOException {
+        try (inputStream; ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            inputStream.transferTo(baos);
+
+            return baos.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        CONTENT.set("Version 1");
+        STATUS_COUNTER.clear();
+    }
+
+    @Test
+    void testFreshEntryIsServedFromCache(@TempDir final Path tempDir) throws Exception {
+        final ResourceCache resourceCache = new FileResourceCache(tempDir, Duration.ofHours(1L));
+
+        assertEquals("Version 1", toString(resourceCache.getResource(uri)));
+        assertEquals(1, statusCount(HttpURLConnection.HTTP_OK));
+
+        CONTENT.set("Version 2");
+
+        assertEquals("Version 1", toString(resourceCache.getResource(uri)));
+        assertEquals(1, statusCount(HttpURLConnection.HTTP_OK));
+        assertEquals(0, statusCount(HttpURLConnection.HTTP_NOT_MODIFIED));
+    }
+
+    @Test
+    void testMaxAgeDoesNotOverflow() {
+        final long now = System.currentTimeMillis();
+
+        assertEquals(now + 60_000L, ResourceMetadata.computeExpires("max-age=60", null, now));
+        assertEquals(Long.MAX_VALUE, ResourceMetadata.computeExpires("max-age=" + Long.MAX_VALUE, Duration.ofHours(1L), now));
+        assertEquals(Long.MAX_VALUE, ResourceMetadata.computeExpires("max-age=9223372036854775", Duration.ofHours(1L), now));
+
+        // Unparsable: like a missing 'max-age'.
+        assertEquals(now + 3_600_000L, ResourceMetadata.computeExpires("max-age=99999999999999999999", Duration.ofHours(1L), now));
+        assertEquals(Long.MAX_VALUE, ResourceMetadata.computeExpires("max-age=99999999999999999999", null, now));
+    }
+
+    @Test
+    void testMetadataSidecar(@TempDir final Path tempDir) throws Exception {
+        final FileResourceCache resourceCache = new FileResourceCache(tempDir, Duration.ofHours(1L));
+
+        toString(resourceCache.getResource(uri));
+
+        final Path path = resourceCache.resolvePath(resourceCache.generateKey(uri));
+        assertTrue(Files.exists(resourceCache.resolveMetadataPath(path)));
+
+        final ResourceMetadata metadata = resourceCache.readMetadata(path);
+        assertNotNull(metadata);
+        assertEquals(eTag(), metadata.eTag());
+        assertTrue(metadata.lastModified() > 0L);
+        assertTrue(metadata.expires() > System.currentTimeMillis());
+    }
+
+    @Test
+    void testModifiedAfterExpiration(@TempDir final Path tempDir) throws Exception {
+        final ResourceCache resourceCache = new FileResourceCache(tempDir, Duration.ofMillis(50L));
+
+        assertEquals("Version 1", toString(resourceCache.getResource(uri)));
+
+        CONTENT.set("Version 2");
+        TimeUnit.MILLISECONDS.sleep(100L);
+
+        assertEquals("Version 2", toString(resourceCache.getResource(uri)));
+        assertEquals(2, statusCount(HttpURLConnection.HTTP_OK));
+        assertEquals(0, statusCount(HttpURLConnection.HTTP_NOT_MODIFIED));
+    }
+
+    @Test
+    void testNotModifiedAfterExpiration(@TempDir final Path tempDir) throws Exception {
+        final ResourceCache resourceCache = new FileResourceCache(tempDir, Duration.ofMillis(50L));
+
+        assertEquals("Version 1", toString(resourceCache.getResource(uri)));
+        TimeUnit.MILLISECONDS.sleep(100L);
+
+        assertEquals("Version 1", toString(resourceCache.getResource(uri)));
+        assertEquals(1, statusCount(HttpURLConnection.HTTP_OK));
+        assertEquals(1, statusCount(HttpURLConnection.HTTP_NOT_MODIFIED));
+    }
+
+    @Test
+    void testNotModifiedAfterRedirect(@TempDir final Path tempDir) throws Exception {
+        final ResourceCache resourceCache = new FileResourceCache(tempDir, Duration.ofMillis(50L));
+
+        assertEquals("Version 1", toString(resourceCache.getResource(uriRedirect)));
+        TimeUnit.MILLISECONDS.sleep(100L);
+
+        assertEquals("Version 1", toString(resourceCache.getResource(uriRedirect)));
+        assertEquals(1, statusCount(HttpURLConnection.HTTP_OK));
+        assertEquals(1, statusCount(HttpURLConnection.HTTP_NOT_MODIFIED));
+        assertEquals(2, statusCount(HttpURLConnection.HTTP_MOVED_TEMP));
+    }
+
+    @Test
+    void testWithoutTimeToLiveNeverRevalidates(@TempDir final Path tempDir) throws Exception {
+        final ResourceCache resourceCache = new FileResourceCache(tempDir);
+
+        assertEquals("Version 1", toString(resourceCache.getResource(uri)));
+
+        CONTENT.set("Version 2");
+
+        assertEquals("Version 1", toString(resourceCache.getResource(uri)));
+        assertEquals(1, statusCount(HttpURLConnection.HTTP_OK));
+    }
+}
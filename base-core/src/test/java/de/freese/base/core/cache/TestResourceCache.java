@@ -1,15 +1,32 @@
 // Created: 22.05.2016
 package de.freese.base.core.cache;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterAll;
@@ -17,6 +34,8 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -27,6 +46,7 @@ import org.slf4j.bridge.SLF4JBridgeHandler;
  */
 class TestResourceCache {
     private static final ResourceCache CACHE_CAFFEINE = new CaffeineResourceCache(Paths.get(System.getProperty("java.io.tmpdir"), ".javaCache2"), 6000);
+    private static final ResourceCache CACHE_CAFFEINE_OFF_HEAP = new CaffeineResourceCache(Paths.get(System.getProperty("java.io.tmpdir"), ".javaCache3"), 6000L, null, true);
     private static final ResourceCache CACHE_FILE = new FileResourceCache(Paths.get(System.getProperty("java.io.tmpdir"), ".javaCache1"));
     private static final ResourceCache CACHE_MEMORY = new MemoryResourceCache();
     private static final Map<String, byte[]> MAP = new ConcurrentHashMap<>();
@@ -37,6 +57,7 @@ class TestResourceCache {
         CACHE_FILE.clear();
         CACHE_MEMORY.clear();
         CACHE_CAFFEINE.clear();
+        CACHE_CAFFEINE_OFF_HEAP.clear();
     }
 
     @BeforeAll
@@ -49,6 +70,20 @@ class TestResourceCache {
         SLF4JBridgeHandler.install();
     }
 
+    private static void sleep() {
+        await().pollDelay(Duration.ofMillis(200)).until(() -> true);
+    }
+
+    private static byte[] toBytes(final InputStream inputStream) throws Exception {
+        try (inputStream; ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            inputStream.transferTo(baos);
+
+            baos.flush();
+
+            return baos.toByteArray();
+        }
+    }
+
     static Stream<Arguments> createArgumentes() {
         final URI urlLocalFile = Paths.get("build.gradle").toUri();
         final URI urlHttpImage = URI.create("http://avatars.githubusercontent.com/u/1973918?v=4"); // Redirect -> https
@@ -59,7 +94,9 @@ class TestResourceCache {
                 Arguments.of("MemoryCache - Local File", CACHE_MEMORY, urlLocalFile),
                 Arguments.of("MemoryCache - HTTP Image", CACHE_MEMORY, urlHttpImage),
                 Arguments.of("CaffeineCache - Local File", CACHE_CAFFEINE, urlLocalFile),
-                Arguments.of("CaffeineCache - HTTP Image", CACHE_CAFFEINE, urlHttpImage)
+                Arguments.of("CaffeineCache - HTTP Image", CACHE_CAFFEINE, urlHttpImage),
+                Arguments.of("CaffeineCache OffHeap - Local File", CACHE_CAFFEINE_OFF_HEAP, urlLocalFile),
+                Arguments.of("CaffeineCache OffHeap - HTTP Image", CACHE_CAFFEINE_OFF_HEAP, urlHttpImage)
         );
     }
 
@@ -106,4 +143,108 @@ class TestResourceCache {
 
         assertArrayEquals(MAP.get(name), bytes);
     }
+
+    @Test
+    void testCaffeineOffHeap(@TempDir final Path tempDir) throws Exception {
+        final byte[] expected = "Off-Heap Content".getBytes(StandardCharsets.UTF_8);
+        final Path file = tempDir.resolve("resource.txt");
+        Files.write(file, expected);
+
+        final CaffeineResourceCache resourceCache = new CaffeineResourceCache(tempDir.resolve("cache"), 1024L, null, true);
+
+        final ByteBuffer buffer1 = resourceCache.getResourceAsBuffer(file.toUri());
+        final ByteBuffer buffer2 = resourceCache.getResourceAsBuffer(file.toUri());
+
+        assertTrue(buffer1.isDirect());
+        assertTrue(buffer1.isReadOnly());
+        assertEquals(expected.length, buffer1.remaining());
+
+        // Independent Views.
+        buffer1.get(new byte[4]);
+        assertEquals(expected.length, buffer2.remaining());
+
+        assertArrayEquals(expected, toBytes(resourceCache.getResource(file.toUri())));
+
+        resourceCache.clear();
+    }
+
+    @Test
+    void testConcurrentLoadFileCache(@TempDir final Path tempDir) throws Exception {
+        final AtomicInteger loadCounter = new AtomicInteger(0);
+
+        final ResourceCache resourceCache = new FileResourceCache(tempDir.resolve("cache")) {
+            @Override
+            protected URLConnection openConnection(final URI uri, final Map<String, String> requestProperties) throws IOException {
+                loadCounter.incrementAndGet();
+
+                // Simulate a slow Download.
+                sleep();
+
+                return super.openConnection(uri, requestProperties);
+            }
+        };
+
+        assertConcurrentLoad(resourceCache, tempDir, loadCounter);
+
+        try (Stream<Path> stream = Files.walk(tempDir.resolve("cache"))) {
+            assertEquals(0L, stream.filter(path -> path.toString().endsWith(".tmp")).count());
+        }
+    }
+
+    @Test
+    void testConcurrentLoadMemoryCache(@TempDir final Path tempDir) throws Exception {
+        final AtomicInteger loadCounter = new AtomicInteger(0);
+
+        final ResourceCache resourceCache = new MemoryResourceCache() {
+            @Override
+            protected URLConnection openConnection(final URI uri, final Map<String, String> requestProperties) throws IOException {
+                loadCounter.incrementAndGet();
+
+                // Simulate a slow Download.
+                sleep();
+
+                return super.openConnection(uri, requestProperties);
+            }
+        };
+
+        assertConcurrentLoad(resourceCache, tempDir, loadCounter);
+    }
+
+    private void assertConcurrentLoad(final ResourceCache resourceCache, final Path tempDir, final AtomicInteger loadCounter) throws Exception {
+        final byte[] expected = new byte[64 * 1024];
+
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+        }
+
+        final Path file = tempDir.resolve("resource.bin");
+        Files.write(file, expected);
+
+        final URI uri = file.toUri();
+        final int threads = 16;
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        final List<Future<byte[]>> futures = new ArrayList<>();
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    startSignal.await();
+
+                    return toBytes(resourceCache.getResource(uri));
+                }));
+            }
+
+            startSignal.countDown();
+
+            for (Future<byte[]> future : futures) {
+                assertArrayEquals(expected, future.get());
+            }
+        }
+
+        assertEquals(1, loadCounter.get());
+
+        // Cached: no further Load.
+        assertArrayEquals(expected, toBytes(resourceCache.getResource(uri)));
+        assertEquals(1, loadCounter.get());
+    }
 }
@@ -0,0 +1,160 @@
+// Created: 18.10.2026
+package de.freese.base.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Thomas Freese
+ */
+class TestStreamingFileResourceCache {
+    private static final byte[] FIRST_PART = new byte[1024];
+    private static final AtomicInteger REQUEST_COUNTER = new AtomicInteger(0);
+    private static final byte[] SECOND_PART = new byte[64 * 1024];
+
+    private static HttpServer httpServer;
+    private static volatile CountDownLatch releaseSecondPart;
+    private static URI uri;
+    private static URI uriNotFound;
+
+    @AfterAll
+    static void afterAll() {
+        httpServer.stop(0);
+    }
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        for (int i = 0; i < FIRST_PART.length; i++) {
+            FIRST_PART[i] = (byte) i;
+        }
+
+        for (int i = 0; i < SECOND_PART.length; i++) {
+            SECOND_PART[i] = (byte) (i * 7);
+        }
+
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        httpServer.setExecutor(runnable -> Thread.ofVirtual().start(runnable));
+
+        httpServer.createContext("/resource", httpExchange -> {
+            REQUEST_COUNTER.incrementAndGet();
+
+            // Chunked Response.
+            httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);
+
+            try (OutputStream outputStream = httpExchange.getResponseBody()) {
+                outputStream.write(FIRST_PART);
+                outputStream.flush();
+
+                releaseSecondPart.await(10, TimeUnit.SECONDS);
+
+                outputStream.write(SECOND_PART);
+                outputStream.flush();
+            }
+            catch (InterruptedException _) {
+                // Restore interrupted state.
+                Thread.currentThread().interrupt();
+            }
+        });
+        httpServer.createContext("/notFound", httpExchange -> {
+            httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_FOUND, -1);
+            httpExchange.close();
+        });
+
+        httpServer.start();
+
+        final String baseUri = "http://localhost:" + httpServer.getAddress().getPort();
+        uri = URI.create(baseUri + "/resource");
+        uriNotFound = URI.create(baseUri + "/notFound");
+    }
+
+    private static byte[] expected() {
+        final byte[] expected = new byte[FIRST_PART.length + SECOND_PART.length];
+        System.arraycopy(FIRST_PART, 0, expected, 0, FIRST_PART.length);
+        System.arraycopy(SECOND_PART, 0, expected, FIRST_PART.length, SECOND_PART.length);
+
+        return expected;
+    }
+
+    private static byte[] toBytes(final InputStream inputStream) throws IOException {
+        try (inputStream; ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            inputStream.transferTo(baos);
+
+            return baos.toByteArray();
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        REQUEST_COUNTER.set(0);
+        releaseSecondPart = new CountDownLatch(1);
+    }
+
+    @Test
+    void testConnectionError(@TempDir final Path tempDir) {
+        final ResourceCache resourceCache = new StreamingFileResourceCache(tempDir);
+
+        assertThrows(IOException.class, () -> resourceCache.getResource(uriNotFound));
+    }
+
+    @Test
+    void testFirstBytesBeforeDownloadFinished(@TempDir final Path tempDir) throws Exception {
+        final StreamingFileResourceCache resourceCache = new StreamingFileResourceCache(tempDir);
+
+        try (InputStream inputStream = resourceCache.getResource(uri)) {
+            // The Server still holds back the second Part.
+            final byte[] firstBytes = inputStream.readNBytes(FIRST_PART.length);
+            assertArrayEquals(FIRST_PART, firstBytes);
+
+            // Concurrent Reader follows the same Download.
+            final CompletableFuture<byte[]> follower = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return toBytes(resourceCache.getResource(uri));
+                }
+                catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+            });
+
+            releaseSecondPart.countDown();
+
+            assertArrayEquals(SECOND_PART, inputStream.readAllBytes());
+            assertArrayEquals(expected(), follower.get(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, REQUEST_COUNTER.get());
+
+        // Cached.
+        assertArrayEquals(expected(), toBytes(resourceCache.getResource(uri)));
+        assertEquals(1, REQUEST_COUNTER.get());
+        assertTrue(Files.exists(resourceCache.resolvePath(resourceCache.generateKey(uri))));
+
+        try (Stream<Path> stream = Files.walk(tempDir)) {
+            assertEquals(0L, stream.filter(path -> path.toString().endsWith(".tmp")).count());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+// Created: 18.10.2026
+package de.freese.base.core.collection;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import de.freese.base.utils.ExecutorUtils;
+
+/**
+ * @author Thomas Freese
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class TestConcurrentTimeoutMap {
+    private static final Duration DURATION_DEFAULT = Duration.ofMillis(200);
+    private static final Duration DURATION_SLEEP = DURATION_DEFAULT.plusMillis(50);
+
+    @Test
+    void testBackgroundTicker() {
+        final Map<String, Integer> expired = new ConcurrentHashMap<>();
+        final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+
+        try (ConcurrentTimeoutMap<String, Integer> map = new ConcurrentTimeoutMap<>(DURATION_DEFAULT, expired::put)) {
+            map.scheduleCleanUp(scheduledExecutorService, Duration.ofMillis(10));
+
+            map.put("a", 1);
+            map.put("b", 2);
+
+            // No further Access to the Map.
+            await().atMost(Duration.ofSeconds(2)).until(() -> expired.size() == 2);
+
+            assertEquals(Map.of("a", 1, "b", 2), expired);
+        }
+        finally {
+            ExecutorUtils.shutdown(scheduledExecutorService);
+        }
+    }
+
+    @Test
+    void testCompute() {
+        final Map<String, Integer> map = new ConcurrentTimeoutMap<>(DURATION_DEFAULT);
+
+        map.compute("a", (key, value) -> value == null ? 1 : 1 + value);
+        assertEquals(1, map.size());
+        assertEquals(1, map.get("a"));
+
+        map.compute("a", (key, value) -> value == null ? 1 : 1 + value);
+        assertEquals(1, map.size());
+        assertEquals(2, map.get("a"));
+
+        map.computeIfAbsent("b", key -> 10);
+        map.merge("b", 5, Integer::sum);
+        assertEquals(15, map.get("b"));
+
+        await().pollDelay(DURATION_SLEEP).until(map::isEmpty);
+
+        assertEquals(0, map.size());
+        assertNull(map.get("a"));
+        assertNull(map.get("b"));
+    }
+
+    @Test
+    void testConcurrentPut() throws Exception {
+        final AtomicInteger expiredCounter = new AtomicInteger(0);
+        final ConcurrentTimeoutMap<Integer, Integer> map = new ConcurrentTimeoutMap<>(DURATION_DEFAULT, (key, value) -> expiredCounter.incrementAndGet());
+        final int threads = 4;
+        final int entriesPerThread = 10_000;
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * entriesPerThread;
+
+                executorService.execute(() -> IntStream.range(offset, offset + entriesPerThread).forEach(i -> map.put(i, i)));
+            }
+        }
+
+        assertEquals(threads * entriesPerThread, map.size());
+
+        await().atMost(Duration.ofSeconds(2)).pollDelay(DURATION_SLEEP).until(() -> map.size() == 0);
+
+        assertEquals(threads * entriesPerThread, expiredCounter.get());
+    }
+
+    @Test
+    void testGet() {
+        final Map<String, Integer> map = new ConcurrentTimeoutMap<>(DURATION_DEFAULT);
+
+        map.put("a", 1);
+        assertEquals(1, map.size());
+        assertFalse(map.isEmpty());
+        assertEquals(1, map.get("a"));
+        assertTrue(map.containsKey("a"));
+        assertTrue(map.containsValue(1));
+        assertIterableEquals(Set.of("a"), map.keySet());
+        assertIterableEquals(List.of(1), new ArrayList<>(map.values()));
+
+        await().pollDelay(DURATION_SLEEP).until(map::isEmpty);
+
+        assertEquals(0, map.size());
+        assertNull(map.get("a"));
+        assertFalse(map.containsKey("a"));
+        assertIterableEquals(Set.of(), map.keySet());
+        assertIterableEquals(List.of(), new ArrayList<>(map.values()));
+    }
+
+    @Test
+    void testPerEntryTimeToLive() {
+        final List<String> expired = new ArrayList<>();
+        final ConcurrentTimeoutMap<String, Integer> map = new ConcurrentTimeoutMap<>(Duration.ofHours(1), (key, value) -> expired.add(key));
+
+        map.put("short", 1, Duration.ofMillis(50));
+        map.put("long", 2);
+
+        await().pollDelay(Duration.ofMillis(100)).until(() -> true);
+        map.cleanUp();
+
+        assertEquals(List.of("short"), expired);
+        assertNull(map.get("short"));
+        assertEquals(2, map.get("long"));
+        assertTrue(map.getRemainingTime("long").compareTo(Duration.ofMinutes(59)) > 0);
+    }
+
+    @Test
+    void testPutOverExpiredEntry() {
+        final Map<String, Integer> expired = new ConcurrentHashMap<>();
+        final ConcurrentTimeoutMap<String, Integer> map = new ConcurrentTimeoutMap<>(DURATION_DEFAULT, expired::put);
+
+        map.put("a", 1);
+        await().pollDelay(DURATION_SLEEP).until(() -> true);
+
+        // The expired Entry is replaced, not returned, but reported like by putIfAbsent.
+        assertNull(map.put("a", 2));
+        assertEquals(Map.of("a", 1), expired);
+        assertEquals(2, map.get("a"));
+    }
+
+    @Test
+    void testPutResetsTimeout() {
+        final ConcurrentTimeoutMap<String, Integer> map = new ConcurrentTimeoutMap<>(DURATION_DEFAULT);
+
+        map.put("a", 1);
+        await().pollDelay(Duration.ofMillis(120)).until(() -> true);
+
+        assertEquals(1, map.put("a", 2));
+        await().pollDelay(Duration.ofMillis(120)).until(() -> true);
+
+        assertEquals(2, map.get("a"));
+
+        // replace keeps the Expiration.
+        assertEquals(2, map.replace("a", 3));
+        await().pollDelay(Duration.ofMillis(120)).until(() -> true);
+
+        assertNull(map.get("a"));
+    }
+
+    @Test
+    void testRemove() {
+        final List<String> expired = new ArrayList<>();
+        final ConcurrentTimeoutMap<String, Integer> map = new ConcurrentTimeoutMap<>(DURATION_DEFAULT, (key, value) -> expired.add(key));
+
+        map.put("a", 1);
+        map.put("b", 2);
+
+        assertEquals(1, map.remove("a"));
+        assertFalse(map.remove("b", 3));
+        assertTrue(map.remove("b", 2));
+        assertTrue(map.isEmpty());
+
+        await().pollDelay(DURATION_SLEEP).until(() -> true);
+        map.cleanUp();
+
+        // Removed Entries are not expired.
+        assertTrue(expired.isEmpty());
+    }
+}
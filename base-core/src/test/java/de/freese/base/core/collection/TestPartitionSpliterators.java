@@ -0,0 +1,116 @@
+// Created: 18.10.2026
+package de.freese.base.core.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Thomas Freese
+ */
+class TestPartitionSpliterators {
+    private static <T> List<List<T>> toList(final Spliterator<List<T>> spliterator) {
+        return StreamSupport.stream(spliterator, false).toList();
+    }
+
+    @Test
+    void testPartitionCountMatchesPartitionIterable() {
+        for (int size = 0; size < 20; size++) {
+            final List<Integer> list = IntStream.range(0, size).boxed().toList();
+
+            for (int count = 1; count < 6; count++) {
+                assertEquals(PartitionIterable.ofPartitionCount(list, count).getPartitions(), toList(PartitionSpliterators.ofPartitionCount(list, count)));
+                assertEquals(PartitionIterable.ofPartitionCountModulo(list, count).getPartitions(),
+                        toList(PartitionSpliterators.ofPartitionCountModulo(list, count)));
+            }
+        }
+    }
+
+    @Test
+    void testPartitionLengthInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> PartitionSpliterators.ofPartitionLength(List.of(1), 0));
+        assertThrows(IllegalArgumentException.class, () -> PartitionSpliterators.ofPartitionCount(List.of(1), 0));
+    }
+
+    @Test
+    void testPartitionLengthIsLazy() {
+        final AtomicInteger consumed = new AtomicInteger();
+        final Iterator<Integer> infinite = Stream.iterate(0, i -> i + 1).peek(_ -> consumed.incrementAndGet()).iterator();
+
+        final List<List<Integer>> partitions = StreamSupport.stream(PartitionSpliterators.ofPartitionLength(infinite, 3), false).limit(2).toList();
+
+        assertEquals("[[0, 1, 2], [3, 4, 5]]", partitions.toString());
+        assertEquals(6, consumed.get());
+    }
+
+    @Test
+    void testPartitionLengthIterable() {
+        final List<Integer> list = new LinkedList<>(IntStream.range(0, 10).boxed().toList());
+
+        final Spliterator<List<Integer>> spliterator = PartitionSpliterators.ofPartitionLength(list, 4);
+        assertEquals(3, spliterator.estimateSize());
+
+        assertEquals("[[0, 1, 2, 3], [4, 5, 6, 7], [8, 9]]", toList(spliterator).toString());
+        assertEquals(0, toList(PartitionSpliterators.ofPartitionLength((Iterable<Integer>) null, 4)).size());
+    }
+
+    @Test
+    void testPartitionLengthRandomAccessIsView() {
+        final List<Integer> list = new ArrayList<>(IntStream.range(0, 10).boxed().toList());
+
+        final Spliterator<List<Integer>> spliterator = PartitionSpliterators.ofPartitionLength(list, 4);
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(3, spliterator.estimateSize());
+
+        final List<List<Integer>> partitions = toList(spliterator);
+        assertEquals("[[0, 1, 2, 3], [4, 5, 6, 7], [8, 9]]", partitions.toString());
+
+        // Views: no Copy of the Elements.
+        list.set(9, 99);
+        assertEquals("[8, 99]", partitions.get(2).toString());
+    }
+
+    @Test
+    void testParallelStream() {
+        final int size = 100_000;
+        final List<Integer> sums = PartitionSpliterators.stream(IntStream.range(0, size).boxed(), 1000).parallel()
+                .map(partition -> partition.stream().mapToInt(Integer::intValue).sum()).toList();
+
+        assertEquals(100, sums.size());
+        assertEquals((long) size * (size - 1) / 2, sums.stream().mapToLong(Integer::longValue).sum());
+
+        final String joined = PartitionSpliterators.stream(List.of(1, 2, 3, 4, 5), 2, true).map(List::toString).collect(Collectors.joining());
+        assertEquals("[1, 2][3, 4][5]", joined);
+    }
+
+    @Test
+    void testTrySplitHandsOutPartitions() {
+        final Spliterator<List<Integer>> spliterator = PartitionSpliterators.ofPartitionLength(IntStream.range(0, 10).iterator(), 2);
+
+        final Spliterator<List<Integer>> first = spliterator.trySplit();
+        assertNotNull(first);
+        assertEquals("[[0, 1]]", toList(first).toString());
+
+        final Spliterator<List<Integer>> second = spliterator.trySplit();
+        assertNotNull(second);
+        assertEquals("[[2, 3], [4, 5]]", toList(second).toString());
+
+        assertEquals("[[6, 7], [8, 9]]", toList(spliterator).toString());
+        assertNull(spliterator.trySplit());
+    }
+}
@@ -97,6 +97,15 @@ class TestBoundedExecutor {
         boundedExecutor.shutdown();
     }
 
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createTestData")
+    @DisplayName("LockFreeBoundedExecutor")
+    void testExecuteLockFree(final String name, final int parallelism) {
+        final LockFreeBoundedExecutor boundedExecutor = new LockFreeBoundedExecutor(executorService, parallelism);
+
+        execute(boundedExecutor, boundedExecutor::getQueueSize);
+    }
+
     private void execute(final Executor executor, final Supplier<Integer> queueSizeSupplier) {
         final Runnable task = () -> {
             if (queueSizeSupplier == null) {
@@ -0,0 +1,200 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import de.freese.base.utils.ExecutorUtils;
+
+/**
+ * @author Thomas Freese
+ */
+class TestKeyedSerialExecutor {
+    static Stream<Arguments> createTestData() {
+        return Stream.of(
+                Arguments.of("Platform-Threads", false),
+                Arguments.of("Virtual-Threads", true)
+        );
+    }
+
+    @Test
+    void testDifferentKeysRunConcurrently() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        try {
+            final KeyedSerialExecutor<String> executor = new KeyedSerialExecutor<>(executorService);
+            final CountDownLatch bothStarted = new CountDownLatch(2);
+            final CountDownLatch finished = new CountDownLatch(2);
+
+            final Runnable task = () -> {
+                bothStarted.countDown();
+
+                try {
+                    // Only possible if both Keys are running at the same Time.
+                    if (bothStarted.await(5, TimeUnit.SECONDS)) {
+                        finished.countDown();
+                    }
+                }
+                catch (InterruptedException _) {
+                    // Restore interrupted state.
+                    Thread.currentThread().interrupt();
+                }
+            };
+
+            executor.execute("a", task);
+            executor.execute("b", task);
+
+            assertTrue(finished.await(10, TimeUnit.SECONDS));
+        }
+        finally {
+            ExecutorUtils.shutdown(executorService);
+        }
+    }
+
+    @Test
+    void testDelegateShutDownWithLongQueue() {
+        final AtomicBoolean shutdown = new AtomicBoolean();
+        final List<Runnable> accepted = new ArrayList<>();
+        final Executor delegate = runnable -> {
+            if (shutdown.get()) {
+                throw new RejectedExecutionException("shutdown");
+            }
+
+            accepted.add(runnable);
+        };
+
+        final KeyedSerialExecutor<String> executor = new KeyedSerialExecutor<>(delegate, 1);
+        final int taskCount = 100_000;
+        final List<Integer> executed = new ArrayList<>(taskCount);
+
+        for (int i = 0; i < taskCount; i++) {
+            final int value = i;
+            executor.execute("a", () -> executed.add(value));
+        }
+
+        assertEquals(1, accepted.size());
+        assertEquals(taskCount, executor.getQueueSize("a"));
+
+        // Every Redispatch is rejected, the accepted Run drains the whole Queue without overflowing the Stack.
+        shutdown.set(true);
+        accepted.getFirst().run();
+
+        assertEquals(taskCount, executed.size());
+        assertEquals(taskCount - 1, executed.getLast());
+        assertEquals(0, executor.getKeyCount());
+    }
+
+    @Test
+    void testErrorDoesNotBlockKey() {
+        final KeyedSerialExecutor<String> executor = new KeyedSerialExecutor<>(Runnable::run);
+        final AtomicInteger counter = new AtomicInteger();
+
+        assertThrows(AssertionError.class, () -> executor.execute("a", () -> {
+            throw new AssertionError("test");
+        }));
+
+        assertEquals(0, executor.getQueueSize("a"));
+
+        executor.execute("a", counter::incrementAndGet);
+
+        assertEquals(1, counter.get());
+        assertEquals(0, executor.getKeyCount());
+    }
+
+    @Test
+    void testExceptionKeepsOrder() {
+        final KeyedSerialExecutor<String> executor = new KeyedSerialExecutor<>(Runnable::run);
+        final List<Integer> executed = new ArrayList<>();
+
+        executor.execute("a", () -> executed.add(1));
+        executor.execute("a", () -> {
+            throw new IllegalStateException("test");
+        });
+        executor.execute("a", () -> executed.add(3));
+
+        assertEquals(List.of(1, 3), executed);
+        assertEquals(0, executor.getKeyCount());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createTestData")
+    void testOrderPerKey(final String name, final boolean virtualThreads) throws Exception {
+        final ExecutorService executorService = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(4);
+
+        try {
+            final KeyedSerialExecutor<Integer> executor = new KeyedSerialExecutor<>(executorService, 4);
+            final int keyCount = 8;
+            final int tasksPerKey = 2_000;
+            final Map<Integer, List<Integer>> executed = new ConcurrentHashMap<>();
+            final AtomicInteger concurrentPerKey = new AtomicInteger();
+            final Map<Integer, AtomicInteger> running = new ConcurrentHashMap<>();
+
+            // One Producer per Key, the Producers are running in parallel.
+            final List<Thread> producers = new ArrayList<>();
+
+            for (int k = 0; k < keyCount; k++) {
+                final int key = k;
+                executed.put(key, new ArrayList<>());
+                running.put(key, new AtomicInteger());
+
+                producers.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < tasksPerKey; i++) {
+                        final int value = i;
+
+                        executor.execute(key, () -> {
+                            if (running.get(key).incrementAndGet() > 1) {
+                                concurrentPerKey.incrementAndGet();
+                            }
+
+                            executed.get(key).add(value);
+                            running.get(key).decrementAndGet();
+                        });
+                    }
+                }));
+            }
+
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            // Idle Queues are removed.
+            await().atMost(Duration.ofSeconds(10)).until(() -> executor.getKeyCount() == 0);
+
+            assertEquals(0, concurrentPerKey.get());
+
+            for (int k = 0; k < keyCount; k++) {
+                final List<Integer> values = executed.get(k);
+                assertEquals(tasksPerKey, values.size());
+
+                for (int i = 0; i < tasksPerKey; i++) {
+                    assertEquals(i, values.get(i));
+                }
+            }
+        }
+        finally {
+            ExecutorUtils.shutdown(executorService);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import de.freese.base.core.concurrent.limit.ConcurrencyLimit;
+import de.freese.base.utils.ExecutorUtils;
+
+/**
+ * @author Thomas Freese
+ */
+class TestLockFreeBoundedExecutor {
+    private static ExecutorService executorService;
+
+    @AfterAll
+    static void afterAll() {
+        ExecutorUtils.shutdown(executorService);
+    }
+
+    @BeforeAll
+    static void beforeAll() {
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    @Test
+    void testGrowingLimitDrainsQueue() throws Exception {
+        final AtomicInteger currentLimit = new AtomicInteger(1);
+        final ConcurrencyLimit limit = new ConcurrencyLimit() {
+            @Override
+            public int getLimit() {
+                return currentLimit.get();
+            }
+
+            @Override
+            public void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+                // Empty
+            }
+        };
+
+        final LockFreeBoundedExecutor executor = new LockFreeBoundedExecutor(executorService, limit);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final int taskCount = 20;
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+
+        executor.execute(() -> {
+            started.countDown();
+
+            try {
+                blocker.await();
+            }
+            catch (InterruptedException _) {
+                // Restore interrupted state.
+                Thread.currentThread().interrupt();
+            }
+            finally {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        for (int i = 1; i < taskCount; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+                try {
+                    TimeUnit.MILLISECONDS.sleep(20);
+                }
+                catch (InterruptedException _) {
+                    // Restore interrupted state.
+                    Thread.currentThread().interrupt();
+                }
+                finally {
+                    running.decrementAndGet();
+                    latch.countDown();
+                }
+            });
+        }
+
+        // No further execute: the only Worker has to start the additional Workers for the Backlog.
+        currentLimit.set(3);
+        blocker.countDown();
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() > 1, "maxRunning = " + maxRunning.get());
+        assertTrue(maxRunning.get() <= 3, "maxRunning = " + maxRunning.get());
+    }
+
+    @Test
+    void testParallelismIsBounded() throws Exception {
+        final LockFreeBoundedExecutor executor = new LockFreeBoundedExecutor(executorService, 3);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final int taskCount = 200;
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+
+        final Runnable task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+            try {
+                TimeUnit.MICROSECONDS.sleep(200);
+            }
+            catch (InterruptedException _) {
+                // Restore interrupted state.
+                Thread.currentThread().interrupt();
+            }
+            finally {
+                running.decrementAndGet();
+                latch.countDown();
+            }
+        };
+
+        // Many Producers.
+        final List<Thread> producers = new CopyOnWriteArrayList<>();
+
+        for (int p = 0; p < 4; p++) {
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < taskCount / 4; i++) {
+                    executor.execute(task);
+                }
+            }));
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 3, "maxRunning = " + maxRunning.get());
+
+        final LockFreeBoundedExecutor.Statistics statistics = executor.getStatistics();
+        assertEquals(taskCount, statistics.submitted());
+        assertEquals(0L, statistics.rejected());
+        assertTrue(statistics.runTime().toNanos() > 0L);
+
+        // The Permits are released after the Queue is drained.
+        while (executor.getActiveCount() > 0) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(taskCount, executor.getStatistics().completed());
+        assertEquals(0, executor.getQueueSize());
+    }
+
+    @Test
+    void testRejectingDelegateDoesNotStrandTasks() throws Exception {
+        // Every Worker is rejected: the Tasks, which other Producers enqueued while the Permit was held, must not stay in the Queue.
+        final LockFreeBoundedExecutor executor = new LockFreeBoundedExecutor(_ -> {
+            throw new RejectedExecutionException("saturated");
+        }, 1);
+        final AtomicInteger accepted = new AtomicInteger();
+        final AtomicInteger executed = new AtomicInteger();
+        final int producerCount = 4;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(producerCount);
+
+        for (int p = 0; p < producerCount; p++) {
+            executorService.execute(() -> {
+                try {
+                    assertTrue(start.await(10, TimeUnit.SECONDS));
+
+                    for (int i = 0; i < 1_000; i++) {
+                        try {
+                            executor.execute(executed::incrementAndGet);
+                            accepted.incrementAndGet();
+                        }
+                        catch (RejectedExecutionException _) {
+                            // The Task of the Permit-Holder.
+                        }
+                    }
+                }
+                catch (InterruptedException _) {
+                    // Restore interrupted state.
+                    Thread.currentThread().interrupt();
+                }
+                finally {
+                    finished.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(accepted.get(), executed.get());
+        assertEquals(0, executor.getQueueSize());
+        assertEquals(0, executor.getActiveCount());
+    }
+
+    @Test
+    void testSaturationPolicies() throws Exception {
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final Runnable blockingTask = () -> {
+            try {
+                blocker.await();
+            }
+            catch (InterruptedException _) {
+                // Restore interrupted state.
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // ABORT
+        final LockFreeBoundedExecutor abortExecutor = new LockFreeBoundedExecutor(executorService, 1, 1, LockFreeBoundedExecutor.SaturationPolicy.ABORT);
+        abortExecutor.execute(blockingTask);
+        waitForQueueSize(abortExecutor, 0);
+        abortExecutor.execute(() -> {
+        });
+        assertThrows(RejectedExecutionException.class, () -> abortExecutor.execute(() -> {
+        }));
+        assertEquals(1L, abortExecutor.getStatistics().rejected());
+
+        // CALLER_RUNS
+        final LockFreeBoundedExecutor callerRunsExecutor = new LockFreeBoundedExecutor(executorService, 1, 1, LockFreeBoundedExecutor.SaturationPolicy.CALLER_RUNS);
+        callerRunsExecutor.execute(blockingTask);
+        waitForQueueSize(callerRunsExecutor, 0);
+        callerRunsExecutor.execute(() -> {
+        });
+        final Thread[] runner = new Thread[1];
+        callerRunsExecutor.execute(() -> runner[0] = Thread.currentThread());
+        assertEquals(Thread.currentThread(), runner[0]);
+
+        // The Task of the Caller is counted, the blocking Task and the queued Task are not completed yet.
+        final LockFreeBoundedExecutor.Statistics callerRunsStatistics = callerRunsExecutor.getStatistics();
+        assertEquals(3L, callerRunsStatistics.submitted());
+        assertEquals(1L, callerRunsStatistics.completed());
+        assertEquals(0L, callerRunsStatistics.rejected());
+
+        // DISCARD_OLDEST
+        final List<String> executed = new CopyOnWriteArrayList<>();
+        final LockFreeBoundedExecutor discardOldestExecutor = new LockFreeBoundedExecutor(executorService, 1, 1,
+                LockFreeBoundedExecutor.SaturationPolicy.DISCARD_OLDEST);
+        discardOldestExecutor.execute(blockingTask);
+        waitForQueueSize(discardOldestExecutor, 0);
+        discardOldestExecutor.execute(() -> executed.add("old"));
+        discardOldestExecutor.execute(() -> executed.add("new"));
+        assertEquals(1L, discardOldestExecutor.getStatistics().rejected());
+
+        blocker.countDown();
+
+        while (discardOldestExecutor.getActiveCount() > 0) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(List.of("new"), executed);
+    }
+
+    @Test
+    void testTaskException() throws Exception {
+        final LockFreeBoundedExecutor executor = new LockFreeBoundedExecutor(Runnable::run, 1);
+        final AtomicInteger counter = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> executor.execute(() -> {
+            throw new IllegalStateException("test");
+        }));
+
+        executor.execute(counter::incrementAndGet);
+
+        assertEquals(1, counter.get());
+        assertEquals(0, executor.getActiveCount());
+        assertEquals(2L, executor.getStatistics().completed());
+    }
+
+    private void waitForQueueSize(final LockFreeBoundedExecutor executor, final int size) {
+        while (executor.getQueueSize() != size) {
+            Thread.onSpinWait();
+        }
+    }
+}
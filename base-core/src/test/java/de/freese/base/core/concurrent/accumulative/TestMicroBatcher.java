@@ -0,0 +1,146 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.accumulative;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import de.freese.base.utils.ExecutorUtils;
+
+/**
+ * @author Thomas Freese
+ */
+class TestMicroBatcher {
+    @Test
+    void testBlockWithVirtualThreads() throws Exception {
+        final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+        try {
+            final List<Integer> received = new CopyOnWriteArrayList<>();
+            final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+            try (MicroBatcher<Integer> batcher = new MicroBatcher<>(batch -> {
+                batchSizes.add(batch.size());
+                received.addAll(batch);
+            }, 100, Duration.ofMillis(20), 200, MicroBatcher.BackpressurePolicy.BLOCK, executorService)) {
+                for (int i = 0; i < 100_000; i++) {
+                    assertTrue(batcher.offer(i));
+                }
+            }
+
+            await().atMost(Duration.ofSeconds(10)).until(() -> received.size() == 100_000);
+
+            assertEquals(IntStream.range(0, 100_000).boxed().toList(), received);
+            assertTrue(batchSizes.stream().allMatch(size -> size <= 100));
+        }
+        finally {
+            ExecutorUtils.shutdown(executorService);
+        }
+    }
+
+    @Test
+    void testCloseDeliversInCallingThread() {
+        final List<Runnable> pendingDeliveries = new ArrayList<>();
+        final List<List<Integer>> batches = new ArrayList<>();
+
+        final MicroBatcher<Integer> batcher = new MicroBatcher<>(batches::add, 10, Duration.ofHours(1), 100, MicroBatcher.BackpressurePolicy.REJECT,
+                pendingDeliveries::add);
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(batcher.offer(i));
+        }
+
+        // The Drain-Task is queued, but not started.
+        assertEquals(1, pendingDeliveries.size());
+        assertTrue(batches.isEmpty());
+
+        batcher.close();
+
+        assertEquals(List.of(IntStream.range(0, 10).boxed().toList(), IntStream.range(10, 20).boxed().toList(), IntStream.range(20, 25).boxed().toList()),
+                batches);
+        assertEquals(0, batcher.getSize());
+
+        // The late Drain-Task finds nothing.
+        pendingDeliveries.forEach(Runnable::run);
+        assertEquals(3, batches.size());
+    }
+
+    @Test
+    void testDropOldest() {
+        final List<Runnable> pendingDeliveries = new ArrayList<>();
+        final List<List<Integer>> batches = new ArrayList<>();
+
+        final MicroBatcher<Integer> batcher = new MicroBatcher<>(batches::add, 10, Duration.ofHours(1), 10, MicroBatcher.BackpressurePolicy.DROP_OLDEST,
+                pendingDeliveries::add);
+
+        for (int i = 0; i < 15; i++) {
+            assertTrue(batcher.offer(i));
+        }
+
+        assertEquals(5L, batcher.getDroppedCount());
+        assertEquals(10, batcher.getSize());
+
+        pendingDeliveries.forEach(Runnable::run);
+
+        assertEquals(List.of(IntStream.range(5, 15).boxed().toList()), batches);
+    }
+
+    @Test
+    void testFlushBySize() {
+        final List<List<Integer>> batches = new ArrayList<>();
+
+        try (MicroBatcher<Integer> batcher = new MicroBatcher<>(batches::add, 10, Duration.ofHours(1), 100, MicroBatcher.BackpressurePolicy.REJECT, Runnable::run)) {
+            for (int i = 0; i < 35; i++) {
+                batcher.offer(i);
+            }
+
+            assertEquals(3, batches.size());
+            assertTrue(batches.stream().allMatch(batch -> batch.size() == 10));
+            assertEquals(5, batcher.getSize());
+        }
+
+        // close delivers the Rest.
+        assertEquals(4, batches.size());
+        assertEquals(IntStream.range(30, 35).boxed().toList(), batches.get(3));
+    }
+
+    @Test
+    void testFlushByTime() {
+        final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+        final MicroBatcher<String> batcher = new MicroBatcher<>(batches::add, 100, Duration.ofMillis(50));
+        batcher.offer("a");
+        batcher.offer("b");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> batches.size() == 1);
+
+        assertEquals(List.of("a", "b"), batches.getFirst());
+    }
+
+    @Test
+    void testReject() {
+        final List<Runnable> pendingDeliveries = new ArrayList<>();
+
+        final MicroBatcher<Integer> batcher = new MicroBatcher<>(_ -> {
+        }, 2, Duration.ofHours(1), 2, MicroBatcher.BackpressurePolicy.REJECT, pendingDeliveries::add);
+
+        assertTrue(batcher.offer(1));
+        assertTrue(batcher.offer(2));
+        assertFalse(batcher.offer(3));
+        assertEquals(1L, batcher.getRejectedCount());
+
+        batcher.close();
+        assertFalse(batcher.offer(4));
+    }
+}
@@ -0,0 +1,160 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.freese.base.core.concurrent.LockFreeBoundedExecutor;
+import de.freese.base.utils.ExecutorUtils;
+
+/**
+ * @author Thomas Freese
+ */
+class TestConcurrencyLimit {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestConcurrencyLimit.class);
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    static Stream<Arguments> createAdaptiveLimits() {
+        return Stream.of(
+                Arguments.of("AIMD", new AimdLimit(32, 1, 64, 0.9D, Duration.ofMillis(6))),
+                Arguments.of("Gradient", new GradientLimit(4, 1, 64)),
+                Arguments.of("Vegas", new VegasLimit(32, 1, 64))
+        );
+    }
+
+    @Test
+    void testAimdLimit() {
+        final AimdLimit limit = new AimdLimit(10, 2, 12, 0.5D, Duration.ofMillis(10));
+
+        // Limit not used -> no Increase.
+        limit.onSample(MILLIS, 1, false);
+        assertEquals(10, limit.getLimit());
+
+        limit.onSample(MILLIS, 10, false);
+        limit.onSample(MILLIS, 10, false);
+        limit.onSample(MILLIS, 10, false);
+        assertEquals(12, limit.getLimit());
+
+        // Timeout
+        limit.onSample(20 * MILLIS, 10, false);
+        assertEquals(6, limit.getLimit());
+
+        // Drop
+        limit.onSample(MILLIS, 10, true);
+        limit.onSample(MILLIS, 10, true);
+        assertEquals(2, limit.getLimit());
+
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimit(10, 2, 12, 1.5D, Duration.ofMillis(10)));
+    }
+
+    @Test
+    void testFixedLimit() {
+        final FixedLimit limit = new FixedLimit(4);
+        limit.onSample(MILLIS, 4, true);
+
+        assertEquals(4, limit.getLimit());
+        assertThrows(IllegalArgumentException.class, () -> new FixedLimit(0));
+    }
+
+    @Test
+    void testGradientLimit() {
+        final GradientLimit limit = new GradientLimit(20, 1, 100);
+
+        // Stable Latency -> Limit grows.
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(MILLIS, limit.getLimit(), false);
+        }
+
+        final int grownLimit = limit.getLimit();
+        assertTrue(grownLimit > 20, "limit = " + grownLimit);
+
+        // Latency rises -> Limit shrinks.
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+
+        assertTrue(limit.getLimit() < grownLimit, "limit = " + limit.getLimit());
+        assertTrue(limit.getShortRtt().toNanos() > limit.getLongRtt().toNanos());
+    }
+
+    @Test
+    void testVegasLimit() {
+        final VegasLimit limit = new VegasLimit(20, 1, 100);
+
+        // Run-Time equals No-Load -> no Queue -> Limit grows.
+        limit.onSample(MILLIS, 20, false);
+        limit.onSample(MILLIS, 20, false);
+        assertTrue(limit.getLimit() > 20, "limit = " + limit.getLimit());
+        assertEquals(Duration.ofMillis(1), limit.getRttNoLoad());
+
+        // Run-Time 4 x No-Load -> big Queue -> Limit shrinks.
+        final int before = limit.getLimit();
+        limit.onSample(4 * MILLIS, before, false);
+        assertTrue(limit.getLimit() < before, "limit = " + limit.getLimit());
+    }
+
+    /**
+     * Synthetic Downstream with a Capacity of 4 concurrent Calls:<br>
+     * Latency = 2ms * max(1, inFlight / 4)
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createAdaptiveLimits")
+    void testWithSyntheticLatency(final String name, final ConcurrencyLimit limit) throws Exception {
+        final ExecutorService executorService = Executors.newCachedThreadPool();
+
+        try {
+            final LockFreeBoundedExecutor executor = new LockFreeBoundedExecutor(executorService, limit);
+            final AtomicInteger inFlight = new AtomicInteger();
+            final AtomicInteger maxLimit = new AtomicInteger();
+            final int taskCount = 1_500;
+            final CountDownLatch latch = new CountDownLatch(taskCount);
+
+            for (int i = 0; i < taskCount; i++) {
+                executor.execute(() -> {
+                    final int current = inFlight.incrementAndGet();
+
+                    try {
+                        final long latencyMicros = 2_000L * Math.max(1, current / 4);
+                        TimeUnit.MICROSECONDS.sleep(latencyMicros);
+                    }
+                    catch (InterruptedException _) {
+                        // Restore interrupted state.
+                        Thread.currentThread().interrupt();
+                    }
+                    finally {
+                        inFlight.decrementAndGet();
+                        maxLimit.accumulateAndGet(limit.getLimit(), Math::max);
+                        latch.countDown();
+                    }
+                });
+            }
+
+            assertTrue(latch.await(60, TimeUnit.SECONDS));
+
+            LOGGER.info("{}: {}, maxLimit={}, {}", name, limit, maxLimit.get(), executor.getStatistics());
+
+            // The Limit has settled near the Capacity of the Downstream, not on the Maximum.
+            assertTrue(limit.getLimit() < 24, "limit = " + limit.getLimit());
+            assertTrue(limit.getLimit() >= 1);
+        }
+        finally {
+            ExecutorUtils.shutdown(executorService);
+        }
+    }
+}
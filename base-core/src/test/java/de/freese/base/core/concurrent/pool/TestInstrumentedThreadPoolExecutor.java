@@ -0,0 +1,165 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import de.freese.base.utils.ExecutorUtils;
+
+/**
+ * @author Thomas Freese
+ */
+class TestInstrumentedThreadPoolExecutor {
+    @Test
+    void testFactoryBean() throws Exception {
+        final TunedThreadPoolExecutorFactoryBean factoryBean = new TunedThreadPoolExecutorFactoryBean();
+        factoryBean.setBeanName("testFactoryBean");
+        factoryBean.setCorePoolSize(1);
+        factoryBean.setMaxPoolSize(2);
+        factoryBean.setQueueCapacity(10);
+        factoryBean.setInstrumented(true);
+        factoryBean.afterPropertiesSet();
+
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName("de.freese.base:type=ThreadPool,name=" + ObjectName.quote("testFactoryBean"));
+
+        try {
+            factoryBean.getObject().submit(() -> {
+            }).get();
+
+            assertTrue(mBeanServer.isRegistered(objectName));
+            assertEquals(1L, mBeanServer.getAttribute(objectName, "CompletedTaskCount"));
+        }
+        finally {
+            factoryBean.destroy();
+        }
+
+        assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+    @Test
+    void testDuplicateMBeanName() throws Exception {
+        final InstrumentedThreadPoolExecutor executor1 = InstrumentedThreadPoolExecutor.create(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                Executors.defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        final InstrumentedThreadPoolExecutor executor2 = InstrumentedThreadPoolExecutor.create(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                Executors.defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        try {
+            final ObjectName objectName = executor1.registerMBean("testDuplicateMBeanName");
+
+            // Logged, the second Executor works without MBean.
+            assertNull(executor2.registerMBean("testDuplicateMBeanName"));
+
+            executor2.shutdown();
+            assertTrue(executor2.awaitTermination(10, TimeUnit.SECONDS));
+
+            // Not unregistered by the second Executor.
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+        }
+        finally {
+            ExecutorUtils.shutdown(executor1);
+            ExecutorUtils.shutdown(executor2);
+        }
+    }
+
+    @Test
+    void testMetrics() throws Exception {
+        final TunedLinkedBlockingQueue<Runnable> queue = new TunedLinkedBlockingQueue<>(2);
+        final InstrumentedThreadPoolExecutor executor = InstrumentedThreadPoolExecutor.create(1, 2, 60, TimeUnit.SECONDS, queue, Executors.defaultThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        try {
+            final CountDownLatch blocker = new CountDownLatch(1);
+            final Runnable blockingTask = () -> {
+                try {
+                    blocker.await();
+                }
+                catch (InterruptedException _) {
+                    // Restore interrupted state.
+                    Thread.currentThread().interrupt();
+                }
+            };
+
+            executor.execute(blockingTask);
+            // Forced Growth to the 2. Thread.
+            executor.execute(blockingTask);
+            // Queued
+            executor.execute(blockingTask);
+            executor.execute(blockingTask);
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(blockingTask));
+
+            ThreadPoolMetrics metrics = executor.getMetrics();
+            assertEquals(2, metrics.poolSize());
+            assertEquals(2, metrics.activeCount());
+            assertEquals(2, metrics.queueSize());
+            assertEquals(0, metrics.queueRemainingCapacity());
+            assertEquals(1L, metrics.rejectedCount());
+            assertTrue(metrics.forcedGrowthCount() >= 1L);
+
+            TimeUnit.MILLISECONDS.sleep(20);
+            blocker.countDown();
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            metrics = executor.getMetrics();
+            assertEquals(4L, metrics.completedTaskCount());
+            assertEquals(4L, metrics.execution().count());
+            assertEquals(4L, metrics.queueWait().count());
+            // The queued Tasks have waited at least the Sleep.
+            assertTrue(metrics.queueWait().max() >= TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        finally {
+            ExecutorUtils.shutdown(executor);
+        }
+    }
+
+    @Test
+    void testRemove() throws Exception {
+        final InstrumentedThreadPoolExecutor executor = InstrumentedThreadPoolExecutor.create(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                Executors.defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        try {
+            final CountDownLatch blocker = new CountDownLatch(1);
+            final Runnable queuedTask = () -> {
+            };
+
+            executor.execute(() -> {
+                try {
+                    blocker.await();
+                }
+                catch (InterruptedException _) {
+                    // Restore interrupted state.
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute(queuedTask);
+
+            // The Caller only knows the original Task, not the Wrapper.
+            assertTrue(executor.remove(queuedTask));
+            assertFalse(executor.remove(queuedTask));
+            assertEquals(0, executor.getQueue().size());
+
+            blocker.countDown();
+        }
+        finally {
+            ExecutorUtils.shutdown(executor);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+// Created: 18.10.2026
+package de.freese.base.core.concurrent.synchronisation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Thomas Freese
+ */
+class TestStripedLocks {
+    @Test
+    void testDistribution() {
+        final StripedLocks<ReentrantLock> locks = StripedLocks.reentrantLocks(16);
+        final int[] counts = new int[locks.getStripes()];
+
+        // Sequential Keys with bad Hash-Distribution in the lower Bits.
+        for (int i = 0; i < 16_000; i++) {
+            counts[locks.indexFor(i << 8)]++;
+        }
+
+        for (int count : counts) {
+            assertTrue(count > 500 && count < 1_500, "count = " + count);
+        }
+    }
+
+    @Test
+    void testReadWriteLocks() {
+        final StripedLocks<ReentrantReadWriteLock> locks = StripedLocks.readWriteLocks(8);
+
+        assertSame(locks.get("a").writeLock(), locks.exclusive("a"));
+        assertSame(locks.get("a").readLock(), locks.shared("a"));
+    }
+
+    @Test
+    void testSameKeySameLock() {
+        final StripedLocks<ReentrantLock> locks = StripedLocks.reentrantLocks(10);
+
+        assertEquals(16, locks.getStripes());
+        assertSame(locks.get("key"), locks.get(new String("key")));
+        assertSame(locks.get("key"), locks.exclusive("key"));
+        assertEquals(1, StripedLocks.reentrantLocks(1).getStripes());
+        assertThrows(IllegalArgumentException.class, () -> StripedLocks.reentrantLocks(0));
+    }
+
+    @Test
+    void testStampedLocks() throws Exception {
+        final StripedLocks<StampedLock> locks = StripedLocks.stampedLocks(4);
+
+        final long stamp = locks.get("a").tryOptimisticRead();
+        assertTrue(locks.get("a").validate(stamp));
+
+        assertTrue(locks.tryLock("a", Duration.ofMillis(10)));
+        assertFalse(locks.get("a").validate(stamp));
+        locks.unlock("a");
+    }
+
+    @Test
+    void testTryLockTimeout() throws Exception {
+        final StripedLocks<ReentrantLock> locks = StripedLocks.reentrantLocks(4);
+
+        assertTrue(locks.tryLock("key", Duration.ofMillis(10)));
+
+        try {
+            final boolean lockedByOtherThread = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return locks.tryLock("key", Duration.ofMillis(50));
+                }
+                catch (InterruptedException _) {
+                    // Restore interrupted state.
+                    Thread.currentThread().interrupt();
+
+                    return false;
+                }
+            }).get();
+
+            assertFalse(lockedByOtherThread);
+        }
+        finally {
+            locks.unlock("key");
+        }
+    }
+}
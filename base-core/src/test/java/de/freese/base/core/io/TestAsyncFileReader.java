@@ -1,21 +1,34 @@
 package de.freese.base.core.io;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.freese.base.core.model.builder.GenericBuilder;
+import de.freese.base.utils.ExecutorUtils;
 
 /**
  * @author Thomas Freese
@@ -23,6 +36,13 @@ import de.freese.base.core.model.builder.GenericBuilder;
 class TestAsyncFileReader {
     private static final Logger LOGGER = LoggerFactory.getLogger(TestAsyncFileReader.class);
 
+    private static byte[] createContent(final int size) {
+        final byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+
+        return content;
+    }
+
     @Test
     void testAsyncFileReader() {
         final Supplier<StringBuilder> contentHolderSupplier = () -> new StringBuilder(4096);
@@ -69,4 +89,76 @@ class TestAsyncFileReader {
 
         assertTrue(true);
     }
+
+    @Test
+    void testReadFileChunksOrdered(@TempDir final Path tempDir) throws Exception {
+        final byte[] content = createContent(100_003);
+        final Path path = Files.write(tempDir.resolve("ordered.bin"), content);
+
+        final AsyncFileReader<ByteArrayOutputStream> reader = new AsyncFileReader<>();
+        reader.setByteBufferSize(4096);
+        reader.setParallelism(4);
+        reader.setContentHolderSupplier(ByteArrayOutputStream::new);
+
+        final List<Long> offsets = new ArrayList<>();
+
+        final ByteArrayOutputStream result = reader.readFileChunks(path, (baos, chunk) -> {
+            final ByteBuffer buffer = chunk.getBuffer();
+            assertTrue(buffer.isReadOnly());
+            assertTrue(buffer.isDirect());
+
+            offsets.add(chunk.getOffset());
+
+            final byte[] data = new byte[buffer.remaining()];
+            buffer.get(data);
+            baos.writeBytes(data);
+
+            chunk.release();
+        }, true).get(10, TimeUnit.SECONDS);
+
+        assertArrayEquals(content, result.toByteArray());
+        assertEquals(25, offsets.size());
+
+        for (int i = 0; i < offsets.size(); i++) {
+            assertEquals(i * 4096L, offsets.get(i));
+        }
+
+        // Buffers are reused.
+        reader.readFileChunks(path, (_, chunk) -> chunk.release(), true).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testReadFileChunksUnorderedWithDeferredRelease(@TempDir final Path tempDir) throws Exception {
+        final byte[] content = createContent(50_000);
+        final Path path = Files.write(tempDir.resolve("unordered.bin"), content);
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        try {
+            final AsyncFileReader<byte[]> reader = new AsyncFileReader<>();
+            reader.setByteBufferSize(1000);
+            reader.setParallelism(3);
+            reader.setContentHolderSupplier(() -> new byte[content.length]);
+
+            final byte[] result = reader.readFileChunks(path, (target, chunk) -> executorService.execute(() -> {
+                // Processed and released by another Thread.
+                chunk.getBuffer().get(target, (int) chunk.getOffset(), chunk.getLength());
+                chunk.release();
+            }), false).get(10, TimeUnit.SECONDS);
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertArrayEquals(content, result));
+        }
+        finally {
+            ExecutorUtils.shutdown(executorService);
+        }
+    }
+
+    @Test
+    void testReadFileChunksEmptyFile(@TempDir final Path tempDir) throws Exception {
+        final Path path = Files.createFile(tempDir.resolve("empty.bin"));
+
+        final AsyncFileReader<StringBuilder> reader = new AsyncFileReader<>();
+        reader.setContentHolderSupplier(StringBuilder::new);
+
+        assertEquals(0, reader.readFileChunks(path, (_, chunk) -> chunk.release(), true).get(10, TimeUnit.SECONDS).length());
+    }
 }
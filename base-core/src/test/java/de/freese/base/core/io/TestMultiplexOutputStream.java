@@ -0,0 +1,214 @@
+// Created: 18.10.2026
+package de.freese.base.core.io;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Thomas Freese
+ */
+class TestMultiplexOutputStream {
+    /**
+     * Blocks the first Write until the Latch is released.
+     *
+     * @author Thomas Freese
+     */
+    private static final class BlockingOutputStream extends ByteArrayOutputStream {
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            try {
+                latch.await();
+            }
+            catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+
+            super.write(b, off, len);
+        }
+    }
+
+    private static byte[] createChunk(final int index) {
+        return ("chunk-" + index + ";").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * The fast Sink must not fall behind, on a single Core the Writer-Threads may start late.
+     */
+    private static void awaitSize(final ByteArrayOutputStream sink, final int size) {
+        await().pollDelay(Duration.ZERO).pollInterval(Duration.ofMillis(1)).atMost(Duration.ofSeconds(5)).until(() -> sink.size() == size);
+    }
+
+    private static byte[] createContent(final int chunks) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        for (int i = 0; i < chunks; i++) {
+            outputStream.writeBytes(createChunk(i));
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    @Test
+    void testAsyncBlock() throws Exception {
+        final ByteArrayOutputStream sink1 = new ByteArrayOutputStream();
+        final ByteArrayOutputStream sink2 = new ByteArrayOutputStream();
+        final byte[] expected = createContent(1000);
+
+        try (MultiplexOutputStream outputStream = new MultiplexOutputStream(List.of(sink1, sink2), 4, MultiplexOutputStream.SlowSinkPolicy.BLOCK)) {
+            final byte[] buffer = new byte[64];
+
+            for (int i = 0; i < 1000; i++) {
+                final byte[] chunk = createChunk(i);
+
+                // The Buffer is reused, the Stream must copy the Data.
+                System.arraycopy(chunk, 0, buffer, 0, chunk.length);
+                outputStream.write(buffer, 0, chunk.length);
+            }
+
+            outputStream.flush();
+
+            assertArrayEquals(expected, sink1.toByteArray());
+            assertArrayEquals(expected, sink2.toByteArray());
+            assertEquals(0L, outputStream.getDroppedCount());
+            assertTrue(outputStream.getFailures().isEmpty());
+        }
+
+        final MultiplexOutputStream closedStream = new MultiplexOutputStream(List.of(sink1), 1, MultiplexOutputStream.SlowSinkPolicy.BLOCK);
+        closedStream.close();
+        assertThrows(IOException.class, () -> closedStream.write(1));
+    }
+
+    @Test
+    void testAsyncDrop() throws Exception {
+        final ByteArrayOutputStream fastSink = new ByteArrayOutputStream();
+        final BlockingOutputStream slowSink = new BlockingOutputStream();
+
+        try (MultiplexOutputStream outputStream = new MultiplexOutputStream(List.of(fastSink, slowSink), 2, MultiplexOutputStream.SlowSinkPolicy.DROP)) {
+            for (int i = 0; i < 100; i++) {
+                outputStream.write(createChunk(i));
+                awaitSize(fastSink, createContent(i + 1).length);
+            }
+
+            // 2 in the Queue, maximal 1 taken by the Writer.
+            assertTrue(outputStream.getDroppedCount() >= 97L, () -> "dropped: " + outputStream.getDroppedCount());
+
+            slowSink.latch.countDown();
+            outputStream.flush();
+
+            assertArrayEquals(createContent(100), fastSink.toByteArray());
+            assertTrue(slowSink.size() > 0);
+            assertTrue(slowSink.size() < fastSink.size());
+        }
+    }
+
+    @Test
+    void testAsyncFail() throws Exception {
+        final ByteArrayOutputStream fastSink = new ByteArrayOutputStream();
+        final BlockingOutputStream slowSink = new BlockingOutputStream();
+        final OutputStream brokenSink = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("broken");
+            }
+        };
+
+        final MultiplexOutputStream outputStream = new MultiplexOutputStream(List.of(fastSink, slowSink, brokenSink), 2, MultiplexOutputStream.SlowSinkPolicy.FAIL);
+
+        for (int i = 0; i < 100; i++) {
+            outputStream.write(createChunk(i));
+            awaitSize(fastSink, createContent(i + 1).length);
+        }
+
+        outputStream.flush();
+        assertArrayEquals(createContent(100), fastSink.toByteArray());
+
+        final Map<OutputStream, Throwable> failures = outputStream.getFailures();
+        assertEquals(2, failures.size());
+        assertEquals("sink too slow: queue full", failures.get(slowSink).getMessage());
+        assertInstanceOf(IOException.class, failures.get(brokenSink));
+
+        slowSink.latch.countDown();
+        outputStream.close();
+    }
+
+    @Test
+    void testAsyncErrorInWriter() throws Exception {
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final OutputStream brokenSink = new OutputStream() {
+            @Override
+            public void write(final int b) {
+                throw new AssertionError("broken");
+            }
+        };
+
+        try (MultiplexOutputStream outputStream = new MultiplexOutputStream(List.of(sink, brokenSink), 1, MultiplexOutputStream.SlowSinkPolicy.BLOCK)) {
+            // The Writer-Thread of the broken Sink is terminated by the Error, the Producer and the Flush must not hang.
+            for (int i = 0; i < 100; i++) {
+                outputStream.write(createChunk(i));
+            }
+
+            outputStream.flush();
+
+            assertArrayEquals(createContent(100), sink.toByteArray());
+            assertInstanceOf(AssertionError.class, outputStream.getFailures().get(brokenSink));
+        }
+    }
+
+    @Test
+    void testAsyncFlushWaitsForSlowSink() throws Exception {
+        final ByteArrayOutputStream slowSink = new ByteArrayOutputStream() {
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                try {
+                    Thread.sleep(20L);
+                }
+                catch (InterruptedException _) {
+                    Thread.currentThread().interrupt();
+                }
+
+                super.write(b, off, len);
+            }
+        };
+
+        try (MultiplexOutputStream outputStream = new MultiplexOutputStream(List.of(slowSink), 16, MultiplexOutputStream.SlowSinkPolicy.BLOCK)) {
+            for (int i = 0; i < 10; i++) {
+                outputStream.write(createChunk(i));
+            }
+
+            outputStream.flush();
+
+            assertArrayEquals(createContent(10), slowSink.toByteArray());
+        }
+    }
+
+    @Test
+    void testSync() throws Exception {
+        final ByteArrayOutputStream sink1 = new ByteArrayOutputStream();
+        final ByteArrayOutputStream sink2 = new ByteArrayOutputStream();
+
+        try (MultiplexOutputStream outputStream = new MultiplexOutputStream(List.of(sink1, sink2))) {
+            outputStream.write(createContent(10));
+            outputStream.write('x');
+        }
+
+        assertEquals(new String(createContent(10), StandardCharsets.US_ASCII) + "x", sink1.toString(StandardCharsets.US_ASCII));
+        assertArrayEquals(sink1.toByteArray(), sink2.toByteArray());
+    }
+}
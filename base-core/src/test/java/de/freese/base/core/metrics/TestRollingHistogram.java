@@ -0,0 +1,86 @@
+// Created: 18.10.2026
+package de.freese.base.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Thomas Freese
+ */
+class TestRollingHistogram {
+    @Test
+    void testBuckets() {
+        for (long value : new long[]{0L, 1L, 7L, 8L, 15L, 16L, 17L, 1_000L, 123_456_789L, Long.MAX_VALUE}) {
+            final long upperBound = RollingHistogram.bucketUpperBound(RollingHistogram.bucketIndex(value));
+
+            assertTrue(upperBound >= value, value + " > " + upperBound);
+            assertTrue(upperBound - value <= value / 8, "relative error too big for " + value + ": " + upperBound);
+        }
+    }
+
+    @Test
+    void testNegativeClock() {
+        // System.nanoTime() can be negative.
+        final AtomicLong clock = new AtomicLong(-Duration.ofDays(1).toNanos());
+        final RollingHistogram histogram = new RollingHistogram(Duration.ofSeconds(10), 10, clock::get);
+
+        histogram.record(100L);
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        histogram.record(200L);
+
+        assertEquals(2L, histogram.snapshot().count());
+        assertEquals(200L, histogram.snapshot().max());
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertEquals(1L, histogram.snapshot().count());
+    }
+
+    @Test
+    void testPercentiles() {
+        final RollingHistogram histogram = new RollingHistogram(Duration.ofSeconds(10), 10);
+
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i);
+        }
+
+        final HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(1_000L, snapshot.count());
+        assertEquals(500.5D, snapshot.mean(), 0.001D);
+        assertEquals(1_000L, snapshot.max());
+        assertEquals(500D, snapshot.p50(), 500D / 8);
+        assertEquals(990D, snapshot.p99(), 990D / 8);
+        assertEquals(100D, snapshot.ratePerSecond(), 0.001D);
+    }
+
+    @Test
+    void testRollingWindow() {
+        final AtomicLong clock = new AtomicLong();
+        final RollingHistogram histogram = new RollingHistogram(Duration.ofSeconds(10), 10, clock::get);
+
+        histogram.record(100L);
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        histogram.record(200L);
+
+        assertEquals(2L, histogram.snapshot().count());
+
+        // First Value is out of the Window.
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertEquals(1L, histogram.snapshot().count());
+        assertEquals(200L, histogram.snapshot().max());
+
+        // Reused Slot is reset.
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        histogram.record(300L);
+        assertEquals(1L, histogram.snapshot().count());
+        assertEquals(300L, histogram.snapshot().max());
+
+        histogram.reset();
+        assertEquals(0L, histogram.snapshot().count());
+    }
+}
@@ -0,0 +1,81 @@
+// Created: 18.10.2026
+package de.freese.base.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Thomas Freese
+ */
+class TestThroughputMeter {
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void testConcurrentRecords() {
+        final ThroughputMeter meter = new ThroughputMeter();
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> meter.record(10L, 1_000L));
+
+        final ThroughputSnapshot snapshot = meter.snapshot();
+        assertEquals(100_000L, snapshot.totalBytes());
+        assertEquals(10_000L, snapshot.operations());
+        assertEquals(10_000L, snapshot.latency().count());
+    }
+
+    @Test
+    void testEwmaAndPeak() {
+        final AtomicLong clock = new AtomicLong(-5L * SECOND);
+        final ThroughputMeter meter = new ThroughputMeter(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(10), clock::get);
+
+        // First Tick initializes the Average.
+        meter.mark(1_000L);
+        clock.addAndGet(SECOND);
+        assertEquals(1_000D, meter.getBytesPerSecond(), 0.001D);
+        assertEquals(1_000D, meter.getPeakBytesPerSecond(), 0.001D);
+
+        // Steady 100 Bytes/s: the Average decays towards it, the Peak stays.
+        for (int i = 0; i < 5; i++) {
+            meter.mark(100L);
+            clock.addAndGet(SECOND);
+        }
+
+        final double rate = meter.getBytesPerSecond();
+        assertTrue(rate > 100D && rate < 1_000D, "rate: " + rate);
+        assertEquals(100D + (900D * Math.exp(-1D)), rate, 0.001D);
+        assertEquals(1_000D, meter.getPeakBytesPerSecond(), 0.001D);
+
+        // The Peak leaves the Window, idle Ticks decay the Average.
+        clock.addAndGet(10L * SECOND);
+        assertEquals(0D, meter.getPeakBytesPerSecond(), 0.001D);
+        assertTrue(meter.getBytesPerSecond() < rate);
+        assertEquals(1_500L, meter.getTotalBytes());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ThroughputMeter(Duration.ZERO, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new ThroughputMeter(Duration.ofSeconds(2), Duration.ofSeconds(1), Duration.ofSeconds(2)));
+    }
+
+    @Test
+    void testLatency() {
+        final AtomicLong clock = new AtomicLong();
+        final ThroughputMeter meter = new ThroughputMeter(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(10), clock::get);
+
+        for (int i = 1; i <= 100; i++) {
+            meter.record(1L, i * 1_000L);
+        }
+
+        final HistogramSnapshot latency = meter.snapshot().latency();
+        assertEquals(100L, latency.count());
+        assertEquals(100_000L, latency.max());
+        assertEquals(50_000D, latency.p50(), 50_000D / 8);
+    }
+}
@@ -0,0 +1,87 @@
+// Created: 18.10.2026
+package de.freese.base.core.nio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Thomas Freese
+ */
+class TestMappedRecordReader {
+    @Test
+    void testEmptyFile(@TempDir final Path tempDir) throws Exception {
+        final Path path = Files.createFile(tempDir.resolve("empty.txt"));
+
+        try (MappedRecordReader reader = MappedRecordReader.lines(path)) {
+            assertEquals(0L, reader.getSize());
+            assertEquals(0L, reader.lineStream(false).count());
+        }
+    }
+
+    @Test
+    void testLines(@TempDir final Path tempDir) throws Exception {
+        final Path path = Files.writeString(tempDir.resolve("lines.txt"), "first\r\nsecond\n\nthird");
+
+        try (MappedRecordReader reader = MappedRecordReader.lines(path)) {
+            final List<String> lines = reader.lineStream(false).map(CharSequence::toString).toList();
+
+            assertEquals(List.of("first", "second", "", "third"), lines);
+
+            final MappedRecordReader.ByteCharSequence first = reader.lineStream(false).findFirst().orElseThrow();
+            assertEquals('i', first.charAt(1));
+            assertEquals("irs", first.subSequence(1, 4).toString());
+            assertTrue(first.getBuffer().isReadOnly());
+        }
+    }
+
+    @Test
+    void testParallelSplitsAtRecordBoundaries(@TempDir final Path tempDir) throws Exception {
+        final String content = IntStream.range(0, 100_000).mapToObj(i -> "line-" + i).collect(Collectors.joining("\n", "", "\n"));
+        final Path path = Files.writeString(tempDir.resolve("parallel.txt"), content);
+
+        try (MappedRecordReader reader = MappedRecordReader.lines(path)) {
+            final Spliterator<ByteBuffer> spliterator = reader.spliterator();
+            final Spliterator<ByteBuffer> prefix = spliterator.trySplit();
+            assertNotNull(prefix);
+
+            // The Prefix ends with a complete Record.
+            final ByteBuffer[] last = new ByteBuffer[1];
+            prefix.forEachRemaining(record -> last[0] = record);
+            assertTrue(StandardCharsets.US_ASCII.decode(last[0]).toString().matches("line-\\d+"));
+
+            final List<String> lines = reader.lineStream(true).map(CharSequence::toString).toList();
+            assertEquals(100_000, lines.size());
+            assertEquals(IntStream.range(0, 100_000).mapToObj(i -> "line-" + i).toList(), lines);
+
+            final long sum = reader.lineStream(true).mapToLong(line -> Long.parseLong(line, 5, line.length(), 10)).sum();
+            assertEquals(100_000L * 99_999L / 2L, sum);
+        }
+    }
+
+    @Test
+    void testRecords(@TempDir final Path tempDir) throws Exception {
+        final Path path = Files.writeString(tempDir.resolve("records.txt"), "a;bb;ccc;");
+
+        try (MappedRecordReader reader = MappedRecordReader.records(path, (byte) ';')) {
+            assertEquals(List.of(1, 2, 3), reader.recordStream(false).map(ByteBuffer::remaining).toList());
+
+            final Spliterator<ByteBuffer> spliterator = reader.spliterator();
+            // Too small to split.
+            assertNull(spliterator.trySplit());
+        }
+    }
+}
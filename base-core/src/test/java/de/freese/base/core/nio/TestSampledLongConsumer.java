@@ -0,0 +1,86 @@
+// Created: 18.10.2026
+package de.freese.base.core.nio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import de.freese.base.core.metrics.ThroughputMeter;
+import de.freese.base.core.metrics.ThroughputSnapshot;
+
+/**
+ * @author Thomas Freese
+ */
+class TestSampledLongConsumer {
+    @Test
+    void testInterval() {
+        final AtomicLong clock = new AtomicLong();
+        final List<Long> values = new ArrayList<>();
+        final SampledLongConsumer consumer = new SampledLongConsumer(values::add, Duration.ofMillis(100), Long.MAX_VALUE, clock::get);
+
+        for (long value = 1L; value <= 10L; value++) {
+            consumer.accept(value);
+            clock.addAndGet(Duration.ofMillis(30).toNanos());
+        }
+
+        // Forwarded at 120 ms and 240 ms.
+        assertEquals(List.of(5L, 9L), values);
+
+        consumer.acceptNow(10L);
+        assertEquals(List.of(5L, 9L, 10L), values);
+    }
+
+    @Test
+    void testMonitoringStreams() throws Exception {
+        final byte[] bytes = new byte[100_000];
+        final List<Long> values = new ArrayList<>();
+        final ThroughputMeter meter = new ThroughputMeter();
+        final SampledLongConsumer consumer = new SampledLongConsumer(values::add, Duration.ofHours(1), 25_000L);
+
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        try (InputStream inputStream = new MonitoringInputStream(new ByteArrayInputStream(bytes), consumer, meter, true);
+             OutputStream outputStream = new MonitoringOutputStream(target, value -> {
+                 // Empty
+             }, new ThroughputMeter(), true)) {
+            final byte[] buffer = new byte[1_000];
+            int read;
+
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+
+            assertEquals(-1, inputStream.read());
+        }
+
+        assertEquals(100_000, target.size());
+        assertEquals(List.of(25_000L, 50_000L, 75_000L, 100_000L), values);
+
+        final ThroughputSnapshot snapshot = meter.snapshot();
+        assertEquals(100_000L, snapshot.totalBytes());
+        // 100 Reads with Data, 2 at the End of the Stream.
+        assertEquals(102L, snapshot.operations());
+    }
+
+    @Test
+    void testThreshold() {
+        final AtomicLong clock = new AtomicLong();
+        final List<Long> values = new ArrayList<>();
+        final SampledLongConsumer consumer = new SampledLongConsumer(values::add, Duration.ofHours(1), 1_000L, clock::get);
+
+        for (long value = 100L; value <= 3_000L; value += 100L) {
+            consumer.accept(value);
+        }
+
+        assertEquals(List.of(1_000L, 2_000L, 3_000L), values);
+    }
+}
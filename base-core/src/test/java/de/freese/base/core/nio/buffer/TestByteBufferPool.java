@@ -0,0 +1,151 @@
+// Created: 18.10.2026
+package de.freese.base.core.nio.buffer;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import de.freese.base.core.pool.LeakDetection;
+import de.freese.base.core.pool.PoolLeak;
+
+/**
+ * @author Thomas Freese
+ */
+class TestByteBufferPool {
+    @Test
+    void testAutoExpandByteBuffer() {
+        try (ByteBufferPool pool = ByteBufferPool.of("test-autoexpand")) {
+            final AutoExpandByteBuffer buffer = AutoExpandByteBuffer.of(16, pool);
+            assertEquals(64, buffer.capacity());
+            assertTrue(buffer.isDirect());
+            assertEquals(1L, pool.getOutstandingCount());
+
+            for (int i = 0; i < 100; i++) {
+                buffer.put((byte) i);
+            }
+
+            // The replaced Buffer is back in the Pool.
+            assertEquals(128, buffer.capacity());
+            assertEquals(1L, pool.getOutstandingCount());
+            assertEquals(99, buffer.get(99));
+
+            buffer.clear();
+            assertEquals(64, buffer.capacity());
+            assertEquals(1L, pool.getOutstandingCount());
+            assertEquals(2L, pool.getAllocationCount());
+
+            buffer.release();
+            assertEquals(0L, pool.getOutstandingCount());
+            assertEquals(0, buffer.capacity());
+
+            // Reuse after the Release.
+            buffer.putLong(1L);
+            assertEquals(1L, buffer.getLong(0));
+            assertEquals(1L, pool.getOutstandingCount());
+            assertEquals(2L, pool.getAllocationCount());
+
+            buffer.close();
+            assertEquals(0L, pool.getOutstandingCount());
+        }
+    }
+
+    @Test
+    void testLargeBuffersAreNotCachedPerThread() {
+        try (ByteBufferPool pool = ByteBufferPool.of("test-threadcache")) {
+            pool.release(pool.acquire(32 * 1024));
+            assertEquals(0L, pool.getArenaMemory());
+
+            // Larger Buffers go into the shared Arena, which is limited and freed by close().
+            pool.release(pool.acquire(64 * 1024));
+            assertEquals(64L * 1024L, pool.getArenaMemory());
+        }
+    }
+
+    @Test
+    void testLeakDetection() {
+        try (ByteBufferPool pool = new ByteBufferPool("test-leaks", 1024, 8, 1024L * 1024L, new LeakDetection(Duration.ofMillis(20), 1))) {
+            final ByteBuffer leaked = pool.acquire(100);
+            final ByteBuffer returned = pool.acquire(100);
+            pool.release(returned);
+
+            assertThrows(IllegalStateException.class, () -> pool.release(returned));
+            assertThrows(IllegalStateException.class, () -> pool.release(ByteBuffer.allocateDirect(128)));
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> !pool.findLeaks().isEmpty());
+
+            final List<PoolLeak> leaks = pool.findLeaks();
+            assertEquals(1, leaks.size());
+            assertEquals("test-leaks", leaks.getFirst().poolName());
+            assertEquals("ByteBuffer[capacity=128]", leaks.getFirst().object());
+            assertTrue(Arrays.stream(leaks.getFirst().borrowSite()).anyMatch(element -> element.getMethodName().equals("testLeakDetection")));
+
+            pool.release(leaked);
+            assertTrue(pool.findLeaks().isEmpty());
+        }
+    }
+
+    @Test
+    void testSharedArena() throws Exception {
+        try (ByteBufferPool pool = new ByteBufferPool("test-arena", 1024, 0, 256L, null)) {
+            final ByteBuffer buffer1 = pool.acquire(200);
+            final ByteBuffer buffer2 = pool.acquire(200);
+            pool.release(buffer1);
+            assertEquals(256L, pool.getArenaMemory());
+
+            // Arena is full.
+            pool.release(buffer2);
+            assertEquals(256L, pool.getArenaMemory());
+
+            // Another Thread gets the Buffer of the Arena.
+            assertSame(buffer1, CompletableFuture.supplyAsync(() -> pool.acquire(256)).get());
+            assertEquals(0L, pool.getArenaMemory());
+            assertEquals(2L, pool.getAllocationCount());
+        }
+    }
+
+    @Test
+    void testSizeClasses() {
+        assertEquals(64, ByteBufferPool.sizeClassCapacity(1));
+        assertEquals(64, ByteBufferPool.sizeClassCapacity(64));
+        assertEquals(128, ByteBufferPool.sizeClassCapacity(65));
+        assertEquals(1024 * 1024, ByteBufferPool.sizeClassCapacity(1000 * 1000));
+
+        try (ByteBufferPool pool = ByteBufferPool.of("test-sizeclasses")) {
+            assertThrows(IllegalArgumentException.class, () -> pool.acquire(0));
+
+            final ByteBuffer buffer = pool.acquire(100);
+            assertEquals(128, buffer.capacity());
+            assertTrue(buffer.isDirect());
+
+            buffer.putInt(1);
+            pool.release(buffer);
+
+            // Thread-Cache.
+            final ByteBuffer reused = pool.acquire(128);
+            assertSame(buffer, reused);
+            assertEquals(0, reused.position());
+            assertEquals(128, reused.limit());
+            assertNotSame(buffer, pool.acquire(128));
+
+            // Not pooled.
+            final ByteBuffer large = pool.acquire(5 * 1024 * 1024);
+            assertEquals(5 * 1024 * 1024, large.capacity());
+            pool.release(large);
+            assertNotSame(large, pool.acquire(5 * 1024 * 1024));
+
+            assertEquals(4L, pool.getAllocationCount());
+            assertEquals(5L, pool.getAcquireCount());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+// Created: 18.10.2026
+package de.freese.base.core.nio.buffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+/**
+ * @author Thomas Freese
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class TestCompositeByteBuffer {
+    private static byte[] createBytes(final int length) {
+        final byte[] bytes = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        return bytes;
+    }
+
+    @Test
+    void testGatheringWriteAndScatteringRead(@TempDir final Path tempDir) throws Exception {
+        final byte[] bytes = createBytes(100);
+        final Path path = tempDir.resolve("composite.bin");
+
+        final CompositeByteBuffer buffer = CompositeByteBuffer.of(16, true);
+        buffer.put(bytes);
+        buffer.flip();
+        assertEquals(7, buffer.getBuffers().length);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                buffer.write(channel);
+            }
+        }
+
+        assertArrayEquals(bytes, Files.readAllBytes(path));
+
+        final CompositeByteBuffer readBuffer = CompositeByteBuffer.of(16, false);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (readBuffer.read(channel, 30) >= 0) {
+                // Empty
+            }
+        }
+
+        readBuffer.flip();
+        assertEquals(100L, readBuffer.remaining());
+
+        final byte[] result = new byte[100];
+        readBuffer.get(result);
+        assertArrayEquals(bytes, result);
+    }
+
+    @Test
+    void testGrowWithoutCopy() {
+        final CompositeByteBuffer buffer = CompositeByteBuffer.of(8, false);
+        assertEquals(0L, buffer.position());
+        assertEquals(8L, buffer.limit());
+        assertEquals(8L, buffer.capacity());
+        assertEquals(1, buffer.getSegmentCount());
+
+        final ByteBuffer firstSegment = buffer.getBuffers()[0];
+
+        buffer.putLong(1L);
+        buffer.put((byte) 2);
+        assertEquals(9L, buffer.position());
+        assertEquals(16L, buffer.limit());
+        assertEquals(16L, buffer.capacity());
+        assertEquals(2, buffer.getSegmentCount());
+
+        // The first Segment is still the same Memory.
+        assertEquals(1L, firstSegment.getLong(0));
+
+        buffer.put(createBytes(20));
+        assertEquals(29L, buffer.position());
+        assertEquals(32L, buffer.capacity());
+        assertEquals(4, buffer.getSegmentCount());
+
+        buffer.clear();
+        assertEquals(0L, buffer.position());
+        assertEquals(32L, buffer.limit());
+        assertEquals(4, buffer.getSegmentCount());
+    }
+
+    @Test
+    void testHexDump() {
+        final CompositeByteBuffer buffer = CompositeByteBuffer.of(8, false);
+        assertEquals("empty", buffer.flip().getHexDump());
+
+        buffer.clear();
+        buffer.put(createBytes(12));
+        buffer.flip();
+
+        assertEquals("000102030405060708090A0B", buffer.getHexDump());
+        assertEquals("0001020304050607...", buffer.getHexDump(8));
+        assertEquals(0L, buffer.position());
+    }
+
+    @Test
+    void testNumbersAcrossSegments() {
+        final CompositeByteBuffer buffer = CompositeByteBuffer.of(8, true);
+
+        buffer.put(createBytes(5));
+        buffer.putLong(Long.MIN_VALUE + 12345L);
+        buffer.putInt(-42);
+        buffer.putShort((short) -7);
+        buffer.putChar('€');
+        buffer.putDouble(Math.PI);
+        buffer.putFloat(1.5F);
+        buffer.flip();
+
+        assertEquals(33L, buffer.remaining());
+        assertEquals(Long.MIN_VALUE + 12345L, buffer.getLong(5));
+        assertEquals(-42, buffer.getInt(13));
+
+        buffer.skip(5);
+        assertEquals(Long.MIN_VALUE + 12345L, buffer.getLong());
+        assertEquals(-42, buffer.getInt());
+        assertEquals((short) -7, buffer.getShort());
+        assertEquals('€', buffer.getChar());
+        assertEquals(Math.PI, buffer.getDouble());
+        assertEquals(1.5F, buffer.getFloat());
+
+        assertThrows(BufferUnderflowException.class, buffer::get);
+    }
+
+    @Test
+    void testStreams() throws Exception {
+        final byte[] bytes = createBytes(50);
+        final CompositeByteBuffer buffer = CompositeByteBuffer.of(8, false);
+
+        try (OutputStream outputStream = buffer.asOutputStream()) {
+            outputStream.write(bytes, 0, 20);
+            outputStream.write(bytes[20]);
+            outputStream.write(bytes, 21, 29);
+        }
+
+        buffer.flip();
+
+        try (InputStream inputStream = buffer.asInputStream()) {
+            assertEquals(50, inputStream.available());
+            assertEquals(0, inputStream.read());
+
+            inputStream.mark(0);
+            assertEquals(10L, inputStream.skip(10));
+            inputStream.reset();
+
+            final byte[] result = new byte[49];
+            assertEquals(49, inputStream.read(result, 0, result.length));
+            assertEquals(-1, inputStream.read());
+
+            final byte[] expected = new byte[49];
+            System.arraycopy(bytes, 1, expected, 0, 49);
+            assertArrayEquals(expected, result);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import de.freese.base.core.pool.bounded.BoundedPoolFactory;
+import de.freese.base.core.pool.simple.SimplePoolFactory;
+
+/**
+ * @author Thomas Freese
+ */
+class TestPoolTelemetry {
+    @AfterAll
+    static void afterAll() {
+        PoolManager.close();
+    }
+
+    @Test
+    void testBoundedPoolMetrics() throws Exception {
+        final Pool<Object> pool = PoolManager.createPool("telemetry-bounded", new BoundedPoolFactory<>().maxSize(1).objectSupplier(Object::new));
+
+        final Object object = pool.getObject();
+        assertThrows(TimeoutException.class, () -> pool.getObject(Duration.ofMillis(10)));
+
+        PoolMetrics metrics = PoolManager.getMetrics("telemetry-bounded");
+        assertEquals(1, metrics.active());
+        assertEquals(1, metrics.highWaterMark());
+        assertEquals(1, metrics.capacity());
+        assertEquals(1D, metrics.utilization());
+        assertEquals(1L, metrics.createdCount());
+        assertEquals(1L, metrics.timeoutCount());
+
+        pool.returnObject(object);
+        pool.returnObject(pool.getObject());
+
+        metrics = PoolManager.getMetrics("telemetry-bounded");
+        assertEquals(0, metrics.active());
+        assertEquals(1, metrics.highWaterMark());
+        assertEquals(2L, metrics.borrowedCount());
+
+        // Without Leak-Detection the Hold-Time is only sampled.
+        assertTrue(metrics.hold().count() <= 2L);
+        assertEquals(1L, metrics.createdCount());
+
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName("de.freese.base:type=Pool,name=" + ObjectName.quote("telemetry-bounded"));
+        assertEquals(1, mBeanServer.getAttribute(objectName, "HighWaterMark"));
+        assertEquals(1L, mBeanServer.getAttribute(objectName, "TimeoutCount"));
+
+        pool.close();
+        assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+    @Test
+    void testHoldSamplingWithoutLeakDetection() throws Exception {
+        final Pool<Object> pool = PoolManager.createPool("telemetry-sampling", new SimplePoolFactory<>().objectSupplier(Object::new));
+
+        // Never returned Objects are not retained for the Hold-Time.
+        for (int i = 0; i < 1_000; i++) {
+            pool.getObject();
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            pool.returnObject(pool.getObject());
+        }
+
+        final PoolMetrics metrics = PoolManager.getMetrics("telemetry-sampling");
+        assertEquals(2_000L, metrics.borrowedCount());
+        assertTrue(metrics.hold().count() > 0L);
+        assertTrue(metrics.hold().count() <= 1_000L);
+        assertTrue(PoolManager.findLeaks("telemetry-sampling").isEmpty());
+    }
+
+    @Test
+    void testLeakDetection() throws Exception {
+        final Pool<StringBuilder> pool = PoolManager.createPool("telemetry-leaks", new SimplePoolFactory<StringBuilder>().objectSupplier(StringBuilder::new),
+                new LeakDetection(Duration.ofMillis(20), 1));
+
+        final StringBuilder leaked = pool.getObject();
+        leaked.append("leaked");
+
+        final StringBuilder returned = pool.getObject();
+        pool.returnObject(returned);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !PoolManager.findLeaks("telemetry-leaks").isEmpty());
+
+        final List<PoolLeak> leaks = PoolManager.findLeaks("telemetry-leaks");
+        assertEquals(1, leaks.size());
+        assertEquals("leaked", leaks.getFirst().object());
+        assertTrue(leaks.getFirst().heldFor().compareTo(Duration.ofMillis(20)) > 0);
+        assertTrue(Arrays.stream(leaks.getFirst().borrowSite()).anyMatch(element -> element.getMethodName().equals("testLeakDetection")));
+
+        pool.returnObject(leaked);
+        assertTrue(PoolManager.findLeaks("telemetry-leaks").isEmpty());
+        assertEquals(2L, PoolManager.getMetrics("telemetry-leaks").createdCount());
+
+        // With Leak-Detection every Borrow is tracked.
+        assertEquals(2L, PoolManager.getMetrics("telemetry-leaks").hold().count());
+        assertEquals(0, PoolManager.getMetrics("telemetry-leaks").active());
+    }
+}
@@ -5,6 +5,7 @@ import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -25,6 +26,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import de.freese.base.core.pool.apache.ApachePoolFactory;
+import de.freese.base.core.pool.bounded.BoundedPoolFactory;
+import de.freese.base.core.pool.recycler.RecyclerPoolFactory;
 import de.freese.base.core.pool.simple.SimplePoolFactory;
 
 /**
@@ -43,12 +46,16 @@ class TestPools {
     static void beforeAll() {
         assertNotNull(PoolManager.createPool("simple", new SimplePoolFactory<>().expiry(Duration.ofMillis(25L)).objectSupplier(LocalDateTime::now)));
         assertNotNull(PoolManager.createPool("apache", new ApachePoolFactory<>().expiry(Duration.ofMillis(25L)).objectSupplier(LocalDateTime::now)));
+        assertNotNull(PoolManager.createPool("bounded", new BoundedPoolFactory<>().expiry(Duration.ofMillis(25L)).objectSupplier(LocalDateTime::now)));
+        assertNotNull(PoolManager.createPool("recycler", new RecyclerPoolFactory<>().expiry(Duration.ofMillis(25L)).objectSupplier(LocalDateTime::now)));
     }
 
     static Stream<Arguments> getCaches() {
         return Stream.of(
                 Arguments.of("simple"),
-                Arguments.of("apache")
+                Arguments.of("apache"),
+                Arguments.of("bounded"),
+                Arguments.of("recycler")
         );
     }
 
@@ -75,7 +82,7 @@ class TestPools {
         final Pool<LocalDateTime> pool = PoolManager.getPool(name);
         assertNotNull(pool);
 
-        if ("simple".equals(name)) {
+        if ("simple".equals(name) || "recycler".equals(name)) {
             return;
         }
 
@@ -122,4 +129,90 @@ class TestPools {
         assertEquals(2, onCloseList.get(1));
         assertEquals(3, onCloseList.get(2));
     }
+
+    @Test
+    void testRoundRobinPoolLeastOutstanding() throws Exception {
+        final AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        try (RoundRobinPool<Integer> pool = new RoundRobinPool<>(3, atomicInteger::incrementAndGet, _ -> {
+        }, SelectionStrategy.leastOutstanding())) {
+            final RoundRobinPool.Lease<Integer> slow = pool.acquire();
+            final RoundRobinPool.Lease<Integer> lease2 = pool.acquire();
+
+            // The busy Members are skipped.
+            try (RoundRobinPool.Lease<Integer> lease3 = pool.acquire()) {
+                assertNotEquals(slow.getIndex(), lease3.getIndex());
+                assertNotEquals(lease2.getIndex(), lease3.getIndex());
+            }
+
+            lease2.close();
+            lease2.close();
+            assertEquals(0, pool.getInFlight(lease2.getIndex()));
+
+            for (int i = 0; i < 10; i++) {
+                try (RoundRobinPool.Lease<Integer> lease = pool.acquire()) {
+                    assertNotEquals(slow.getIndex(), lease.getIndex());
+                }
+            }
+
+            assertEquals(1, pool.getInFlight(slow.getIndex()));
+            slow.close();
+        }
+    }
+
+    @Test
+    void testRoundRobinPoolPowerOfTwoChoices() throws Exception {
+        final AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        try (RoundRobinPool<Integer> pool = new RoundRobinPool<>(2, atomicInteger::incrementAndGet, _ -> {
+        }, SelectionStrategy.powerOfTwoChoices())) {
+            final RoundRobinPool.Lease<Integer> slow = pool.acquire();
+
+            // With two Members both are always compared.
+            for (int i = 0; i < 10; i++) {
+                try (RoundRobinPool.Lease<Integer> lease = pool.acquire()) {
+                    assertNotEquals(slow.getIndex(), lease.getIndex());
+                }
+            }
+
+            slow.close();
+        }
+    }
+
+    @Test
+    void testRoundRobinPoolWeighted() throws Exception {
+        final AtomicInteger atomicInteger = new AtomicInteger(0);
+
+        try (RoundRobinPool<Integer> pool = new RoundRobinPool<>(3, atomicInteger::incrementAndGet, _ -> {
+        }, SelectionStrategy.weightedRoundRobin(5, 1, 1))) {
+            final List<Integer> sequence = new ArrayList<>();
+
+            for (int i = 0; i < 7; i++) {
+                sequence.add(pool.get());
+            }
+
+            // Smooth: the heavy Member is interleaved.
+            assertEquals(List.of(1, 1, 2, 1, 3, 1, 1), sequence);
+        }
+
+        assertThrows(IllegalStateException.class, () -> {
+            try (RoundRobinPool<Integer> pool = new RoundRobinPool<>(2, atomicInteger::incrementAndGet, _ -> {
+            }, SelectionStrategy.weightedRoundRobin(1, 1, 1))) {
+                pool.get();
+            }
+        });
+
+        // The Weights are reduced by their greatest common Divisor: 2:1.
+        final SelectionStrategy strategy = SelectionStrategy.weightedRoundRobin(1_000_000_000, 500_000_000);
+        final List<Integer> reducedSequence = new ArrayList<>();
+
+        for (int i = 0; i < 6; i++) {
+            reducedSequence.add(strategy.select(2, _ -> 0));
+        }
+
+        assertEquals(List.of(0, 1, 0, 0, 1, 0), reducedSequence);
+
+        assertThrows(IllegalArgumentException.class, () -> SelectionStrategy.weightedRoundRobin(Integer.MAX_VALUE, Integer.MAX_VALUE - 1));
+        assertThrows(IllegalArgumentException.class, () -> SelectionStrategy.weightedRoundRobin(SelectionStrategy.MAX_WEIGHTED_SEQUENCE_LENGTH, 1));
+    }
 }
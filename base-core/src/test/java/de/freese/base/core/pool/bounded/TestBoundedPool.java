@@ -0,0 +1,282 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool.bounded;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import de.freese.base.utils.ExecutorUtils;
+
+/**
+ * @author Thomas Freese
+ */
+class TestBoundedPool {
+    /**
+     * @author Thomas Freese
+     */
+    private static final class Resource implements AutoCloseable {
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final int id;
+
+        private Resource(final int id) {
+            super();
+
+            this.id = id;
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+
+    private static BoundedPool<Resource> createPool(final BoundedPoolFactory<Resource> factory) {
+        return (BoundedPool<Resource>) factory.build();
+    }
+
+    @Test
+    void testBlockingBorrowFifo() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        final BoundedPool<Resource> pool = createPool(new BoundedPoolFactory<Resource>().maxSize(1).objectSupplier(() -> new Resource(counter.incrementAndGet())));
+        final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+        try {
+            final Resource resource = pool.getObject();
+            final List<Integer> order = new CopyOnWriteArrayList<>();
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[3];
+
+            for (int i = 0; i < futures.length; i++) {
+                final int waiter = i;
+
+                futures[i] = CompletableFuture.runAsync(() -> {
+                    try {
+                        final Resource r = pool.getObject(Duration.ofSeconds(5));
+                        order.add(waiter);
+                        pool.returnObject(r);
+                    }
+                    catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }, executorService);
+
+                final int expectedWaiters = i + 1;
+                await().atMost(Duration.ofSeconds(5)).until(() -> pool.getNumWaiters() == expectedWaiters);
+            }
+
+            pool.returnObject(resource);
+            CompletableFuture.allOf(futures).get();
+
+            assertEquals(List.of(0, 1, 2), order);
+            assertEquals(1, counter.get());
+            assertEquals(0, pool.getNumActive());
+            assertEquals(1, pool.getNumIdle());
+        }
+        finally {
+            ExecutorUtils.shutdown(executorService);
+            pool.close();
+        }
+    }
+
+    @Test
+    void testBorrowTimeout() throws Exception {
+        final BoundedPool<Resource> pool = createPool(new BoundedPoolFactory<Resource>().maxSize(1).objectSupplier(() -> new Resource(1)));
+
+        try {
+            final Resource resource = pool.getObject();
+
+            assertThrows(TimeoutException.class, () -> pool.getObject(Duration.ofMillis(20)));
+            assertEquals(0, pool.getNumWaiters());
+
+            pool.returnObject(resource);
+            assertSame(resource, pool.getObject(Duration.ofMillis(20)));
+        }
+        finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testCloseWakesWaiters() throws Exception {
+        final BoundedPool<Resource> pool = createPool(new BoundedPoolFactory<Resource>().maxSize(1).objectSupplier(() -> new Resource(1)));
+
+        final Resource resource = pool.getObject();
+        final CompletableFuture<Resource> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.getObject(Duration.ofSeconds(10));
+            }
+            catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> pool.getNumWaiters() == 1);
+        pool.close();
+
+        final ExecutionException ex = assertThrows(ExecutionException.class, waiter::get);
+        assertTrue(ex.getCause().getCause() instanceof IllegalStateException);
+
+        // Borrowed Objects are destroyed on Return.
+        pool.returnObject(resource);
+        assertTrue(resource.closed.get());
+    }
+
+    @Test
+    void testIdleEvictionAndPreWarm() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        final BoundedPool<Resource> pool = createPool(new BoundedPoolFactory<Resource>()
+                .maxSize(4)
+                .minSize(1)
+                .idleTimeout(Duration.ofMillis(10))
+                .evictionInterval(null)
+                .objectSupplier(() -> new Resource(counter.incrementAndGet())));
+
+        try {
+            // Pre-warmed
+            assertEquals(1, pool.getNumIdle());
+
+            final Resource r1 = pool.getObject();
+            final Resource r2 = pool.getObject();
+            final Resource r3 = pool.getObject();
+            pool.returnObject(r1);
+            pool.returnObject(r2);
+            pool.returnObject(r3);
+            assertEquals(3, pool.getNumIdle());
+
+            await().pollDelay(Duration.ofMillis(30)).until(() -> true);
+            pool.evict();
+
+            // The most recently returned Object stays idle.
+            assertEquals(1, pool.getNumIdle());
+            assertTrue(r1.closed.get());
+            assertTrue(r2.closed.get());
+            assertSame(r3, pool.getObject());
+        }
+        finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testMaxIdle() throws Exception {
+        final BoundedPool<Resource> pool = createPool(new BoundedPoolFactory<Resource>().maxSize(3).maxIdle(1).objectSupplier(() -> new Resource(1)));
+
+        try {
+            final Resource r1 = pool.getObject();
+            final Resource r2 = pool.getObject();
+            pool.returnObject(r1);
+            pool.returnObject(r2);
+
+            assertEquals(1, pool.getNumIdle());
+            assertTrue(r2.closed.get());
+        }
+        finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testValidateOnBorrow() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        final BoundedPool<Resource> pool = createPool(new BoundedPoolFactory<Resource>()
+                .maxSize(1)
+                .validator(resource -> resource.id % 2 == 0)
+                .objectSupplier(() -> new Resource(counter.incrementAndGet())));
+
+        try {
+            final Resource r1 = pool.getObject();
+            assertEquals(1, r1.id);
+            pool.returnObject(r1);
+
+            // Invalid Object is replaced.
+            final Resource r2 = pool.getObject();
+            assertEquals(2, r2.id);
+            assertNotSame(r1, r2);
+            assertTrue(r1.closed.get());
+        }
+        finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testValidateWhileIdle() throws Exception {
+        final AtomicBoolean valid = new AtomicBoolean(true);
+        final AtomicInteger counter = new AtomicInteger();
+        final BoundedPool<Resource> pool = createPool(new BoundedPoolFactory<Resource>()
+                .maxSize(2)
+                .minSize(2)
+                .testOnBorrow(false)
+                .testWhileIdle(true)
+                .validator(_ -> valid.get())
+                .evictionInterval(Duration.ofMillis(10))
+                .objectSupplier(() -> new Resource(counter.incrementAndGet())));
+
+        try {
+            assertEquals(2, pool.getNumIdle());
+
+            valid.set(false);
+            await().atMost(Duration.ofSeconds(5)).until(() -> counter.get() > 2);
+            valid.set(true);
+
+            // Invalid Objects are replaced by the Pre-Warming.
+            await().atMost(Duration.ofSeconds(5)).until(() -> pool.getNumIdle() == 2);
+        }
+        finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testValidateWhileIdleKeepsIdleTime() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        final BoundedPool<Resource> pool = createPool(new BoundedPoolFactory<Resource>()
+                .maxSize(3)
+                .minSize(1)
+                .testOnBorrow(false)
+                .testWhileIdle(true)
+                .idleTimeout(Duration.ofMillis(50))
+                .evictionInterval(null)
+                .objectSupplier(() -> new Resource(counter.incrementAndGet())));
+
+        try {
+            final Resource r1 = pool.getObject();
+            final Resource r2 = pool.getObject();
+            final Resource r3 = pool.getObject();
+            pool.returnObject(r1);
+            pool.returnObject(r2);
+            pool.returnObject(r3);
+
+            // Eviction-Interval shorter than the Idle-Timeout: a passed Test must not reset the Idle-Time.
+            for (int i = 0; i < 10; i++) {
+                await().pollDelay(Duration.ofMillis(10)).until(() -> true);
+                pool.evict();
+            }
+
+            assertEquals(1, pool.getNumIdle());
+            assertTrue(r1.closed.get());
+            assertTrue(r2.closed.get());
+
+            // The LIFO-Order is kept.
+            assertSame(r3, pool.getObject());
+        }
+        finally {
+            pool.close();
+        }
+    }
+}
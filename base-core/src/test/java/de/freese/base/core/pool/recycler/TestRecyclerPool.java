@@ -0,0 +1,142 @@
+// Created: 18.10.2026
+package de.freese.base.core.pool.recycler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import de.freese.base.utils.ExecutorUtils;
+
+/**
+ * @author Thomas Freese
+ */
+class TestRecyclerPool {
+    @Test
+    void testClosed() throws Exception {
+        final RecyclerPool<Object> pool = new RecyclerPool<>(Object::new, 4, 16);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        try {
+            // The Magazine of the other Thread is not cleared by close().
+            CompletableFuture.runAsync(() -> pool.returnObject(new Object()), executorService).get();
+
+            pool.close();
+
+            assertThrows(IllegalStateException.class, pool::getObject);
+
+            final CompletableFuture<Object> borrowedByOtherThread = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return pool.getObject();
+                }
+                catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }, executorService);
+
+            final ExecutionException ex = assertThrows(ExecutionException.class, borrowedByOtherThread::get);
+            assertEquals("pool is closed", ex.getCause().getCause().getMessage());
+        }
+        finally {
+            ExecutorUtils.shutdown(executorService);
+        }
+    }
+
+    @Test
+    void testCrossThreadReturn() throws Exception {
+        final RecyclerPool<Object> pool = new RecyclerPool<>(Object::new, 4, 16);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        try {
+            final Object object = pool.getObject();
+
+            // Returned by another Thread: goes into its Magazine.
+            CompletableFuture.runAsync(() -> pool.returnObject(object), executorService).get();
+            assertEquals(0, pool.getLocalSize());
+
+            final Object borrowedByOtherThread = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return pool.getObject();
+                }
+                catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }, executorService).get();
+
+            assertSame(object, borrowedByOtherThread);
+        }
+        finally {
+            ExecutorUtils.shutdown(executorService);
+            pool.close();
+        }
+    }
+
+    @Test
+    void testOverflowBounded() throws Exception {
+        final AtomicInteger created = new AtomicInteger();
+        final RecyclerPool<Object> pool = new RecyclerPool<>(() -> {
+            created.incrementAndGet();
+
+            return new Object();
+        }, 4, 4);
+
+        final List<Object> objects = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            objects.add(pool.getObject());
+        }
+
+        objects.forEach(pool::returnObject);
+
+        // Magazine and Overflow-Stack are full, the Rest is dropped.
+        assertEquals(4, pool.getSharedSize());
+        assertEquals(4, pool.getLocalSize());
+
+        final Set<Object> reused = new HashSet<>();
+
+        for (int i = 0; i < 8; i++) {
+            reused.add(pool.getObject());
+        }
+
+        assertEquals(8, reused.size());
+        assertEquals(20, created.get());
+        assertEquals(0, pool.getSharedSize());
+
+        pool.getObject();
+        assertEquals(21, created.get());
+    }
+
+    @Test
+    void testSameThreadReuse() throws Exception {
+        final RecyclerPool<Object> pool = new RecyclerPool<>(Object::new, 8, 16);
+
+        final Object object1 = pool.getObject();
+        final Object object2 = pool.getObject();
+        assertNotSame(object1, object2);
+
+        pool.returnObject(object1);
+        pool.returnObject(object2);
+
+        // LIFO
+        assertSame(object2, pool.getObject());
+        assertSame(object1, pool.getObject());
+
+        pool.returnObject(object1);
+        pool.close();
+        pool.returnObject(object2);
+
+        assertEquals(0, pool.getSharedSize());
+    }
+}
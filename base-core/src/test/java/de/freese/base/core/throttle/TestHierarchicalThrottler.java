@@ -0,0 +1,206 @@
+// Created: 18.10.2026
+package de.freese.base.core.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import de.freese.base.core.throttle.io.ThrottledReadableByteChannel;
+import de.freese.base.core.throttle.io.ThrottledWritableByteChannel;
+
+/**
+ * @author Thomas Freese
+ */
+class TestHierarchicalThrottler {
+    private static final long MILLIS = Duration.ofMillis(1).toNanos();
+
+    private static void assertMinDistance(final List<Long> slots, final long minDistanceNanos) {
+        final List<Long> sorted = slots.stream().sorted().toList();
+
+        for (int i = 1; i < sorted.size(); i++) {
+            final long distance = sorted.get(i) - sorted.get(i - 1);
+
+            assertTrue(distance >= minDistanceNanos, () -> "distance: " + distance / MILLIS + " ms, slots: " + sorted);
+        }
+    }
+
+    private static long writeThrottled(final HierarchicalThrottler throttler, final int size) throws Exception {
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final long start = System.nanoTime();
+
+        try (WritableByteChannel channel = new ThrottledWritableByteChannel(Channels.newChannel(target), throttler, 4 * 1024)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(size);
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        assertEquals(size, target.size());
+
+        return System.nanoTime() - start;
+    }
+
+    @Test
+    void testConcurrentCallersInChild() throws Exception {
+        final AtomicLong clock = new AtomicLong();
+        final HierarchicalThrottler global = HierarchicalThrottler.create(1_000L, clock::get);
+        final HierarchicalThrottler group = global.createChild(500L);
+        final HierarchicalThrottler sibling = global.createChild();
+
+        final List<Long> groupSlots = Collections.synchronizedList(new ArrayList<>());
+        final List<Long> allSlots = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            for (HierarchicalThrottler throttler : List.of(group, group, sibling)) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    }
+                    catch (InterruptedException _) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    for (int i = 0; i < 5; i++) {
+                        // The Clock stands still: the Wait-Time is the Start of the granted Slot.
+                        final long slot = throttler.reservePermits(100);
+                        allSlots.add(slot);
+
+                        if (throttler == group) {
+                            groupSlots.add(slot);
+                        }
+                    }
+                });
+            }
+
+            start.countDown();
+        }
+
+        assertEquals(15, allSlots.size());
+        assertEquals(10, groupSlots.size());
+
+        // The Global Budget is never exceeded: 100 / 1000 s per Reservation.
+        assertMinDistance(allSlots, 100L * MILLIS);
+
+        // The Group Budget is never exceeded: 100 / 500 s per Reservation, also by the Slots granted from the Global Budget.
+        assertMinDistance(groupSlots, 200L * MILLIS);
+    }
+
+    @Test
+    void testFairSharing() throws Exception {
+        final HierarchicalThrottler global = HierarchicalThrottler.create(200 * 1024);
+
+        final CompletableFuture<Long> bulk1 = CompletableFuture.supplyAsync(() -> writeUnchecked(global.createChild(), 100 * 1024));
+        final CompletableFuture<Long> bulk2 = CompletableFuture.supplyAsync(() -> writeUnchecked(global.createChild(), 100 * 1024));
+
+        // 200 KB with 200 KB/s in Sum, both Streams get the Half of the Budget and finish together.
+        final long elapsed1 = bulk1.get(10, TimeUnit.SECONDS);
+        final long elapsed2 = bulk2.get(10, TimeUnit.SECONDS);
+
+        assertTrue(elapsed1 > 800L * MILLIS, () -> "elapsed1: " + elapsed1 / MILLIS);
+        assertTrue(elapsed2 > 800L * MILLIS, () -> "elapsed2: " + elapsed2 / MILLIS);
+    }
+
+    @Test
+    void testHierarchy() {
+        final AtomicLong clock = new AtomicLong();
+        final HierarchicalThrottler global = HierarchicalThrottler.create(1_000L, clock::get);
+        final HierarchicalThrottler group = global.createChild(500L);
+        final HierarchicalThrottler stream = global.createChild();
+
+        assertEquals(0L, group.reservePermits(100));
+
+        // Group: next Slot after 100 / 500 s, Global after 100 / 1000 s.
+        assertEquals(200L * MILLIS, group.reservePermits(100));
+
+        // Stream is only limited by the Global Budget, which is free between the Group Slots from 100 ms until 200 ms.
+        assertEquals(100L * MILLIS, stream.reservePermits(100));
+
+        // The Global Budget is booked until 300 ms.
+        assertEquals(300L * MILLIS, stream.reservePermits(100));
+        assertEquals(0L, stream.getPermitsPerSecond());
+
+        // No Burst after Idle Time.
+        clock.addAndGet(10_000L * MILLIS);
+        assertEquals(0L, stream.reservePermits(1_000));
+        assertEquals(1_000L * MILLIS, stream.reservePermits(1));
+
+        assertThrows(IllegalArgumentException.class, () -> stream.reservePermits(0));
+        assertThrows(IllegalArgumentException.class, () -> global.createChild(0L));
+    }
+
+    @Test
+    void testNoStarvationBehindBudgetedSibling() {
+        final AtomicLong clock = new AtomicLong();
+        final HierarchicalThrottler global = HierarchicalThrottler.create(1_000L, clock::get);
+        final HierarchicalThrottler bulk = global.createChild(500L);
+        final HierarchicalThrottler interactive = global.createChild();
+
+        // Backlog of the Bulk-Group until 1000 ms, limited by its own Budget to every second 100 ms of the Global Budget.
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i * 200L * MILLIS, bulk.reservePermits(100));
+        }
+
+        // The Sibling gets the free Global Capacity between the Bulk Slots and does not wait behind the Backlog.
+        assertEquals(100L * MILLIS, interactive.reservePermits(100));
+        assertEquals(300L * MILLIS, interactive.reservePermits(100));
+        assertEquals(500L * MILLIS, interactive.reservePermits(50));
+        assertEquals(550L * MILLIS, interactive.reservePermits(50));
+
+        // A Reservation too large for a Gap gets the first Gap large enough.
+        assertEquals(900L * MILLIS, interactive.reservePermits(150));
+    }
+
+    @Test
+    void testReadableByteChannel() throws Exception {
+        final byte[] content = new byte[50 * 1024];
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final long start = System.nanoTime();
+
+        try (ReadableByteChannel channel = new ThrottledReadableByteChannel(Channels.newChannel(new ByteArrayInputStream(content)),
+                HierarchicalThrottler.create(100 * 1024), 8 * 1024)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                target.write(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        }
+
+        final long elapsed = System.nanoTime() - start;
+
+        assertArrayEquals(content, target.toByteArray());
+        assertTrue(elapsed > 350L * MILLIS, () -> "elapsed: " + elapsed / MILLIS);
+    }
+
+    private long writeUnchecked(final HierarchicalThrottler throttler, final int size) {
+        try {
+            return writeThrottled(throttler, size);
+        }
+        catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
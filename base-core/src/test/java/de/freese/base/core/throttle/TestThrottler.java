@@ -26,7 +26,8 @@ class TestThrottler // extends AbstractIoTest
         return Stream.of(
                 Arguments.of("SimpleThrottler", (Function<Integer, Throttler>) SimpleThrottler::create),
                 Arguments.of("Failsafe", (Function<Integer, Throttler>) FailsafeThrottlerAdapter::create),
-                Arguments.of("Resilience4J", (Function<Integer, Throttler>) Resilience4JThrottlerAdapter::create)
+                Arguments.of("Resilience4J", (Function<Integer, Throttler>) Resilience4JThrottlerAdapter::create),
+                Arguments.of("TokenBucket", (Function<Integer, Throttler>) TokenBucketThrottler::create)
         );
     }
 
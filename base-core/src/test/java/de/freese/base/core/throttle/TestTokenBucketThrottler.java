@@ -0,0 +1,105 @@
+// Created: 18.10.2026
+package de.freese.base.core.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Thomas Freese
+ */
+class TestTokenBucketThrottler {
+    private static final long MILLIS = Duration.ofMillis(1).toNanos();
+
+    @Test
+    void testAsync() throws Exception {
+        final TokenBucketThrottler throttler = TokenBucketThrottler.create(100L, 5);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        final long start = System.nanoTime();
+
+        // 5 Permits from the Bucket, 10 Permits with 100 per Second.
+        for (int i = 0; i < 15; i++) {
+            futures.add(throttler.acquirePermitAsync());
+        }
+
+        assertTrue(futures.get(4).isDone());
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        final long elapsed = System.nanoTime() - start;
+
+        assertTrue(elapsed >= 90L * MILLIS, () -> "elapsed: " + elapsed / MILLIS);
+    }
+
+    @Test
+    void testBurst() {
+        final AtomicLong clock = new AtomicLong();
+        final TokenBucketThrottler throttler = TokenBucketThrottler.create(1_000L, 10, clock::get);
+
+        assertEquals(10, throttler.getAvailablePermits());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0L, throttler.reservePermit());
+        }
+
+        assertEquals(0, throttler.getAvailablePermits());
+        assertEquals(MILLIS, throttler.reservePermit());
+        assertEquals(3L * MILLIS, throttler.reservePermits(2));
+
+        // Idle Time fills the Bucket, but not above the Burst.
+        clock.addAndGet(1_000L * MILLIS);
+        assertEquals(10, throttler.getAvailablePermits());
+        assertEquals(0L, throttler.reservePermits(10));
+        assertEquals(MILLIS, throttler.reservePermit());
+
+        assertThrows(IllegalArgumentException.class, () -> throttler.reservePermits(0));
+        assertThrows(IllegalArgumentException.class, () -> TokenBucketThrottler.create(0L));
+        assertThrows(IllegalArgumentException.class, () -> TokenBucketThrottler.create(1L, 0));
+    }
+
+    @Test
+    void testConcurrentReservations() throws Exception {
+        final AtomicLong clock = new AtomicLong();
+        final TokenBucketThrottler throttler = TokenBucketThrottler.create(1_000L, 1, clock::get);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        throttler.reservePermit();
+                    }
+                });
+            }
+        }
+
+        // No Reservation is lost: 4000 Permits in the frozen Time, the Burst is paid by the first one.
+        assertEquals(4_000L * MILLIS, throttler.reservePermit());
+    }
+
+    @Test
+    void testTryAcquire() {
+        final AtomicLong clock = new AtomicLong();
+        final TokenBucketThrottler throttler = TokenBucketThrottler.create(1_000L, 2, clock::get);
+
+        assertTrue(throttler.tryAcquirePermits(2));
+        assertFalse(throttler.tryAcquirePermit());
+
+        // Failed Attempts reserve nothing.
+        assertFalse(throttler.tryAcquirePermit());
+        clock.addAndGet(MILLIS);
+        assertTrue(throttler.tryAcquirePermit());
+        assertFalse(throttler.tryAcquirePermits(3));
+    }
+}
@@ -0,0 +1,17 @@
+// Created: 18.10.2026
+package de.freese.base.core.throttle;
+
+/**
+ * Access to the package-private Factories for the Benchmarks.
+ *
+ * @author Thomas Freese
+ */
+public final class ThrottlerFixtures {
+    public static Throttler simpleThrottler(final int permitsPerSecond) {
+        return SimpleThrottler.create(permitsPerSecond);
+    }
+
+    private ThrottlerFixtures() {
+        super();
+    }
+}